@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2009 IBM Corporation and others.
+ * Copyright (c) 2006, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,7 @@
  *     Tom Schindl<tom.schindl@bestsolution.at> - bugfix in: 214355
  *     Matthew Hall - bugs 215531, 226765, 222991, 238296, 226292, 266038,
  *                    283351
+ *     EclipseSource - batched list diffs
  *******************************************************************************/
 
 package org.eclipse.jface.databinding.viewers;
@@ -25,6 +26,7 @@ import org.eclipse.core.databinding.observable.set.IObservableSet;
 import org.eclipse.core.runtime.Assert;
 import org.eclipse.jface.internal.databinding.viewers.ObservableCollectionContentProvider;
 import org.eclipse.jface.internal.databinding.viewers.ViewerElementSet;
+import org.eclipse.jface.internal.databinding.viewers.ViewerUpdater;
 import org.eclipse.jface.viewers.AbstractListViewer;
 import org.eclipse.jface.viewers.AbstractTableViewer;
 import org.eclipse.jface.viewers.IStructuredContentProvider;
@@ -114,25 +116,12 @@ public class ObservableListContentProvider implements
 			if (suspendRedraw[0])
 				viewer.getControl().setRedraw(false);
 			try {
-				event.diff.accept(new ListDiffVisitor() {
-					public void handleAdd(int index, Object element) {
-						viewerUpdater.insert(element, index);
-					}
-
-					public void handleRemove(int index, Object element) {
-						viewerUpdater.remove(element, index);
-					}
-
-					public void handleReplace(int index, Object oldElement,
-							Object newElement) {
-						viewerUpdater.replace(oldElement, newElement, index);
-					}
-
-					public void handleMove(int oldIndex, int newIndex,
-							Object element) {
-						viewerUpdater.move(element, oldIndex, newIndex);
-					}
-				});
+				if (viewerUpdater instanceof ViewerUpdater) {
+					// collapse the diff into range updates, or a refresh
+					((ViewerUpdater) viewerUpdater).update(event.diff);
+				} else {
+					applyDiff(event);
+				}
 			} finally {
 				if (suspendRedraw[0])
 					viewer.getControl().setRedraw(true);
@@ -143,6 +132,28 @@ public class ObservableListContentProvider implements
 			}
 			knownElements.removeAll(knownElementRemovals);
 		}
+
+		private void applyDiff(ListChangeEvent event) {
+			event.diff.accept(new ListDiffVisitor() {
+				public void handleAdd(int index, Object element) {
+					viewerUpdater.insert(element, index);
+				}
+
+				public void handleRemove(int index, Object element) {
+					viewerUpdater.remove(element, index);
+				}
+
+				public void handleReplace(int index, Object oldElement,
+						Object newElement) {
+					viewerUpdater.replace(oldElement, newElement, index);
+				}
+
+				public void handleMove(int oldIndex, int newIndex,
+						Object element) {
+					viewerUpdater.move(element, oldIndex, newIndex);
+				}
+			});
+		}
 	}
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2009 Matthew Hall and others.
+ * Copyright (c) 2007, 2016 Matthew Hall and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     Matthew Hall - initial API and implementation (bug 207858)
  *     Matthew Hall - bugs 226765, 222991, 226292, 266038, 283351
+ *     EclipseSource - batched list diffs
  *******************************************************************************/
 
 package org.eclipse.jface.databinding.viewers;
@@ -24,6 +25,7 @@ import org.eclipse.core.databinding.observable.list.ListDiffVisitor;
 import org.eclipse.core.databinding.observable.masterdetail.IObservableFactory;
 import org.eclipse.core.databinding.observable.set.IObservableSet;
 import org.eclipse.jface.internal.databinding.viewers.ObservableCollectionTreeContentProvider;
+import org.eclipse.jface.internal.databinding.viewers.RangeListDiffVisitor;
 import org.eclipse.jface.internal.databinding.viewers.ViewerElementSet;
 import org.eclipse.jface.viewers.AbstractTreeViewer;
 import org.eclipse.jface.viewers.ITreeContentProvider;
@@ -117,27 +119,31 @@ public class ObservableListTreeContentProvider implements ITreeContentProvider {
 				if (suspendRedraw[0])
 					viewer.getControl().setRedraw(false);
 				try {
-					event.diff.accept(new ListDiffVisitor() {
-						public void handleAdd(int index, Object child) {
-							viewerUpdater.insert(parentElement, child, index);
+					RangeListDiffVisitor visitor = new RangeListDiffVisitor() {
+						protected void handleAddRange(int index,
+								Object[] children) {
+							viewerUpdater.insert(parentElement, children, index);
 						}
 
-						public void handleRemove(int index, Object child) {
-							viewerUpdater.remove(parentElement, child, index);
+						protected void handleRemoveRange(int index,
+								Object[] children) {
+							viewerUpdater.remove(parentElement, children, index);
 						}
 
-						public void handleReplace(int index, Object oldChild,
-								Object newChild) {
+						protected void handleElementReplace(int index,
+								Object oldChild, Object newChild) {
 							viewerUpdater.replace(parentElement, oldChild,
 									newChild, index);
 						}
 
-						public void handleMove(int oldIndex, int newIndex,
-								Object child) {
+						protected void handleElementMove(int oldIndex,
+								int newIndex, Object child) {
 							viewerUpdater.move(parentElement, child, oldIndex,
 									newIndex);
 						}
-					});
+					};
+					event.diff.accept(visitor);
+					visitor.flush();
 				} finally {
 					if (suspendRedraw[0])
 						viewer.getControl().setRedraw(true);
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.internal.databinding.viewers;
+
+import java.util.LinkedList;
+
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffVisitor;
+
+/**
+ * NON-API - A {@link ListDiffVisitor} that collapses consecutive additions and
+ * removals into ranges. Additions at ascending positions and removals at the
+ * same or at descending positions form a range, which is reported once all of
+ * its elements are known. Moves and replacements are reported one by one.
+ * <p>
+ * Clients must call {@link #flush()} after the diff has been visited in order
+ * to receive the last range.
+ * </p>
+ *
+ * @since 3.1
+ */
+public abstract class RangeListDiffVisitor extends ListDiffVisitor {
+	private final LinkedList elements = new LinkedList();
+	private boolean addition;
+	private int position;
+
+	/**
+	 * Returns the number of ranges, moves and replacements that the given diff
+	 * collapses into.
+	 *
+	 * @param diff
+	 *            the diff to inspect
+	 * @return the number of operations needed to apply the diff
+	 */
+	public static int countOperations(ListDiff diff) {
+		final int[] result = new int[1];
+		RangeListDiffVisitor counter = new RangeListDiffVisitor() {
+			protected void handleAddRange(int position, Object[] elements) {
+				result[0]++;
+			}
+
+			protected void handleRemoveRange(int position, Object[] elements) {
+				result[0]++;
+			}
+
+			protected void handleElementMove(int oldPosition, int newPosition,
+					Object element) {
+				result[0]++;
+			}
+
+			protected void handleElementReplace(int position,
+					Object oldElement, Object newElement) {
+				result[0]++;
+			}
+		};
+		diff.accept(counter);
+		counter.flush();
+		return result[0];
+	}
+
+	public final void handleAdd(int index, Object element) {
+		if (elements.isEmpty() || !addition
+				|| index != position + elements.size()) {
+			flush();
+			addition = true;
+			position = index;
+		}
+		elements.addLast(element);
+	}
+
+	public final void handleRemove(int index, Object element) {
+		if (!elements.isEmpty() && !addition && index == position) {
+			elements.addLast(element);
+		} else if (!elements.isEmpty() && !addition && index == position - 1) {
+			elements.addFirst(element);
+			position = index;
+		} else {
+			flush();
+			addition = false;
+			position = index;
+			elements.addLast(element);
+		}
+	}
+
+	public final void handleMove(int oldIndex, int newIndex, Object element) {
+		flush();
+		handleElementMove(oldIndex, newIndex, element);
+	}
+
+	public final void handleReplace(int index, Object oldElement,
+			Object newElement) {
+		flush();
+		handleElementReplace(index, oldElement, newElement);
+	}
+
+	/**
+	 * Reports the pending range, if any.
+	 */
+	public void flush() {
+		if (!elements.isEmpty()) {
+			Object[] range = elements.toArray();
+			elements.clear();
+			if (addition) {
+				handleAddRange(position, range);
+			} else {
+				handleRemoveRange(position, range);
+			}
+		}
+	}
+
+	/**
+	 * Notifies the visitor that the elements were added at consecutive
+	 * positions, starting at the given position.
+	 *
+	 * @param position
+	 *            the position of the first added element
+	 * @param elements
+	 *            the added elements
+	 */
+	protected abstract void handleAddRange(int position, Object[] elements);
+
+	/**
+	 * Notifies the visitor that the elements were removed from consecutive
+	 * positions, starting at the given position.
+	 *
+	 * @param position
+	 *            the position of the first removed element
+	 * @param elements
+	 *            the removed elements
+	 */
+	protected abstract void handleRemoveRange(int position, Object[] elements);
+
+	/**
+	 * Notifies the visitor that the element was moved.
+	 *
+	 * @param oldPosition
+	 *            the position of the element before the move
+	 * @param newPosition
+	 *            the position of the element after the move
+	 * @param element
+	 *            the moved element
+	 */
+	protected abstract void handleElementMove(int oldPosition,
+			int newPosition, Object element);
+
+	/**
+	 * Notifies the visitor that the element at the given position was
+	 * replaced.
+	 *
+	 * @param position
+	 *            the position of the replaced element
+	 * @param oldElement
+	 *            the replaced element
+	 * @param newElement
+	 *            the element that replaces <code>oldElement</code>
+	 */
+	protected abstract void handleElementReplace(int position,
+			Object oldElement, Object newElement);
+}
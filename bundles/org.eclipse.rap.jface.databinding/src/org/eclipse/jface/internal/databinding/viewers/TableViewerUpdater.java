@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008 Matthew Hall and others.
+ * Copyright (c) 2008, 2016 Matthew Hall and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     Matthew Hall - initial API and implementation (bug 215531)
  *     Matthew Hall - bugs 226765, 230296
+ *     EclipseSource - batched list diffs
  ******************************************************************************/
 
 package org.eclipse.jface.internal.databinding.viewers;
@@ -36,6 +37,14 @@ class TableViewerUpdater extends ViewerUpdater {
 		viewer.remove(element);
 	}
 
+	public void insert(Object[] elements, int position) {
+		viewer.insert(elements, position);
+	}
+
+	public void remove(Object[] elements, int position) {
+		viewer.remove(elements, position);
+	}
+
 	public void replace(Object oldElement, Object newElement, int position) {
 		if (isElementOrderPreserved())
 			viewer.replace(newElement, position);
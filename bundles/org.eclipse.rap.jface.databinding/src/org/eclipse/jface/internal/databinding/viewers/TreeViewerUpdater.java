@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2009 Matthew Hall and others.
+ * Copyright (c) 2008, 2016 Matthew Hall and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     Matthew Hall - initial API and implementation (bug 207858)
  *     Matthew Hall - bugs 226765, 230296, 226292, 312926
+ *     EclipseSource - batched list diffs
  ******************************************************************************/
 
 package org.eclipse.jface.internal.databinding.viewers;
@@ -57,6 +58,22 @@ public class TreeViewerUpdater {
 		viewer.insert(parent, element, position);
 	}
 
+	/**
+	 * Insert the elements into the viewer as children of the specified parent
+	 * element, at consecutive positions starting at the specified position.
+	 * 
+	 * @param parent
+	 *            the parent of the elements being inserted
+	 * @param elements
+	 *            the elements to insert
+	 * @param position
+	 *            the position where the first element is inserted
+	 * @since 3.1
+	 */
+	public void insert(Object parent, Object[] elements, int position) {
+		viewer.insert(parent, elements, position);
+	}
+
 	/**
 	 * Replaces the specified element whenever it appears as a child of the
 	 * specified parent element, at the given position with the new element.
@@ -161,6 +178,30 @@ public class TreeViewerUpdater {
 		}
 	}
 
+	/**
+	 * Removes the elements from the viewer, which are located at consecutive
+	 * positions starting at the specified position, whenever they appear as
+	 * children of the specified parent element.
+	 * 
+	 * @param parent
+	 *            the parent of the elements being removed
+	 * @param elements
+	 *            the elements to remove
+	 * @param position
+	 *            the position where the first element is located
+	 * @since 3.1
+	 */
+	public void remove(Object parent, Object[] elements, int position) {
+		if (treeViewer != null && viewer.getComparator() == null
+				&& viewer.getFilters().length == 0) {
+			for (int i = 0; i < elements.length; i++) {
+				treeViewer.remove(parent, position);
+			}
+		} else {
+			viewer.remove(parent, elements);
+		}
+	}
+
 	/**
 	 * Add the elements into the viewer as children of the specified parent
 	 * element.
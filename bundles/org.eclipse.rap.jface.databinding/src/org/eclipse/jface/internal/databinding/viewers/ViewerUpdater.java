@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2009 Matthew Hall and others.
+ * Copyright (c) 2008, 2016 Matthew Hall and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,12 +8,14 @@
  * Contributors:
  *     Matthew Hall - initial API and implementation (bug 226765)
  *     Matthew Hall - bug 230296, 238296
+ *     EclipseSource - batched list diffs
  ******************************************************************************/
 
 package org.eclipse.jface.internal.databinding.viewers;
 
 import java.util.Iterator;
 
+import org.eclipse.core.databinding.observable.list.ListDiff;
 import org.eclipse.jface.databinding.viewers.IViewerUpdater;
 import org.eclipse.jface.util.Util;
 import org.eclipse.jface.viewers.IElementComparer;
@@ -26,6 +28,12 @@ import org.eclipse.jface.viewers.StructuredViewer;
  * @since 1.2
  */
 public abstract class ViewerUpdater implements IViewerUpdater {
+	/**
+	 * A list diff that collapses into more operations is applied by refreshing
+	 * the viewer.
+	 */
+	static final int REFRESH_THRESHOLD = 100;
+
 	private final StructuredViewer viewer;
 
 	/**
@@ -85,4 +93,76 @@ public abstract class ViewerUpdater implements IViewerUpdater {
 	public abstract void add(Object[] elements);
 
 	public abstract void remove(Object[] elements);
+
+	/**
+	 * Inserts the elements into the viewer at consecutive positions, starting
+	 * at the specified position. Subclasses may override to insert the
+	 * elements with fewer viewer operations.
+	 * 
+	 * @param elements
+	 *            the elements to insert
+	 * @param position
+	 *            the position of the first element
+	 * @since 3.1
+	 */
+	public void insert(Object[] elements, int position) {
+		for (int i = 0; i < elements.length; i++) {
+			insert(elements[i], position + i);
+		}
+	}
+
+	/**
+	 * Removes the elements from the viewer, which are located at consecutive
+	 * positions, starting at the specified position. Subclasses may override
+	 * to remove the elements with fewer viewer operations.
+	 * 
+	 * @param elements
+	 *            the elements to remove
+	 * @param position
+	 *            the position of the first element
+	 * @since 3.1
+	 */
+	public void remove(Object[] elements, int position) {
+		for (int i = 0; i < elements.length; i++) {
+			remove(elements[i], position);
+		}
+	}
+
+	/**
+	 * Applies the given list diff to the viewer. Consecutive additions and
+	 * removals are applied as ranges. A diff that does not collapse into a few
+	 * ranges is applied by refreshing the viewer instead.
+	 * 
+	 * @param diff
+	 *            the diff to apply
+	 * @since 3.1
+	 */
+	public void update(ListDiff diff) {
+		if (diff.getDifferences().length > REFRESH_THRESHOLD
+				&& RangeListDiffVisitor.countOperations(diff) > REFRESH_THRESHOLD) {
+			viewer.refresh();
+		} else {
+			RangeListDiffVisitor visitor = new RangeListDiffVisitor() {
+				protected void handleAddRange(int position, Object[] elements) {
+					insert(elements, position);
+				}
+
+				protected void handleRemoveRange(int position, Object[] elements) {
+					remove(elements, position);
+				}
+
+				protected void handleElementMove(int oldPosition,
+						int newPosition, Object element) {
+					move(element, oldPosition, newPosition);
+				}
+
+				protected void handleElementReplace(int position,
+						Object oldElement, Object newElement) {
+					replace(oldElement, newElement, position);
+				}
+			};
+			diff.accept(visitor);
+			visitor.flush();
+		}
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     IBM Corporation - initial API and implementation
  *     Tom Schindl <tom.schindl@bestsolution.at> - initial API and implementation bug 154329
  *                                               - fixes in bug 170381, 198665, 200731
+ *     EclipseSource - range insertion and removal
  *******************************************************************************/
 
 package org.eclipse.jface.viewers;
@@ -133,6 +134,28 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 			doSetItemCount(requiredCount);
 		}
 
+		/**
+		 * Non visible items have been added at consecutive indices.
+		 *
+		 * @param elements
+		 * @param index
+		 */
+		public void notVisibleAdded(Object[] elements, int index) {
+
+			int requiredCount = doGetItemCount() + elements.length;
+
+			Object[] newCache = new Object[requiredCount];
+			System.arraycopy(cachedElements, 0, newCache, 0, index);
+			if (index < cachedElements.length) {
+				System.arraycopy(cachedElements, index, newCache, index
+						+ elements.length, cachedElements.length - index);
+			}
+			System.arraycopy(elements, 0, newCache, index, elements.length);
+			cachedElements = newCache;
+
+			doSetItemCount(requiredCount);
+		}
+
 		/**
 		 * The elements with the given indices need to be removed from the
 		 * cache.
@@ -282,6 +305,22 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Create new TableItems at consecutive indices, starting at index.
+	 *
+	 * @param elements
+	 * @param index
+	 */
+	private void createItems(Object[] elements, int index) {
+		if (virtualManager == null) {
+			for (int i = 0; i < elements.length; i++) {
+				createItem(elements[i], index + i);
+			}
+		} else {
+			virtualManager.notVisibleAdded(elements, index);
+		}
+	}
+
 	/**
 	 * Create a new row.  Callers can only use the returned object locally and before
 	 * making the next call on the viewer since it may be re-used for subsequent method
@@ -627,6 +666,42 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		createItem(element, position);
 	}
 
+	/**
+	 * Inserts the given elements into this table viewer at consecutive
+	 * positions, starting at the given position. If this viewer has a sorter or
+	 * filters, the position is ignored and the elements are added as by
+	 * {@link #add(Object[])}.
+	 * <p>
+	 * This method should be called (by the content provider) when a range of
+	 * elements has been added to the model, in order to cause the viewer to
+	 * accurately reflect the model. This method only affects the viewer, not
+	 * the model. Unlike inserting the elements one by one, the viewer state is
+	 * checked only once. A virtual table grows its item count once for all
+	 * elements, other tables still create one item per element.
+	 * </p>
+	 *
+	 * @param elements
+	 *            the elements to insert
+	 * @param position
+	 *            a 0-based position relative to the model, or -1 to indicate
+	 *            the last position
+	 * @since 3.1
+	 */
+	public void insert(Object[] elements, int position) {
+		assertElementsNotNull(elements);
+		applyEditorValue();
+		if (getComparator() != null || hasFilters()) {
+			add(elements);
+			return;
+		}
+		if (position == -1) {
+			position = doGetItemCount();
+		}
+		if (checkBusy())
+			return;
+		createItems(elements, position);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -856,6 +931,61 @@ public abstract class AbstractTableViewer extends ColumnViewer {
 		remove(new Object[] { element });
 	}
 
+	/**
+	 * Removes the given elements, which are shown at consecutive positions
+	 * starting at the given position, from this table viewer. The selection is
+	 * updated if required.
+	 * <p>
+	 * This method should be called (by the content provider) when a range of
+	 * elements has been removed from the model. Unlike
+	 * {@link #remove(Object[])}, it does not need to search the items of the
+	 * elements. If the elements are not found at the given position, or if
+	 * this viewer is virtual, sorted or filtered, the elements are removed as
+	 * by {@link #remove(Object[])}.
+	 * </p>
+	 *
+	 * @param elements
+	 *            the elements to remove
+	 * @param position
+	 *            the 0-based position of the first element
+	 * @since 3.1
+	 */
+	public void remove(final Object[] elements, final int position) {
+		assertElementsNotNull(elements);
+		if (checkBusy())
+			return;
+		if (!isShownAt(elements, position)) {
+			remove(elements);
+			return;
+		}
+		preservingSelection(new Runnable() {
+			public void run() {
+				for (int i = 0; i < elements.length; i++) {
+					disassociate(doGetItem(position + i));
+				}
+				doRemove(position, position + elements.length - 1);
+				if (doGetItemCount() == 0) {
+					doRemoveAll();
+				}
+			}
+		});
+	}
+
+	private boolean isShownAt(Object[] elements, int position) {
+		if (virtualManager != null || getComparator() != null || hasFilters()
+				|| elements.length == 0 || position < 0
+				|| position + elements.length > doGetItemCount()) {
+			return false;
+		}
+		for (int i = 0; i < elements.length; i++) {
+			Object data = doGetItem(position + i).getData();
+			if (data == null || !equals(data, elements[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
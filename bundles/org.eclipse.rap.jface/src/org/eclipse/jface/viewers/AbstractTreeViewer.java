@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,6 +13,7 @@
  *     Michael Schneider, bug 210747
  *     Bruce Sutton, bug 221768
  *     Matthew Hall, bug 221988
+ *     EclipseSource - range insertion
  *******************************************************************************/
 
 package org.eclipse.jface.viewers;
@@ -3012,6 +3013,82 @@ public abstract class AbstractTreeViewer extends ColumnViewer {
 		}
 	}
 
+	/**
+	 * Inserts the given elements as new child elements of the given parent
+	 * element at consecutive positions, starting at the given position. If this
+	 * viewer has a sorter or filters, the position is ignored and the elements
+	 * are added as by {@link #add(Object, Object[])}.
+	 * <p>
+	 * This method should be called (by the content provider) when a range of
+	 * elements has been added to the model, in order to cause the viewer to
+	 * accurately reflect the model. This method only affects the viewer, not
+	 * the model. Unlike inserting the elements one by one, the items of the
+	 * parent element are looked up only once.
+	 * </p>
+	 *
+	 * @param parentElementOrTreePath
+	 *            the parent element, or the tree path to the parent
+	 * @param elements
+	 *            the elements to insert
+	 * @param position
+	 *            a 0-based position relative to the model, or -1 to indicate
+	 *            the last position
+	 *
+	 * @since 3.1
+	 */
+	public void insert(Object parentElementOrTreePath, Object[] elements,
+			int position) {
+		Assert.isNotNull(parentElementOrTreePath);
+		assertElementsNotNull(elements);
+		if (checkBusy())
+			return;
+		if (getComparator() != null || hasFilters()) {
+			add(parentElementOrTreePath, elements);
+			return;
+		}
+		Widget[] items;
+		if (internalIsInputOrEmptyPath(parentElementOrTreePath)) {
+			items = new Widget[] { getControl() };
+		} else {
+			items = internalFindItems(parentElementOrTreePath);
+		}
+
+		for (int i = 0; i < items.length; i++) {
+			Widget widget = items[i];
+			if (widget instanceof Item) {
+				Item item = (Item) widget;
+
+				Item[] childItems = getChildren(item);
+				if (getExpanded(item)
+						|| (childItems.length > 0 && childItems[0].getData() != null)) {
+					// item has real children, go ahead and add
+					int insertionPosition = position;
+					if (insertionPosition == -1) {
+						insertionPosition = getItemCount(item);
+					}
+					createTreeItems(item, elements, insertionPosition);
+				} else {
+					Object parentElement = parentElementOrTreePath;
+					if (parentElement instanceof TreePath)
+						parentElement = ((TreePath) parentElement).getLastSegment();
+					updatePlus(item, parentElement);
+				}
+			} else {
+				int insertionPosition = position;
+				if (insertionPosition == -1) {
+					insertionPosition = getItemCount((Control) widget);
+				}
+				createTreeItems(widget, elements, insertionPosition);
+			}
+		}
+	}
+
+	private void createTreeItems(Widget parent, Object[] elements, int index) {
+		for (int i = 0; i < elements.length; i++) {
+			createTreeItem(parent, elements[i], index + i);
+		}
+	}
+
 	/*
 	 * (non-Javadoc)
 	 *
@@ -13,8 +13,12 @@ package org.eclipse.nebula.widgets.grid;
 import static org.eclipse.swt.internal.widgets.MarkupUtil.isMarkupEnabledFor;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.nebula.widgets.grid.internal.IScrollBarProxy;
@@ -73,8 +77,18 @@ public class Grid extends Composite {
 
   private List<GridItem> items = new ArrayList<GridItem>();
   private List<GridItem> rootItems = new ArrayList<GridItem>();
-  private List<GridItem> selectedItems = new ArrayList<GridItem>();
-  private List<Point> selectedCells = new ArrayList<Point>();
+  private Set<GridItem> selectedItems = new LinkedHashSet<GridItem>();
+  // empty slots of a virtual grid that are selected, their items are created on demand
+  private BitSet selectedSlots = new BitSet();
+  private Set<Point> selectedCells = new LinkedHashSet<Point>();
+  // number of leading items and root items whose cached index is known to be up to date
+  private int indexedItemCount;
+  private int indexedRootItemCount;
+  // items of a virtual grid that were created for an empty slot and may be evicted again
+  private Set<GridItem> slotItems = new LinkedHashSet<GridItem>();
+  private int emptySlotCount;
+  private int preloadedItems;
+  private boolean evictItems;
   private List<GridColumn> columns = new ArrayList<GridColumn>();
   private List<GridColumn> displayOrderedColumns = new ArrayList<GridColumn>();
   private List<GridColumnGroup> columnGroups = new ArrayList<GridColumnGroup>();
@@ -302,8 +316,11 @@ public class Grid extends Composite {
     checkWidget();
     int itemCount = Math.max( 0, count );
     while( itemCount < items.size() ) {
-      int flatIndex = items.size() - 1;
-      items.get( flatIndex ).dispose( flatIndex );
+      removeItemAt( items.size() - 1 );
+    }
+    if( isVirtual() && !isTree ) {
+      // the items of a flat virtual grid are created when they are accessed
+      addEmptySlots( itemCount - items.size() );
     }
     while( itemCount > items.size() ) {
       new GridItem( this, null, SWT.NONE, -1 );
@@ -345,6 +362,7 @@ public class Grid extends Composite {
    */
   public GridItem[] getItems() {
     checkWidget();
+    materializeItems();
     return items.toArray( new GridItem[ items.size() ] );
   }
 
@@ -371,7 +389,7 @@ public class Grid extends Composite {
     if( index < 0 || index >= items.size() ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    return items.get( index );
+    return getItemAt( index );
   }
 
   /**
@@ -406,11 +424,10 @@ public class Grid extends Composite {
       if( p.y > y ) {
         int row = getTopIndex();
         while( row < items.size() && y <= getClientArea().height && result == null ) {
-          GridItem currentItem = items.get( row );
-          if( currentItem.isVisible() ) {
-            int currentItemHeight = currentItem.getHeight();
+          if( isItemVisible( row ) ) {
+            int currentItemHeight = getItemHeight( row );
             if( p.y >= y && p.y < y + currentItemHeight ) {
-              result = currentItem;
+              result = getItemAt( row );
             }
             y += currentItemHeight;
           }
@@ -444,7 +461,7 @@ public class Grid extends Composite {
     if( item == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
-    return item.getParent() == this ? items.indexOf( item ) : -1;
+    return item.getParent() == this ? internalIndexOf( item ) : -1;
   }
 
   /**
@@ -481,6 +498,7 @@ public class Grid extends Composite {
    */
   public GridItem[] getRootItems() {
     checkWidget();
+    materializeItems();
     return rootItems.toArray( new GridItem[ rootItems.size() ] );
   }
 
@@ -494,7 +512,9 @@ public class Grid extends Composite {
     if( index < 0 || index >= rootItems.size() ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    return rootItems.get( index );
+    GridItem result = rootItems.get( index );
+    // empty slots only exist in flat grids, where the root index equals the flat index
+    return result == null ? getItemAt( index ) : result;
   }
 
   /**
@@ -512,13 +532,13 @@ public class Grid extends Composite {
   public GridItem getNextVisibleItem( GridItem item ) {
     checkWidget();
     GridItem result = null;
-    int index = items.indexOf( item );
+    int index = internalIndexOf( item );
     if( index != items.size() - 1 ) {
-      result = items.get( index + 1 );
+      result = getItemAt( index + 1 );
       while( result != null && !result.isVisible() ) {
         index++;
         if( index != items.size() - 1 ) {
-          result = items.get( index + 1 );
+          result = getItemAt( index + 1 );
         } else {
           result = null;
         }
@@ -547,14 +567,14 @@ public class Grid extends Composite {
     if( item == null ) {
       index = items.size();
     } else {
-      index = items.indexOf( item );
+      index = internalIndexOf( item );
     }
     if( index > 0 ) {
-      result = items.get( index - 1 );
+      result = getItemAt( index - 1 );
       while( result != null && !result.isVisible() ) {
         index--;
         if( index > 0 ) {
-          result = items.get( index - 1 );
+          result = getItemAt( index - 1 );
         } else {
           result = null;
         }
@@ -921,7 +941,7 @@ public class Grid extends Composite {
     if( index < 0 || index >= items.size() ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    items.get( index ).clear( allChildren );
+    clearItemAt( index, allChildren );
     redraw();
   }
 
@@ -955,7 +975,7 @@ public class Grid extends Composite {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
       for( int i = start; i <= end; i++ ) {
-        items.get( i ).clear( allChildren );
+        clearItemAt( i, allChildren );
       }
       redraw();
     }
@@ -995,7 +1015,7 @@ public class Grid extends Composite {
         }
       }
       for( int i = 0; i < indices.length; i++ ) {
-        items.get( indices[ i ] ).clear( allChildren );
+        clearItemAt( indices[ i ], allChildren );
       }
       redraw();
     }
@@ -1046,7 +1066,7 @@ public class Grid extends Composite {
   public void setSelectionEnabled( boolean selectionEnabled ) {
     checkWidget();
     if( !selectionEnabled ) {
-      selectedItems.clear();
+      clearSelectedItems();
     }
     this.selectionEnabled = selectionEnabled;
   }
@@ -1087,7 +1107,7 @@ public class Grid extends Composite {
     checkWidget();
     if( selectionEnabled && isValidItemIndex( index ) ) {
       if( !cellSelectionEnabled && selectionType == SWT.SINGLE ) {
-        selectedItems.clear();
+        clearSelectedItems();
       }
       internalSelect( index );
     }
@@ -1120,7 +1140,7 @@ public class Grid extends Composite {
     checkWidget();
     if( selectionEnabled && !( selectionType == SWT.SINGLE && start != end ) ) {
       if( !cellSelectionEnabled && selectionType == SWT.SINGLE ) {
-        selectedItems.clear();
+        clearSelectedItems();
       }
       for( int index = Math.max( 0, start ); index <= Math.min( items.size() - 1, end ); index++ ) {
         internalSelect( index );
@@ -1161,7 +1181,7 @@ public class Grid extends Composite {
     }
     if( selectionEnabled && !( selectionType == SWT.SINGLE && indices.length > 1 ) ) {
       if( !cellSelectionEnabled && selectionType == SWT.SINGLE ) {
-        selectedItems.clear();
+        clearSelectedItems();
       }
       for( int i = 0; i < indices.length; i++ ) {
         internalSelect( indices[ i ] );
@@ -1189,8 +1209,15 @@ public class Grid extends Composite {
 // TODO: [if] Implement cell selection
 //        selectAllCells();
       } else {
-        selectedItems.clear();
-        selectedItems.addAll( items );
+        clearSelectedItems();
+        for( int index = 0; index < items.size(); index++ ) {
+          GridItem item = items.get( index );
+          if( item == null ) {
+            selectedSlots.set( index );
+          } else {
+            selectedItems.add( item );
+          }
+        }
       }
     }
   }
@@ -1418,7 +1445,7 @@ public class Grid extends Composite {
           if( item.isDisposed() ) {
             SWT.error( SWT.ERROR_INVALID_ARGUMENT );
           }
-          internalSelect( this.items.indexOf( item ) );
+          internalSelect( internalIndexOf( item ) );
         }
       }
     }
@@ -1461,6 +1488,7 @@ public class Grid extends Composite {
 //      }
 //      result = items.toArray( new GridItem[ 0 ] );
     } else {
+      materializeSelectedSlots();
       result = selectedItems.toArray( new GridItem[ selectedItems.size() ] );
     }
     return result;
@@ -1493,7 +1521,7 @@ public class Grid extends Composite {
 //      }
 //      result = items.size();
     } else {
-      result = selectedItems.size();
+      result = selectedItems.size() + selectedSlots.cardinality();
     }
     return result;
   }
@@ -1516,11 +1544,13 @@ public class Grid extends Composite {
     int result = -1;
     if( cellSelectionEnabled ) {
       if( selectedCells.size() != 0 ) {
-        result = selectedCells.get( 0 ).y;
+        result = selectedCells.iterator().next().y;
       }
     } else {
       if( selectedItems.size() != 0 ) {
-        result = items.indexOf( selectedItems.get( 0 ) );
+        result = internalIndexOf( selectedItems.iterator().next() );
+      } else {
+        result = selectedSlots.nextSetBit( 0 );
       }
     }
     return result;
@@ -1549,23 +1579,23 @@ public class Grid extends Composite {
     checkWidget();
     int[] result = new int[ 0 ];
     if( cellSelectionEnabled ) {
-      List<GridItem> selectedRows = new ArrayList<GridItem>();
+      Set<GridItem> selectedRows = new LinkedHashSet<GridItem>();
       for( Point cell : selectedCells ) {
-        GridItem item = getItem( cell.y );
-        if( !selectedRows.contains( item ) ) {
-          selectedRows.add( item );
-        }
-      }
-      result = new int[ selectedRows.size() ];
-      for( int i = 0; i < result.length; i++ ) {
-        GridItem item = selectedRows.get( i );
-        result[ i ] = items.indexOf( item );
+        selectedRows.add( getItem( cell.y ) );
       }
+      result = getIndices( selectedRows );
     } else {
-      result = new int[ selectedItems.size() ];
-      for( int i = 0; i < result.length; i++ ) {
-        GridItem item = selectedItems.get( i );
-        result[ i ] = items.indexOf( item );
+      result = getIndices( selectedItems );
+      if( !selectedSlots.isEmpty() ) {
+        int[] itemIndices = result;
+        result = new int[ itemIndices.length + selectedSlots.cardinality() ];
+        System.arraycopy( itemIndices, 0, result, 0, itemIndices.length );
+        int i = itemIndices.length;
+        int index = selectedSlots.nextSetBit( 0 );
+        while( index != -1 ) {
+          result[ i++ ] = index;
+          index = selectedSlots.nextSetBit( index + 1 );
+        }
       }
     }
     return result;
@@ -1597,7 +1627,8 @@ public class Grid extends Composite {
           }
         }
       } else {
-        result = isSelected( items.get( index ) );
+        GridItem item = items.get( index );
+        result = item == null ? selectedSlots.get( index ) : isSelected( item );
       }
     }
     return result;
@@ -1627,7 +1658,7 @@ public class Grid extends Composite {
     }
     boolean result = false;
     if( cellSelectionEnabled ) {
-      int index = items.indexOf( item );
+      int index = internalIndexOf( item );
       if( index != -1 ) {
         for( Point cell : selectedCells ) {
           if( cell.y == index ) {
@@ -1662,7 +1693,7 @@ public class Grid extends Composite {
     if( index < 0 || index > items.size() - 1 ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    items.get( index ).dispose( index );
+    removeItemAt( index );
   }
 
   /**
@@ -1689,7 +1720,7 @@ public class Grid extends Composite {
       if( i < 0 || i > items.size() - 1 ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
-      items.get( i ).dispose( i );
+      removeItemAt( i );
     }
   }
 
@@ -1720,7 +1751,7 @@ public class Grid extends Composite {
     for( int i = 0; i < indices.length; i++ ) {
       int index = indices[ i ];
       if( isValidItemIndex( index ) ) {
-        removeThese[ i ] = items.get( index );
+        removeThese[ i ] = getItemAt( index );
       } else {
         SWT.error( SWT.ERROR_INVALID_RANGE );
       }
@@ -1743,8 +1774,7 @@ public class Grid extends Composite {
   public void removeAll() {
     checkWidget();
     while( items.size() > 0 ) {
-      int flatIndex = items.size() - 1;
-      items.get( flatIndex ).dispose( flatIndex );
+      removeItemAt( items.size() - 1 );
     }
   }
 
@@ -2036,11 +2066,10 @@ public class Grid extends Composite {
     checkWidget();
     if( isValidItemIndex( index ) ) {
       updateScrollBars();
-      GridItem item = items.get( index );
-      if( item.isVisible() && vScroll.getVisible() ) {
+      if( isItemVisible( index ) && vScroll.getVisible() ) {
         int vScrollAmount = 0;
         for( int i = 0; i < index; i++ ) {
-          if( items.get( i ).isVisible() ) {
+          if( isItemVisible( i ) ) {
             vScrollAmount++;
           }
         }
@@ -2078,7 +2107,7 @@ public class Grid extends Composite {
             if( item.isVisible() ) {
               row--;
               if( row == 0 ) {
-                firstVisibleIndex = items.indexOf( item );
+                firstVisibleIndex = internalIndexOf( item );
               }
             }
           }
@@ -2126,7 +2155,7 @@ public class Grid extends Composite {
           parent = parent.getParentItem();
         }
         if( !isShown( item ) ) {
-          setTopIndex( items.indexOf( item ) );
+          setTopIndex( internalIndexOf( item ) );
         }
       }
     }
@@ -2194,7 +2223,7 @@ public class Grid extends Composite {
     GridItem item = null;
     if( cellSelectionEnabled ) {
       if( selectedCells.size() != 0 ) {
-        Point cell = selectedCells.get( 0 );
+        Point cell = selectedCells.iterator().next();
         item = getItem( cell.y );
         showItem( item );
         GridColumn column = getColumn( cell.x );
@@ -2202,7 +2231,10 @@ public class Grid extends Composite {
       }
     } else {
       if( selectedItems.size() != 0 ) {
-        item = selectedItems.get( 0 );
+        item = selectedItems.iterator().next();
+        showItem( item );
+      } else if( !selectedSlots.isEmpty() ) {
+        item = getItemAt( selectedSlots.nextSetBit( 0 ) );
         showItem( item );
       }
     }
@@ -2255,6 +2287,11 @@ public class Grid extends Composite {
 
   @Override
   public void setData( String key, Object value ) {
+    if( RWT.PRELOADED_ITEMS.equals( key ) ) {
+      setPreloadedItems( value );
+    } else if( RWT.EVICT_VIRTUAL_ITEMS.equals( key ) ) {
+      evictItems = Boolean.TRUE.equals( value );
+    }
     if( !RWT.MARKUP_ENABLED.equals( key ) || !isMarkupEnabledFor( this ) ) {
       super.setData( key, value );
     }
@@ -2264,6 +2301,8 @@ public class Grid extends Composite {
     int row = 0;
     GridItem parentItem = item.getParentItem();
     if( !isTree && parentItem != null ) {
+      // empty slots are only supported in flat grids
+      materializeItems();
       isTree = true;
     }
     int flatIndex = index;
@@ -2273,7 +2312,8 @@ public class Grid extends Composite {
       if( index >= rootItems.size() ) {
         flatIndex = -1;
       } else {
-        flatIndex = items.indexOf( rootItems.get( index ) );
+        GridItem rootItem = rootItems.get( index );
+        flatIndex = rootItem == null ? index : internalIndexOf( rootItem );
       }
     } else if( !root ) {
       if( index >= parentItem.getItemCount() || index == -1 ) {
@@ -2282,9 +2322,9 @@ public class Grid extends Composite {
           int lastChildIndex = rightMostDescendent.getItemCount() - 1;
           rightMostDescendent = rightMostDescendent.getItem( lastChildIndex );
         }
-        flatIndex = items.indexOf( rightMostDescendent ) + 1;
+        flatIndex = internalIndexOf( rightMostDescendent ) + 1;
       } else {
-        flatIndex = items.indexOf( parentItem.getItem( index ) );
+        flatIndex = internalIndexOf( parentItem.getItem( index ) );
       }
     }
     if( flatIndex == -1 ) {
@@ -2293,6 +2333,12 @@ public class Grid extends Composite {
     } else {
       items.add( flatIndex, item );
       row = flatIndex;
+      shiftSelectedSlots( row, 1 );
+    }
+    indexedItemCount = Math.min( indexedItemCount, row );
+    if( indexedItemCount == row ) {
+      item.flatIndex = row;
+      indexedItemCount++;
     }
     updateVisibleItems( 1 );
     scheduleRedraw();
@@ -2301,8 +2347,11 @@ public class Grid extends Composite {
 
   void removeItem( int index ) {
     GridItem item = items.remove( index );
+    indexedItemCount = Math.min( indexedItemCount, index );
     if( !disposing ) {
-      selectedItems.remove (item );
+      shiftSelectedSlots( index + 1, -1 );
+      slotItems.remove( item );
+      selectedItems.remove( item );
 // TODO: [if] Implement cell selection
 //      Point[] cells = getCells( item );
 //      for( int i = 0; i < cells.length; i++ ) {
@@ -2319,25 +2368,26 @@ public class Grid extends Composite {
   }
 
   void newRootItem( GridItem item, int index ) {
-    if( index == -1 || index >= rootItems.size() ) {
-      rootItems.add( item );
-      item.index = rootItems.size() - 1;
-    } else {
-      rootItems.add( index, item );
-      item.index = index;
+    int rootIndex = index == -1 || index >= rootItems.size() ? rootItems.size() : index;
+    rootItems.add( rootIndex, item );
+    indexedRootItemCount = Math.min( indexedRootItemCount, rootIndex );
+    if( indexedRootItemCount == rootIndex ) {
+      item.index = rootIndex;
+      indexedRootItemCount++;
     }
-    adjustItemIndices( item.index + 1 );
   }
 
   void removeRootItem( int index ) {
     rootItems.remove( index );
-    adjustItemIndices( index );
+    indexedRootItemCount = Math.min( indexedRootItemCount, index );
   }
 
-  private void adjustItemIndices( int start ) {
-    for( int i = start; i < rootItems.size(); i++ ) {
-      rootItems.get( i ).index = i;
+  int internalRootIndexOf( GridItem item ) {
+    if( !GridItem.isAt( rootItems, item, item.index ) ) {
+      GridItem.adjustItemIndices( rootItems, indexedRootItemCount );
+      indexedRootItemCount = rootItems.size();
     }
+    return GridItem.isAt( rootItems, item, item.index ) ? item.index : -1;
   }
 
   int newColumn( GridColumn column, int index ) {
@@ -2350,7 +2400,9 @@ public class Grid extends Composite {
     }
     updatePrimaryCheckColumn();
     for( GridItem item : items ) {
-      item.columnAdded( index );
+      if( item != null ) {
+        item.columnAdded( index );
+      }
     }
     if( column.isCheck() ) {
       layoutCache.invalidateItemHeight();
@@ -2367,7 +2419,9 @@ public class Grid extends Composite {
     displayOrderedColumns.remove( column );
     updatePrimaryCheckColumn();
     for( GridItem item : items ) {
-      item.columnRemoved( index );
+      if( item != null ) {
+        item.columnRemoved( index );
+      }
     }
     if( column.isCheck() ) {
       layoutCache.invalidateItemHeight();
@@ -2418,7 +2472,10 @@ public class Grid extends Composite {
 
   int getMaxContentWidth( GridColumn column ) {
     doRedraw();
-    return getMaxInnerWidth( getRootItems(), columns.indexOf( column ) );
+    List<GridItem> createdItems = new ArrayList<GridItem>( rootItems );
+    createdItems.removeAll( Collections.singleton( null ) );
+    GridItem[] createdRootItems = createdItems.toArray( new GridItem[ createdItems.size() ] );
+    return getMaxInnerWidth( createdRootItems, columns.indexOf( column ) );
   }
 
   int getBottomIndex() {
@@ -2447,22 +2504,20 @@ public class Grid extends Composite {
         y += getHeaderHeight();
       }
       int topIndex = getTopIndex();
-      int itemIndex = items.indexOf( item );
+      int itemIndex = internalIndexOf( item );
       if( itemIndex == -1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
       while( topIndex != itemIndex ) {
         if( topIndex < itemIndex ) {
-          GridItem currentItem = items.get( topIndex );
-          if( currentItem.isVisible() ) {
-            y += currentItem.getHeight();
+          if( isItemVisible( topIndex ) ) {
+            y += getItemHeight( topIndex );
           }
           topIndex++;
         } else if( topIndex > itemIndex ) {
           topIndex--;
-          GridItem currentItem = items.get( topIndex );
-          if( currentItem.isVisible() ) {
-            y -= currentItem.getHeight();
+          if( isItemVisible( topIndex ) ) {
+            y -= getItemHeight( topIndex );
           }
         }
       }
@@ -2474,7 +2529,7 @@ public class Grid extends Composite {
     checkWidget();
     boolean result = false;
     if( item.isVisible() ) {
-      int itemIndex = items.indexOf( item );
+      int itemIndex = internalIndexOf( item );
       if( itemIndex == -1 ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
@@ -2488,17 +2543,49 @@ public class Grid extends Composite {
 
   private void doRedraw() {
     if( isVirtual() && items.size() > 0 ) {
-      for( int index = getTopIndex(); index <= getBottomIndex(); index++ ) {
-        GridItem item = items.get( index );
-        if( item.isVisible() ) {
+      int startIndex = Math.max( 0, getTopIndex() - preloadedItems );
+      int index = startIndex;
+      for( ; index <= getBottomIndex() + preloadedItems && isValidItemIndex( index ); index++ ) {
+        if( isItemVisible( index ) ) {
+          GridItem item = getItemAt( index );
           item.ensureItemData();
           item.handleVirtual();
         }
       }
+      if( evictItems && !isDisposed() ) {
+        evictItems( startIndex, index );
+      }
     }
     updateScrollBars();
   }
 
+  /*
+   * Releases the items that were created for empty slots outside the given range and are neither
+   * selected nor focused. Unlike removed items, the released items leave an empty slot and are
+   * requested again as needed. Selected items are kept as the client refers to them by their id.
+   */
+  private void evictItems( int startIndex, int endIndex ) {
+    Iterator<GridItem> iterator = slotItems.iterator();
+    while( iterator.hasNext() ) {
+      GridItem item = iterator.next();
+      int index = internalIndexOf( item );
+      boolean inRange = index >= startIndex && index < endIndex;
+      boolean retained = item == focusItem || selectedItems.contains( item );
+      if( !inRange && !retained && !item.hasChildren() ) {
+        iterator.remove();
+        evictItem( index );
+      }
+    }
+  }
+
+  private void evictItem( int index ) {
+    GridItem item = items.get( index );
+    items.set( index, null );
+    rootItems.set( index, null );
+    emptySlotCount++;
+    item.evict();
+  }
+
   boolean isVirtual() {
     return ( getStyle() & SWT.VIRTUAL ) != 0;
   }
@@ -2595,7 +2682,9 @@ public class Grid extends Composite {
     event.type = SWT.None;
     disposing = true;
     for( GridItem item : items ) {
-      item.dispose();
+      if( item != null ) {
+        item.dispose();
+      }
     }
     for( GridColumn column : columns ) {
       column.dispose();
@@ -2630,9 +2719,9 @@ public class Grid extends Composite {
   private int getGridHeight() {
     int result = 0;
     if( hasDifferingHeights ) {
-      for( GridItem item : items ) {
-        if( item.isVisible() ) {
-          result += item.getHeight();
+      for( int i = 0; i < items.size(); i++ ) {
+        if( isItemVisible( i ) ) {
+          result += getItemHeight( i );
         }
       }
     } else {
@@ -2663,24 +2752,26 @@ public class Grid extends Composite {
 
   private void internalSelect( int index ) {
     if( isValidItemIndex( index ) ) {
-      GridItem item = items.get( index );
+      GridItem item = getItemAt( index );
       if( cellSelectionEnabled ) {
 // TODO: [if] Implement cell selection
 //        selectCells( getCells( item ) );
-      } else if( !selectedItems.contains( item ) ) {
+      } else {
         selectedItems.add( item );
       }
     }
   }
   private void internalDeselect( int index ) {
-    if( isValidItemIndex( index ) ) {
+    if( isValidItemIndex( index ) && items.get( index ) != null ) {
       GridItem item = items.get( index );
       if( cellSelectionEnabled ) {
 // TODO: [if] Implement cell selection
 //        deselectCells( getCells( item ) );
-      } else if( selectedItems.contains( item ) ) {
+      } else {
         selectedItems.remove( item );
       }
+    } else if( isValidItemIndex( index ) ) {
+      selectedSlots.clear( index );
     }
   }
 
@@ -2689,7 +2780,38 @@ public class Grid extends Composite {
 // TODO: [if] Implement cell selection
 //      selectedCells.clear();
     } else {
-      selectedItems.clear();
+      clearSelectedItems();
+    }
+  }
+
+  private void clearSelectedItems() {
+    selectedItems.clear();
+    selectedSlots.clear();
+  }
+
+  /*
+   * Creates the items of the selected empty slots, they are moved to the selected items.
+   */
+  private void materializeSelectedSlots() {
+    int index = selectedSlots.nextSetBit( 0 );
+    while( index != -1 ) {
+      getItemAt( index );
+      index = selectedSlots.nextSetBit( index + 1 );
+    }
+  }
+
+  /*
+   * Moves the selected empty slots at or after the given index by the given distance.
+   */
+  private void shiftSelectedSlots( int index, int distance ) {
+    if( selectedSlots.length() > index ) {
+      BitSet shifted = selectedSlots.get( index, selectedSlots.length() );
+      selectedSlots.clear( Math.max( 0, index + Math.min( 0, distance ) ), selectedSlots.length() );
+      int bit = shifted.nextSetBit( 0 );
+      while( bit != -1 ) {
+        selectedSlots.set( index + distance + bit );
+        bit = shifted.nextSetBit( bit + 1 );
+      }
     }
   }
 
@@ -2996,13 +3118,13 @@ public class Grid extends Composite {
       }
       do {
         startIndex += inverse ? -1 : 1;
-      } while( isValidItemIndex( startIndex ) && !items.get( startIndex ).isVisible() );
+      } while( isValidItemIndex( startIndex ) && !isItemVisible( startIndex ) );
       if( !isValidItemIndex( startIndex ) ) {
         result = null;
       }
     }
     if( result != null ) {
-      if( startIndex < 0 || startIndex >= items.size() || !items.get( startIndex ).isVisible() ) {
+      if( startIndex < 0 || startIndex >= items.size() || !isItemVisible( startIndex ) ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
       }
       if( availableHeight <= 0 ) {
@@ -3015,27 +3137,21 @@ public class Grid extends Composite {
         int consumedItems = 0;
         int consumedHeight = 0;
         consumedItems++;
-        consumedHeight += items.get( otherIndex ).getHeight();
+        consumedHeight += getItemHeight( otherIndex );
         boolean abort = false;
         while( consumedHeight + 1 <= availableHeight && !abort ) {
           int nextIndex = otherIndex;
-          GridItem nextItem;
           do {
             nextIndex += inverse ? -1 : 1;
-            if( isValidItemIndex( nextIndex ) ) {
-              nextItem = items.get( nextIndex );
-            } else {
-              nextItem = null;
-            }
-          } while( nextItem != null && !nextItem.isVisible() );
-          if(    nextItem == null
+          } while( isValidItemIndex( nextIndex ) && !isItemVisible( nextIndex ) );
+          if(    !isValidItemIndex( nextIndex )
               || forceEndCompletelyInside
-              && !( consumedHeight + nextItem.getHeight() <= availableHeight ) )
+              && !( consumedHeight + getItemHeight( nextIndex ) <= availableHeight ) )
           {
             abort = true;
           } else {
             consumedItems++;
-            consumedHeight += nextItem.getHeight();
+            consumedHeight += getItemHeight( nextIndex );
             otherIndex = nextIndex;
           }
         }
@@ -3064,8 +3180,123 @@ public class Grid extends Composite {
     return index >= 0 && index < items.size();
   }
 
+  /*
+   * Returns the item at the given flat index and creates it if the slot is empty.
+   */
+  private GridItem getItemAt( int index ) {
+    GridItem result = items.get( index );
+    if( result == null ) {
+      result = new GridItem( this, null, SWT.NONE, index, false );
+      items.set( index, result );
+      rootItems.set( index, result );
+      slotItems.add( result );
+      emptySlotCount--;
+      if( selectedSlots.get( index ) ) {
+        selectedSlots.clear( index );
+        selectedItems.add( result );
+      }
+    }
+    return result;
+  }
+
+  /*
+   * Empty slots are root items without custom height, hence they are visible and have the
+   * default height.
+   */
+  private boolean isItemVisible( int index ) {
+    GridItem item = items.get( index );
+    return item == null || item.isVisible();
+  }
+
+  private int getItemHeight( int index ) {
+    GridItem item = items.get( index );
+    return item == null ? getItemHeight() : item.getHeight();
+  }
+
+  private void clearItemAt( int index, boolean allChildren ) {
+    GridItem item = items.get( index );
+    if( item != null ) {
+      item.clear( allChildren );
+    }
+  }
+
+  private void removeItemAt( int index ) {
+    GridItem item = items.get( index );
+    if( item != null ) {
+      item.dispose( index );
+    } else {
+      items.remove( index );
+      rootItems.remove( index );
+      emptySlotCount--;
+      selectedSlots.clear( index );
+      shiftSelectedSlots( index + 1, -1 );
+      indexedItemCount = Math.min( indexedItemCount, index );
+      indexedRootItemCount = Math.min( indexedRootItemCount, index );
+      updateVisibleItems( -1 );
+      scheduleRedraw();
+    }
+  }
+
+  private void addEmptySlots( int count ) {
+    if( count > 0 ) {
+      List<GridItem> slots = Collections.nCopies( count, null );
+      items.addAll( slots );
+      rootItems.addAll( slots );
+      emptySlotCount += count;
+      updateVisibleItems( count );
+      scheduleRedraw();
+    }
+  }
+
+  private void materializeItems() {
+    if( emptySlotCount > 0 ) {
+      for( int i = 0; i < items.size(); i++ ) {
+        getItemAt( i );
+      }
+    }
+  }
+
+  private void setPreloadedItems( Object value ) {
+    if( value == null ) {
+      preloadedItems = 0;
+    } else {
+      if( !( value instanceof Integer ) ) {
+        SWT.error( SWT.ERROR_INVALID_ARGUMENT );
+      }
+      preloadedItems = ( ( Integer )value ).intValue();
+      if( preloadedItems < 0 ) {
+        SWT.error( SWT.ERROR_INVALID_RANGE );
+      }
+    }
+  }
+
   int internalIndexOf( GridItem item ) {
-    return items.indexOf( item );
+    if( item == null ) {
+      return -1;
+    }
+    if( !isAt( item, item.flatIndex ) ) {
+      for( int i = indexedItemCount; i < items.size(); i++ ) {
+        GridItem current = items.get( i );
+        if( current != null ) {
+          current.flatIndex = i;
+        }
+      }
+      indexedItemCount = items.size();
+    }
+    return isAt( item, item.flatIndex ) ? item.flatIndex : -1;
+  }
+
+  private boolean isAt( GridItem item, int index ) {
+    return isValidItemIndex( index ) && items.get( index ) == item;
+  }
+
+  private int[] getIndices( Set<GridItem> selection ) {
+    int[] result = new int[ selection.size() ];
+    int i = 0;
+    for( GridItem item : selection ) {
+      result[ i++ ] = internalIndexOf( item );
+    }
+    return result;
   }
 
   void scheduleRedraw() {
@@ -3156,7 +3387,7 @@ public class Grid extends Composite {
 
     @Override
     public int getItemIndex( GridItem item ) {
-      return item.index;
+      return item.getSiblingIndex();
     }
 
     @Override
@@ -3194,7 +3425,7 @@ public class Grid extends Composite {
       }
       if( isVirtual() ) {
         for( GridItem item : items ) {
-          if( item.isResolved() ) {
+          if( item != null && item.isResolved() ) {
             visitor.visit( item );
           }
         }
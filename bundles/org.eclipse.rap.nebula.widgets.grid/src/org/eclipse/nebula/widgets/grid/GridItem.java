@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -62,8 +62,12 @@ public class GridItem extends Item {
   private boolean hasChildren;
   private boolean visible = true;
   private boolean cached;
+  private boolean evicted;
   private transient IGridItemAdapter gridItemAdapter;
+  private int indexedChildCount;
+  // index among the siblings and in the flat item list of the grid, both are updated lazily
   int index;
+  int flatIndex;
 
   /**
    * Creates a new instance of this class and places the item at the end of
@@ -166,10 +170,18 @@ public class GridItem extends Item {
   }
 
   GridItem( Grid parent, GridItem parentItem, int style, int index ) {
+    this( parent, parentItem, style, index, true );
+  }
+
+  GridItem( Grid parent, GridItem parentItem, int style, int index, boolean create ) {
     super( parent, style, index );
     this.parent = parent;
     this.parentItem = parentItem;
-    if( parentItem == null ) {
+    if( !create ) {
+      // the item fills an empty slot of a virtual grid, the grid stores it in this slot
+      this.index = index;
+      flatIndex = index;
+    } else if( parentItem == null ) {
       parent.newItem( this, index, true );
       parent.newRootItem( this, index );
     } else {
@@ -196,23 +208,34 @@ public class GridItem extends Item {
           updateColumnTextCount( i, itemData.text, "" );
         }
       }
-      int index = flatIndex == SWT.DEFAULT ? parent.internalIndexOf( this ) : flatIndex;
-      if( hasChildren ) {
-        List<GridItem> children = getItemData().getChildren();
-        while( hasChildren ) {
-          children.get( 0 ).dispose( index + 1 );
+      if( !evicted ) {
+        int index = flatIndex == SWT.DEFAULT ? parent.internalIndexOf( this ) : flatIndex;
+        if( hasChildren ) {
+          List<GridItem> children = getItemData().getChildren();
+          while( hasChildren ) {
+            children.get( 0 ).dispose( index + 1 );
+          }
+        }
+        parent.removeItem( index );
+        if( parentItem != null ) {
+          parentItem.removeItem( parentItem.internalIndexOf( this ) );
+        } else {
+          parent.removeRootItem( parent.internalRootIndexOf( this ) );
         }
-      }
-      parent.removeItem( index );
-      if( parentItem != null ) {
-        parentItem.removeItem( this.index );
-      } else {
-        parent.removeRootItem( this.index );
       }
     }
     super.dispose();
   }
 
+  /*
+   * Disposes of an item whose slot in the virtual grid has already been emptied by eviction. The
+   * slot remains, hence the client item is released instead of destroyed.
+   */
+  void evict() {
+    evicted = true;
+    dispose();
+  }
+
   /**
    * Fires the given event type on the parent Grid instance. This method
    * should only be called from within a cell renderer. Any other use is not
@@ -409,7 +432,7 @@ public class GridItem extends Item {
     if( !hasChildren ) {
       throw new IllegalArgumentException( "GridItem has no children!" );
     }
-    return item.getParentItem() == this ? item.index : -1;
+    return item.getParentItem() == this ? internalIndexOf( item ) : -1;
   }
 
   /**
@@ -1381,14 +1404,13 @@ public class GridItem extends Item {
 
   private void newItem( GridItem item, int index ) {
     List<GridItem> children = getItemData().getChildren();
-    if( index == -1 ) {
-      children.add( item );
-      item.index = children.size() - 1;
-    } else {
-      children.add( index, item );
-      item.index = index;
+    int childIndex = index == -1 ? children.size() : index;
+    children.add( childIndex, item );
+    indexedChildCount = Math.min( indexedChildCount, childIndex );
+    if( indexedChildCount == childIndex ) {
+      item.index = childIndex;
+      indexedChildCount++;
     }
-    adjustItemIndices( item.index + 1 );
     hasChildren = true;
   }
 
@@ -1398,17 +1420,40 @@ public class GridItem extends Item {
     }
     List<GridItem> children = getItemData().getChildren();
     children.remove( index );
-    adjustItemIndices( index );
+    indexedChildCount = Math.min( indexedChildCount, index );
     hasChildren = children.size() > 0;
   }
 
-  private void adjustItemIndices( int start ) {
+  int getSiblingIndex() {
+    if( parentItem == null ) {
+      return parent.internalRootIndexOf( this );
+    }
+    return parentItem.internalIndexOf( this );
+  }
+
+  int internalIndexOf( GridItem item ) {
     List<GridItem> children = getItemData().getChildren();
-    for( int i = start; i < children.size(); i++ ) {
-      children.get( i ).index = i;
+    if( !isAt( children, item, item.index ) ) {
+      adjustItemIndices( children, indexedChildCount );
+      indexedChildCount = children.size();
+    }
+    return isAt( children, item, item.index ) ? item.index : -1;
+  }
+
+  static void adjustItemIndices( List<GridItem> items, int start ) {
+    for( int i = start; i < items.size(); i++ ) {
+      GridItem item = items.get( i );
+      // the root items of a virtual grid may contain empty slots
+      if( item != null ) {
+        item.index = i;
+      }
     }
   }
 
+  static boolean isAt( List<GridItem> items, GridItem item, int index ) {
+    return index >= 0 && index < items.size() && items.get( index ) == item;
+  }
+
   void columnAdded( int index ) {
     if( data != null && parent.getColumnCount() > 1 ) {
       data.addCellData( index );
@@ -1557,7 +1602,7 @@ public class GridItem extends Item {
       markCached();
       Event event = new Event();
       event.item = this;
-      event.index = index;
+      event.index = getSiblingIndex();
       parent.notifyListeners( SWT.SetData, event );
     }
   }
@@ -1632,6 +1677,11 @@ public class GridItem extends Item {
       return GridItem.this.isCached();
     }
 
+    @Override
+    public boolean isEvicted() {
+      return evicted;
+    }
+
     @Override
     public Color getUserBackground() {
       return getItemData().defaultBackground;
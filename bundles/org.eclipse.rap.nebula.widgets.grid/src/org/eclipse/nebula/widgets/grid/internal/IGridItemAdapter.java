@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,5 +28,6 @@ public interface IGridItemAdapter {
   int[] getColumnSpans();
   boolean isParentDisposed();
   boolean isCached();
+  boolean isEvicted();
 
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -137,7 +137,13 @@ public class GridItemLCA extends WidgetLCA<GridItem> {
   @Override
   public void renderDispose( GridItem item ) throws IOException {
     RemoteObject remoteObject = getRemoteObject( item );
-    if( !isParentDisposed( item ) ) {
+    if( getGridItemAdapter( item ).isEvicted() ) {
+      // The client item is released from its id, but keeps its slot as a placeholder
+      if( !isParentDisposed( item ) ) {
+        remoteObject.call( "release", null );
+      }
+      ( ( RemoteObjectImpl )remoteObject ).markDestroyed();
+    } else if( !isParentDisposed( item ) ) {
       // The tree disposes the items itself on the client (faster)
       remoteObject.destroy();
     } else {
@@ -103,6 +103,14 @@ rwt.remote.HandlerRegistry.add( "rwt.widgets.GridItem", {
     }
   },
 
-  methods : [ "clear" ]
+  methods : [ "clear", "release" ],
+
+  methodHandler : {
+    "release" : function( widget ) {
+      // The item stays in place as a placeholder, so the indices of its siblings do not change
+      widget.clear();
+      rwt.remote.ObjectRegistry.remove( rwt.remote.ObjectRegistry.getId( widget ) );
+    }
+  }
 
 } );
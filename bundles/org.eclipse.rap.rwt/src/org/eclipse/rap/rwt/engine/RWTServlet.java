@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,6 +29,7 @@ import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.resources.ResourceServiceHandler;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceContext;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
@@ -81,6 +82,7 @@ import org.eclipse.rap.rwt.service.ServiceHandler;
 public class RWTServlet extends HttpServlet {
 
   private ApplicationContextImpl applicationContext;
+  private ServiceHandler resourceServiceHandler;
 
   @Override
   public String getServletInfo() {
@@ -91,6 +93,7 @@ public class RWTServlet extends HttpServlet {
   public void init() throws ServletException {
     ServletContext servletContext = getServletContext();
     applicationContext = ApplicationContextImpl.getFrom( servletContext );
+    resourceServiceHandler = new ResourceServiceHandler( applicationContext );
   }
 
   @Override
@@ -125,6 +128,17 @@ public class RWTServlet extends HttpServlet {
 
   private void handleValidRequest( HttpServletRequest request, HttpServletResponse response )
     throws IOException, ServletException
+  {
+    if( ResourceServiceHandler.isResourceRequest( request ) ) {
+      // resources are independent of the UI session, do not create an HTTP session for them
+      resourceServiceHandler.service( request, response );
+    } else {
+      handleSessionRequest( request, response );
+    }
+  }
+
+  private void handleSessionRequest( HttpServletRequest request, HttpServletResponse response )
+    throws IOException, ServletException
   {
     ServiceContext context = new ServiceContext( request, response, applicationContext );
     context.setServiceStore( new ServiceStore() );
@@ -11,6 +11,8 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal;
 
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+
 
 public final class RWTProperties {
 
@@ -23,6 +25,102 @@ public final class RWTProperties {
    */
   public static final String ENABLE_UI_TESTS = "org.eclipse.rap.rwt.enableUITests";
 
+  /*
+   * Used to encode response messages during the render phase instead of building all operations
+   * in memory first. Has no effect while message filters are registered.
+   */
+  public static final String STREAMING_RESPONSE = "org.eclipse.rap.rwt.streamingResponse";
+
+  /*
+   * Used to preserve, render and clear only the widgets that have been accessed since the last
+   * request instead of traversing the entire widget tree in every request.
+   */
+  public static final String INCREMENTAL_RENDER = "org.eclipse.rap.rwt.incrementalRender";
+
+  /*
+   * Used in conjunction with INCREMENTAL_RENDER to verify that widgets are tracked as dirty before
+   * they change and that rendering the other widgets does not produce any operations. Intended for
+   * testing only.
+   */
+  public static final String INCREMENTAL_RENDER_CHECK = "org.eclipse.rap.rwt.incrementalRenderCheck";
+
+  /*
+   * Used to suspend server push requests using the asynchronous servlet API instead of blocking a
+   * container thread per session. Requires the RWT servlet and all filters in front of it to
+   * support asynchronous requests, otherwise server push requests are blocking as before.
+   */
+  public static final String ASYNC_SERVER_PUSH = "org.eclipse.rap.rwt.asyncServerPush";
+
+  /*
+   * Used in conjunction with OperationMode.SWT_COMPATIBILITY to run the UI thread of each UI
+   * session as a virtual thread, if supported by the runtime, that hands control to and from the
+   * request thread without holding a monitor.
+   */
+  public static final String LIGHTWEIGHT_UI_THREADS = "org.eclipse.rap.rwt.lightweightUIThreads";
+
+  /*
+   * The path of a file to persist measured text sizes in. If set, the text sizes are loaded when
+   * the application starts and saved periodically.
+   */
+  public static final String TEXT_SIZE_SNAPSHOT_FILE = "org.eclipse.rap.rwt.textSizeSnapshotFile";
+
+  /*
+   * Used to serve registered resources from memory by the RWT servlet, with a precompressed gzip
+   * variant and content-hash URLs that can be cached forever. Requires all resource URLs to be
+   * obtained from the resource manager.
+   */
+  public static final String SERVE_RESOURCES = "org.eclipse.rap.rwt.serveResources";
+
+  /*
+   * Used to compress protocol responses with gzip or deflate, if accepted by the client. Responses
+   * smaller than the threshold (in bytes) are sent uncompressed.
+   */
+  public static final String COMPRESS_RESPONSE = "org.eclipse.rap.rwt.compressResponse";
+  public static final String COMPRESS_RESPONSE_THRESHOLD
+    = "org.eclipse.rap.rwt.compressResponseThreshold";
+  public static final int DEFAULT_COMPRESS_RESPONSE_THRESHOLD = 1024;
+
+  /*
+   * Used to hold the internal images that are shared across sessions by soft references, so that
+   * they can be evicted when memory gets low. Evicted images are read and registered again when
+   * they are requested next.
+   */
+  public static final String SOFT_IMAGE_CACHE = "org.eclipse.rap.rwt.softImageCache";
+
+  /*
+   * The maximum size in bytes of all image data that is cached for reading, and the maximum size
+   * of a single cached image data. The least recently used image data is evicted first.
+   */
+  public static final String IMAGE_DATA_CACHE_SIZE = "org.eclipse.rap.rwt.imageDataCacheSize";
+  public static final String IMAGE_DATA_CACHE_ENTRY_SIZE
+    = "org.eclipse.rap.rwt.imageDataCacheEntrySize";
+  public static final int DEFAULT_IMAGE_DATA_CACHE_SIZE = 1024 * 1024;
+  public static final int DEFAULT_IMAGE_DATA_CACHE_ENTRY_SIZE = 1024;
+
+  /*
+   * Used to parse the style sheets of all themes and to build their values maps in parallel when
+   * the application starts.
+   */
+  public static final String PARALLEL_THEME_INITIALIZATION
+    = "org.eclipse.rap.rwt.parallelThemeInitialization";
+
+  /*
+   * Used to defer the initialization and the resource registration of custom themes until they
+   * are first used. The default theme and the fallback theme are always initialized on startup.
+   */
+  public static final String LAZY_THEME_INITIALIZATION
+    = "org.eclipse.rap.rwt.lazyThemeInitialization";
+
+  /*
+   * Used with session failover to flag UI sessions for replication only after requests that have
+   * changed them, instead of after every request. Every processed UI request changes the session,
+   * as it advances the request counter, whereas rejected and duplicate UI requests as well as
+   * server push requests do not. Requests to custom service handlers are always considered a
+   * change.
+   */
+  public static final String CHANGED_SESSION_REPLICATION
+    = "org.eclipse.rap.rwt.changedSessionReplication";
+
   private RWTProperties() {
     // prevent instantiation
   }
@@ -31,13 +129,99 @@ public final class RWTProperties {
     return System.getProperty( SERVICE_HANDLER_BASE_URL );
   }
 
+  public static String getTextSizeSnapshotFile() {
+    return System.getProperty( TEXT_SIZE_SNAPSHOT_FILE );
+  }
+
   public static boolean isDevelopmentMode() {
     return getBooleanProperty( DEVELOPMEMT_MODE, false );
   }
 
+  public static boolean isStreamingResponse() {
+    return getBooleanProperty( STREAMING_RESPONSE, false );
+  }
+
+  public static boolean isIncrementalRender() {
+    return getBooleanProperty( INCREMENTAL_RENDER, false );
+  }
+
+  public static boolean isIncrementalRenderCheck() {
+    return getBooleanProperty( INCREMENTAL_RENDER_CHECK, false );
+  }
+
+  public static boolean isAsyncServerPush() {
+    return getBooleanProperty( ASYNC_SERVER_PUSH, false );
+  }
+
+  public static boolean isLightweightUIThreads() {
+    return getBooleanProperty( LIGHTWEIGHT_UI_THREADS, false );
+  }
+
+  public static boolean isServeResources() {
+    return getBooleanProperty( SERVE_RESOURCES, false );
+  }
+
+  public static boolean isCompressResponse() {
+    return getBooleanProperty( COMPRESS_RESPONSE, false );
+  }
+
+  public static int getCompressResponseThreshold() {
+    return getIntProperty( COMPRESS_RESPONSE_THRESHOLD, DEFAULT_COMPRESS_RESPONSE_THRESHOLD, 0 );
+  }
+
+  public static boolean isSoftImageCache() {
+    return getBooleanProperty( SOFT_IMAGE_CACHE, false );
+  }
+
+  public static boolean isParallelThemeInitialization() {
+    return getBooleanProperty( PARALLEL_THEME_INITIALIZATION, false );
+  }
+
+  public static boolean isLazyThemeInitialization() {
+    return getBooleanProperty( LAZY_THEME_INITIALIZATION, false );
+  }
+
+  public static boolean isChangedSessionReplication() {
+    return getBooleanProperty( CHANGED_SESSION_REPLICATION, false );
+  }
+
+  public static int getImageDataCacheSize() {
+    return getIntProperty( IMAGE_DATA_CACHE_SIZE, DEFAULT_IMAGE_DATA_CACHE_SIZE, 0 );
+  }
+
+  public static int getImageDataCacheEntrySize() {
+    return getIntProperty( IMAGE_DATA_CACHE_ENTRY_SIZE, DEFAULT_IMAGE_DATA_CACHE_ENTRY_SIZE, 0 );
+  }
+
   public static boolean getBooleanProperty( String name, boolean defaultValue ) {
     String value = System.getProperty( name );
     return value == null ? defaultValue : value.equalsIgnoreCase( "true" );
   }
 
+  public static int getIntProperty( String name, int defaultValue ) {
+    return getIntProperty( name, defaultValue, Integer.MIN_VALUE );
+  }
+
+  /*
+   * Values that are no integer or that are less than the given minimum are logged and replaced
+   * with the default value.
+   */
+  public static int getIntProperty( String name, int defaultValue, int minValue ) {
+    String value = System.getProperty( name );
+    if( value != null ) {
+      try {
+        int result = Integer.parseInt( value.trim() );
+        if( result >= minValue ) {
+          return result;
+        }
+      } catch( @SuppressWarnings( "unused" ) NumberFormatException exception ) {
+        // fall back to default
+      }
+      String message = "Invalid value for system property " + name + ": " + value
+                     + ", using default value " + defaultValue;
+      ServletLog.log( message, null );
+    }
+    return defaultValue;
+  }
+
 }
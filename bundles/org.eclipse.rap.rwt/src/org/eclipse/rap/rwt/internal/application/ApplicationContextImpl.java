@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.application;
 
+import java.io.File;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.HashSet;
@@ -23,6 +24,7 @@ import javax.servlet.ServletContext;
 
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.client.ClientSelector;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleFactory;
@@ -40,13 +42,16 @@ import org.eclipse.rap.rwt.internal.service.ApplicationStoreImpl;
 import org.eclipse.rap.rwt.internal.service.LifeCycleServiceHandler;
 import org.eclipse.rap.rwt.internal.service.RWTMessageHandler;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
 import org.eclipse.rap.rwt.internal.service.SettingStoreManager;
 import org.eclipse.rap.rwt.internal.service.StartupPage;
 import org.eclipse.rap.rwt.internal.textsize.ProbeStore;
+import org.eclipse.rap.rwt.internal.textsize.TextSizeSnapshot;
 import org.eclipse.rap.rwt.internal.textsize.TextSizeStorage;
 import org.eclipse.rap.rwt.internal.theme.ThemeManager;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.rap.rwt.internal.util.SerializableLock;
+import org.eclipse.rap.rwt.internal.util.TimerWheel;
 import org.eclipse.rap.rwt.service.ApplicationContext;
 import org.eclipse.rap.rwt.service.ApplicationContextEvent;
 import org.eclipse.rap.rwt.service.ApplicationContextListener;
@@ -101,6 +106,8 @@ public class ApplicationContextImpl implements ApplicationContext {
   private final DisplaysHolder displaysHolder;
   private final TextSizeStorage textSizeStorage;
   private final ProbeStore probeStore;
+  private TextSizeSnapshot textSizeSnapshot;
+  private final TimerWheel timerWheel;
   private final ServletContext servletContext;
   private final ClientSelector clientSelector;
   private final Set<ApplicationContextListener> appContextListeners;
@@ -135,6 +142,7 @@ public class ApplicationContextImpl implements ApplicationContext {
     displaysHolder = new DisplaysHolder();
     textSizeStorage = new TextSizeStorage();
     probeStore = new ProbeStore( textSizeStorage );
+    timerWheel = new TimerWheel( "RWT timerExec scheduler" );
     clientSelector = new ClientSelector();
     appContextListeners = new HashSet<>();
     listenersLock = new SerializableLock();
@@ -340,6 +348,10 @@ public class ApplicationContextImpl implements ApplicationContext {
     return probeStore;
   }
 
+  public TimerWheel getTimerWheel() {
+    return timerWheel;
+  }
+
   public ClientSelector getClientSelector() {
     return clientSelector;
   }
@@ -382,9 +394,15 @@ public class ApplicationContextImpl implements ApplicationContext {
     }
     resourceRegistry.registerResources();
     clientSelector.activate();
+    activateTextSizeSnapshot();
+    if( RWTProperties.isDevelopmentMode() ) {
+      ServletLog.log( themeManager.getTimingReport(), null );
+    }
   }
 
   void doDeactivate() {
+    timerWheel.stop();
+    deactivateTextSizeSnapshot();
     startupPage.deactivate();
     lifeCycleFactory.deactivate();
     serviceManager.clear();
@@ -400,6 +418,21 @@ public class ApplicationContextImpl implements ApplicationContext {
     applicationStore.reset();
   }
 
+  private void activateTextSizeSnapshot() {
+    String fileName = RWTProperties.getTextSizeSnapshotFile();
+    if( fileName != null ) {
+      textSizeSnapshot = new TextSizeSnapshot( textSizeStorage, new File( fileName ) );
+      textSizeSnapshot.activate( TextSizeSnapshot.DEFAULT_FLUSH_INTERVAL );
+    }
+  }
+
+  private void deactivateTextSizeSnapshot() {
+    if( textSizeSnapshot != null ) {
+      textSizeSnapshot.deactivate();
+      textSizeSnapshot = null;
+    }
+  }
+
   private ServiceManagerImpl createServiceManager() {
     return new ServiceManagerImpl( new LifeCycleServiceHandler( messageChainReference ) );
   }
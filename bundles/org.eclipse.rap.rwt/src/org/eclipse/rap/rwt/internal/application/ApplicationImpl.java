@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,13 +14,16 @@ package org.eclipse.rap.rwt.internal.application;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 import org.eclipse.rap.rwt.application.Application;
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
 import org.eclipse.rap.rwt.application.EntryPoint;
 import org.eclipse.rap.rwt.application.EntryPointFactory;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.client.ClientProvider;
+import org.eclipse.rap.rwt.internal.lifecycle.HandoffLifeCycle;
 import org.eclipse.rap.rwt.internal.lifecycle.RWTLifeCycle;
 import org.eclipse.rap.rwt.internal.theme.Theme;
 import org.eclipse.rap.rwt.internal.theme.ThemeManager;
@@ -53,7 +56,11 @@ public class ApplicationImpl implements Application {
       case JEE_COMPATIBILITY:
         break;
       case SWT_COMPATIBILITY:
-        applicationContext.getLifeCycleFactory().configure( RWTLifeCycle.class );
+        if( RWTProperties.isLightweightUIThreads() ) {
+          applicationContext.getLifeCycleFactory().configure( HandoffLifeCycle.class );
+        } else {
+          applicationContext.getLifeCycleFactory().configure( RWTLifeCycle.class );
+        }
         break;
       case SESSION_FAILOVER:
         new SessionFailoverConfigurator( applicationContext ).configure();
@@ -127,14 +134,14 @@ public class ApplicationImpl implements Application {
     ParamCheck.notNull( styleSheetLocation, "styleSheetLocation" );
     ParamCheck.notNull( resourceLoader, "resourceLoader" );
 
-    StyleSheet styleSheet = readStyleSheet( styleSheetLocation, resourceLoader );
     ThemeManager themeManager = applicationContext.getThemeManager();
     Theme theme = themeManager.getTheme( themeId );
-    if( theme != null ) {
-      theme.addStyleSheet( styleSheet );
-    } else {
-      themeManager.registerTheme( new Theme( themeId, "unknown", styleSheet ) );
+    if( theme == null ) {
+      theme = new Theme( themeId, "unknown", null );
+      themeManager.registerTheme( theme );
     }
+    Callable<StyleSheet> reader = createStyleSheetReader( styleSheetLocation, resourceLoader );
+    themeManager.addStyleSheet( theme, reader );
   }
 
   @Override
@@ -166,6 +173,17 @@ public class ApplicationImpl implements Application {
     return configuration.getClass().getClassLoader();
   }
 
+  private static Callable<StyleSheet> createStyleSheetReader( final String styleSheetLocation,
+                                                              final ResourceLoader loader )
+  {
+    return new Callable<StyleSheet>() {
+      @Override
+      public StyleSheet call() {
+        return readStyleSheet( styleSheetLocation, loader );
+      }
+    };
+  }
+
   private static StyleSheet readStyleSheet( String styleSheetLocation, ResourceLoader loader ) {
     try {
       return CssFileReader.readStyleSheet( styleSheetLocation, loader );
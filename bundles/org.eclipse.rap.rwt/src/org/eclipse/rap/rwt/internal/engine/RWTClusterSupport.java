@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
 package org.eclipse.rap.rwt.internal.engine;
 
 import java.io.IOException;
+import java.util.Set;
 
 import javax.servlet.Filter;
 import javax.servlet.FilterChain;
@@ -22,16 +23,56 @@ import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessageConst;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushServiceHandler;
+import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
 import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.internal.util.ClassUtil;
 import org.eclipse.rap.rwt.service.UISession;
 
 
 public class RWTClusterSupport implements Filter {
 
+  /**
+   * The name of the filter init parameter that specifies the fully qualified class name of a
+   * {@link SessionReplicator} to use instead of the default one. The class must provide a public
+   * no-argument constructor.
+   */
+  public static final String SESSION_REPLICATOR_PARAM = "org.eclipse.rap.rwt.sessionReplicator";
+
+  private final boolean changedSessionReplication;
+  private SessionReplicator replicator;
+
+  public RWTClusterSupport() {
+    this( RWTProperties.isChangedSessionReplication() );
+  }
+
+  /**
+   * @param changedSessionReplication whether UI sessions should only be flagged for replication
+   *          after requests that have changed them
+   */
+  public RWTClusterSupport( boolean changedSessionReplication ) {
+    this( changedSessionReplication, new HttpSessionReplicator() );
+  }
+
+  /**
+   * @param changedSessionReplication whether UI sessions should only be replicated after requests
+   *          that have changed them
+   * @param replicator the replicator to transfer the UI sessions with
+   */
+  public RWTClusterSupport( boolean changedSessionReplication, SessionReplicator replicator ) {
+    this.changedSessionReplication = changedSessionReplication;
+    this.replicator = replicator;
+  }
+
   @Override
   public void init( FilterConfig filterConfig ) {
+    String className = filterConfig.getInitParameter( SESSION_REPLICATOR_PARAM );
+    if( className != null ) {
+      replicator = ( SessionReplicator )ClassUtil.newInstance( getClassLoader(), className );
+    }
   }
 
   @Override
@@ -69,28 +110,37 @@ public class RWTClusterSupport implements Filter {
     ( ( UISessionImpl )uiSession ).setApplicationContext( applicationContext );
   }
 
-  private static void afterService( ServletRequest request ) {
+  private void afterService( ServletRequest request ) {
     HttpSession httpSession = getHttpSession( request );
     if( httpSession != null ) {
-      afterService( httpSession, getConnectionId( request ) );
+      UISessionImpl uiSession = UISessionImpl.getInstanceFromSession( httpSession,
+                                                                      getConnectionId( request ) );
+      if( uiSession != null ) {
+        Set<String> changedAttributes = uiSession.resetChanges();
+        if( changedAttributes != null ) {
+          replicator.replicate( uiSession, changedAttributes );
+        } else if( !changedSessionReplication || isCustomServiceRequest( request ) ) {
+          replicator.replicate( uiSession, null );
+        }
+      }
     }
   }
 
-  private static void afterService( HttpSession httpSession, String connectionId ) {
-    markSessionChanged( httpSession, connectionId );
+  /*
+   * Custom service handlers may change objects in the UI session without flagging it, server push
+   * requests only wait for changes.
+   */
+  private static boolean isCustomServiceRequest( ServletRequest request ) {
+    String handlerId = request.getParameter( ServiceManagerImpl.REQUEST_PARAM );
+    return handlerId != null && !ServerPushServiceHandler.HANDLER_ID.equals( handlerId );
   }
 
-  private static void markSessionChanged( HttpSession httpSession, String connectionId ) {
-    // If a session attribute changes, the servlet engine must be told to replicate the change.
-    // Unfortunately the Servlet specs do not specify how this should be done.
-    // The most common way is to call HttpSession.setAttribute() to flag the object as changed.
-    // See http://wiki.eclipse.org/RAP/RWT_Cluster#Serializable_Session_Data
-    // See also: J2EE clustering, Part 2, section Session-storage guidelines
-    // http://java.sun.com/developer/technicalArticles/J2EE/clustering/
-    UISessionImpl uiSession = UISessionImpl.getInstanceFromSession( httpSession, connectionId );
-    if( uiSession != null ) {
-      uiSession.attachToHttpSession();
+  private ClassLoader getClassLoader() {
+    ClassLoader loader = Thread.currentThread().getContextClassLoader();
+    if( loader == null ) {
+      loader = getClass().getClassLoader();
     }
+    return loader;
   }
 
   private static HttpSession getHttpSession( ServletRequest request ) {
@@ -101,4 +151,23 @@ public class RWTClusterSupport implements Filter {
     return request.getParameter( ClientMessageConst.CONNECTION_ID );
   }
 
+  /*
+   * The servlet container replicates whole session attributes, hence the changed attributes of the
+   * UI session cannot be transferred separately.
+   */
+  private static class HttpSessionReplicator implements SessionReplicator {
+
+    @Override
+    public void replicate( UISessionImpl uiSession, Set<String> changedAttributes ) {
+      // If a session attribute changes, the servlet engine must be told to replicate the change.
+      // Unfortunately the Servlet specs do not specify how this should be done.
+      // The most common way is to call HttpSession.setAttribute() to flag the object as changed.
+      // See http://wiki.eclipse.org/RAP/RWT_Cluster#Serializable_Session_Data
+      // See also: J2EE clustering, Part 2, section Session-storage guidelines
+      // http://java.sun.com/developer/technicalArticles/J2EE/clustering/
+      uiSession.attachToHttpSession();
+    }
+
+  }
+
 }
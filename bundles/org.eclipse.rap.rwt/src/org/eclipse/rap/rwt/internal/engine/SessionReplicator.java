@@ -0,0 +1,37 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.engine;
+
+import java.util.Set;
+
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+
+
+/**
+ * Transfers changed UI sessions to the other nodes of a cluster. Used by
+ * {@link RWTClusterSupport}, which by default leaves the transport to the servlet container. A
+ * different implementation can be configured with the filter init parameter
+ * {@link RWTClusterSupport#SESSION_REPLICATOR_PARAM}.
+ */
+public interface SessionReplicator {
+
+  /**
+   * Called after a request that has changed the given UI session, or that may have changed it
+   * without being noticed.
+   *
+   * @param uiSession the changed UI session
+   * @param changedAttributes the names of the attributes that have been set or removed during the
+   *          request, or <code>null</code> if the changes are unknown. The UI session may also have
+   *          been changed in other ways, e.g. by modifying its widgets.
+   */
+  void replicate( UISessionImpl uiSession, Set<String> changedAttributes );
+
+}
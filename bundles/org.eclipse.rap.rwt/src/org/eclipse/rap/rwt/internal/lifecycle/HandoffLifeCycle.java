@@ -0,0 +1,49 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+
+
+/**
+ * A life cycle with the same semantics as the <code>RWTLifeCycle</code>, including support for
+ * <code>Display#readAndDispatch()</code> and <code>Display#sleep()</code>, that runs the UI
+ * thread of each UI session in a <code>HandoffUIThread</code>. On runtimes that support virtual
+ * threads, an idle UI session does not occupy a platform thread.
+ */
+public class HandoffLifeCycle extends RWTLifeCycle {
+
+  public HandoffLifeCycle( ApplicationContextImpl applicationContext ) {
+    super( applicationContext );
+  }
+
+  @Override
+  IUIThreadHolder createUIThreadHolder( Runnable runnable ) {
+    return new HandoffUIThread( runnable );
+  }
+
+  @Override
+  void startUIThread( IUIThreadHolder uiThread ) {
+    ( ( HandoffUIThread )uiThread ).start();
+  }
+
+  @Override
+  IUIThreadHolder getCurrentUIThreadHolder() {
+    return HandoffUIThread.getCurrent();
+  }
+
+  @Override
+  void runUIThread( IUIThreadHolder uiThread, Runnable runnable ) {
+    // no monitor must be held, as a parked virtual thread would be pinned to its carrier thread
+    runnable.run();
+  }
+
+}
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.locks.LockSupport;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.swt.widgets.Display;
+
+
+/**
+ * A UI thread holder that hands control between the request thread and the UI thread by parking
+ * and unparking the threads instead of waiting on a monitor. Exactly one of both threads is
+ * running at any time, the other one is parked until control is handed back to it.
+ * <p>
+ * As no monitor is held while a thread is parked, the UI thread can be a virtual thread that does
+ * not occupy a carrier thread while the UI session is idle. Virtual threads are used if the
+ * runtime supports them, otherwise the UI thread is a platform daemon thread.
+ * </p>
+ */
+final class HandoffUIThread implements IUIThreadHolder, ISessionShutdownAdapter {
+
+  private static final ThreadLocal<HandoffUIThread> CURRENT = new ThreadLocal<>();
+  private static final ThreadFactory DEFAULT_THREAD_FACTORY = createDefaultThreadFactory();
+
+  private final Thread thread;
+  private final Object lock;
+  private volatile Thread runningThread;
+  private volatile Thread requestThread;
+  private volatile ServiceContext serviceContext;
+  private volatile boolean uiThreadTerminating;
+  private UISession uiSession;
+  private Runnable shutdownCallback;
+
+  HandoffUIThread( Runnable runnable ) {
+    this( runnable, DEFAULT_THREAD_FACTORY );
+  }
+
+  HandoffUIThread( final Runnable runnable, ThreadFactory threadFactory ) {
+    thread = threadFactory.newThread( new Runnable() {
+      @Override
+      public void run() {
+        CURRENT.set( HandoffUIThread.this );
+        try {
+          runnable.run();
+        } finally {
+          CURRENT.remove();
+          // the thread has terminated, hand control back to a waiting request thread
+          Thread waitingThread = requestThread;
+          runningThread = waitingThread;
+          LockSupport.unpark( waitingThread );
+        }
+      }
+    } );
+    lock = new Object();
+  }
+
+  /**
+   * Returns the holder of the UI thread that is currently executing or <code>null</code> if the
+   * current thread is not a UI thread created by this class.
+   */
+  static HandoffUIThread getCurrent() {
+    return CURRENT.get();
+  }
+
+  static boolean isVirtualThreadSupported() {
+    return DEFAULT_THREAD_FACTORY instanceof VirtualThreadFactory;
+  }
+
+  /**
+   * Starts the UI thread and waits until it hands control back to the calling request thread.
+   */
+  void start() {
+    requestThread = Thread.currentThread();
+    runningThread = thread;
+    thread.start();
+    waitForTurn();
+  }
+
+  //////////////////////////
+  // interface IThreadHolder
+
+  @Override
+  public void setServiceContext( ServiceContext serviceContext ) {
+    this.serviceContext = serviceContext;
+  }
+
+  @Override
+  public void updateServiceContext() {
+    if( ContextProvider.hasContext() ) {
+      ContextProvider.releaseContextHolder();
+    }
+    ContextProvider.setContext( serviceContext );
+  }
+
+  @Override
+  public void switchThread() {
+    Thread currentThread = Thread.currentThread();
+    Thread nextThread;
+    if( currentThread == thread ) {
+      nextThread = requestThread;
+    } else {
+      checkAndReportTerminatedUIThread();
+      requestThread = currentThread;
+      nextThread = thread;
+    }
+    runningThread = nextThread;
+    LockSupport.unpark( nextThread );
+    waitForTurn();
+  }
+
+  private void waitForTurn() {
+    Thread currentThread = Thread.currentThread();
+    boolean isUIThread = currentThread == thread;
+    while( runningThread != currentThread ) {
+      if( isUIThread && uiThreadTerminating ) {
+        handleTermination();
+      }
+      if( !isUIThread && !thread.isAlive() ) {
+        return;
+      }
+      LockSupport.park( this );
+      if( Thread.interrupted() && !isUIThread ) {
+        String msg = "Received InterruptedException on request thread";
+        ServletLog.log( msg, new InterruptedException() );
+      }
+    }
+  }
+
+  private void handleTermination() throws UIThreadTerminatedError {
+    // Equip the UI thread that is continuing its execution with a
+    // service context and the proper phase (see terminateThread).
+    updateServiceContext();
+    CurrentPhase.set( PhaseId.PROCESS_ACTION );
+    uiThreadTerminating = false;
+    throw new UIThreadTerminatedError();
+  }
+
+  private void checkAndReportTerminatedUIThread() {
+    if( !thread.isAlive() ) {
+      String msg
+        = "Thread '"
+        + Thread.currentThread()
+        + "' is waiting for already terminated UIThread";
+      ServletLog.log( "", new RuntimeException( msg ) );
+    }
+  }
+
+  @Override
+  public void terminateThread() {
+    // Prepare a service context to be used by the UI thread that may continue
+    // to run as a result of the unpark call
+    ServiceContext serviceContext = ContextUtil.createFakeContext( uiSession );
+    setServiceContext( serviceContext );
+    uiThreadTerminating = true;
+    // wake up the UI thread that is expected to be parked in switchThread or already be terminated
+    LockSupport.unpark( thread );
+    try {
+      thread.join();
+    } catch( InterruptedException e ) {
+      String msg = "Received InterruptedException while terminating UIThread";
+      ServletLog.log( msg, e );
+    }
+    uiThreadTerminating = false;
+  }
+
+  @Override
+  public Thread getThread() {
+    return thread;
+  }
+
+  @Override
+  public Object getLock() {
+    // the handoff does not synchronize on this lock, it is only provided for API compatibility
+    return lock;
+  }
+
+
+  ////////////////////////////////////
+  // interface ISessionShutdownAdapter
+
+  @Override
+  public void setUISession( UISession uiSession ) {
+    this.uiSession = uiSession;
+  }
+
+  @Override
+  public void setShutdownCallback( Runnable shutdownCallback ) {
+    this.shutdownCallback = shutdownCallback;
+  }
+
+  @Override
+  public void interceptShutdown() {
+    terminateThread();
+  }
+
+  @Override
+  public void processShutdown() {
+    updateServiceContext();
+    try {
+      // Simulate PROCESS_ACTION phase if the session times out
+      CurrentPhase.set( PhaseId.PROCESS_ACTION );
+      Display display = LifeCycleUtil.getSessionDisplay( uiSession );
+      // See UIThread#processShutdown() on why the application context is checked
+      if( isApplicationContextActive() && display != null ) {
+        display.dispose();
+      }
+      shutdownCallback.run();
+    } finally {
+      ContextProvider.disposeContext();
+    }
+  }
+
+  private boolean isApplicationContextActive() {
+    ApplicationContextImpl applicationContext = ( ( UISessionImpl )uiSession ).getApplicationContext();
+    return applicationContext != null && applicationContext.isActive();
+  }
+
+  private static ThreadFactory createDefaultThreadFactory() {
+    try {
+      // Thread.ofVirtual().factory(), looked up reflectively to run on Java 7 as well
+      Object builder = Thread.class.getMethod( "ofVirtual" ).invoke( null );
+      Method factoryMethod = Class.forName( "java.lang.Thread$Builder" ).getMethod( "factory" );
+      return new VirtualThreadFactory( ( ThreadFactory )factoryMethod.invoke( builder ) );
+    } catch( @SuppressWarnings( "unused" ) Exception exception ) {
+      return new PlatformThreadFactory();
+    }
+  }
+
+  private static final class VirtualThreadFactory implements ThreadFactory {
+
+    private final ThreadFactory delegate;
+
+    VirtualThreadFactory( ThreadFactory delegate ) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    public Thread newThread( Runnable runnable ) {
+      return delegate.newThread( runnable );
+    }
+
+  }
+
+  private static final class PlatformThreadFactory implements ThreadFactory {
+
+    @Override
+    public Thread newThread( Runnable runnable ) {
+      Thread result = new Thread( runnable );
+      result.setDaemon( true );
+      return result;
+    }
+
+  }
+
+}
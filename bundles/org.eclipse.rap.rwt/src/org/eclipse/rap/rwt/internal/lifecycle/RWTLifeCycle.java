@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -187,10 +187,7 @@ public class RWTLifeCycle extends LifeCycle {
       uiThread = createUIThread();
       // The serviceContext MUST be set before thread.start() is called
       uiThread.setServiceContext( context );
-      synchronized( uiThread.getLock() ) {
-        uiThread.getThread().start();
-        uiThread.switchThread();
-      }
+      startUIThread( uiThread );
     } else {
       uiThread.setServiceContext( context );
       // See bug 354368
@@ -237,14 +234,50 @@ public class RWTLifeCycle extends LifeCycle {
 
   private IUIThreadHolder createUIThread() {
     UISession uiSession = ContextProvider.getUISession();
-    IUIThreadHolder result = new UIThread( uiRunnable );
-    result.getThread().setDaemon( true );
+    IUIThreadHolder result = createUIThreadHolder( uiRunnable );
     result.getThread().setName( "UIThread [" + uiSession.getId() + "]" );
     LifeCycleUtil.setUIThread( uiSession, result );
     setShutdownAdapter( ( ISessionShutdownAdapter )result );
     return result;
   }
 
+  /**
+   * Creates the holder of the UI thread of a new UI session. The UI thread must run the given
+   * runnable when started.
+   */
+  IUIThreadHolder createUIThreadHolder( Runnable runnable ) {
+    UIThread result = new UIThread( runnable );
+    result.setDaemon( true );
+    return result;
+  }
+
+  /**
+   * Starts the given UI thread and waits until it hands control back to the request thread.
+   */
+  void startUIThread( IUIThreadHolder uiThread ) {
+    synchronized( uiThread.getLock() ) {
+      uiThread.getThread().start();
+      uiThread.switchThread();
+    }
+  }
+
+  /**
+   * Returns the holder of the UI thread that is currently executing.
+   */
+  IUIThreadHolder getCurrentUIThreadHolder() {
+    return ( IUIThreadHolder )Thread.currentThread();
+  }
+
+  /**
+   * Executes the body of the given UI thread.
+   */
+  void runUIThread( IUIThreadHolder uiThread, Runnable runnable ) {
+    // [rh] sync exception handling and switchThread (see bug 316676)
+    synchronized( uiThread.getLock() ) {
+      runnable.run();
+    }
+  }
+
   private static Integer getCurrentPhase() {
     ServiceStore serviceStore = ContextProvider.getServiceStore();
     return ( Integer )serviceStore.getAttribute( CURRENT_PHASE );
@@ -279,31 +312,33 @@ public class RWTLifeCycle extends LifeCycle {
   private final class UIThreadController implements Runnable {
     @Override
     public void run() {
-      IUIThreadHolder uiThread = ( IUIThreadHolder )Thread.currentThread();
+      final IUIThreadHolder uiThread = getCurrentUIThreadHolder();
       try {
-        // [rh] sync exception handling and switchThread (see bug 316676)
-        synchronized( uiThread.getLock() ) {
-          try {
-            uiThread.updateServiceContext();
-            ServerPushManager.getInstance().notifyUIThreadStart();
-            continueLifeCycle();
-            createUI();
-            continueLifeCycle();
-            ServerPushManager.getInstance().notifyUIThreadEnd();
-          } catch( UIThreadTerminatedError thr ) {
-            throw thr;
-          } catch( Throwable thr ) {
-            ServiceStore serviceStore = ContextProvider.getServiceStore();
-            serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
+        runUIThread( uiThread, new Runnable() {
+          @Override
+          public void run() {
+            try {
+              uiThread.updateServiceContext();
+              ServerPushManager.getInstance().notifyUIThreadStart();
+              continueLifeCycle();
+              createUI();
+              continueLifeCycle();
+              ServerPushManager.getInstance().notifyUIThreadEnd();
+            } catch( UIThreadTerminatedError thr ) {
+              throw thr;
+            } catch( Throwable thr ) {
+              ServiceStore serviceStore = ContextProvider.getServiceStore();
+              serviceStore.setAttribute( UI_THREAD_THROWABLE, thr );
+            }
+            // We have to prevent the ui thread from waking up at that point, otherwise
+            // processShutdown would never be executed and session store would not be cleared.
+            // See bug 354368
+            UISession uiSession = ContextProvider.getUISession();
+            uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
+            // In any case: wait for the thread to be terminated by session timeout
+            uiThread.switchThread();
           }
-          // We have to prevent the ui thread from waking up at that point, otherwise
-          // processShutdown would never be executed and session store would not be cleared.
-          // See bug 354368
-          UISession uiSession = ContextProvider.getUISession();
-          uiSession.setAttribute( UI_THREAD_WAITING_FOR_TERMINATION, Boolean.TRUE );
-          // In any case: wait for the thread to be terminated by session timeout
-          uiThread.switchThread();
-        }
+        } );
       } catch( @SuppressWarnings( "unused" ) UIThreadTerminatedError e ) {
         // If we get here, the session is being invalidated, see UIThread#terminateThread()
         ( ( ISessionShutdownAdapter )uiThread ).processShutdown();
@@ -13,6 +13,7 @@ package org.eclipse.rap.rwt.internal.lifecycle;
 
 import java.io.IOException;
 
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.swt.internal.widgets.displaykit.DisplayLCA;
 import org.eclipse.swt.widgets.Display;
 
@@ -28,6 +29,7 @@ final class Render implements IPhase {
   @Override
   public PhaseId execute( Display display ) throws IOException {
     if( display != null ) {
+      ContextProvider.getProtocolWriter().startStreaming();
       DisplayLCA displayLCA = DisplayUtil.getLCA( display );
       displayLCA.render( display );
       displayLCA.clearPreserved( display );
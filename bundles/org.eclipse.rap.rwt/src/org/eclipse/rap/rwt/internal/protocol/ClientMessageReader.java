@@ -0,0 +1,635 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.rap.json.JsonArray;
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.DestroyOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.ListenOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.NotifyOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
+import org.eclipse.rap.rwt.internal.util.ParamCheck;
+
+
+/**
+ * Reads a client message from a UTF-8 encoded stream. Unlike parsing the message into a
+ * <code>JsonObject</code> first, the operations are created while the stream is read and the
+ * operations index of the client message is built along the way. Only the head and the
+ * properties of the operations are created as JSON values.
+ * <p>
+ * Syntax errors and malformed messages are reported as <code>IllegalArgumentException</code>.
+ * Malformed UTF-8 sequences are replaced with the Unicode replacement character, as an
+ * <code>InputStreamReader</code> would do.
+ * </p>
+ */
+public final class ClientMessageReader {
+
+  private static final String HEAD = "head";
+  private static final String OPERATIONS = "operations";
+  private static final int BUFFER_SIZE = 8192;
+  private static final int MAX_LONG_DIGITS = 18;
+  private static final int STRING_CACHE_SIZE = 256;
+  private static final int MAX_CACHED_STRING_LENGTH = 32;
+  private static final char REPLACEMENT_CHAR = '\ufffd';
+
+  private final InputStream input;
+  private final byte[] buffer;
+  private int bufferOffset;
+  private int index;
+  private int fill;
+  private int line;
+  private int lineOffset;
+  private int current;
+  private char[] chars;
+  private int charCount;
+  private final byte[][] cachedBytes;
+  private final String[] cachedStrings;
+
+  /**
+   * Reads a client message from the given stream. The stream is not closed.
+   */
+  public static ClientMessage read( InputStream input ) throws IOException {
+    ParamCheck.notNull( input, "input" );
+    return new ClientMessageReader( input ).readMessage();
+  }
+
+  private ClientMessageReader( InputStream input ) {
+    this.input = input;
+    buffer = new byte[ BUFFER_SIZE ];
+    chars = new char[ 64 ];
+    line = 1;
+    cachedBytes = new byte[ STRING_CACHE_SIZE ][];
+    cachedStrings = new String[ STRING_CACHE_SIZE ];
+  }
+
+  private ClientMessage readMessage() throws IOException {
+    read();
+    skipWhiteSpace();
+    if( current != '{' ) {
+      throw expected( "'{'" );
+    }
+    read();
+    JsonObject head = null;
+    List<Operation> operations = null;
+    Map<String, List<Operation>> index = null;
+    skipWhiteSpace();
+    if( !readChar( '}' ) ) {
+      do {
+        skipWhiteSpace();
+        String name = readName();
+        skipWhiteSpace();
+        readRequiredChar( ':' );
+        skipWhiteSpace();
+        if( HEAD.equals( name ) ) {
+          head = readHead();
+        } else if( OPERATIONS.equals( name ) ) {
+          if( current != '[' ) {
+            readValue();
+            throw new IllegalArgumentException( "Failed to read operations from JSON message" );
+          }
+          operations = new ArrayList<>();
+          index = new HashMap<>();
+          readOperations( operations, index );
+        } else {
+          readValue();
+        }
+        skipWhiteSpace();
+      } while( readChar( ',' ) );
+      readRequiredChar( '}' );
+    }
+    skipWhiteSpace();
+    if( !isEndOfText() ) {
+      throw error( "Unexpected character" );
+    }
+    if( head == null ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    if( operations == null ) {
+      throw new IllegalArgumentException( "Failed to read operations from JSON message" );
+    }
+    return new ClientMessage( head, operations, index );
+  }
+
+  private JsonObject readHead() throws IOException {
+    JsonValue value = readValue();
+    if( !value.isObject() ) {
+      throw new IllegalArgumentException( "Failed to read head from JSON message" );
+    }
+    return value.asObject();
+  }
+
+  private void readOperations( List<Operation> operations, Map<String, List<Operation>> index )
+    throws IOException
+  {
+    read();
+    skipWhiteSpace();
+    if( readChar( ']' ) ) {
+      return;
+    }
+    do {
+      skipWhiteSpace();
+      Operation operation = readOperation();
+      operations.add( operation );
+      String target = operation.getTarget();
+      List<Operation> targetOperations = index.get( target );
+      if( targetOperations == null ) {
+        targetOperations = new ArrayList<>();
+        index.put( target, targetOperations );
+      }
+      targetOperations.add( operation );
+      skipWhiteSpace();
+    } while( readChar( ',' ) );
+    readRequiredChar( ']' );
+  }
+
+  private Operation readOperation() throws IOException {
+    if( current != '[' ) {
+      throw operationError( "Operation is not an array" );
+    }
+    read();
+    skipWhiteSpace();
+    String action = readOperationString();
+    String target = readNextOperationString();
+    Operation result;
+    switch( action ) {
+      case "create":
+        String type = readNextOperationString();
+        result = new CreateOperation( target, type, readNextOperationObject() );
+        break;
+      case "destroy":
+        result = new DestroyOperation( target );
+        break;
+      case "set":
+        result = new SetOperation( target, readNextOperationObject() );
+        break;
+      case "call":
+        String method = readNextOperationString();
+        result = new CallOperation( target, method, readNextOperationObject() );
+        break;
+      case "listen":
+        result = new ListenOperation( target, readNextOperationObject() );
+        break;
+      case "notify":
+        String event = readNextOperationString();
+        result = new NotifyOperation( target, event, readNextOperationObject() );
+        break;
+      default:
+        throw operationError( "Unknown operation type: " + action );
+    }
+    // additional elements are ignored, as by the OperationReader
+    skipWhiteSpace();
+    while( readChar( ',' ) ) {
+      skipWhiteSpace();
+      readValue();
+      skipWhiteSpace();
+    }
+    readRequiredChar( ']' );
+    return result;
+  }
+
+  private String readNextOperationString() throws IOException {
+    readNextOperationElement();
+    return readOperationString();
+  }
+
+  private String readOperationString() throws IOException {
+    if( current != '"' ) {
+      throw operationError( "Expected string at offset " + getOffset() );
+    }
+    return readStringInternal( true );
+  }
+
+  private JsonObject readNextOperationObject() throws IOException {
+    readNextOperationElement();
+    if( current != '{' ) {
+      throw operationError( "Expected object at offset " + getOffset() );
+    }
+    return readObject();
+  }
+
+  private void readNextOperationElement() throws IOException {
+    skipWhiteSpace();
+    if( current == ']' ) {
+      throw operationError( "Missing element at offset " + getOffset() );
+    }
+    if( !readChar( ',' ) ) {
+      throw expected( "',' or ']'" );
+    }
+    skipWhiteSpace();
+  }
+
+  private JsonValue readValue() throws IOException {
+    switch( current ) {
+      case 'n':
+        readLiteral( "null" );
+        return JsonValue.NULL;
+      case 't':
+        readLiteral( "true" );
+        return JsonValue.TRUE;
+      case 'f':
+        readLiteral( "false" );
+        return JsonValue.FALSE;
+      case '"':
+        return JsonValue.valueOf( readStringInternal( false ) );
+      case '[':
+        return readArray();
+      case '{':
+        return readObject();
+      case '-':
+      case '0':
+      case '1':
+      case '2':
+      case '3':
+      case '4':
+      case '5':
+      case '6':
+      case '7':
+      case '8':
+      case '9':
+        return readNumber();
+      default:
+        throw expected( "value" );
+    }
+  }
+
+  private JsonArray readArray() throws IOException {
+    read();
+    JsonArray array = new JsonArray();
+    skipWhiteSpace();
+    if( readChar( ']' ) ) {
+      return array;
+    }
+    do {
+      skipWhiteSpace();
+      array.add( readValue() );
+      skipWhiteSpace();
+    } while( readChar( ',' ) );
+    readRequiredChar( ']' );
+    return array;
+  }
+
+  private JsonObject readObject() throws IOException {
+    read();
+    JsonObject object = new JsonObject();
+    skipWhiteSpace();
+    if( readChar( '}' ) ) {
+      return object;
+    }
+    do {
+      skipWhiteSpace();
+      String name = readName();
+      skipWhiteSpace();
+      readRequiredChar( ':' );
+      skipWhiteSpace();
+      object.add( name, readValue() );
+      skipWhiteSpace();
+    } while( readChar( ',' ) );
+    readRequiredChar( '}' );
+    return object;
+  }
+
+  private String readName() throws IOException {
+    if( current != '"' ) {
+      throw expected( "name" );
+    }
+    return readStringInternal( true );
+  }
+
+  private void readLiteral( String literal ) throws IOException {
+    read();
+    for( int i = 1; i < literal.length(); i++ ) {
+      readRequiredChar( literal.charAt( i ) );
+    }
+  }
+
+  /*
+   * Short strings that consist of ASCII characters only and lie completely within the buffer are
+   * looked up in a cache, as names, targets and actions recur in most messages.
+   */
+  private String readStringInternal( boolean cache ) throws IOException {
+    int start = index;
+    int end = start;
+    while( end < fill && buffer[ end ] != '"' && buffer[ end ] != '\\' && buffer[ end ] >= 0x20 ) {
+      end++;
+    }
+    if( end < fill && buffer[ end ] == '"' ) {
+      String result = cache && end - start <= MAX_CACHED_STRING_LENGTH
+                    ? getCachedString( start, end )
+                    : new String( buffer, start, end - start, StandardCharsets.ISO_8859_1 );
+      index = end;
+      read();
+      read();
+      return result;
+    }
+    return readStringSlow();
+  }
+
+  private String readStringSlow() throws IOException {
+    charCount = 0;
+    read();
+    while( current != '"' ) {
+      if( current == '\\' ) {
+        readEscape();
+      } else if( current < 0x20 ) {
+        throw expected( "valid string character" );
+      } else if( current < 0x80 ) {
+        appendChar( ( char )current );
+        read();
+      } else {
+        readMultiByteChar();
+      }
+    }
+    read();
+    return new String( chars, 0, charCount );
+  }
+
+  private void readEscape() throws IOException {
+    read();
+    switch( current ) {
+      case '"':
+      case '/':
+      case '\\':
+        appendChar( ( char )current );
+        break;
+      case 'b':
+        appendChar( '\b' );
+        break;
+      case 'f':
+        appendChar( '\f' );
+        break;
+      case 'n':
+        appendChar( '\n' );
+        break;
+      case 'r':
+        appendChar( '\r' );
+        break;
+      case 't':
+        appendChar( '\t' );
+        break;
+      case 'u':
+        int value = 0;
+        for( int i = 0; i < 4; i++ ) {
+          read();
+          int digit = Character.digit( current, 16 );
+          if( current < 0 || current >= 0x80 || digit == -1 ) {
+            throw expected( "hexadecimal digit" );
+          }
+          value = value << 4 | digit;
+        }
+        appendChar( ( char )value );
+        break;
+      default:
+        throw expected( "valid escape sequence" );
+    }
+    read();
+  }
+
+  private void readMultiByteChar() throws IOException {
+    int lead = current;
+    int length;
+    int codePoint;
+    if( ( lead & 0xe0 ) == 0xc0 ) {
+      length = 1;
+      codePoint = lead & 0x1f;
+    } else if( ( lead & 0xf0 ) == 0xe0 ) {
+      length = 2;
+      codePoint = lead & 0x0f;
+    } else if( ( lead & 0xf8 ) == 0xf0 ) {
+      length = 3;
+      codePoint = lead & 0x07;
+    } else {
+      appendChar( REPLACEMENT_CHAR );
+      read();
+      return;
+    }
+    read();
+    for( int i = 0; i < length; i++ ) {
+      if( current == -1 || ( current & 0xc0 ) != 0x80 ) {
+        // the malformed byte is read again as the start of the next character
+        appendChar( REPLACEMENT_CHAR );
+        return;
+      }
+      codePoint = codePoint << 6 | current & 0x3f;
+      read();
+    }
+    if( isValidCodePoint( codePoint, length ) ) {
+      if( Character.isSupplementaryCodePoint( codePoint ) ) {
+        appendChar( Character.highSurrogate( codePoint ) );
+        appendChar( Character.lowSurrogate( codePoint ) );
+      } else {
+        appendChar( ( char )codePoint );
+      }
+    } else {
+      appendChar( REPLACEMENT_CHAR );
+    }
+  }
+
+  private static boolean isValidCodePoint( int codePoint, int length ) {
+    int minimum = length == 1 ? 0x80 : length == 2 ? 0x800 : 0x10000;
+    return    codePoint >= minimum
+           && codePoint <= Character.MAX_CODE_POINT
+           && ( codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE );
+  }
+
+  /*
+   * Integers that fit into a long are created directly, other numbers are left to the JSON parser
+   * to preserve their original representation.
+   */
+  private JsonValue readNumber() throws IOException {
+    charCount = 0;
+    boolean negative = current == '-';
+    if( negative ) {
+      appendChar( '-' );
+      read();
+    }
+    int firstDigit = current;
+    if( !readDigit() ) {
+      throw expected( "digit" );
+    }
+    if( firstDigit != '0' ) {
+      while( readDigit() ) {
+      }
+    }
+    boolean integer = true;
+    if( readNumberChar( '.' ) ) {
+      integer = false;
+      readDigits();
+    }
+    if( readNumberChar( 'e' ) || readNumberChar( 'E' ) ) {
+      integer = false;
+      if( !readNumberChar( '+' ) ) {
+        readNumberChar( '-' );
+      }
+      readDigits();
+    }
+    int digits = negative ? charCount - 1 : charCount;
+    if( integer && digits <= MAX_LONG_DIGITS && !( negative && firstDigit == '0' ) ) {
+      long value = 0;
+      for( int i = negative ? 1 : 0; i < charCount; i++ ) {
+        value = value * 10 + chars[ i ] - '0';
+      }
+      return JsonValue.valueOf( negative ? -value : value );
+    }
+    return JsonValue.readFrom( new String( chars, 0, charCount ) );
+  }
+
+  private void readDigits() throws IOException {
+    if( !readDigit() ) {
+      throw expected( "digit" );
+    }
+    while( readDigit() ) {
+    }
+  }
+
+  private boolean readDigit() throws IOException {
+    if( current < '0' || current > '9' ) {
+      return false;
+    }
+    appendChar( ( char )current );
+    read();
+    return true;
+  }
+
+  private boolean readNumberChar( char ch ) throws IOException {
+    if( current != ch ) {
+      return false;
+    }
+    appendChar( ch );
+    read();
+    return true;
+  }
+
+  private void readRequiredChar( char ch ) throws IOException {
+    if( !readChar( ch ) ) {
+      throw expected( "'" + ch + "'" );
+    }
+  }
+
+  private boolean readChar( char ch ) throws IOException {
+    if( current != ch ) {
+      return false;
+    }
+    read();
+    return true;
+  }
+
+  private void skipWhiteSpace() throws IOException {
+    while( current == ' ' || current == '\t' || current == '\n' || current == '\r' ) {
+      read();
+    }
+  }
+
+  private void read() throws IOException {
+    if( isEndOfText() ) {
+      throw error( "Unexpected end of input" );
+    }
+    if( index == fill ) {
+      bufferOffset += fill;
+      fill = input.read( buffer, 0, buffer.length );
+      index = 0;
+      if( fill == -1 ) {
+        fill = 0;
+        current = -1;
+        return;
+      }
+    }
+    if( current == '\n' ) {
+      line++;
+      lineOffset = bufferOffset + index;
+    }
+    current = buffer[ index++ ] & 0xff;
+  }
+
+  private void appendChar( char ch ) {
+    if( charCount == chars.length ) {
+      char[] newChars = new char[ chars.length * 2 ];
+      System.arraycopy( chars, 0, newChars, 0, charCount );
+      chars = newChars;
+    }
+    chars[ charCount++ ] = ch;
+  }
+
+  private String getCachedString( int start, int end ) {
+    int hash = 0;
+    for( int i = start; i < end; i++ ) {
+      hash = 31 * hash + buffer[ i ];
+    }
+    int slot = ( hash ^ hash >>> 16 ) & ( STRING_CACHE_SIZE - 1 );
+    byte[] bytes = cachedBytes[ slot ];
+    if( bytes != null && equalBytes( bytes, start, end ) ) {
+      return cachedStrings[ slot ];
+    }
+    bytes = new byte[ end - start ];
+    System.arraycopy( buffer, start, bytes, 0, bytes.length );
+    String result = new String( bytes, StandardCharsets.ISO_8859_1 );
+    cachedBytes[ slot ] = bytes;
+    cachedStrings[ slot ] = result;
+    return result;
+  }
+
+  private boolean equalBytes( byte[] bytes, int start, int end ) {
+    if( bytes.length != end - start ) {
+      return false;
+    }
+    for( int i = 0; i < bytes.length; i++ ) {
+      if( bytes[ i ] != buffer[ start + i ] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private int getOffset() {
+    return isEndOfText() ? bufferOffset + index : bufferOffset + index - 1;
+  }
+
+  private IllegalArgumentException operationError( String message ) {
+    IllegalArgumentException cause = new IllegalArgumentException( "Could not read operation: "
+                                                                   + message );
+    return new IllegalArgumentException( "Failed to read operations from JSON message", cause );
+  }
+
+  private IllegalArgumentException expected( String expected ) {
+    if( isEndOfText() ) {
+      return error( "Unexpected end of input" );
+    }
+    return error( "Expected " + expected );
+  }
+
+  private IllegalArgumentException error( String message ) {
+    int offset = getOffset();
+    int column = offset - lineOffset;
+    return new IllegalArgumentException( message
+                                         + " at "
+                                         + line
+                                         + ":"
+                                         + column
+                                         + " (offset "
+                                         + offset
+                                         + ")" );
+  }
+
+  private boolean isEndOfText() {
+    return current == -1;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2015 EclipseSource and others.
+ * Copyright (c) 2015, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -51,6 +51,10 @@ public class Message implements Serializable {
     return operations;
   }
 
+  public boolean hasOperations() {
+    return !operations.isEmpty();
+  }
+
   public JsonObject toJson() {
     JsonArray operationsArray = new JsonArray();
     for( Operation operation : operations ) {
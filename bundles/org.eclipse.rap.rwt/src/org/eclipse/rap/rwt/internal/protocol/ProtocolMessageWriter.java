@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2010, 2015 EclipseSource and others.
+* Copyright (c) 2010, 2016 EclipseSource and others.
 * All rights reserved. This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License v1.0
 * which accompanies this distribution, and is available at
@@ -10,6 +10,13 @@
 *******************************************************************************/
 package org.eclipse.rap.rwt.internal.protocol;
 
+import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -24,10 +31,17 @@ import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
 
 public class ProtocolMessageWriter {
 
+  private static final String HEAD = "head";
+  private static final String OPERATIONS = "operations";
+
   private final JsonObject head;
   private final List<Operation> operations;
   private Operation pendingOperation;
   private boolean alreadyCreated;
+  private boolean streamingEnabled;
+  private ByteArrayOutputStream streamedContent;
+  private Writer streamWriter;
+  private int streamedOperations;
 
   public ProtocolMessageWriter() {
     head = new JsonObject();
@@ -104,9 +118,54 @@ public class ProtocolMessageWriter {
     pendingOperation = operation;
   }
 
+  /**
+   * Lets this writer serialize the message once streaming has been started using
+   * <code>startStreaming()</code>. Until then, operations are collected in memory.
+   */
+  public void enableStreaming() {
+    ensureMessagePending();
+    streamingEnabled = true;
+  }
+
+  /**
+   * Starts serializing the message to its UTF-8 encoded form. All operations collected so far are
+   * written immediately, subsequent operations as soon as they are complete. The head is written
+   * last, as head entries may still be added until the message is created. Does nothing if
+   * streaming is not enabled.
+   * <p>
+   * The encoded message is kept in memory until the message is created. It is much smaller than
+   * the operations it represents, and nothing is sent to the client before processing the request
+   * has completed.
+   * </p>
+   */
+  public void startStreaming() {
+    if( streamingEnabled && !isStreaming() ) {
+      ensureMessagePending();
+      try {
+        streamedContent = new ByteArrayOutputStream();
+        Writer encoder = new OutputStreamWriter( streamedContent, CHARSET_UTF_8 );
+        streamWriter = new BufferedWriter( encoder );
+        streamWriter.write( "{\"" + OPERATIONS + "\":[" );
+        for( Operation operation : operations ) {
+          writeOperation( operation );
+        }
+        operations.clear();
+      } catch( IOException exception ) {
+        throw new RuntimeException( "Failed to write message", exception );
+      }
+    }
+  }
+
+  public boolean isStreaming() {
+    return streamWriter != null;
+  }
+
   public ResponseMessage createMessage() {
     ensureMessagePending();
     alreadyCreated = true;
+    if( isStreaming() ) {
+      return finishStreamedMessage();
+    }
     return createMessageObject();
   }
 
@@ -131,8 +190,43 @@ public class ProtocolMessageWriter {
 
   private void appendPendingOperation() {
     if( pendingOperation != null ) {
-      operations.add( pendingOperation );
+      if( isStreaming() ) {
+        writePendingOperation();
+      } else {
+        operations.add( pendingOperation );
+      }
+    }
+  }
+
+  private void writePendingOperation() {
+    try {
+      writeOperation( pendingOperation );
+    } catch( IOException exception ) {
+      throw new RuntimeException( "Failed to write message", exception );
+    }
+  }
+
+  private void writeOperation( Operation operation ) throws IOException {
+    if( streamedOperations > 0 ) {
+      streamWriter.write( ',' );
+    }
+    operation.toJson().writeTo( streamWriter );
+    streamedOperations++;
+  }
+
+  private ResponseMessage finishStreamedMessage() {
+    try {
+      appendPendingOperation();
+      pendingOperation = null;
+      streamWriter.write( "],\"" + HEAD + "\":" );
+      head.writeTo( streamWriter );
+      streamWriter.write( '}' );
+      streamWriter.flush();
+    } catch( IOException exception ) {
+      throw new RuntimeException( "Failed to write message", exception );
     }
+    boolean hasOperations = streamedOperations > 0;
+    return new StreamedResponseMessage( head, streamedContent.toByteArray(), hasOperations );
   }
 
 }
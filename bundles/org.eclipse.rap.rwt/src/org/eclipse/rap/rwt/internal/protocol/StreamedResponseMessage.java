@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import static org.eclipse.rap.rwt.internal.util.HTTP.CHARSET_UTF_8;
+
+import java.io.UnsupportedEncodingException;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.rap.json.JsonObject;
+
+
+/**
+ * A response message that has already been encoded by a streaming {@link ProtocolMessageWriter}.
+ * Only the encoded content is retained, the operations are restored from it on demand. The
+ * restored message is kept for subsequent calls, but not serialized.
+ */
+public class StreamedResponseMessage extends ResponseMessage {
+
+  private final byte[] content;
+  private final boolean hasOperations;
+  private transient JsonObject parsedJson;
+  private transient List<Operation> parsedOperations;
+
+  StreamedResponseMessage( JsonObject head, byte[] content, boolean hasOperations ) {
+    super( head, Collections.<Operation>emptyList() );
+    this.content = content;
+    this.hasOperations = hasOperations;
+  }
+
+  public byte[] getContent() {
+    return content;
+  }
+
+  @Override
+  public List<Operation> getOperations() {
+    if( parsedOperations == null ) {
+      parsedOperations = new ResponseMessage( toJson() ).getOperations();
+    }
+    return parsedOperations;
+  }
+
+  @Override
+  public boolean hasOperations() {
+    return hasOperations;
+  }
+
+  /**
+   * Returns an unmodifiable view of the content, which is shared by all callers.
+   */
+  @Override
+  public JsonObject toJson() {
+    if( parsedJson == null ) {
+      parsedJson = JsonObject.unmodifiableObject( parseContent() );
+    }
+    return parsedJson;
+  }
+
+  private JsonObject parseContent() {
+    try {
+      return JsonObject.readFrom( new String( content, CHARSET_UTF_8 ) );
+    } catch( UnsupportedEncodingException exception ) {
+      throw new RuntimeException( exception );
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2015 EclipseSource and others.
+ * Copyright (c) 2013, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -36,6 +36,15 @@ public abstract class WidgetOperationHandler<T extends Widget> extends AbstractO
     this.widget = widget;
   }
 
+  /**
+   * Returns the widget that receives the operations handled by this handler.
+   *
+   * @return the widget, never <code>null</code>
+   */
+  public T getWidget() {
+    return widget;
+  }
+
   @Override
   public void handleSet( JsonObject properties ) {
     handleSet( widget, properties );
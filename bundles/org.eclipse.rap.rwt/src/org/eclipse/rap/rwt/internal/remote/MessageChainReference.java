@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014 EclipseSource and others.
+ * Copyright (c) 2014, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,9 +13,11 @@ package org.eclipse.rap.rwt.internal.remote;
 
 public class MessageChainReference {
 
+  private final MessageChainElement initialChain;
   private MessageChainElement chain;
 
   public MessageChainReference( MessageChainElement chain ) {
+    initialChain = chain;
     this.chain = chain;
   }
 
@@ -25,6 +27,15 @@ public class MessageChainReference {
     }
   }
 
+  /**
+   * Returns whether filters have been added to the initial chain.
+   */
+  public boolean hasFilters() {
+    synchronized( chain ) {
+      return chain != initialChain;
+    }
+  }
+
   public void add( MessageFilter filter ) {
     synchronized( chain ) {
       chain = new MessageChainElement( filter, chain );
@@ -0,0 +1,85 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.zip.GZIPOutputStream;
+
+
+/**
+ * The content of a registered resource as kept in memory, along with a gzip compressed variant and
+ * a hash of the content. The compressed variant is only kept if it is considerably smaller than
+ * the content, which is not the case for already compressed formats like images.
+ */
+final class ResourceContent {
+
+  private static final int HASH_LENGTH = 8;
+  private static final double MIN_COMPRESSION_RATIO = 0.9;
+  private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+  private final byte[] content;
+  private final byte[] gzipContent;
+  private final String hash;
+
+  ResourceContent( byte[] content ) {
+    this.content = content;
+    gzipContent = compress( content );
+    hash = createHash( content );
+  }
+
+  byte[] getContent() {
+    return content;
+  }
+
+  /**
+   * Returns the gzip compressed content or <code>null</code> if compression is not worth it.
+   */
+  byte[] getGzipContent() {
+    return gzipContent;
+  }
+
+  String getHash() {
+    return hash;
+  }
+
+  private static byte[] compress( byte[] content ) {
+    ByteArrayOutputStream buffer = new ByteArrayOutputStream( content.length / 2 + 32 );
+    try( GZIPOutputStream gzipStream = new GZIPOutputStream( buffer ) ) {
+      gzipStream.write( content );
+    } catch( IOException exception ) {
+      throw new RuntimeException( "Failed to compress resource", exception );
+    }
+    byte[] result = null;
+    if( buffer.size() < content.length * MIN_COMPRESSION_RATIO ) {
+      result = buffer.toByteArray();
+    }
+    return result;
+  }
+
+  private static String createHash( byte[] content ) {
+    byte[] digest;
+    try {
+      digest = MessageDigest.getInstance( "SHA-256" ).digest( content );
+    } catch( NoSuchAlgorithmException exception ) {
+      throw new RuntimeException( "SHA-256 not available", exception );
+    }
+    char[] result = new char[ HASH_LENGTH * 2 ];
+    for( int i = 0; i < HASH_LENGTH; i++ ) {
+      result[ i * 2 ] = HEX_DIGITS[ ( digest[ i ] >> 4 ) & 0xf ];
+      result[ i * 2 + 1 ] = HEX_DIGITS[ digest[ i ] & 0xf ];
+    }
+    return new String( result );
+  }
+
+}
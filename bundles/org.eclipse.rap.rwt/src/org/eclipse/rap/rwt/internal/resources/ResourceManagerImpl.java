@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,8 +12,8 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.resources;
 
-import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -24,7 +24,10 @@ import java.io.OutputStream;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.rap.rwt.internal.util.StreamUtil;
 import org.eclipse.rap.rwt.service.ResourceLoader;
@@ -41,17 +44,32 @@ import org.eclipse.rap.rwt.service.ResourceManager;
  * Implementation as singleton.
  * </p>
  * <p>
+ * If resources are served by RWT, the registered content is also kept in memory and the locations
+ * refer to the <code>ResourceServiceHandler</code>. The files are written nevertheless, as some
+ * resources are referenced by their path in the resource directory.
+ * </p>
+ * <p>
  * This class is not intended to be used by clients.
  * </p>
  */
 public class ResourceManagerImpl implements ResourceManager {
 
+  private static final int BUFFER_SIZE = 8192;
+
   private final ResourceDirectory resourceDirectory;
   private final Set<String> resources;
+  private final ConcurrentMap<String, ResourceContent> contents;
+  private final boolean serveResources;
 
   public ResourceManagerImpl( ResourceDirectory resourceDirectory ) {
+    this( resourceDirectory, RWTProperties.isServeResources() );
+  }
+
+  public ResourceManagerImpl( ResourceDirectory resourceDirectory, boolean serveResources ) {
     this.resourceDirectory = resourceDirectory;
+    this.serveResources = serveResources;
     resources = Collections.synchronizedSet( new HashSet<String>() );
+    contents = new ConcurrentHashMap<>();
   }
 
   /////////////////////////////
@@ -90,6 +108,7 @@ public class ResourceManagerImpl implements ResourceManager {
     boolean result = false;
     if( resources.remove( name ) ) {
       result = true;
+      contents.remove( name );
       File file = getDiskLocation( name );
       file.delete();
     }
@@ -108,6 +127,10 @@ public class ResourceManagerImpl implements ResourceManager {
     if( !resources.contains( name ) ) {
       throw new IllegalArgumentException( "Resource does not exist: " + name );
     }
+    ResourceContent content = contents.get( name );
+    if( content != null ) {
+      return ResourceServiceHandler.createUrl( name, content.getHash() );
+    }
     return createRequestUrl( name );
   }
 
@@ -115,7 +138,10 @@ public class ResourceManagerImpl implements ResourceManager {
   public InputStream getRegisteredContent( String name ) {
     ParamCheck.notNull( name, "name" );
     InputStream result = null;
-    if( resources.contains( name ) ) {
+    ResourceContent content = contents.get( name );
+    if( content != null ) {
+      result = new ByteArrayInputStream( content.getContent() );
+    } else if( resources.contains( name ) ) {
       File file = getDiskLocation( name );
       try {
         result = new FileInputStream( file );
@@ -126,6 +152,14 @@ public class ResourceManagerImpl implements ResourceManager {
     return result;
   }
 
+  /**
+   * Returns the in-memory content of the given resource or <code>null</code> if the resource is not
+   * registered or resources are not served by RWT.
+   */
+  ResourceContent getContent( String name ) {
+    return contents.get( name );
+  }
+
   //////////////////
   // helping methods
 
@@ -141,27 +175,47 @@ public class ResourceManagerImpl implements ResourceManager {
     File location = getDiskLocation( name );
     try {
       createDirectories( location );
-      writeResource( inputStream, location );
+      if( serveResources ) {
+        byte[] content = readResource( inputStream );
+        writeResource( content, location );
+        contents.put( name, new ResourceContent( content ) );
+      } else {
+        writeResource( inputStream, location );
+      }
     } catch ( IOException ioe ) {
       throw new RuntimeException( "Failed to register resource: " + name, ioe );
     }
     resources.add( name );
   }
 
+  private static byte[] readResource( InputStream inputStream ) throws IOException {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream( BUFFER_SIZE );
+    copy( inputStream, outputStream );
+    return outputStream.toByteArray();
+  }
+
+  private static void writeResource( byte[] content, File location ) throws IOException {
+    try( OutputStream outputStream = new FileOutputStream( location ) ) {
+      outputStream.write( content );
+    }
+  }
+
   private static void writeResource( InputStream inputStream, File location )
     throws IOException
   {
-    BufferedInputStream bufferedStream = new BufferedInputStream( inputStream );
-    OutputStream outputStream = new BufferedOutputStream( new FileOutputStream( location ) );
-    try {
-      byte[] buffer = new byte[ 256 ];
-      int read = bufferedStream.read( buffer );
-      while( read != -1 ) {
-        outputStream.write( buffer, 0, read );
-        read = bufferedStream.read( buffer );
-      }
-    } finally {
-      outputStream.close();
+    try( OutputStream outputStream = new FileOutputStream( location ) ) {
+      copy( inputStream, outputStream );
+    }
+  }
+
+  private static void copy( InputStream inputStream, OutputStream outputStream )
+    throws IOException
+  {
+    byte[] buffer = new byte[ BUFFER_SIZE ];
+    int read = inputStream.read( buffer );
+    while( read != -1 ) {
+      outputStream.write( buffer, 0, read );
+      read = inputStream.read( buffer );
     }
   }
 
@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+
+import java.io.IOException;
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+
+import javax.servlet.ServletContext;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
+import org.eclipse.rap.rwt.internal.util.ContentEncodingUtil;
+import org.eclipse.rap.rwt.internal.util.HTTP;
+import org.eclipse.rap.rwt.service.ResourceManager;
+import org.eclipse.rap.rwt.service.ServiceHandler;
+
+
+/**
+ * Serves the resources that have been registered with the <code>ResourceManagerImpl</code> from
+ * memory. The URL of a resource contains the hash of its content, hence a response for the current
+ * hash can be cached forever. Clients that accept gzip receive the precompressed variant.
+ * <p>
+ * Requests to this handler are dispatched by the <code>RWTServlet</code> without a UI session,
+ * so that loading resources does not create HTTP sessions.
+ * </p>
+ */
+public class ResourceServiceHandler implements ServiceHandler {
+
+  public static final String HANDLER_ID = "org.eclipse.rap.resources";
+  static final String PARAM_RESOURCE = "resource";
+  static final String PARAM_VERSION = "version";
+  static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+  static final String CACHE_REVALIDATE = "no-cache";
+  static final String GZIP_ETAG_SUFFIX = "-gz";
+
+  private final ApplicationContextImpl applicationContext;
+
+  public ResourceServiceHandler( ApplicationContextImpl applicationContext ) {
+    this.applicationContext = applicationContext;
+  }
+
+  public static boolean isResourceRequest( HttpServletRequest request ) {
+    return HANDLER_ID.equals( request.getParameter( ServiceManagerImpl.REQUEST_PARAM ) );
+  }
+
+  /*
+   * The URL is relative to the servlet that delivered the startup page, as is the default
+   * resource location.
+   */
+  static String createUrl( String name, String hash ) {
+    return new StringBuilder()
+      .append( '?' )
+      .append( ServiceManagerImpl.REQUEST_PARAM )
+      .append( '=' )
+      .append( HANDLER_ID )
+      .append( '&' )
+      .append( PARAM_RESOURCE )
+      .append( '=' )
+      .append( encodeParameter( name.replace( '\\', '/' ) ) )
+      .append( '&' )
+      .append( PARAM_VERSION )
+      .append( '=' )
+      .append( hash )
+      .toString();
+  }
+
+  @Override
+  public void service( HttpServletRequest request, HttpServletResponse response )
+    throws IOException
+  {
+    String name = request.getParameter( PARAM_RESOURCE );
+    ResourceContent content = name == null ? null : getResourceContent( name );
+    if( content == null ) {
+      response.sendError( SC_NOT_FOUND );
+    } else {
+      boolean gzip = content.getGzipContent() != null && acceptsGzip( request );
+      String etag = createETag( content, gzip );
+      setCacheHeaders( request, response, content, etag );
+      if( matches( request.getHeader( HTTP.HEADER_IF_NONE_MATCH ), etag ) ) {
+        response.setStatus( SC_NOT_MODIFIED );
+      } else {
+        sendContent( response, name, content, gzip );
+      }
+    }
+  }
+
+  private ResourceContent getResourceContent( String name ) {
+    ResourceContent result = null;
+    ResourceManager resourceManager = applicationContext.getResourceManager();
+    if( resourceManager instanceof ResourceManagerImpl ) {
+      result = ( ( ResourceManagerImpl )resourceManager ).getContent( name );
+    }
+    return result;
+  }
+
+  /*
+   * The compressed variant is a different representation of the resource and needs a different
+   * entity tag, otherwise caches could serve it to clients that do not accept gzip.
+   */
+  private static String createETag( ResourceContent content, boolean gzip ) {
+    return "\"" + content.getHash() + ( gzip ? GZIP_ETAG_SUFFIX : "" ) + "\"";
+  }
+
+  private static void setCacheHeaders( HttpServletRequest request,
+                                       HttpServletResponse response,
+                                       ResourceContent content,
+                                       String etag )
+  {
+    // a request for an outdated hash receives the current content, which must not be cached
+    boolean current = content.getHash().equals( request.getParameter( PARAM_VERSION ) );
+    response.setHeader( HTTP.HEADER_CACHE_CONTROL, current ? CACHE_FOREVER : CACHE_REVALIDATE );
+    response.setHeader( HTTP.HEADER_ETAG, etag );
+    if( content.getGzipContent() != null ) {
+      response.setHeader( HTTP.HEADER_VARY, HTTP.HEADER_ACCEPT_ENCODING );
+    }
+  }
+
+  private void sendContent( HttpServletResponse response,
+                            String name,
+                            ResourceContent content,
+                            boolean gzip )
+    throws IOException
+  {
+    String contentType = getContentType( name );
+    if( contentType != null ) {
+      response.setContentType( contentType );
+    }
+    byte[] bytes = content.getContent();
+    if( gzip ) {
+      bytes = content.getGzipContent();
+      response.setHeader( HTTP.HEADER_CONTENT_ENCODING, HTTP.ENCODING_GZIP );
+    }
+    response.setContentLength( bytes.length );
+    response.getOutputStream().write( bytes );
+  }
+
+  private String getContentType( String name ) {
+    String result = null;
+    ServletContext servletContext = applicationContext.getServletContext();
+    if( servletContext != null ) {
+      result = servletContext.getMimeType( name );
+    }
+    if( result == null && name.endsWith( ".js" ) ) {
+      result = HTTP.CONTENT_TYPE_JAVASCRIPT;
+    } else if( result == null && name.endsWith( ".json" ) ) {
+      result = HTTP.CONTENT_TYPE_JSON;
+    } else if( result == null && name.endsWith( ".css" ) ) {
+      result = "text/css";
+    }
+    return result;
+  }
+
+  private static boolean acceptsGzip( HttpServletRequest request ) {
+    String acceptEncoding = request.getHeader( HTTP.HEADER_ACCEPT_ENCODING );
+    return ContentEncodingUtil.accepts( acceptEncoding, HTTP.ENCODING_GZIP );
+  }
+
+  private static boolean matches( String ifNoneMatch, String etag ) {
+    return ifNoneMatch != null && ( ifNoneMatch.contains( etag ) || "*".equals( ifNoneMatch ) );
+  }
+
+  private static String encodeParameter( String value ) {
+    try {
+      return URLEncoder.encode( value, "UTF-8" ).replace( "+", "%20" );
+    } catch( UnsupportedEncodingException exception ) {
+      throw new RuntimeException( exception );
+    }
+  }
+
+}
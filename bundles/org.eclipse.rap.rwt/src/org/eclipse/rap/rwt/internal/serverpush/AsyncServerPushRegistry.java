@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.serverpush;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.service.UISessionEvent;
+import org.eclipse.rap.rwt.service.UISessionListener;
+
+
+/**
+ * Keeps the server push requests that have been suspended using the asynchronous servlet API,
+ * keyed by the UI session they belong to. Instead of a waiting container thread per session, a
+ * single timer thread periodically checks whether a suspended request can be released.
+ */
+class AsyncServerPushRegistry {
+
+  private final Map<UISession, SuspendedRequest> requests;
+  private Timer timer;
+
+  AsyncServerPushRegistry() {
+    requests = new HashMap<>();
+  }
+
+  /**
+   * Suspends the given request. A request that is already suspended for the same UI session is
+   * released, as only the latest server push request of a session is kept.
+   */
+  void suspend( UISession uiSession,
+                AsyncContext asyncContext,
+                ServerPushManager manager,
+                long checkInterval )
+  {
+    SuspendedRequest request = new SuspendedRequest( uiSession, asyncContext, manager );
+    asyncContext.setTimeout( 0 );
+    asyncContext.addListener( request );
+    uiSession.addUISessionListener( request );
+    SuspendedRequest previous;
+    synchronized( this ) {
+      previous = requests.put( uiSession, request );
+      getTimer().schedule( request, checkInterval, checkInterval );
+    }
+    if( previous != null ) {
+      previous.complete();
+    }
+  }
+
+  synchronized boolean isSuspended( UISession uiSession ) {
+    return requests.containsKey( uiSession );
+  }
+
+  void release( UISession uiSession ) {
+    SuspendedRequest request;
+    synchronized( this ) {
+      request = requests.get( uiSession );
+    }
+    if( request != null ) {
+      request.release();
+    }
+  }
+
+  private synchronized boolean remove( SuspendedRequest request ) {
+    boolean removed = false;
+    if( requests.get( request.uiSession ) == request ) {
+      requests.remove( request.uiSession );
+      removed = true;
+    }
+    if( requests.isEmpty() && timer != null ) {
+      timer.cancel();
+      timer = null;
+    }
+    return removed;
+  }
+
+  private Timer getTimer() {
+    if( timer == null ) {
+      timer = new Timer( "RWT server push timer", true );
+    }
+    return timer;
+  }
+
+  private final class SuspendedRequest extends TimerTask
+    implements AsyncListener, UISessionListener
+  {
+
+    private final UISession uiSession;
+    private final AsyncContext asyncContext;
+    private final ServerPushManager manager;
+    private final long startTime;
+
+    SuspendedRequest( UISession uiSession, AsyncContext asyncContext, ServerPushManager manager ) {
+      this.uiSession = uiSession;
+      this.asyncContext = asyncContext;
+      this.manager = manager;
+      startTime = System.currentTimeMillis();
+    }
+
+    @Override
+    public void run() {
+      if( manager.canReleaseSuspendedRequest( uiSession, asyncContext.getResponse(), startTime ) ) {
+        release();
+      }
+    }
+
+    @Override
+    public void beforeDestroy( UISessionEvent event ) {
+      release();
+    }
+
+    @Override
+    public void onComplete( AsyncEvent event ) {
+      if( remove( this ) ) {
+        detach();
+      }
+    }
+
+    @Override
+    public void onTimeout( AsyncEvent event ) {
+      release();
+    }
+
+    @Override
+    public void onError( AsyncEvent event ) {
+      release();
+    }
+
+    @Override
+    public void onStartAsync( AsyncEvent event ) {
+      // not used
+    }
+
+    void release() {
+      if( remove( this ) ) {
+        complete();
+      }
+    }
+
+    void complete() {
+      detach();
+      try {
+        asyncContext.complete();
+      } catch( @SuppressWarnings( "unused" ) IllegalStateException ise ) {
+        // request has already been completed or recycled by the container
+      }
+    }
+
+    private void detach() {
+      cancel();
+      uiSession.removeUISessionListener( this );
+    }
+
+  }
+
+}
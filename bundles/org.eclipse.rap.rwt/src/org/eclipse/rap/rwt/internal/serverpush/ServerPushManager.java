@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,9 @@ package org.eclipse.rap.rwt.internal.serverpush;
 import java.io.IOException;
 import java.io.PrintWriter;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 
@@ -41,6 +44,8 @@ public final class ServerPushManager implements SerializableCompatibility {
   private boolean hasRunnables;
   private int requestCheckInterval;
   private transient ServerPushRequestTracker serverPushRequestTracker;
+  private transient AsyncServerPushRegistry asyncRegistry;
+  private transient UISession asyncUISession;
 
   private ServerPushManager() {
     lock = new SerializableLock();
@@ -56,7 +61,7 @@ public final class ServerPushManager implements SerializableCompatibility {
 
   public boolean isCallBackRequestBlocked() {
     synchronized( lock ) {
-      return !serverPushRequestTracker.hasActive();
+      return !serverPushRequestTracker.hasActive() || isRequestSuspended();
     }
   }
 
@@ -71,6 +76,9 @@ public final class ServerPushManager implements SerializableCompatibility {
   public void releaseBlockedRequest() {
     synchronized( lock ) {
       lock.notifyAll();
+      if( isRequestSuspended() && !mustBlockCallBackRequest() ) {
+        asyncRegistry.release( asyncUISession );
+      }
     }
   }
 
@@ -149,6 +157,40 @@ public final class ServerPushManager implements SerializableCompatibility {
     }
   }
 
+  void processRequestAsync( HttpServletRequest request,
+                            HttpServletResponse response,
+                            AsyncServerPushRegistry registry )
+  {
+    synchronized( lock ) {
+      if( isCallBackRequestBlocked() ) {
+        releaseBlockedRequest();
+      }
+      if( mustBlockCallBackRequest() ) {
+        asyncRegistry = registry;
+        asyncUISession = ContextProvider.getUISession();
+        AsyncContext asyncContext = request.startAsync( request, response );
+        registry.suspend( asyncUISession, asyncContext, this, requestCheckInterval );
+      }
+    }
+  }
+
+  boolean canReleaseSuspendedRequest( UISession uiSession,
+                                      ServletResponse response,
+                                      long requestStartTime )
+  {
+    synchronized( lock ) {
+      return    !mustBlockCallBackRequest()
+             || isSessionExpired( uiSession.getHttpSession(),
+                                  requestStartTime,
+                                  System.currentTimeMillis() )
+             || !isConnectionAlive( response );
+    }
+  }
+
+  private boolean isRequestSuspended() {
+    return asyncRegistry != null && asyncRegistry.isSuspended( asyncUISession );
+  }
+
   private boolean canReleaseBlockedRequest( HttpServletResponse response, long requestStartTime ) {
     boolean result = false;
     if( !mustBlockCallBackRequest() ) {
@@ -188,8 +230,15 @@ public final class ServerPushManager implements SerializableCompatibility {
   }
 
   static boolean isSessionExpired( long requestStartTime, long currentTime ) {
-    boolean result = false;
     HttpSession httpSession = ContextProvider.getUISession().getHttpSession();
+    return isSessionExpired( httpSession, requestStartTime, currentTime );
+  }
+
+  private static boolean isSessionExpired( HttpSession httpSession,
+                                           long requestStartTime,
+                                           long currentTime )
+  {
+    boolean result = false;
     int maxInactiveInterval = httpSession.getMaxInactiveInterval();
     if( maxInactiveInterval > 0 ) {
       result = currentTime > requestStartTime + maxInactiveInterval * 1000;
@@ -197,7 +246,7 @@ public final class ServerPushManager implements SerializableCompatibility {
     return result;
   }
 
-  private static boolean isConnectionAlive( HttpServletResponse response ) {
+  private static boolean isConnectionAlive( ServletResponse response ) {
     try {
       PrintWriter writer = response.getWriter();
       writer.write( " " );
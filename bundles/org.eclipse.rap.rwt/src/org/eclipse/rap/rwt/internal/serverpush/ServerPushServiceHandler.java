@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import java.io.IOException;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 
 
@@ -23,12 +24,29 @@ public class ServerPushServiceHandler implements ServiceHandler {
 
   public final static String HANDLER_ID = "org.eclipse.rap.serverpush";
 
+  private final boolean asyncServerPush;
+  private final AsyncServerPushRegistry asyncRegistry;
+
+  public ServerPushServiceHandler() {
+    this( RWTProperties.isAsyncServerPush() );
+  }
+
+  public ServerPushServiceHandler( boolean asyncServerPush ) {
+    this.asyncServerPush = asyncServerPush;
+    asyncRegistry = new AsyncServerPushRegistry();
+  }
+
   @Override
   public void service( HttpServletRequest request, HttpServletResponse response )
     throws IOException
   {
     setResponseHeaders( response );
-    ServerPushManager.getInstance().processRequest( response );
+    ServerPushManager serverPushManager = ServerPushManager.getInstance();
+    if( asyncServerPush && request.isAsyncSupported() ) {
+      serverPushManager.processRequestAsync( request, response, asyncRegistry );
+    } else {
+      serverPushManager.processRequest( response );
+    }
   }
 
   private static void setResponseHeaders( HttpServletResponse response ) {
@@ -0,0 +1,211 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.eclipse.rap.rwt.internal.util.ContentEncodingUtil.accepts;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.servlet.http.HttpServletResponse;
+
+import org.eclipse.rap.rwt.internal.util.HTTP;
+
+
+/**
+ * An output stream that compresses the content written to a response with the given content
+ * encoding. Content up to the given threshold is buffered; if the stream is finished before the
+ * threshold is exceeded, the content is sent uncompressed. The buffer grows with the content, so
+ * that small responses do not allocate the whole threshold. Otherwise the <code>Content-Encoding
+ * </code> header is set and all content is streamed through the compressor.
+ * <p>
+ * The stream counts the bytes written to it and the bytes actually written to the response.
+ * </p>
+ */
+final class CompressingOutputStream extends OutputStream {
+
+  private static final int BUFFER_SIZE = 8192;
+  private static final int INITIAL_BUFFER_SIZE = 1024;
+
+  private final HttpServletResponse response;
+  private final String encoding;
+  private final int threshold;
+  private byte[] buffer;
+  private int bufferCount;
+  private CountingOutputStream responseOutput;
+  private DeflaterOutputStream compressor;
+  private long rawByteCount;
+  private boolean finished;
+
+  CompressingOutputStream( HttpServletResponse response, String encoding, int threshold ) {
+    this.response = response;
+    this.encoding = encoding;
+    this.threshold = threshold;
+  }
+
+  /**
+   * Returns the encoding that is accepted by the client according to the given
+   * <code>Accept-Encoding</code> header, or <code>null</code> if neither gzip nor deflate is
+   * accepted. Gzip is preferred.
+   */
+  static String selectEncoding( String acceptEncoding ) {
+    String result = null;
+    if( accepts( acceptEncoding, HTTP.ENCODING_GZIP ) ) {
+      result = HTTP.ENCODING_GZIP;
+    } else if( accepts( acceptEncoding, HTTP.ENCODING_DEFLATE ) ) {
+      result = HTTP.ENCODING_DEFLATE;
+    }
+    return result;
+  }
+
+  @Override
+  public void write( int oneByte ) throws IOException {
+    write( new byte[] { ( byte )oneByte }, 0, 1 );
+  }
+
+  @Override
+  public void write( byte[] bytes, int offset, int length ) throws IOException {
+    checkNotFinished();
+    rawByteCount += length;
+    if( compressor != null ) {
+      compressor.write( bytes, offset, length );
+    } else if( bufferCount + length <= threshold ) {
+      ensureBufferCapacity( bufferCount + length );
+      System.arraycopy( bytes, offset, buffer, bufferCount, length );
+      bufferCount += length;
+    } else {
+      startCompression();
+      compressor.write( bytes, offset, length );
+    }
+  }
+
+  /*
+   * Content below the threshold is kept back until the stream is finished, as it is not yet known
+   * whether it will be compressed.
+   */
+  @Override
+  public void flush() throws IOException {
+    if( compressor != null ) {
+      compressor.flush();
+    }
+  }
+
+  /**
+   * Writes all remaining content to the response. Does not close the response stream.
+   */
+  void finish() throws IOException {
+    if( !finished ) {
+      finished = true;
+      if( compressor != null ) {
+        // releases the native resources of the compressor, the response stream is left open
+        compressor.close();
+      } else {
+        responseOutput = new CountingOutputStream( response.getOutputStream() );
+        if( bufferCount > 0 ) {
+          responseOutput.write( buffer, 0, bufferCount );
+        }
+      }
+      buffer = null;
+      responseOutput.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    finish();
+  }
+
+  /**
+   * Returns the number of bytes written to this stream.
+   */
+  long getRawByteCount() {
+    return rawByteCount;
+  }
+
+  /**
+   * Returns the number of bytes written to the response so far, i.e. the size of the compressed
+   * content, or the size of the raw content if it has not been compressed.
+   */
+  long getWrittenByteCount() {
+    return responseOutput == null ? 0 : responseOutput.count;
+  }
+
+  boolean isCompressed() {
+    return compressor != null;
+  }
+
+  private void startCompression() throws IOException {
+    response.setHeader( HTTP.HEADER_CONTENT_ENCODING, encoding );
+    responseOutput = new CountingOutputStream( response.getOutputStream() );
+    if( HTTP.ENCODING_GZIP.equals( encoding ) ) {
+      compressor = new GZIPOutputStream( responseOutput, BUFFER_SIZE );
+    } else {
+      compressor = new DeflaterOutputStream( responseOutput );
+    }
+    if( bufferCount > 0 ) {
+      compressor.write( buffer, 0, bufferCount );
+      bufferCount = 0;
+    }
+    buffer = null;
+  }
+
+  private void ensureBufferCapacity( int capacity ) {
+    if( buffer == null ) {
+      buffer = new byte[ Math.min( threshold, Math.max( INITIAL_BUFFER_SIZE, capacity ) ) ];
+    } else if( capacity > buffer.length ) {
+      int newLength = Math.min( threshold, Math.max( buffer.length * 2, capacity ) );
+      buffer = Arrays.copyOf( buffer, newLength );
+    }
+  }
+
+  private void checkNotFinished() throws IOException {
+    if( finished ) {
+      throw new IOException( "Stream already finished" );
+    }
+  }
+
+  private static class CountingOutputStream extends OutputStream {
+
+    private final OutputStream output;
+    private long count;
+
+    CountingOutputStream( OutputStream output ) {
+      this.output = output;
+    }
+
+    @Override
+    public void write( int oneByte ) throws IOException {
+      output.write( oneByte );
+      count++;
+    }
+
+    @Override
+    public void write( byte[] bytes, int offset, int length ) throws IOException {
+      output.write( bytes, offset, length );
+      count += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+      output.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+      output.flush();
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -21,7 +21,10 @@ import static org.eclipse.rap.rwt.internal.util.HTTP.CONTENT_TYPE_JSON;
 
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.Writer;
 
 import javax.servlet.ServletResponse;
 import javax.servlet.http.HttpServletRequest;
@@ -29,26 +32,68 @@ import javax.servlet.http.HttpServletResponse;
 
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
+import org.eclipse.rap.rwt.internal.protocol.ClientMessageReader;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
 import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.eclipse.rap.rwt.internal.protocol.StreamedResponseMessage;
 import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
+import org.eclipse.rap.rwt.internal.util.HTTP;
 import org.eclipse.rap.rwt.service.ServiceHandler;
-import org.eclipse.rap.rwt.service.UISession;
 
 
 public class LifeCycleServiceHandler implements ServiceHandler {
 
+  /**
+   * Request attribute that holds the uncompressed size of a compressed response message in bytes,
+   * as a <code>Long</code>.
+   */
+  public static final String ATTR_RAW_RESPONSE_SIZE
+    = LifeCycleServiceHandler.class.getName() + "#rawResponseSize";
+  /**
+   * Request attribute that holds the number of bytes actually sent for a compressed response
+   * message, as a <code>Long</code>. Equals the raw size if the message was below the threshold.
+   */
+  public static final String ATTR_WRITTEN_RESPONSE_SIZE
+    = LifeCycleServiceHandler.class.getName() + "#writtenResponseSize";
+  static final int NO_COMPRESSION = -1;
+
   private static final String PROP_ERROR = "error";
   private static final String ATTR_LAST_RESPONSE_MESSAGE
     = LifeCycleServiceHandler.class.getName() + "#lastResponseMessage";
 
   private final MessageChainReference messageChainReference;
+  private final boolean streamingResponse;
+  private final int compressionThreshold;
 
   public LifeCycleServiceHandler( MessageChainReference messageChainReference ) {
+    this( messageChainReference,
+          RWTProperties.isStreamingResponse(),
+          RWTProperties.isCompressResponse()
+          ? RWTProperties.getCompressResponseThreshold()
+          : NO_COMPRESSION );
+  }
+
+  public LifeCycleServiceHandler( MessageChainReference messageChainReference,
+                                  boolean streamingResponse )
+  {
+    this( messageChainReference, streamingResponse, NO_COMPRESSION );
+  }
+
+  /**
+   * @param compressionThreshold the size in bytes from which response messages are compressed,
+   *          or <code>NO_COMPRESSION</code>
+   */
+  public LifeCycleServiceHandler( MessageChainReference messageChainReference,
+                                  boolean streamingResponse,
+                                  int compressionThreshold )
+  {
     this.messageChainReference = messageChainReference;
+    this.streamingResponse = streamingResponse;
+    this.compressionThreshold = compressionThreshold;
   }
 
   @Override
@@ -92,25 +137,40 @@ public class LifeCycleServiceHandler implements ServiceHandler {
       writeEmptyMessage( response );
     } else if( !isRequestCounterValid( requestMessage ) ) {
       if( isDuplicateRequest( requestMessage ) ) {
-        writeBufferedResponse( response );
+        writeBufferedResponse( request, response );
       } else {
         writeInvalidRequestCounterError( response );
       }
     } else {
+      CompressingOutputStream compressingOutput = createCompressingOutput( request, response );
+      if( isStreamingResponse() ) {
+        ContextProvider.getProtocolWriter().enableStreaming();
+      }
       ResponseMessage responseMessage = processMessage( requestMessage );
-      writeResponseMessage( responseMessage, response );
+      writeResponseMessage( responseMessage, response, compressingOutput );
+      finishCompression( request, compressingOutput );
       RequestCounter.getInstance().nextRequestId();
+      // The request counter is part of the UI session, a replica must not fall behind it
+      ( ( UISessionImpl )getUISession() ).markChanged();
     }
   }
 
   private static RequestMessage readRequestMessage( HttpServletRequest request ) {
     try {
+      if( isUTF8Encoded( request ) ) {
+        return ClientMessageReader.read( request.getInputStream() );
+      }
       return new ClientMessage( JsonObject.readFrom( getReader( request ) ) );
     } catch( IOException ioe ) {
       throw new IllegalStateException( "Unable to read the json message", ioe );
     }
   }
 
+  private static boolean isUTF8Encoded( HttpServletRequest request ) {
+    String encoding = request.getCharacterEncoding();
+    return encoding == null || CHARSET_UTF_8.equalsIgnoreCase( encoding );
+  }
+
   /*
    * Workaround for bug in certain servlet containers where the reader is sometimes empty.
    * 411616: Application crash with very long messages
@@ -124,17 +184,55 @@ public class LifeCycleServiceHandler implements ServiceHandler {
     return new InputStreamReader( request.getInputStream(), encoding );
   }
 
+  /*
+   * Message filters may inspect or replace the response message, which requires the operations
+   */
+  private boolean isStreamingResponse() {
+    return streamingResponse && !messageChainReference.hasFilters();
+  }
+
+  /*
+   * Returns null if compression is disabled or not accepted by the client.
+   */
+  private CompressingOutputStream createCompressingOutput( HttpServletRequest request,
+                                                           HttpServletResponse response )
+  {
+    CompressingOutputStream result = null;
+    if( compressionThreshold != NO_COMPRESSION ) {
+      response.setHeader( HTTP.HEADER_VARY, HTTP.HEADER_ACCEPT_ENCODING );
+      String acceptEncoding = request.getHeader( HTTP.HEADER_ACCEPT_ENCODING );
+      String encoding = CompressingOutputStream.selectEncoding( acceptEncoding );
+      if( encoding != null ) {
+        result = new CompressingOutputStream( response, encoding, compressionThreshold );
+      }
+    }
+    return result;
+  }
+
+  private static void finishCompression( HttpServletRequest request,
+                                         CompressingOutputStream compressingOutput )
+    throws IOException
+  {
+    if( compressingOutput != null ) {
+      compressingOutput.finish();
+      request.setAttribute( ATTR_RAW_RESPONSE_SIZE,
+                            Long.valueOf( compressingOutput.getRawByteCount() ) );
+      request.setAttribute( ATTR_WRITTEN_RESPONSE_SIZE,
+                            Long.valueOf( compressingOutput.getWrittenByteCount() ) );
+    }
+  }
+
   private ResponseMessage processMessage( RequestMessage requestMessage ) {
     return messageChainReference.get().handleMessage( requestMessage );
   }
 
   static boolean isRequestCounterValid( RequestMessage requestMessage ) {
-    int expectedRequestId = RequestCounter.getInstance().currentRequestId();
+    RequestCounter requestCounter = RequestCounter.getInstance();
     JsonValue sentRequestId = requestMessage.getHead().get( REQUEST_COUNTER );
     if( sentRequestId == null ) {
       return false;
     }
-    return sentRequestId.asInt() == expectedRequestId;
+    return sentRequestId.asInt() == requestCounter.currentRequestId();
   }
 
   private static boolean isDuplicateRequest( RequestMessage requestMessage ) {
@@ -181,22 +279,54 @@ public class LifeCycleServiceHandler implements ServiceHandler {
     new ProtocolMessageWriter().createMessage().toJson().writeTo( response.getWriter() );
   }
 
-  private static void writeResponseMessage( ResponseMessage responseMessage,
-                                            ServletResponse response )
+  private void writeResponseMessage( ResponseMessage responseMessage,
+                                     ServletResponse response,
+                                     CompressingOutputStream compressingOutput )
     throws IOException
   {
     bufferMessage( responseMessage );
-    responseMessage.toJson().writeTo( response.getWriter() );
+    writeMessage( responseMessage, response, compressingOutput );
+  }
+
+  private void writeBufferedResponse( HttpServletRequest request, HttpServletResponse response )
+    throws IOException
+  {
+    ResponseMessage bufferedMessage = getBufferedMessage();
+    CompressingOutputStream compressingOutput = createCompressingOutput( request, response );
+    writeMessage( bufferedMessage, response, compressingOutput );
+    finishCompression( request, compressingOutput );
   }
 
-  private static void writeBufferedResponse( HttpServletResponse response ) throws IOException {
-    getBufferedMessage().toJson().writeTo( response.getWriter() );
+  private static void writeMessage( ResponseMessage responseMessage,
+                                    ServletResponse response,
+                                    CompressingOutputStream compressingOutput )
+    throws IOException
+  {
+    if( responseMessage instanceof StreamedResponseMessage ) {
+      OutputStream output = compressingOutput != null
+                          ? compressingOutput
+                          : response.getOutputStream();
+      output.write( ( ( StreamedResponseMessage )responseMessage ).getContent() );
+    } else if( compressingOutput != null ) {
+      writeMessage( responseMessage, compressingOutput );
+    } else {
+      responseMessage.toJson().writeTo( response.getWriter() );
+    }
+  }
+
+  private static void writeMessage( ResponseMessage responseMessage, OutputStream output )
+    throws IOException
+  {
+    Writer writer = new OutputStreamWriter( output, CHARSET_UTF_8 );
+    responseMessage.toJson().writeTo( writer );
+    writer.flush();
   }
 
   private static void bufferMessage( ResponseMessage responseMessage ) {
-    UISession uiSession = getUISession();
+    UISessionImpl uiSession = ( UISessionImpl )getUISession();
     if( uiSession != null ) {
-      uiSession.setAttribute( ATTR_LAST_RESPONSE_MESSAGE, responseMessage );
+      // not a change of the UI session on its own, a replica answers a duplicate request anew
+      uiSession.setUntrackedAttribute( ATTR_LAST_RESPONSE_MESSAGE, responseMessage );
     }
   }
 
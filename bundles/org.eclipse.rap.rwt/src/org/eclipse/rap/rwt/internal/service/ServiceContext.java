@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -95,6 +95,11 @@ public final class ServiceContext {
     protocolWriter = new ProtocolMessageWriter();
   }
 
+  public void setProtocolWriter( ProtocolMessageWriter protocolWriter ) {
+    ParamCheck.notNull( protocolWriter, "protocolWriter" );
+    this.protocolWriter = protocolWriter;
+  }
+
   public UISession getUISession() {
     checkState();
     if( uiSession != null && !uiSession.isBound() ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -58,6 +58,8 @@ public class UISessionImpl
   private Connection connection;
   private boolean bound;
   private boolean inDestroy;
+  private transient boolean changed;
+  private transient Set<String> changedAttributes;
   private transient HttpSession httpSession;
   private transient ISessionShutdownAdapter shutdownAdapter;
   private transient ApplicationContextImpl applicationContext;
@@ -91,6 +93,50 @@ public class UISessionImpl
     httpSession.setAttribute( getUISessionAttributeName( connectionId ), this );
   }
 
+  /**
+   * Flags this UI session as changed, so that it is replicated after the current request when
+   * session failover is enabled. Attribute and listener changes flag the session implicitly.
+   */
+  public void markChanged() {
+    synchronized( lock ) {
+      changed = true;
+    }
+  }
+
+  /**
+   * Returns whether this UI session has been changed since the last call of this method.
+   */
+  public boolean resetChanged() {
+    return resetChanges() != null;
+  }
+
+  /**
+   * Returns the names of the attributes that have been set or removed since the last reset, or
+   * <code>null</code> if this UI session has not been changed at all. Resets the changes.
+   */
+  public Set<String> resetChanges() {
+    synchronized( lock ) {
+      Set<String> result = null;
+      if( changed ) {
+        result = changedAttributes == null ? new HashSet<String>() : changedAttributes;
+      }
+      changed = false;
+      changedAttributes = null;
+      return result;
+    }
+  }
+
+  /*
+   * Used for bookkeeping data that is only needed as long as the UI session stays on this node.
+   */
+  void setUntrackedAttribute( String name, Object value ) {
+    synchronized( lock ) {
+      if( bound ) {
+        attributes.put( name, value );
+      }
+    }
+  }
+
   public void setApplicationContext( ApplicationContextImpl applicationContext ) {
     if( this.applicationContext != null ) {
       this.applicationContext.removeApplicationContextListener( this );
@@ -152,6 +198,7 @@ public class UISessionImpl
       if( bound ) {
         result = true;
         attributes.put( name, value );
+        markAttributeChanged( name );
       }
     }
     return result;
@@ -165,6 +212,7 @@ public class UISessionImpl
       if( bound ) {
         result = true;
         attributes.remove( name );
+        markAttributeChanged( name );
       }
     }
     return result;
@@ -254,6 +302,7 @@ public class UISessionImpl
       if( bound && !inDestroy ) {
         result = true;
         listeners.add( listener );
+        changed = true;
       }
     }
     return result;
@@ -267,6 +316,7 @@ public class UISessionImpl
       if( bound && !inDestroy ) {
         result = true;
         listeners.remove( listener );
+        changed = true;
       }
     }
     return result;
@@ -320,6 +370,14 @@ public class UISessionImpl
     return ATTR_UI_SESSION + ( connectionId == null ? "" : connectionId );
   }
 
+  private void markAttributeChanged( String name ) {
+    changed = true;
+    if( changedAttributes == null ) {
+      changedAttributes = new HashSet<>();
+    }
+    changedAttributes.add( name );
+  }
+
   private void destroy() {
     synchronized( lock ) {
       inDestroy = true;
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/**
+ * The font related part of a <code>TextSizeKey</code>, i.e. a font and the size of its probe as
+ * measured by a client. Instances are interned by the <code>TextSizeStorage</code>, so that all
+ * text sizes of a font share a single instance.
+ */
+final class FontKey {
+
+  private final FontData fontData;
+  private final String probeText;
+  private final int probeWidth;
+  private final int probeHeight;
+  private final int hashCode;
+
+  FontKey( FontData fontData, String probeText, Point probeSize ) {
+    this.fontData = fontData;
+    this.probeText = probeText;
+    probeWidth = probeSize.x;
+    probeHeight = probeSize.y;
+    hashCode = computeHashCode();
+  }
+
+  FontData getFontData() {
+    return fontData;
+  }
+
+  String getProbeText() {
+    return probeText;
+  }
+
+  Point getProbeSize() {
+    return new Point( probeWidth, probeHeight );
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals( Object obj ) {
+    boolean result = false;
+    if( this == obj ) {
+      result = true;
+    } else if( obj != null && getClass() == obj.getClass() ) {
+      FontKey other = ( FontKey )obj;
+      result =    hashCode == other.hashCode
+               && probeWidth == other.probeWidth
+               && probeHeight == other.probeHeight
+               && fontData.equals( other.fontData )
+               && probeText.equals( other.probeText );
+    }
+    return result;
+  }
+
+  private int computeHashCode() {
+    int result = 1;
+    result = 31 * result + probeText.hashCode();
+    result = 31 * result + probeWidth;
+    result = 31 * result + probeHeight;
+    result = 31 * result + fontData.hashCode();
+    return result;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ class ProbeResult implements SerializableCompatibility {
   private final Point size;
   private final Probe probe;
   private transient float avgCharWidth;
+  private transient FontKey fontKey;
 
   ProbeResult( Probe probe, Point size ) {
     this.probe = probe;
@@ -44,4 +45,12 @@ class ProbeResult implements SerializableCompatibility {
     }
     return avgCharWidth;
   }
+
+  FontKey getFontKey( TextSizeStorage textSizeStorage ) {
+    if( fontKey == null ) {
+      FontKey newFontKey = new FontKey( probe.getFontData(), probe.getText(), size );
+      fontKey = textSizeStorage.internFontKey( newFontKey );
+    }
+    return fontKey;
+  }
 }
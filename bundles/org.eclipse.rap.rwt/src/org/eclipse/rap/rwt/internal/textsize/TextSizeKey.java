@@ -0,0 +1,131 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+
+/**
+ * Identifies a measured text size. Besides the text, wrap width and mode, the key references the
+ * interned <code>FontKey</code> of the font, as different clients may render the same font
+ * differently.
+ * <p>
+ * Instead of the text itself, the key only keeps a 128-bit fingerprint of it. Hence, the size of a
+ * key does not depend on the length of the text, and keys are compared in full without the risk of
+ * a practically relevant collision.
+ * </p>
+ */
+final class TextSizeKey {
+
+  private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+  private final FontKey fontKey;
+  private final long fingerprint1;
+  private final long fingerprint2;
+  private final int wrapWidth;
+  private final int mode;
+  private final int hashCode;
+
+  TextSizeKey( FontKey fontKey, String string, int wrapWidth, int mode ) {
+    this( fontKey, fingerprint1( string ), fingerprint2( string ), wrapWidth, mode );
+  }
+
+  TextSizeKey( FontKey fontKey, long fingerprint1, long fingerprint2, int wrapWidth, int mode ) {
+    this.fontKey = fontKey;
+    this.fingerprint1 = fingerprint1;
+    this.fingerprint2 = fingerprint2;
+    this.wrapWidth = wrapWidth;
+    this.mode = mode;
+    hashCode = computeHashCode();
+  }
+
+  FontKey getFontKey() {
+    return fontKey;
+  }
+
+  long getFingerprint1() {
+    return fingerprint1;
+  }
+
+  long getFingerprint2() {
+    return fingerprint2;
+  }
+
+  int getWrapWidth() {
+    return wrapWidth;
+  }
+
+  int getMode() {
+    return mode;
+  }
+
+  @Override
+  public int hashCode() {
+    return hashCode;
+  }
+
+  @Override
+  public boolean equals( Object obj ) {
+    boolean result = false;
+    if( this == obj ) {
+      result = true;
+    } else if( obj != null && getClass() == obj.getClass() ) {
+      TextSizeKey other = ( TextSizeKey )obj;
+      result =    fingerprint1 == other.fingerprint1
+               && fingerprint2 == other.fingerprint2
+               && wrapWidth == other.wrapWidth
+               && mode == other.mode
+               && fontKey.equals( other.fontKey );
+    }
+    return result;
+  }
+
+  private int computeHashCode() {
+    int result = 1;
+    result = 31 * result + fontKey.hashCode();
+    result = 31 * result + ( int )( fingerprint1 ^ ( fingerprint1 >>> 32 ) );
+    result = 31 * result + wrapWidth;
+    result = 31 * result + mode;
+    return result;
+  }
+
+  // two independent 64-bit hashes, FNV-1a and a multiplicative hash, each with a final mix
+
+  static long fingerprint1( String string ) {
+    long result = FNV_OFFSET_BASIS;
+    int length = string.length();
+    for( int i = 0; i < length; i++ ) {
+      result = ( result ^ string.charAt( i ) ) * FNV_PRIME;
+    }
+    return mix( result ^ length );
+  }
+
+  static long fingerprint2( String string ) {
+    int length = string.length();
+    long result = GOLDEN_RATIO ^ length;
+    for( int i = 0; i < length; i++ ) {
+      result = ( result + string.charAt( i ) ) * GOLDEN_RATIO;
+      result ^= result >>> 29;
+    }
+    return mix( result );
+  }
+
+  private static long mix( long value ) {
+    long result = value;
+    result ^= result >>> 33;
+    result *= 0xff51afd7ed558ccdL;
+    result ^= result >>> 33;
+    result *= 0xc4ceb9fe1a85ec53L;
+    result ^= result >>> 33;
+    return result;
+  }
+
+}
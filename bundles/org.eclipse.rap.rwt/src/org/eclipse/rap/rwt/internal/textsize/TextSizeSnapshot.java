@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Timer;
+import java.util.TimerTask;
+
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+
+
+/**
+ * Persists the fonts and the measured text sizes of a <code>TextSizeStorage</code> to a file, so
+ * that they survive a restart of the application. With the fonts known upfront, all font probes
+ * are measured in the first request of a UI session. Text sizes that have been measured by clients
+ * with the same probe results are then available without any further measurement.
+ * <p>
+ * The file uses a compact binary format. Fonts, probe texts and font keys are written once and
+ * referenced by index. The text size entries contain the fingerprint of the text rather than the
+ * text itself, just like the keys of the storage.
+ * </p>
+ */
+public final class TextSizeSnapshot {
+
+  public static final long DEFAULT_FLUSH_INTERVAL = 60 * 1000;
+
+  private static final int MAGIC = 0x52545353;
+  private static final int VERSION = 2;
+
+  private final TextSizeStorage textSizeStorage;
+  private final File file;
+  private Timer timer;
+
+  public TextSizeSnapshot( TextSizeStorage textSizeStorage, File file ) {
+    this.textSizeStorage = textSizeStorage;
+    this.file = file;
+  }
+
+  /**
+   * Loads the snapshot into the text size storage and starts to flush the storage periodically.
+   */
+  public void activate( long flushInterval ) {
+    load();
+    synchronized( this ) {
+      timer = new Timer( "RWT text size snapshot timer", true );
+      timer.schedule( new TimerTask() {
+        @Override
+        public void run() {
+          save();
+        }
+      }, flushInterval, flushInterval );
+    }
+  }
+
+  /**
+   * Stops to flush the text size storage periodically and saves it a last time.
+   */
+  public void deactivate() {
+    synchronized( this ) {
+      if( timer != null ) {
+        timer.cancel();
+        timer = null;
+      }
+    }
+    save();
+  }
+
+  void load() {
+    if( file.isFile() ) {
+      try( DataInputStream input = openInputStream() ) {
+        read( input );
+      } catch( IOException | RuntimeException exception ) {
+        ServletLog.log( "Failed to load text size snapshot from " + file, exception );
+      }
+    }
+  }
+
+  synchronized void save() {
+    File tmpFile = new File( file.getPath() + ".tmp" );
+    try {
+      try( DataOutputStream output = openOutputStream( tmpFile ) ) {
+        write( output );
+      }
+      Files.move( tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING );
+    } catch( IOException exception ) {
+      ServletLog.log( "Failed to save text size snapshot to " + file, exception );
+      tmpFile.delete();
+    }
+  }
+
+  private void read( DataInputStream input ) throws IOException {
+    if( input.readInt() != MAGIC || input.readInt() != VERSION ) {
+      throw new IOException( "Unsupported file format" );
+    }
+    FontData[] fonts = new FontData[ input.readInt() ];
+    for( int i = 0; i < fonts.length; i++ ) {
+      fonts[ i ] = new FontData( input.readUTF(), input.readInt(), input.readInt() );
+      textSizeStorage.storeFont( fonts[ i ] );
+    }
+    String[] probeTexts = new String[ input.readInt() ];
+    for( int i = 0; i < probeTexts.length; i++ ) {
+      probeTexts[ i ] = input.readUTF();
+    }
+    FontKey[] fontKeys = new FontKey[ input.readInt() ];
+    for( int i = 0; i < fontKeys.length; i++ ) {
+      FontData fontData = fonts[ input.readInt() ];
+      String probeText = probeTexts[ input.readInt() ];
+      Point probeSize = new Point( input.readInt(), input.readInt() );
+      fontKeys[ i ] = textSizeStorage.internFontKey( new FontKey( fontData, probeText, probeSize ) );
+    }
+    int entryCount = input.readInt();
+    for( int i = 0; i < entryCount; i++ ) {
+      FontKey fontKey = fontKeys[ input.readInt() ];
+      long fingerprint1 = input.readLong();
+      long fingerprint2 = input.readLong();
+      int wrapWidth = input.readInt();
+      int mode = input.readInt();
+      Point size = new Point( input.readInt(), input.readInt() );
+      TextSizeKey key = new TextSizeKey( fontKey, fingerprint1, fingerprint2, wrapWidth, mode );
+      textSizeStorage.storeTextSize( key, size );
+    }
+  }
+
+  private void write( DataOutputStream output ) throws IOException {
+    Map<TextSizeKey,Point> textSizes = textSizeStorage.getTextSizes();
+    Map<FontData,Integer> fonts = new HashMap<>();
+    for( FontData fontData : textSizeStorage.getFontList() ) {
+      addIndex( fonts, fontData );
+    }
+    Map<String,Integer> probeTexts = new HashMap<>();
+    Map<FontKey,Integer> fontKeys = new HashMap<>();
+    for( TextSizeKey key : textSizes.keySet() ) {
+      FontKey fontKey = key.getFontKey();
+      addIndex( fonts, fontKey.getFontData() );
+      addIndex( probeTexts, fontKey.getProbeText() );
+      addIndex( fontKeys, fontKey );
+    }
+    output.writeInt( MAGIC );
+    output.writeInt( VERSION );
+    output.writeInt( fonts.size() );
+    for( FontData fontData : getOrdered( fonts, new FontData[ fonts.size() ] ) ) {
+      output.writeUTF( fontData.getName() );
+      output.writeInt( fontData.getHeight() );
+      output.writeInt( fontData.getStyle() );
+    }
+    output.writeInt( probeTexts.size() );
+    for( String probeText : getOrdered( probeTexts, new String[ probeTexts.size() ] ) ) {
+      output.writeUTF( probeText );
+    }
+    output.writeInt( fontKeys.size() );
+    for( FontKey fontKey : getOrdered( fontKeys, new FontKey[ fontKeys.size() ] ) ) {
+      Point probeSize = fontKey.getProbeSize();
+      output.writeInt( fonts.get( fontKey.getFontData() ).intValue() );
+      output.writeInt( probeTexts.get( fontKey.getProbeText() ).intValue() );
+      output.writeInt( probeSize.x );
+      output.writeInt( probeSize.y );
+    }
+    output.writeInt( textSizes.size() );
+    for( Map.Entry<TextSizeKey,Point> entry : textSizes.entrySet() ) {
+      TextSizeKey key = entry.getKey();
+      Point size = entry.getValue();
+      output.writeInt( fontKeys.get( key.getFontKey() ).intValue() );
+      output.writeLong( key.getFingerprint1() );
+      output.writeLong( key.getFingerprint2() );
+      output.writeInt( key.getWrapWidth() );
+      output.writeInt( key.getMode() );
+      output.writeInt( size.x );
+      output.writeInt( size.y );
+    }
+  }
+
+  private DataInputStream openInputStream() throws IOException {
+    return new DataInputStream( new BufferedInputStream( new FileInputStream( file ) ) );
+  }
+
+  private static DataOutputStream openOutputStream( File file ) throws IOException {
+    return new DataOutputStream( new BufferedOutputStream( new FileOutputStream( file ) ) );
+  }
+
+  private static <T> void addIndex( Map<T,Integer> indexes, T value ) {
+    if( !indexes.containsKey( value ) ) {
+      indexes.put( value, Integer.valueOf( indexes.size() ) );
+    }
+  }
+
+  private static <T> T[] getOrdered( Map<T,Integer> indexes, T[] result ) {
+    for( Map.Entry<T,Integer> entry : indexes.entrySet() ) {
+      result[ entry.getValue().intValue() ] = entry.getKey();
+    }
+    return result;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,132 +11,269 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.textsize;
 
-import java.io.Serializable;
 import java.math.BigDecimal;
 import java.text.MessageFormat;
-import java.util.Arrays;
-import java.util.Comparator;
+import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.swt.graphics.FontData;
 import org.eclipse.swt.graphics.Point;
 
 
+/**
+ * Application-wide store of measured text sizes. The entries are distributed over a fixed number
+ * of segments, each of which is guarded by its own lock and keeps its entries in access order.
+ * When the store is full, the least recently used entries are evicted by merging the oldest
+ * entries of all segments, which takes constant time per evicted entry.
+ * <p>
+ * To keep the memory footprint per entry small and independent of the length of the measured
+ * text, keys share an interned <code>FontKey</code> per font and only contain a fingerprint of the
+ * text, and entries hold the measured size as plain integers.
+ * </p>
+ */
 public final class TextSizeStorage {
   public static final int MIN_STORE_SIZE = 1000;
   public static final int DEFAULT_STORE_SIZE = 10000;
 
-  private final Object lock;
-  // access is guarded by 'lock'
+  private static final int SEGMENT_COUNT = 16;
+
   private final Set<FontData> fontDatas;
-  // access is guarded by 'lock'
-  private final Map<Integer,Entry> data;
-  private int maximumStoreSize;
-  private int clearRange;
-  private long clock;
+  private final ConcurrentHashMap<FontKey,FontKey> fontKeys;
+  private final Segment[] segments;
+  private final AtomicInteger entryCount;
+  private final AtomicLong clock;
+  private final AtomicLong evictionCount;
+  private final AtomicBoolean evicting;
+  private volatile int maximumStoreSize;
+  private volatile int clearRange;
 
 
   private static class Entry {
-    private Point point;
+    private final int width;
+    private final int height;
     private long timeStamp;
+
+    Entry( Point size ) {
+      width = size.x;
+      height = size.y;
+    }
+
+    Point getSize() {
+      return new Point( width, height );
+    }
   }
 
-  private static class EntryComparator implements Comparator<Entry>, Serializable {
+  private static class Segment {
+    // access is guarded by 'this'
+    private final LinkedHashMap<TextSizeKey,Entry> data;
+    private long hitCount;
+    private long missCount;
 
-    @Override
-    public int compare( Entry entry1, Entry entry2 ) {
-      int result = 0;
-      if( entry1.timeStamp > entry2.timeStamp ) {
-        result = 1;
-      } else if( entry1.timeStamp < entry2.timeStamp ) {
-        result = -1;
-      }
-      return result;
+    Segment() {
+      data = new LinkedHashMap<>( 16, 0.75f, true );
     }
   }
 
 
   public TextSizeStorage() {
-    lock = new Object();
-    data = new HashMap<>();
-    fontDatas = new HashSet<>();
+    fontDatas = Collections.newSetFromMap( new ConcurrentHashMap<FontData,Boolean>() );
+    fontKeys = new ConcurrentHashMap<>();
+    segments = new Segment[ SEGMENT_COUNT ];
+    for( int i = 0; i < SEGMENT_COUNT; i++ ) {
+      segments[ i ] = new Segment();
+    }
+    entryCount = new AtomicInteger();
+    clock = new AtomicLong();
+    evictionCount = new AtomicLong();
+    evicting = new AtomicBoolean();
     setMaximumStoreSize( DEFAULT_STORE_SIZE );
   }
 
   FontData[] getFontList() {
-    FontData[] result;
-    synchronized( lock ) {
-      result = new FontData[ fontDatas.size() ];
-      fontDatas.toArray( result );
-    }
-    return result;
+    return fontDatas.toArray( new FontData[ 0 ] );
   }
 
   void storeFont( FontData fontData ) {
-    synchronized( lock ) {
-      fontDatas.add( fontData );
-    }
+    fontDatas.add( fontData );
+  }
+
+  /**
+   * Returns the canonical instance of the given font key, so that all text size keys of a font
+   * share a single font key.
+   */
+  FontKey internFontKey( FontKey fontKey ) {
+    FontKey result = fontKeys.putIfAbsent( fontKey, fontKey );
+    return result == null ? fontKey : result;
   }
 
-  Point lookupTextSize( Integer key ) {
-    Point result = null;
-    synchronized( lock ) {
-      Entry entry = data.get( key );
+  Point lookupTextSize( TextSizeKey key ) {
+    Entry entry;
+    Segment segment = getSegment( key );
+    synchronized( segment ) {
+      entry = segment.data.get( key );
       if( entry != null ) {
         updateTimestamp( entry );
-        result = entry.point;
+        segment.hitCount++;
+      } else {
+        segment.missCount++;
       }
     }
-    result = defensiveCopy( result );
-    return result;
+    return entry == null ? null : entry.getSize();
   }
 
-  void storeTextSize( Integer key, Point size ) {
-    Entry entry = new Entry();
-    entry.point = defensiveCopy( size );
-    updateTimestamp( entry );
-    synchronized( lock ) {
-      data.put( key, entry );
+  void storeTextSize( TextSizeKey key, Point size ) {
+    Entry entry = new Entry( size );
+    Segment segment = getSegment( key );
+    Entry previous;
+    synchronized( segment ) {
+      updateTimestamp( entry );
+      previous = segment.data.put( key, entry );
+    }
+    if( previous == null && entryCount.incrementAndGet() >= maximumStoreSize ) {
       handleOverFlow();
     }
   }
 
+  /**
+   * Returns a copy of all stored text sizes, e.g. to persist them.
+   */
+  Map<TextSizeKey,Point> getTextSizes() {
+    Map<TextSizeKey,Point> result = new HashMap<>();
+    for( Segment segment : segments ) {
+      synchronized( segment ) {
+        for( Map.Entry<TextSizeKey,Entry> entry : segment.data.entrySet() ) {
+          result.put( entry.getKey(), entry.getValue().getSize() );
+        }
+      }
+    }
+    return result;
+  }
+
   ////////////////////
   // overflow handling
 
-  void setMaximumStoreSize( int maximumStoreSize ) {
+  public void setMaximumStoreSize( int maximumStoreSize ) {
     checkLowerStoreSizeBoundary( maximumStoreSize );
     calculateClearRange( maximumStoreSize );
     this.maximumStoreSize = maximumStoreSize;
   }
 
-  int getMaximumStoreSize() {
+  public int getMaximumStoreSize() {
     return maximumStoreSize;
   }
 
   private void handleOverFlow() {
-    if( data.size() >= maximumStoreSize ) {
-      Entry[] entries = sortEntries();
-      for( int i = 0; i < clearRange; i++ ) {
-        data.values().remove( entries[ i ] );
+    // only one thread evicts at a time, concurrent stores may exceed the maximum meanwhile
+    if( evicting.compareAndSet( false, true ) ) {
+      try {
+        for( int i = 0; i < clearRange && entryCount.get() > 0; i++ ) {
+          evictOldestEntry();
+        }
+      } finally {
+        evicting.set( false );
       }
     }
   }
 
-  private Entry[] sortEntries() {
-    Entry[] result = new Entry[ data.size() ];
-    data.values().toArray( result );
-    Arrays.sort( result, new EntryComparator() );
+  private void evictOldestEntry() {
+    boolean evicted = false;
+    while( !evicted && entryCount.get() > 0 ) {
+      Segment oldestSegment = null;
+      long oldestTimeStamp = Long.MAX_VALUE;
+      for( Segment segment : segments ) {
+        synchronized( segment ) {
+          Entry entry = getEldest( segment );
+          if( entry != null && entry.timeStamp < oldestTimeStamp ) {
+            oldestTimeStamp = entry.timeStamp;
+            oldestSegment = segment;
+          }
+        }
+      }
+      if( oldestSegment == null ) {
+        return;
+      }
+      synchronized( oldestSegment ) {
+        // the entry may have been accessed in the meantime, retry in this case
+        Iterator<Entry> iterator = oldestSegment.data.values().iterator();
+        if( iterator.hasNext() && iterator.next().timeStamp == oldestTimeStamp ) {
+          iterator.remove();
+          evicted = true;
+        }
+      }
+    }
+    if( evicted ) {
+      entryCount.decrementAndGet();
+      evictionCount.incrementAndGet();
+    }
+  }
+
+  private static Entry getEldest( Segment segment ) {
+    Iterator<Entry> iterator = segment.data.values().iterator();
+    return iterator.hasNext() ? iterator.next() : null;
+  }
+
+
+  /////////////
+  // statistics
+
+  /**
+   * Returns the number of text sizes that are currently stored.
+   */
+  public int getSize() {
+    return entryCount.get();
+  }
+
+  /**
+   * Returns the number of lookups that found a stored text size.
+   */
+  public long getHitCount() {
+    long result = 0;
+    for( Segment segment : segments ) {
+      synchronized( segment ) {
+        result += segment.hitCount;
+      }
+    }
     return result;
   }
 
+  /**
+   * Returns the number of lookups that did not find a stored text size.
+   */
+  public long getMissCount() {
+    long result = 0;
+    for( Segment segment : segments ) {
+      synchronized( segment ) {
+        result += segment.missCount;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Returns the number of text sizes that have been evicted because the store was full.
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
 
   //////////////////
   // helping methods
 
+  private Segment getSegment( TextSizeKey key ) {
+    int hash = key.hashCode();
+    hash ^= ( hash >>> 16 );
+    return segments[ hash & ( SEGMENT_COUNT - 1 ) ];
+  }
+
   private static void checkLowerStoreSizeBoundary( int maximumStoreSize ) {
     if( maximumStoreSize < MIN_STORE_SIZE ) {
       Object[] param = { Integer.valueOf( MIN_STORE_SIZE ) };
@@ -145,12 +282,8 @@ public final class TextSizeStorage {
     }
   }
 
-  private static Point defensiveCopy( Point point ) {
-    return point == null ? null : new Point( point.x, point.y );
-  }
-
   private void updateTimestamp( Entry entry ) {
-    entry.timeStamp = clock++;
+    entry.timeStamp = clock.getAndIncrement();
   }
 
   private void calculateClearRange( int maximumStoreSize ) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,13 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.UnsupportedEncodingException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.theme.css.CssElementHolder;
@@ -27,13 +34,22 @@ public class Theme {
 
   private static final String JS_THEME_PREFIX = "rwt.theme.";
 
+  // serializes the registration of deferred themes, which may share resources
+  private static final Object DEFERRED_REGISTRATION_LOCK = new Object();
+
   private final String id;
   private final String jsId;
   private final String name;
+  private final List<Future<StyleSheet>> pendingStyleSheets;
+  private final AtomicLong parseTime;
   private StyleSheetBuilder styleSheetBuilder;
-  private CssValuesMap valuesMap;
+  private volatile CssValuesMap valuesMap;
+  private volatile ThemeableWidget[] deferredThemeableWidgets;
+  private volatile ApplicationContext deferredApplicationContext;
+  private long initializationTime;
+  private long registrationTime;
 
-  private String registeredLocation;
+  private volatile String registeredLocation;
 
   private CssElement[] elements;
 
@@ -45,6 +61,8 @@ public class Theme {
     this.name = name != null ? name : "Unnamed Theme";
     jsId = createUniqueJsId( id );
     valuesMap = null;
+    pendingStyleSheets = new ArrayList<>();
+    parseTime = new AtomicLong();
     styleSheetBuilder = new StyleSheetBuilder();
     if( styleSheet != null ) {
       styleSheetBuilder.addStyleSheet( styleSheet );
@@ -64,20 +82,47 @@ public class Theme {
   }
 
   public void addStyleSheet( StyleSheet styleSheet ) {
-    if( valuesMap != null ) {
-      throw new IllegalStateException( "Theme is already initialized" );
+    checkNotInitialized();
+    if( pendingStyleSheets.isEmpty() ) {
+      styleSheetBuilder.addStyleSheet( styleSheet );
+    } else {
+      // keep the order of the style sheets
+      pendingStyleSheets.add( createCompletedFuture( styleSheet ) );
     }
-    styleSheetBuilder.addStyleSheet( styleSheet );
+  }
+
+  /**
+   * Adds a style sheet that is being read asynchronously. The style sheet is added to the theme,
+   * in the order of the calls to the <code>addStyleSheet</code> methods, when the theme is
+   * initialized.
+   */
+  public void addStyleSheet( Future<StyleSheet> styleSheet ) {
+    checkNotInitialized();
+    pendingStyleSheets.add( styleSheet );
+  }
+
+  void addParseTime( long nanos ) {
+    parseTime.addAndGet( nanos );
   }
 
   public void initialize( ThemeableWidget[] themeableWidgets ) {
+    long start = System.nanoTime();
     elements = extractElements( themeableWidgets );
     if( valuesMap != null ) {
       throw new IllegalStateException( "Theme is already initialized" );
     }
-    StyleSheet styleSheet = styleSheetBuilder.getStyleSheet();
+    StyleSheet styleSheet = getStyleSheet();
     valuesMap = new CssValuesMap( styleSheet, themeableWidgets );
     styleSheetBuilder = null;
+    initializationTime = System.nanoTime() - start;
+  }
+
+  /**
+   * Defers the initialization of this theme until its values are first accessed.
+   */
+  public void initializeLazily( ThemeableWidget[] themeableWidgets ) {
+    checkNotInitialized();
+    deferredThemeableWidgets = themeableWidgets;
   }
 
   private static CssElement[] extractElements( ThemeableWidget[] themeableWidgets ) {
@@ -93,31 +138,140 @@ public class Theme {
   }
 
   public StyleSheet getStyleSheet() {
+    addPendingStyleSheets();
     return styleSheetBuilder.getStyleSheet();
   }
 
   public CssValuesMap getValuesMap() {
-    if( valuesMap == null ) {
-      throw new IllegalStateException( "Theme is not initialized" );
+    CssValuesMap result = valuesMap;
+    if( result == null ) {
+      result = initializeDeferred();
     }
-    return valuesMap;
+    return result;
+  }
+
+  /**
+   * Returns whether the values of this theme are available, i.e. the theme has been initialized
+   * and its initialization is not deferred.
+   */
+  public boolean isInitialized() {
+    return valuesMap != null;
+  }
+
+  /**
+   * Returns the time in nanoseconds spent on parsing the style sheets of this theme.
+   */
+  public long getParseTime() {
+    return parseTime.get();
+  }
+
+  /**
+   * Returns the time in nanoseconds spent on building the values map of this theme.
+   */
+  public synchronized long getInitializationTime() {
+    return initializationTime;
+  }
+
+  /**
+   * Returns the time in nanoseconds spent on registering the resources of this theme.
+   */
+  public synchronized long getRegistrationTime() {
+    return registrationTime;
   }
 
   public String getRegisteredLocation() {
-    return registeredLocation;
+    String result = registeredLocation;
+    if( result == null && deferredApplicationContext != null ) {
+      result = registerDeferredResources();
+    }
+    return result;
   }
 
   public void registerResources( ApplicationContext applicationContext ) {
+    if( deferredThemeableWidgets != null ) {
+      deferredApplicationContext = applicationContext;
+    } else {
+      doRegisterResources( applicationContext );
+    }
+  }
+
+  private synchronized CssValuesMap initializeDeferred() {
+    if( valuesMap == null ) {
+      if( deferredThemeableWidgets == null ) {
+        throw new IllegalStateException( "Theme is not initialized" );
+      }
+      initialize( deferredThemeableWidgets );
+      deferredThemeableWidgets = null;
+    }
+    return valuesMap;
+  }
+
+  private String registerDeferredResources() {
+    synchronized( DEFERRED_REGISTRATION_LOCK ) {
+      ApplicationContext applicationContext = deferredApplicationContext;
+      if( registeredLocation == null && applicationContext != null ) {
+        doRegisterResources( applicationContext );
+        deferredApplicationContext = null;
+      }
+      return registeredLocation;
+    }
+  }
+
+  private synchronized void doRegisterResources( ApplicationContext applicationContext ) {
+    long start = System.nanoTime();
     try {
       registerThemeResources( applicationContext );
       registerThemeStoreFile( applicationContext );
     } catch( IOException ioe ) {
       throw new ThemeManagerException( "Failed to register theme resources for theme " + id, ioe );
     }
+    registrationTime = System.nanoTime() - start;
+  }
+
+  private void checkNotInitialized() {
+    if( valuesMap != null || deferredThemeableWidgets != null ) {
+      throw new IllegalStateException( "Theme is already initialized" );
+    }
+  }
+
+  private void addPendingStyleSheets() {
+    for( Future<StyleSheet> styleSheet : pendingStyleSheets ) {
+      styleSheetBuilder.addStyleSheet( getResult( styleSheet ) );
+    }
+    pendingStyleSheets.clear();
+  }
+
+  private static StyleSheet getResult( Future<StyleSheet> future ) {
+    try {
+      return future.get();
+    } catch( InterruptedException exception ) {
+      Thread.currentThread().interrupt();
+      throw new ThemeManagerException( "Interrupted while reading style sheet", exception );
+    } catch( ExecutionException exception ) {
+      Throwable cause = exception.getCause();
+      if( cause instanceof RuntimeException ) {
+        throw ( RuntimeException )cause;
+      }
+      if( cause instanceof Error ) {
+        throw ( Error )cause;
+      }
+      throw new ThemeManagerException( "Failed to read style sheet", cause );
+    }
+  }
+
+  private static Future<StyleSheet> createCompletedFuture( final StyleSheet styleSheet ) {
+    FutureTask<StyleSheet> result = new FutureTask<>( new Callable<StyleSheet>() {
+      @Override
+      public StyleSheet call() {
+        return styleSheet;
+      }
+    } );
+    result.run();
+    return result;
   }
 
   private void registerThemeResources( ApplicationContext applicationContext ) throws IOException {
-    CssValue[] values = valuesMap.getAllValues();
+    CssValue[] values = getValuesMap().getAllValues();
     for( CssValue value : values ) {
       if( value instanceof ThemeResource ) {
         registerResource( applicationContext, ( ThemeResource )value );
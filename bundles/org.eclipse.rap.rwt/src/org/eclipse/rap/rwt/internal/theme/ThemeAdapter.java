@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -63,16 +63,17 @@ public abstract class ThemeAdapter {
   }
 
   protected BoxDimensions getCssBorder( String cssElement, Widget widget ) {
-    int top = getCssBorderWidth( cssElement, "border-top", widget );
-    int right = getCssBorderWidth( cssElement, "border-right", widget );
-    int bottom = getCssBorderWidth( cssElement, "border-bottom", widget );
-    int left = getCssBorderWidth( cssElement, "border-left", widget );
+    // look up the current theme once for all four borders
+    String themeId = ThemeUtil.getCurrentThemeId();
+    int top = getCssBorderWidth( themeId, cssElement, "border-top", widget );
+    int right = getCssBorderWidth( themeId, cssElement, "border-right", widget );
+    int bottom = getCssBorderWidth( themeId, cssElement, "border-bottom", widget );
+    int left = getCssBorderWidth( themeId, cssElement, "border-left", widget );
     return new BoxDimensions( top, right, bottom, left );
   }
 
   protected int getCssBorderWidth( String cssElement, String cssProperty, Widget widget ) {
-    CssValue cssValue = ThemeUtil.getCssValue( cssElement, cssProperty, matcher, widget );
-    return ( ( CssBorder )cssValue ).width;
+    return getCssBorderWidth( ThemeUtil.getCurrentThemeId(), cssElement, cssProperty, widget );
   }
 
   protected int getCssDimension( String cssElement, String cssProperty, Widget widget ) {
@@ -92,6 +93,15 @@ public abstract class ThemeAdapter {
     return image.getSize();
   }
 
+  private int getCssBorderWidth( String themeId,
+                                 String cssElement,
+                                 String cssProperty,
+                                 Widget widget )
+  {
+    CssValue cssValue = ThemeUtil.getCssValue( themeId, cssElement, cssProperty, matcher, widget );
+    return ( ( CssBorder )cssValue ).width;
+  }
+
   @SuppressWarnings( "unchecked" )
   private static ThemeableWidget findThemeableWidget( Widget widget ) {
     ThemeableWidget result;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,8 +23,14 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleAdapterUtil;
 import org.eclipse.rap.rwt.internal.theme.css.CssFileReader;
 import org.eclipse.rap.rwt.internal.theme.css.StyleSheet;
@@ -93,10 +99,26 @@ public class ThemeManager {
   private final List<String> appearances;
   private final ThemeAdapterManager themeAdapterManager;
   private final Map<String, String> resolvedPackageNames; // only for performance improvements
+  private final boolean parallelInitialization;
+  private final boolean lazyInitialization;
   private Theme fallbackTheme;
   private boolean initialized;
+  private ForkJoinPool pool;
 
   public ThemeManager() {
+    this( RWTProperties.isParallelThemeInitialization(),
+          RWTProperties.isLazyThemeInitialization() );
+  }
+
+  /**
+   * @param parallelInitialization whether style sheets are parsed and themes are initialized in
+   *          parallel
+   * @param lazyInitialization whether the initialization of custom themes is deferred until they
+   *          are first used
+   */
+  public ThemeManager( boolean parallelInitialization, boolean lazyInitialization ) {
+    this.parallelInitialization = parallelInitialization;
+    this.lazyInitialization = lazyInitialization;
     themes = new HashMap<>();
     themeableWidgets = new ThemeableWidgetHolder();
     appearances = new ArrayList<>();
@@ -115,19 +137,73 @@ public class ThemeManager {
     }
   }
 
+  /**
+   * Reads a style sheet and adds it to the given theme. In parallel mode the style sheet is read
+   * asynchronously and exceptions thrown by the reader are rethrown on activation.
+   */
+  public void addStyleSheet( final Theme theme, final Callable<StyleSheet> reader ) {
+    checkNotInitialized();
+    Callable<StyleSheet> timedReader = new Callable<StyleSheet>() {
+      @Override
+      public StyleSheet call() throws Exception {
+        long start = System.nanoTime();
+        try {
+          return reader.call();
+        } finally {
+          theme.addParseTime( System.nanoTime() - start );
+        }
+      }
+    };
+    if( parallelInitialization ) {
+      theme.addStyleSheet( getPool().submit( timedReader ) );
+    } else {
+      theme.addStyleSheet( call( timedReader ) );
+    }
+  }
+
   public void activate() {
     if( !initialized ) {
-      initializeThemeableWidgets();
-      Collection<Theme> allThemes = themes.values();
-      ThemeableWidget[] allThemeableWidgets = themeableWidgets.getAll();
-      for( Theme theme : allThemes ) {
-        theme.initialize( allThemeableWidgets );
+      try {
+        initializeThemeableWidgets();
+        Collection<Theme> allThemes = themes.values();
+        ThemeableWidget[] allThemeableWidgets = themeableWidgets.getAll();
+        List<Theme> eagerThemes = new ArrayList<>();
+        for( Theme theme : allThemes ) {
+          if( lazyInitialization && !isRequiredOnStartup( theme ) ) {
+            theme.initializeLazily( allThemeableWidgets );
+          } else {
+            eagerThemes.add( theme );
+          }
+        }
+        initializeThemes( eagerThemes, allThemeableWidgets );
+      } finally {
+        shutdownPool();
       }
       initialized = true;
     }
   }
 
+  /**
+   * Returns a summary of the time spent on parsing, initializing and registering each theme.
+   */
+  public String getTimingReport() {
+    StringBuilder builder = new StringBuilder();
+    builder.append( "Theme initialization times (parse/values/resources):" );
+    for( Theme theme : themes.values() ) {
+      builder.append( "\n  " ).append( theme.getId() ).append( ": " );
+      builder.append( toMillis( theme.getParseTime() ) ).append( " ms / " );
+      if( theme.isInitialized() ) {
+        builder.append( toMillis( theme.getInitializationTime() ) ).append( " ms / " );
+        builder.append( toMillis( theme.getRegistrationTime() ) ).append( " ms" );
+      } else {
+        builder.append( "deferred" );
+      }
+    }
+    return builder.toString();
+  }
+
   public void deactivate() {
+    shutdownPool();
     themes.clear();
     themeableWidgets.reset();
     appearances.clear();
@@ -238,6 +314,84 @@ public class ThemeManager {
     }
   }
 
+  private void initializeThemes( List<Theme> themes, ThemeableWidget[] themeableWidgets ) {
+    if( parallelInitialization && themes.size() > 1 ) {
+      List<Future<?>> futures = new ArrayList<>();
+      for( Theme theme : themes ) {
+        futures.add( getPool().submit( createInitializer( theme, themeableWidgets ) ) );
+      }
+      for( Future<?> future : futures ) {
+        getResult( future );
+      }
+    } else {
+      for( Theme theme : themes ) {
+        theme.initialize( themeableWidgets );
+      }
+    }
+  }
+
+  private static Runnable createInitializer( final Theme theme,
+                                             final ThemeableWidget[] themeableWidgets )
+  {
+    return new Runnable() {
+      @Override
+      public void run() {
+        theme.initialize( themeableWidgets );
+      }
+    };
+  }
+
+  private static boolean isRequiredOnStartup( Theme theme ) {
+    String id = theme.getId();
+    return FALLBACK_THEME_ID.equals( id ) || RWT.DEFAULT_THEME_ID.equals( id );
+  }
+
+  private ForkJoinPool getPool() {
+    if( pool == null ) {
+      pool = new ForkJoinPool();
+    }
+    return pool;
+  }
+
+  private void shutdownPool() {
+    if( pool != null ) {
+      pool.shutdown();
+      pool = null;
+    }
+  }
+
+  private static <T> T call( Callable<T> callable ) {
+    try {
+      return callable.call();
+    } catch( RuntimeException exception ) {
+      throw exception;
+    } catch( Exception exception ) {
+      throw new ThemeManagerException( "Failed to read style sheet", exception );
+    }
+  }
+
+  private static Object getResult( Future<?> future ) {
+    try {
+      return future.get();
+    } catch( InterruptedException exception ) {
+      Thread.currentThread().interrupt();
+      throw new ThemeManagerException( "Interrupted while initializing themes", exception );
+    } catch( ExecutionException exception ) {
+      Throwable cause = exception.getCause();
+      if( cause instanceof RuntimeException ) {
+        throw ( RuntimeException )cause;
+      }
+      if( cause instanceof Error ) {
+        throw ( Error )cause;
+      }
+      throw new ThemeManagerException( "Failed to initialize themes", cause );
+    }
+  }
+
+  private static long toMillis( long nanos ) {
+    return TimeUnit.NANOSECONDS.toMillis( nanos );
+  }
+
   private void createAndAddFallbackTheme() {
     fallbackTheme = new Theme( FALLBACK_THEME_ID, FALLBACK_THEME_NAME, null );
     themes.put( FALLBACK_THEME_ID, fallbackTheme );
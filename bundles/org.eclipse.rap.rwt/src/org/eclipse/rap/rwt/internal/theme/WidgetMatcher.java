@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,8 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.theme;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -26,24 +28,48 @@ public final class WidgetMatcher implements ValueSelector {
   }
 
   private final Map<String, Constraint> constraintMap;
+  private final Map<ConditionalValue[], CompiledValues> compiledValuesMap;
 
   public WidgetMatcher() {
-    // This map is accessed by all UI sessions simultaneously. However, We don't need to
+    // These maps are accessed by all UI sessions simultaneously. However, We don't need to
     // synchronize get and put since constraints are deterministic, i.e. in case of concurrent
     // insertions one constraint overwriting the other is not critical.
     constraintMap = new ConcurrentHashMap<>();
+    compiledValuesMap = new ConcurrentHashMap<>();
   }
 
   public void addStyle( String string, int style ) {
     constraintMap.put( "[" + string, createStyleConstraint( style ) );
+    compiledValuesMap.clear();
   }
 
   public void addState( String string, Constraint constraint ) {
     constraintMap.put( ":" + string, constraint );
+    compiledValuesMap.clear();
   }
 
+  /*
+   * The values passed in are the arrays held by the values map of a theme, which do not change
+   * once the theme is initialized. Hence the constraints of each array are resolved only once and
+   * each distinct constraint is then evaluated at most once per call. As arrays are compared by
+   * identity, a different theme never hits the values compiled for another one.
+   */
   @Override
   public CssValue select( Widget widget, ConditionalValue... values ) {
+    CompiledValues compiledValues = compiledValuesMap.get( values );
+    if( compiledValues == null ) {
+      compiledValues = compile( values );
+      if( compiledValues != null ) {
+        compiledValuesMap.put( values, compiledValues );
+      }
+    }
+    if( compiledValues != null ) {
+      return compiledValues.select( widget );
+    }
+    return selectUncompiled( widget, values );
+  }
+
+  private CssValue selectUncompiled( Widget widget, ConditionalValue... values ) {
     CssValue result = null;
     for( int i = 0; i < values.length && result == null; i++ ) {
       ConditionalValue condValue = values[ i ];
@@ -74,6 +100,32 @@ public final class WidgetMatcher implements ValueSelector {
     return constraint;
   }
 
+  /*
+   * Returns null if the values depend on more constraints than can be represented in a bit mask.
+   */
+  private CompiledValues compile( ConditionalValue[] values ) {
+    List<String> names = new ArrayList<>();
+    long[] masks = new long[ values.length ];
+    for( int i = 0; i < values.length; i++ ) {
+      for( String string : values[ i ].constraints ) {
+        int index = names.indexOf( string );
+        if( index == -1 ) {
+          index = names.size();
+          names.add( string );
+        }
+        if( index >= Long.SIZE ) {
+          return null;
+        }
+        masks[ i ] |= 1L << index;
+      }
+    }
+    Constraint[] constraints = new Constraint[ names.size() ];
+    for( int i = 0; i < constraints.length; i++ ) {
+      constraints[ i ] = getConstraint( names.get( i ) );
+    }
+    return new CompiledValues( values, masks, constraints );
+  }
+
   private static Constraint createStyleConstraint( final int style ) {
     return new Constraint() {
       @Override
@@ -97,4 +149,46 @@ public final class WidgetMatcher implements ValueSelector {
     return actualVariant != null && actualVariant.equals( variant );
   }
 
+  private static final class CompiledValues {
+
+    private final ConditionalValue[] values;
+    private final long[] masks;
+    private final Constraint[] constraints;
+
+    CompiledValues( ConditionalValue[] values, long[] masks, Constraint[] constraints ) {
+      this.values = values;
+      this.masks = masks;
+      this.constraints = constraints;
+    }
+
+    CssValue select( Widget widget ) {
+      // bits of constraints that have been evaluated, and of those that matched
+      long evaluated = 0;
+      long matched = 0;
+      for( int i = 0; i < values.length; i++ ) {
+        long mask = masks[ i ];
+        long pending = mask & ~evaluated;
+        while( pending != 0 ) {
+          int index = Long.numberOfTrailingZeros( pending );
+          long bit = 1L << index;
+          Constraint constraint = constraints[ index ];
+          if( constraint != null && constraint.matches( widget ) ) {
+            matched |= bit;
+          }
+          evaluated |= bit;
+          pending &= ~bit;
+          if( ( matched & bit ) == 0 ) {
+            // constraint failed, no need to evaluate the rest of this value
+            break;
+          }
+        }
+        if( ( mask & matched ) == mask ) {
+          return values[ i ].value;
+        }
+      }
+      return null;
+    }
+
+  }
+
 }
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+
+public final class ContentEncodingUtil {
+
+  /**
+   * Returns whether the given <code>Accept-Encoding</code> header value lists the given content
+   * encoding with a quality value greater than zero.
+   *
+   * @param acceptEncoding the value of the header, may be <code>null</code>
+   * @param encoding the content encoding, e.g. <code>gzip</code>
+   */
+  public static boolean accepts( String acceptEncoding, String encoding ) {
+    if( acceptEncoding != null ) {
+      for( String part : acceptEncoding.split( "," ) ) {
+        String[] parameters = part.split( ";" );
+        if( encoding.equalsIgnoreCase( parameters[ 0 ].trim() ) ) {
+          return !isZeroQuality( parameters );
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isZeroQuality( String[] parameters ) {
+    for( int i = 1; i < parameters.length; i++ ) {
+      String parameter = parameters[ i ].trim();
+      if( parameter.startsWith( "q=" ) ) {
+        try {
+          return Float.parseFloat( parameter.substring( 2 ) ) == 0;
+        } catch( @SuppressWarnings( "unused" ) NumberFormatException exception ) {
+          return false;
+        }
+      }
+    }
+    return false;
+  }
+
+  private ContentEncodingUtil() {
+    // prevent instantiation
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -25,6 +25,14 @@ public final class HTTP {
   public static final String METHOD_GET = "GET";
   public static final String METHOD_POST = "POST";
   public static final String HEADER_ACCEPT = "Accept";
+  public static final String HEADER_ACCEPT_ENCODING = "Accept-Encoding";
+  public static final String HEADER_CONTENT_ENCODING = "Content-Encoding";
+  public static final String HEADER_CACHE_CONTROL = "Cache-Control";
+  public static final String HEADER_ETAG = "ETag";
+  public static final String HEADER_IF_NONE_MATCH = "If-None-Match";
+  public static final String HEADER_VARY = "Vary";
+  public static final String ENCODING_GZIP = "gzip";
+  public static final String ENCODING_DEFLATE = "deflate";
 
   private HTTP() {
     // prevent instantiation
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,65 +10,245 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.util;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 
+/**
+ * A buffer for instances that are shared across sessions. Instances are created on demand by an
+ * <code>InstanceCreator</code>. An instance is created only once per key, but the creation of
+ * instances for different keys does not block each other. Threads that request a key while its
+ * instance is being created wait for this creation.
+ * <p>
+ * Optionally, instances are held by soft references and are evicted when memory gets low. An
+ * evicted instance is created again on the next request.
+ * </p>
+ */
 public class SharedInstanceBuffer<K, I> implements Serializable {
 
-  private final Lock readLock;
-  private final Lock writeLock;
-  private final Map<K, I> store;
+  private static final Object NULL_KEY = new Object();
+
+  private final boolean softValues;
+  private transient ConcurrentMap<Object, Future<I>> store;
+  private transient ReferenceQueue<I> queue;
+  private transient AtomicLong hitCount;
+  private transient AtomicLong missCount;
+  private transient AtomicLong evictionCount;
 
   public SharedInstanceBuffer() {
-    ReentrantReadWriteLock readWriteLock = new ReentrantReadWriteLock();
-    readLock = readWriteLock.readLock();
-    writeLock = readWriteLock.writeLock();
-    store = new HashMap<>();
+    this( false );
+  }
+
+  /**
+   * @param softValues whether instances should be held by soft references
+   */
+  public SharedInstanceBuffer( boolean softValues ) {
+    this.softValues = softValues;
+    initialize();
   }
 
   public I get( K key, InstanceCreator<K, I> instanceCreator ) {
-    I result = getInstance( key );
-    if( result == null ) {
-      result = createInstance( key, instanceCreator );
+    Object storeKey = maskNull( key );
+    while( true ) {
+      Future<I> future = store.get( storeKey );
+      if( future == null ) {
+        purgeEvictedInstances();
+        CreationTask<I> task = createTask( key, instanceCreator );
+        future = store.putIfAbsent( storeKey, task );
+        if( future == null ) {
+          missCount.incrementAndGet();
+          return runTask( storeKey, task );
+        }
+      }
+      I result = getValue( storeKey, future );
+      if( result != null || future.isDone() && !( future instanceof SoftValue ) ) {
+        hitCount.incrementAndGet();
+        return result;
+      }
+      // the soft reference was cleared, create the instance again
+      if( store.remove( storeKey, future ) ) {
+        evictionCount.incrementAndGet();
+      }
     }
-    return result;
   }
 
   public I remove( K key ) {
-    writeLock.lock();
+    Future<I> future = store.remove( maskNull( key ) );
+    return future == null ? null : getValue( null, future );
+  }
+
+  /**
+   * Returns the number of instances in this buffer, including those that are currently being
+   * created.
+   */
+  public int size() {
+    purgeEvictedInstances();
+    return store.size();
+  }
+
+  /**
+   * Returns the number of requests that were answered with an existing instance.
+   */
+  public long getHitCount() {
+    return hitCount.get();
+  }
+
+  /**
+   * Returns the number of requests that created a new instance.
+   */
+  public long getMissCount() {
+    return missCount.get();
+  }
+
+  /**
+   * Returns the number of instances that were evicted because their soft reference was cleared.
+   */
+  public long getEvictionCount() {
+    return evictionCount.get();
+  }
+
+  private CreationTask<I> createTask( final K key, final InstanceCreator<K, I> instanceCreator ) {
+    return new CreationTask<>( new Callable<I>() {
+      @Override
+      public I call() {
+        return instanceCreator.createInstance( key );
+      }
+    } );
+  }
+
+  private I runTask( Object storeKey, CreationTask<I> task ) {
+    task.run();
+    I result;
     try {
-      return store.remove( key );
-    } finally {
-      writeLock.unlock();
+      result = getValue( storeKey, task );
+    } catch( RuntimeException | Error exception ) {
+      store.remove( storeKey, task );
+      throw exception;
     }
+    if( result == null ) {
+      // do not buffer null, as before the creator is asked again on the next request
+      store.remove( storeKey, task );
+    } else {
+      // replace the task to release the creator and everything it refers to
+      store.replace( storeKey, task, createValue( storeKey, result ) );
+    }
+    return result;
   }
 
-  private I getInstance( K key ) {
-    readLock.lock();
+  /*
+   * Waits for an instance that is being created by another thread. Exceptions thrown by the
+   * creator are rethrown.
+   */
+  private I getValue( Object storeKey, Future<I> future ) {
+    if( future instanceof CreationTask && ( ( CreationTask<I> )future ).isCreatingThread() ) {
+      throw new IllegalStateException( "Recursive creation of instance for key: " + storeKey );
+    }
+    boolean interrupted = false;
     try {
-      return store.get( key );
+      while( true ) {
+        try {
+          return future.get();
+        } catch( InterruptedException exception ) {
+          interrupted = true;
+        } catch( ExecutionException exception ) {
+          if( storeKey != null ) {
+            store.remove( storeKey, future );
+          }
+          throw rethrow( exception.getCause() );
+        }
+      }
     } finally {
-      readLock.unlock();
+      if( interrupted ) {
+        Thread.currentThread().interrupt();
+      }
     }
   }
 
-  private I createInstance( K key, InstanceCreator<K, I> instanceCreator ) {
-    writeLock.lock();
-    try {
-      // Re-check because another thread might have acquired write lock and created an instance
-      // before we did. See doc on ReentrantReadWriteLock.
-      I result = store.get( key );
-      if( result == null ) {
-        result = instanceCreator.createInstance( key );
-        store.put( key, result );
+  private Future<I> createValue( Object storeKey, I value ) {
+    if( softValues ) {
+      return new SoftValue<>( storeKey, value, queue );
+    }
+    return new Value<>( value );
+  }
+
+  private void purgeEvictedInstances() {
+    if( softValues ) {
+      Object reference = queue.poll();
+      while( reference != null ) {
+        SoftValue<?> value = ( SoftValue<?> )reference;
+        if( store.remove( value.key, value ) ) {
+          evictionCount.incrementAndGet();
+        }
+        reference = queue.poll();
+      }
+    }
+  }
+
+  private void initialize() {
+    store = new ConcurrentHashMap<>();
+    queue = new ReferenceQueue<>();
+    hitCount = new AtomicLong();
+    missCount = new AtomicLong();
+    evictionCount = new AtomicLong();
+  }
+
+  private static Object maskNull( Object key ) {
+    return key == null ? NULL_KEY : key;
+  }
+
+  private static RuntimeException rethrow( Throwable throwable ) {
+    if( throwable instanceof RuntimeException ) {
+      throw ( RuntimeException )throwable;
+    }
+    if( throwable instanceof Error ) {
+      throw ( Error )throwable;
+    }
+    throw new RuntimeException( throwable );
+  }
+
+  /*
+   * Only instances that have been created completely are serialized.
+   */
+  private void writeObject( ObjectOutputStream stream ) throws IOException {
+    stream.defaultWriteObject();
+    Map<Object, I> values = new HashMap<>();
+    for( Entry<Object, Future<I>> entry : store.entrySet() ) {
+      Future<I> future = entry.getValue();
+      if( future instanceof Value || future instanceof SoftValue ) {
+        I value = getValue( null, future );
+        if( value != null ) {
+          Object key = entry.getKey();
+          values.put( key == NULL_KEY ? null : key, value );
+        }
       }
-      return result;
-    } finally {
-      writeLock.unlock();
+    }
+    stream.writeObject( values );
+  }
+
+  @SuppressWarnings( "unchecked" )
+  private void readObject( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    initialize();
+    Map<Object, I> values = ( Map<Object, I> )stream.readObject();
+    for( Entry<Object, I> entry : values.entrySet() ) {
+      Object key = maskNull( entry.getKey() );
+      I value = entry.getValue();
+      store.put( key, createValue( key, value ) );
     }
   }
 
@@ -76,4 +256,94 @@ public class SharedInstanceBuffer<K, I> implements Serializable {
     T createInstance( K key );
   }
 
+  private static final class CreationTask<I> extends FutureTask<I> {
+
+    private volatile Thread creatingThread;
+
+    CreationTask( Callable<I> callable ) {
+      super( callable );
+    }
+
+    @Override
+    public void run() {
+      creatingThread = Thread.currentThread();
+      try {
+        super.run();
+      } finally {
+        creatingThread = null;
+      }
+    }
+
+    boolean isCreatingThread() {
+      return creatingThread == Thread.currentThread();
+    }
+
+  }
+
+  private static final class Value<I> implements Future<I> {
+
+    private final I value;
+
+    Value( I value ) {
+      this.value = value;
+    }
+
+    @Override
+    public I get() {
+      return value;
+    }
+
+    @Override
+    public I get( long timeout, TimeUnit unit ) {
+      return value;
+    }
+
+    @Override
+    public boolean isDone() {
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public boolean cancel( boolean mayInterruptIfRunning ) {
+      return false;
+    }
+
+  }
+
+  private static final class SoftValue<I> extends SoftReference<I> implements Future<I> {
+
+    private final Object key;
+
+    SoftValue( Object key, I value, ReferenceQueue<? super I> queue ) {
+      super( value, queue );
+      this.key = key;
+    }
+
+    @Override
+    public I get( long timeout, TimeUnit unit ) {
+      return get();
+    }
+
+    @Override
+    public boolean isDone() {
+      return true;
+    }
+
+    @Override
+    public boolean isCancelled() {
+      return false;
+    }
+
+    @Override
+    public boolean cancel( boolean mayInterruptIfRunning ) {
+      return false;
+    }
+
+  }
+
 }
@@ -0,0 +1,293 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * A hashed timer wheel that runs the tasks of all sessions of an application on a single daemon
+ * thread. Scheduling and cancelling a task take constant time. Due tasks are run with a precision
+ * of one tick.
+ * <p>
+ * Tasks are expected to return quickly, e.g. by handing over their work to a display with
+ * <code>asyncExec()</code>. The thread is started with the first task and waits without ticking
+ * while no task is scheduled.
+ * </p>
+ */
+public class TimerWheel {
+
+  public static final long DEFAULT_TICK_DURATION = 10;
+  public static final int DEFAULT_WHEEL_SIZE = 512;
+
+  private final String threadName;
+  private final long tickDuration;
+  private final Task[] buckets;
+  private final int mask;
+  private final long startTime;
+  private final Object lock;
+  private Thread worker;
+  private long tick;
+  private int size;
+  private volatile long lag;
+  private volatile long maxLag;
+
+  public TimerWheel( String threadName ) {
+    this( threadName, DEFAULT_TICK_DURATION, DEFAULT_WHEEL_SIZE );
+  }
+
+  public TimerWheel( String threadName, long tickDuration, int wheelSize ) {
+    ParamCheck.notNull( threadName, "threadName" );
+    if( tickDuration <= 0 ) {
+      throw new IllegalArgumentException( "Tick duration must be positive: " + tickDuration );
+    }
+    if( wheelSize <= 0 || Integer.bitCount( wheelSize ) != 1 ) {
+      throw new IllegalArgumentException( "Wheel size must be a power of two: " + wheelSize );
+    }
+    this.threadName = threadName;
+    this.tickDuration = tickDuration;
+    buckets = new Task[ wheelSize ];
+    mask = wheelSize - 1;
+    startTime = System.nanoTime();
+    lock = new Object();
+  }
+
+  /**
+   * Schedules the given task to run after the given number of milliseconds. A task that is
+   * already scheduled is moved to the new point in time.
+   */
+  public void schedule( Task task, long delay ) {
+    ParamCheck.notNull( task, "task" );
+    long now = System.currentTimeMillis();
+    synchronized( lock ) {
+      if( task.wheel == this ) {
+        unlink( task );
+        size--;
+      } else if( task.wheel != null ) {
+        throw new IllegalStateException( "Task is scheduled on another timer wheel" );
+      }
+      if( size == 0 ) {
+        // the worker does not tick while the wheel is empty, catch up with the clock
+        tick = getElapsedTime() / tickDuration;
+      }
+      task.executionTime = now + Math.max( 0, delay );
+      task.deadline = getElapsedTime() + Math.max( 0, delay );
+      long targetTick = Math.max( tick, ( task.deadline + tickDuration - 1 ) / tickDuration );
+      task.remainingRounds = ( targetTick - tick ) / buckets.length;
+      task.bucket = ( int )( targetTick & mask );
+      link( task );
+      size++;
+      if( worker == null ) {
+        startWorker();
+      } else if( size == 1 ) {
+        lock.notifyAll();
+      }
+    }
+  }
+
+  /**
+   * Removes the given task from the wheel. Returns <code>true</code> if the task was scheduled.
+   */
+  public boolean cancel( Task task ) {
+    ParamCheck.notNull( task, "task" );
+    boolean result = false;
+    synchronized( lock ) {
+      if( task.wheel == this ) {
+        unlink( task );
+        size--;
+        result = true;
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Removes all tasks and terminates the thread. Tasks that are scheduled afterwards start a new
+   * thread.
+   */
+  public void stop() {
+    synchronized( lock ) {
+      for( int i = 0; i < buckets.length; i++ ) {
+        while( buckets[ i ] != null ) {
+          unlink( buckets[ i ] );
+        }
+      }
+      size = 0;
+      worker = null;
+      lock.notifyAll();
+    }
+  }
+
+  /**
+   * Returns the number of scheduled tasks.
+   */
+  public int getQueueDepth() {
+    synchronized( lock ) {
+      return size;
+    }
+  }
+
+  /**
+   * Returns the number of milliseconds that the most recently run task was run after its
+   * scheduled time.
+   */
+  public long getLag() {
+    return lag;
+  }
+
+  /**
+   * Returns the maximum number of milliseconds that a task was run after its scheduled time.
+   */
+  public long getMaxLag() {
+    return maxLag;
+  }
+
+  private void startWorker() {
+    worker = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        work();
+      }
+    }, threadName );
+    worker.setDaemon( true );
+    worker.start();
+  }
+
+  private void work() {
+    List<Task> dueTasks = new ArrayList<>();
+    while( awaitDueTasks( dueTasks ) ) {
+      for( Task task : dueTasks ) {
+        runTask( task );
+      }
+      dueTasks.clear();
+    }
+  }
+
+  private boolean awaitDueTasks( List<Task> dueTasks ) {
+    synchronized( lock ) {
+      while( worker == Thread.currentThread() && dueTasks.isEmpty() ) {
+        long elapsedTime = getElapsedTime();
+        long currentTick = elapsedTime / tickDuration;
+        while( tick <= currentTick ) {
+          expireBucket( buckets[ ( int )( tick & mask ) ], elapsedTime, dueTasks );
+          tick++;
+        }
+        if( dueTasks.isEmpty() ) {
+          long timeout = size == 0 ? 0 : tick * tickDuration - elapsedTime;
+          try {
+            lock.wait( Math.max( 0, timeout ) );
+          } catch( @SuppressWarnings( "unused" ) InterruptedException exception ) {
+            Thread.currentThread().interrupt();
+            return false;
+          }
+        }
+      }
+      return worker == Thread.currentThread();
+    }
+  }
+
+  private void expireBucket( Task head, long elapsedTime, List<Task> dueTasks ) {
+    Task task = head;
+    while( task != null ) {
+      Task next = task.next;
+      if( task.remainingRounds > 0 ) {
+        task.remainingRounds--;
+      } else {
+        unlink( task );
+        size--;
+        dueTasks.add( task );
+        updateLag( elapsedTime - task.deadline );
+      }
+      task = next;
+    }
+  }
+
+  private void updateLag( long currentLag ) {
+    lag = Math.max( 0, currentLag );
+    if( lag > maxLag ) {
+      maxLag = lag;
+    }
+  }
+
+  private static void runTask( Task task ) {
+    try {
+      task.run();
+    } catch( RuntimeException exception ) {
+      ServletLog.log( "Failed to run timer task", exception );
+    }
+  }
+
+  private void link( Task task ) {
+    Task head = buckets[ task.bucket ];
+    task.wheel = this;
+    task.previous = null;
+    task.next = head;
+    if( head != null ) {
+      head.previous = task;
+    }
+    buckets[ task.bucket ] = task;
+  }
+
+  private void unlink( Task task ) {
+    if( task.previous == null ) {
+      buckets[ task.bucket ] = task.next;
+    } else {
+      task.previous.next = task.next;
+    }
+    if( task.next != null ) {
+      task.next.previous = task.previous;
+    }
+    task.wheel = null;
+    task.previous = null;
+    task.next = null;
+  }
+
+  private long getElapsedTime() {
+    return ( System.nanoTime() - startTime ) / 1000000;
+  }
+
+  /**
+   * A task that can be scheduled on a <code>TimerWheel</code>. A task is scheduled on at most one
+   * wheel at a time.
+   */
+  public abstract static class Task implements Runnable, SerializableCompatibility {
+
+    private long executionTime;
+    private transient TimerWheel wheel;
+    private transient Task previous;
+    private transient Task next;
+    private transient long deadline;
+    private transient long remainingRounds;
+    private transient int bucket;
+
+    /**
+     * Cancels this task if it is scheduled. Returns <code>true</code> if the task was scheduled.
+     */
+    public boolean cancel() {
+      TimerWheel currentWheel = wheel;
+      return currentWheel != null && currentWheel.cancel( this );
+    }
+
+    /**
+     * Returns the time in milliseconds, as returned by <code>System.currentTimeMillis()</code>, at
+     * which this task was most recently scheduled to run.
+     */
+    public long scheduledExecutionTime() {
+      return executionTime;
+    }
+
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -200,7 +200,8 @@ public class Image extends Resource {
         internalImage = srcImage.internalImage;
       break;
       case SWT.IMAGE_DISABLE: {
-        ImageData data = srcImage.getImageData();
+        // the source data is only read, no need for a copy
+        ImageData data = srcImage.getSharedImageData();
         PaletteData palette = data.palette;
         RGB[] rgbs = new RGB[ 3 ];
         rgbs[ 0 ] = device.getSystemColor( SWT.COLOR_BLACK ).getRGB();
@@ -543,6 +544,17 @@ public class Image extends Resource {
     new ImageSerializer( this ).readObject( stream );
   }
 
+  private ImageData getSharedImageData() {
+    ImageData result;
+    if( device != null ) {
+      ApplicationContextImpl applicationContext = getApplicationContext();
+      result = applicationContext.getImageDataFactory().findSharedImageData( internalImage );
+    } else {
+      result = internalImage.getImageData();
+    }
+    return result;
+  }
+
   private ApplicationContextImpl getApplicationContext() {
     Display display = ( Display )device;
     IDisplayAdapter adapter = display.getAdapter( IDisplayAdapter.class );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2012 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,46 +11,130 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
 
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
 import org.eclipse.swt.graphics.ImageData;
 
 
 /**
- * Cache for small image data, mainly for decorator images.
+ * Cache for small image data, mainly for decorator images. The cache holds image data up to a
+ * total size in bytes and evicts the least recently used entries when this size is exceeded.
+ * <p>
+ * The cached image data is never modified. Callers that only read the image data can obtain the
+ * cached instance itself, all others get a copy.
+ * </p>
  */
 final class ImageDataCache {
 
-  /** Maximum size of image data that is being cached */
-  private static final int MAX_DATA_SIZE = 1024;
-
-  private final Map<InternalImage,ImageData> cache;
+  private final int maxEntrySize;
+  private final long maxTotalSize;
+  private final LinkedHashMap<InternalImage,ImageData> cache;
   private final Object cacheLock;
+  private long totalSize;
+  private long hitCount;
+  private long missCount;
+  private long evictionCount;
 
   ImageDataCache() {
+    this( RWTProperties.getImageDataCacheEntrySize(), RWTProperties.getImageDataCacheSize() );
+  }
+
+  /**
+   * @param maxEntrySize the maximum size in bytes of image data that is being cached
+   * @param maxTotalSize the maximum size in bytes of all cached image data
+   */
+  ImageDataCache( int maxEntrySize, long maxTotalSize ) {
+    this.maxEntrySize = maxEntrySize;
+    this.maxTotalSize = maxTotalSize;
     cacheLock = new Object();
-    cache = new HashMap<InternalImage,ImageData>( 25 );
+    cache = new LinkedHashMap<>( 25, 0.75f, true );
   }
 
   ImageData getImageData( InternalImage internalImage ) {
+    ImageData cached = getSharedImageData( internalImage );
+    return cached != null ? ( ImageData )cached.clone() : null;
+  }
+
+  /**
+   * Returns the cached image data without copying it. The returned image data must not be
+   * modified.
+   */
+  ImageData getSharedImageData( InternalImage internalImage ) {
     ParamCheck.notNull( internalImage, "internalImage" );
-    ImageData cached;
     synchronized( cacheLock ) {
-      cached = cache.get( internalImage );
+      ImageData result = cache.get( internalImage );
+      if( result != null ) {
+        hitCount++;
+      } else {
+        missCount++;
+      }
+      return result;
     }
-    return cached != null ? ( ImageData )cached.clone() : null;
   }
 
   void putImageData( InternalImage internalImage, ImageData imageData ) {
     ParamCheck.notNull( internalImage, "internalImage" );
     ParamCheck.notNull( imageData, "imageData" );
-    if( imageData.data.length <= MAX_DATA_SIZE ) {
+    int size = getSize( imageData );
+    if( size <= maxEntrySize && size <= maxTotalSize ) {
+      ImageData copy = ( ImageData )imageData.clone();
       synchronized( cacheLock ) {
-        // TODO [rst] Implement replacement strategy (LRU or LFU)
-        cache.put( internalImage, ( ImageData )imageData.clone() );
+        ImageData previous = cache.put( internalImage, copy );
+        if( previous != null ) {
+          totalSize -= getSize( previous );
+        }
+        totalSize += size;
+        evictLeastRecentlyUsed();
       }
     }
   }
+
+  long getTotalSize() {
+    synchronized( cacheLock ) {
+      return totalSize;
+    }
+  }
+
+  long getHitCount() {
+    synchronized( cacheLock ) {
+      return hitCount;
+    }
+  }
+
+  long getMissCount() {
+    synchronized( cacheLock ) {
+      return missCount;
+    }
+  }
+
+  long getEvictionCount() {
+    synchronized( cacheLock ) {
+      return evictionCount;
+    }
+  }
+
+  private void evictLeastRecentlyUsed() {
+    Iterator<Entry<InternalImage,ImageData>> iterator = cache.entrySet().iterator();
+    while( totalSize > maxTotalSize && iterator.hasNext() ) {
+      totalSize -= getSize( iterator.next().getValue() );
+      iterator.remove();
+      evictionCount++;
+    }
+  }
+
+  private static int getSize( ImageData imageData ) {
+    int result = imageData.data.length;
+    if( imageData.alphaData != null ) {
+      result += imageData.alphaData.length;
+    }
+    if( imageData.maskData != null ) {
+      result += imageData.maskData.length;
+    }
+    return result;
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2012 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -28,16 +28,32 @@ public class ImageDataFactory {
   }
 
   public ImageData findImageData( InternalImage internalImage ) {
-    ImageData result;
-    // Note [rst]: We don't need to synchronize access here. Since the creation
-    //             of ImageData is deterministic, at worst it is done more than
-    //             once when accessed concurrently.
-    result = imageDataCache.getImageData( internalImage );
+    ImageData result = imageDataCache.getImageData( internalImage );
     if( result == null ) {
-      result = createImageData( internalImage );
-      if( result != null ) {
-        imageDataCache.putImageData( internalImage, result );
-      }
+      result = createAndCacheImageData( internalImage );
+    }
+    return result;
+  }
+
+  /**
+   * Returns the image data of the given image without creating a copy of cached image data. The
+   * returned image data must not be modified.
+   */
+  public ImageData findSharedImageData( InternalImage internalImage ) {
+    ImageData result = imageDataCache.getSharedImageData( internalImage );
+    if( result == null ) {
+      result = createAndCacheImageData( internalImage );
+    }
+    return result;
+  }
+
+  // Note [rst]: We don't need to synchronize access here. Since the creation
+  //             of ImageData is deterministic, at worst it is done more than
+  //             once when accessed concurrently.
+  private ImageData createAndCacheImageData( InternalImage internalImage ) {
+    ImageData result = createImageData( internalImage );
+    if( result != null ) {
+      imageDataCache.putImageData( internalImage, result );
     }
     return result;
   }
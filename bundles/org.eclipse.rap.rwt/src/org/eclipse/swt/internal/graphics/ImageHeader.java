@@ -0,0 +1,215 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.graphics;
+
+import org.eclipse.swt.SWT;
+
+
+/**
+ * Reads the type and size of an encoded PNG, JPEG, GIF or BMP image from its header, without
+ * decoding the pixel data. The size is the size of the <code>ImageData</code> that SWT would
+ * create for the image, i.e. the size of the first frame for GIF images.
+ */
+final class ImageHeader {
+
+  private static final byte[] PNG_SIGNATURE = new byte[] {
+    ( byte )0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'
+  };
+
+  final int type;
+  final int width;
+  final int height;
+
+  ImageHeader( int type, int width, int height ) {
+    this.type = type;
+    this.width = width;
+    this.height = height;
+  }
+
+  /**
+   * Returns the header of the given encoded image, or <code>null</code> if the format is not
+   * supported or the header could not be read.
+   */
+  static ImageHeader read( byte[] bytes ) {
+    ImageHeader result = null;
+    try {
+      if( startsWith( bytes, PNG_SIGNATURE ) ) {
+        result = readPng( bytes );
+      } else if( isJpeg( bytes ) ) {
+        result = readJpeg( bytes );
+      } else if( isGif( bytes ) ) {
+        result = readGif( bytes );
+      } else if( isBmp( bytes ) ) {
+        result = readBmp( bytes );
+      }
+    } catch( @SuppressWarnings( "unused" ) ArrayIndexOutOfBoundsException exception ) {
+      // truncated header
+      result = null;
+    }
+    return result != null && result.width > 0 && result.height > 0 ? result : null;
+  }
+
+  /*
+   * The IHDR chunk immediately follows the signature: length, type, width, height.
+   */
+  private static ImageHeader readPng( byte[] bytes ) {
+    ImageHeader result = null;
+    if( bytes[ 12 ] == 'I' && bytes[ 13 ] == 'H' && bytes[ 14 ] == 'D' && bytes[ 15 ] == 'R' ) {
+      result = new ImageHeader( SWT.IMAGE_PNG, readIntBE( bytes, 16 ), readIntBE( bytes, 20 ) );
+    }
+    return result;
+  }
+
+  private static boolean isJpeg( byte[] bytes ) {
+    return bytes.length > 2 && ( bytes[ 0 ] & 0xff ) == 0xff && ( bytes[ 1 ] & 0xff ) == 0xd8;
+  }
+
+  /*
+   * Walks the marker segments up to the first start of frame segment, which contains the size.
+   */
+  private static ImageHeader readJpeg( byte[] bytes ) {
+    int offset = 2;
+    while( offset + 3 < bytes.length ) {
+      if( ( bytes[ offset ] & 0xff ) != 0xff ) {
+        return null;
+      }
+      int marker = bytes[ offset + 1 ] & 0xff;
+      if( marker == 0xff ) {
+        // fill byte
+        offset++;
+      } else if( marker == 0x01 || marker >= 0xd0 && marker <= 0xd7 ) {
+        // standalone marker without length
+        offset += 2;
+      } else if( marker == 0xd9 || marker == 0xda ) {
+        // end of image or start of scan before any frame
+        return null;
+      } else if( isStartOfFrame( marker ) ) {
+        int height = readShortBE( bytes, offset + 5 );
+        int width = readShortBE( bytes, offset + 7 );
+        return new ImageHeader( SWT.IMAGE_JPEG, width, height );
+      } else {
+        offset += 2 + readShortBE( bytes, offset + 2 );
+      }
+    }
+    return null;
+  }
+
+  private static boolean isStartOfFrame( int marker ) {
+    return    marker >= 0xc0
+           && marker <= 0xcf
+           && marker != 0xc4  // define huffman table
+           && marker != 0xc8  // reserved
+           && marker != 0xcc; // define arithmetic coding
+  }
+
+  private static boolean isGif( byte[] bytes ) {
+    return    bytes.length > 6
+           && bytes[ 0 ] == 'G'
+           && bytes[ 1 ] == 'I'
+           && bytes[ 2 ] == 'F'
+           && bytes[ 3 ] == '8'
+           && ( bytes[ 4 ] == '7' || bytes[ 4 ] == '9' )
+           && bytes[ 5 ] == 'a';
+  }
+
+  /*
+   * SWT uses the size of the first image descriptor rather than the logical screen size, skip the
+   * global color table and any extension blocks to get there.
+   */
+  private static ImageHeader readGif( byte[] bytes ) {
+    int packed = bytes[ 10 ] & 0xff;
+    int offset = 13;
+    if( ( packed & 0x80 ) != 0 ) {
+      offset += 3 * ( 1 << ( ( packed & 0x07 ) + 1 ) );
+    }
+    while( offset < bytes.length ) {
+      int blockType = bytes[ offset ] & 0xff;
+      if( blockType == 0x2c ) {
+        int width = readShortLE( bytes, offset + 5 );
+        int height = readShortLE( bytes, offset + 7 );
+        return new ImageHeader( SWT.IMAGE_GIF, width, height );
+      } else if( blockType == 0x21 ) {
+        offset = skipSubBlocks( bytes, offset + 2 );
+      } else {
+        return null;
+      }
+    }
+    return null;
+  }
+
+  private static int skipSubBlocks( byte[] bytes, int start ) {
+    int offset = start;
+    int size = bytes[ offset ] & 0xff;
+    while( size != 0 ) {
+      offset += size + 1;
+      size = bytes[ offset ] & 0xff;
+    }
+    return offset + 1;
+  }
+
+  private static boolean isBmp( byte[] bytes ) {
+    return bytes.length > 26 && bytes[ 0 ] == 'B' && bytes[ 1 ] == 'M';
+  }
+
+  /*
+   * Only bottom-up bitmaps are supported, other variants are left to the full decoder.
+   */
+  private static ImageHeader readBmp( byte[] bytes ) {
+    int headerSize = readIntLE( bytes, 14 );
+    int width;
+    int height;
+    if( headerSize == 12 ) {
+      width = readShortLE( bytes, 18 );
+      height = readShortLE( bytes, 20 );
+    } else {
+      width = readIntLE( bytes, 18 );
+      height = readIntLE( bytes, 22 );
+    }
+    int compression = headerSize > 12 ? readIntLE( bytes, 30 ) : 0;
+    int type = compression == 1 || compression == 2 ? SWT.IMAGE_BMP_RLE : SWT.IMAGE_BMP;
+    return new ImageHeader( type, width, height );
+  }
+
+  private static boolean startsWith( byte[] bytes, byte[] prefix ) {
+    if( bytes.length < prefix.length ) {
+      return false;
+    }
+    for( int i = 0; i < prefix.length; i++ ) {
+      if( bytes[ i ] != prefix[ i ] ) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static int readIntBE( byte[] bytes, int offset ) {
+    return   ( bytes[ offset ] & 0xff ) << 24
+           | ( bytes[ offset + 1 ] & 0xff ) << 16
+           | ( bytes[ offset + 2 ] & 0xff ) << 8
+           | bytes[ offset + 3 ] & 0xff;
+  }
+
+  private static int readIntLE( byte[] bytes, int offset ) {
+    return   ( bytes[ offset + 3 ] & 0xff ) << 24
+           | ( bytes[ offset + 2 ] & 0xff ) << 16
+           | ( bytes[ offset + 1 ] & 0xff ) << 8
+           | bytes[ offset ] & 0xff;
+  }
+
+  private static int readShortBE( byte[] bytes, int offset ) {
+    return ( bytes[ offset ] & 0xff ) << 8 | bytes[ offset + 1 ] & 0xff;
+  }
+
+  private static int readShortLE( byte[] bytes, int offset ) {
+    return ( bytes[ offset + 1 ] & 0xff ) << 8 | bytes[ offset ] & 0xff;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2013 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,7 +12,15 @@ package org.eclipse.swt.internal.graphics;
 
 import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectStreamException;
+
+import org.eclipse.rap.rwt.internal.resources.ResourceUtil;
 import org.eclipse.rap.rwt.internal.util.ParamCheck;
+import org.eclipse.rap.rwt.internal.util.StreamUtil;
+import org.eclipse.rap.rwt.service.ResourceManager;
 import org.eclipse.swt.graphics.ImageData;
 import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
@@ -27,8 +35,19 @@ public final class InternalImage implements SerializableCompatibility {
   private final int width;
   private final int height;
   private final boolean external;
+  private transient ResourceManager resourceManager;
+  private transient byte[] deserializedContent;
 
   InternalImage( String resourceName, int width, int height, boolean external ) {
+    this( resourceName, width, height, external, null );
+  }
+
+  InternalImage( String resourceName,
+                 int width,
+                 int height,
+                 boolean external,
+                 ResourceManager resourceManager )
+  {
     ParamCheck.notNull( resourceName, "resourceName" );
     if( width <= 0 || height <= 0 ) {
       throw new IllegalArgumentException( "Illegal size" );
@@ -37,6 +56,7 @@ public final class InternalImage implements SerializableCompatibility {
     this.width = width;
     this.height = height;
     this.external = external;
+    this.resourceManager = resourceManager;
   }
 
   public Rectangle getBounds() {
@@ -55,4 +75,63 @@ public final class InternalImage implements SerializableCompatibility {
     return external;
   }
 
+  /**
+   * Registers the content that has been deserialized with this image. Images that share this
+   * instance call this method each, only the first call registers the content.
+   */
+  public synchronized void registerDeserializedContent( ResourceManager resourceManager ) {
+    if( deserializedContent != null ) {
+      resourceManager.register( resourceName, new ByteArrayInputStream( deserializedContent ) );
+      this.resourceManager = resourceManager;
+      deserializedContent = null;
+    }
+  }
+
+  /*
+   * An internal image is shared by all images that show the same resource. It is written once per
+   * stream, hence the serialized form carries the content of the resource.
+   */
+  private Object writeReplace() throws ObjectStreamException {
+    return new SerializedInternalImage( this, getContent() );
+  }
+
+  private synchronized byte[] getContent() {
+    byte[] result = deserializedContent;
+    if( result == null && resourceManager != null && !external ) {
+      InputStream inputStream = resourceManager.getRegisteredContent( resourceName );
+      try {
+        result = ResourceUtil.readBinary( inputStream );
+      } catch( IOException ioe ) {
+        throw new RuntimeException( ioe );
+      } finally {
+        StreamUtil.close( inputStream );
+      }
+    }
+    return result;
+  }
+
+  private static final class SerializedInternalImage implements SerializableCompatibility {
+
+    private final String resourceName;
+    private final int width;
+    private final int height;
+    private final boolean external;
+    private final byte[] content;
+
+    SerializedInternalImage( InternalImage internalImage, byte[] content ) {
+      resourceName = internalImage.resourceName;
+      width = internalImage.width;
+      height = internalImage.height;
+      external = internalImage.external;
+      this.content = content;
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+      InternalImage result = new InternalImage( resourceName, width, height, external );
+      result.deserializedContent = content;
+      return result;
+    }
+
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,7 +11,6 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.FileInputStream;
@@ -20,8 +19,10 @@ import java.io.InputStream;
 import java.util.zip.CRC32;
 
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer;
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
+import org.eclipse.rap.rwt.service.ResourceManager;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.ImageData;
@@ -31,10 +32,12 @@ import org.eclipse.swt.graphics.RGB;
 
 public class InternalImageFactory {
 
+  private static final int BUFFER_SIZE = 8192;
+
   private final SharedInstanceBuffer<String, InternalImage> cache;
 
   public InternalImageFactory() {
-    cache = new SharedInstanceBuffer<String, InternalImage>();
+    cache = new SharedInstanceBuffer<>( RWTProperties.isSoftImageCache() );
   }
 
   public InternalImage findInternalImage( final String fileName ) {
@@ -46,12 +49,12 @@ public class InternalImageFactory {
   }
 
   public InternalImage findInternalImage( InputStream stream ) {
-    final BufferedInputStream bufferedStream = new BufferedInputStream( stream );
-    final ImageData imageData = readImageData( bufferedStream );
-    final String path = createGeneratedImagePath( imageData );
+    final byte[] bytes = readBytes( stream );
+    final ImageHeader header = readImageHeader( bytes );
+    String path = createGeneratedImagePath( header.type, getHash( bytes ) );
     return cache.get( path, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String path ) {
-        return createInternalImage( path, bufferedStream, imageData );
+        return createInternalImage( path, bytes, header );
       }
     } );
   }
@@ -61,7 +64,9 @@ public class InternalImageFactory {
     return cache.get( path, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String path ) {
         InputStream stream = createInputStream( imageData );
-        return createInternalImage( path, stream, imageData );
+        ResourceManager resourceManager = RWT.getResourceManager();
+        resourceManager.register( path, stream );
+        return new InternalImage( path, imageData.width, imageData.height, false, resourceManager );
       }
     } );
   }
@@ -69,35 +74,43 @@ public class InternalImageFactory {
   InternalImage findInternalImage( String key, final InputStream inputStream ) {
     return cache.get( key, new InstanceCreator<String, InternalImage>() {
       public InternalImage createInstance( String key ) {
-        BufferedInputStream bufferedStream = new BufferedInputStream( inputStream );
-        ImageData imageData = readImageData( bufferedStream );
-        String path = createGeneratedImagePath( imageData );
-        return createInternalImage( path, bufferedStream, imageData );
+        return createInternalImage( inputStream );
       }
     } );
   }
 
-  static ImageData readImageData( InputStream stream ) throws SWTException {
-    ////////////////////////////////////////////////////////////////////////////
-    // TODO: [fappel] Image size calculation and resource registration both
-    //                read the input stream. Because of this I use a workaround
-    //                with a BufferedInputStream. Resetting it after reading the
-    //                image size enables the ResourceManager to reuse it for
-    //                registration. Note that the order is crucial here, since
-    //                the ResourceManager seems to close the stream (shrug).
-    //                It would be nice to find a solution without reading the
-    //                stream twice.
-    stream.mark( Integer.MAX_VALUE );
-    ImageData result = new ImageData( stream );
-    try {
-      stream.reset();
-    } catch( IOException shouldNotHappen ) {
-      String msg = "Could not reset input stream after reading image";
-      throw new RuntimeException( msg, shouldNotHappen );
+  /*
+   * Only the header of the image is read to obtain its type and size. Images in other formats, or
+   * with a header that cannot be read, are decoded. The ImageData of an image is created from the
+   * registered content on demand, see ImageDataFactory.
+   */
+  static ImageHeader readImageHeader( byte[] bytes ) throws SWTException {
+    ImageHeader result = ImageHeader.read( bytes );
+    if( result == null ) {
+      ImageData imageData = new ImageData( new ByteArrayInputStream( bytes ) );
+      result = new ImageHeader( getOutputFormat( imageData ), imageData.width, imageData.height );
     }
     return result;
   }
 
+  static byte[] readBytes( InputStream stream ) {
+    if( stream == null ) {
+      throw new SWTException( SWT.ERROR_IO, "Image not found" );
+    }
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream( BUFFER_SIZE );
+    byte[] buffer = new byte[ BUFFER_SIZE ];
+    try {
+      int read = stream.read( buffer );
+      while( read != -1 ) {
+        outputStream.write( buffer, 0, read );
+        read = stream.read( buffer );
+      }
+    } catch( IOException ioe ) {
+      throw new SWTException( SWT.ERROR_IO, ioe.getMessage() );
+    }
+    return outputStream.toByteArray();
+  }
+
   static InputStream createInputStream( ImageData imageData ) {
     ImageLoader imageLoader = new ImageLoader();
     ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
@@ -123,18 +136,19 @@ public class InternalImageFactory {
   }
 
   private static InternalImage createInternalImage( InputStream stream ) {
-    InputStream bufferedStream = new BufferedInputStream( stream );
-    ImageData imageData = readImageData( bufferedStream );
-    String path = createGeneratedImagePath( imageData );
-    return createInternalImage( path, bufferedStream, imageData );
+    byte[] bytes = readBytes( stream );
+    ImageHeader header = readImageHeader( bytes );
+    String path = createGeneratedImagePath( header.type, getHash( bytes ) );
+    return createInternalImage( path, bytes, header );
   }
 
   private static InternalImage createInternalImage( String path,
-                                                    InputStream stream,
-                                                    ImageData imageData )
+                                                    byte[] bytes,
+                                                    ImageHeader header )
   {
-    RWT.getResourceManager().register( path, stream );
-    return new InternalImage( path, imageData.width, imageData.height, false );
+    ResourceManager resourceManager = RWT.getResourceManager();
+    resourceManager.register( path, new ByteArrayInputStream( bytes ) );
+    return new InternalImage( path, header.width, header.height, false, resourceManager );
   }
 
   private static int getOutputFormat( ImageData imageData ) {
@@ -146,7 +160,10 @@ public class InternalImageFactory {
   }
 
   private static String createGeneratedImagePath( ImageData data ) {
-    int outputFormat = getOutputFormat( data );
+    return createGeneratedImagePath( getOutputFormat( data ), getHash( data ) );
+  }
+
+  private static String createGeneratedImagePath( int outputFormat, String hash ) {
     String extension;
     switch( outputFormat ) {
       case SWT.IMAGE_BMP:
@@ -170,8 +187,16 @@ public class InternalImageFactory {
         extension = ".png";
         break;
     }
-    String hash = getHash( data ) + extension;
-    return "generated/" + hash;
+    return "generated/" + hash + extension;
+  }
+
+  /*
+   * Images read from a stream are registered unchanged, hence the encoded bytes identify them.
+   */
+  private static String getHash( byte[] bytes ) {
+    CRC32 crc32 = new CRC32();
+    crc32.update( bytes );
+    return Long.toHexString( crc32.getValue() );
   }
 
   /*
@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getLCA;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
+import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.swt.internal.SerializableCompatibility;
+import org.eclipse.swt.widgets.Widget;
+
+
+/**
+ * Keeps track of the widgets of a display that have been created or changed since the last
+ * render phase. Widgets report themselves from the methods that modify them, i.e. setters and other
+ * state mutators, whereas queries leave them untouched. Widgets of classes outside of
+ * <code>org.eclipse.swt.widgets</code> report themselves on every access, as their methods may
+ * modify the widget without reporting it.
+ * <p>
+ * Before the preserve phase, changes are only recorded, as they originate from the client. Once
+ * the values of the recorded widgets have been preserved, the values of any other widget are
+ * preserved on its first access, i.e. before it can be modified. Hence, only dirty widgets need
+ * to be preserved, rendered and cleared.
+ * </p>
+ */
+public class DirtyWidgets implements SerializableCompatibility {
+
+  private final Set<Widget> widgets;
+  private final Set<Widget> path;
+  private final Set<Widget> untrackedChanges;
+  private boolean preserveOnChange;
+  private boolean checkOnChange;
+  private int suspended;
+
+  public DirtyWidgets() {
+    widgets = new LinkedHashSet<>();
+    path = new HashSet<>();
+    untrackedChanges = new LinkedHashSet<>();
+  }
+
+  /**
+   * Records a newly created widget. Its parent is marked as changed since its children or items
+   * are about to change.
+   */
+  public void markCreated( Widget widget, Widget parent ) {
+    if( suspended == 0 ) {
+      if( parent != null ) {
+        markChanged( parent );
+      }
+      if( widgets.add( widget ) ) {
+        addToPath( widget, parent );
+      }
+    }
+  }
+
+  /**
+   * Records an access to the given widget. Its parent is marked as well, as many changes of a
+   * widget are reflected in properties of its parent, like the order of children or items.
+   */
+  public void markChanged( Widget widget ) {
+    if( suspended == 0 && !widgets.contains( widget ) ) {
+      Widget parent = add( widget );
+      if( parent != null && !widgets.contains( parent ) ) {
+        add( parent );
+      }
+    }
+  }
+
+  public boolean isDirty( Widget widget ) {
+    return widgets.contains( widget );
+  }
+
+  /**
+   * Returns whether the given widget is dirty or has a dirty descendant.
+   */
+  public boolean isOnDirtyPath( Widget widget ) {
+    return path.contains( widget );
+  }
+
+  public List<Widget> getAll() {
+    return new ArrayList<>( widgets );
+  }
+
+  /**
+   * Preserves the values of all widgets recorded so far. From now on, widgets are preserved on
+   * their first access.
+   */
+  public void preserveRecorded() {
+    for( Widget widget : getAll() ) {
+      preserve( widget );
+    }
+    preserveOnChange = true;
+  }
+
+  /**
+   * Replaces <code>preserveRecorded()</code> when the values of all widgets have been preserved in
+   * advance. From now on, a widget is checked on its first access instead: if rendering its
+   * changes produces any operation, the widget has been changed before it was recorded.
+   *
+   * @see #getUntrackedChanges()
+   */
+  public void checkRecorded() {
+    checkOnChange = true;
+  }
+
+  /**
+   * Returns the widgets that have been changed before they were recorded, as found by
+   * <code>checkRecorded()</code>.
+   */
+  public List<Widget> getUntrackedChanges() {
+    return new ArrayList<>( untrackedChanges );
+  }
+
+  /**
+   * Forgets all recorded widgets. Subsequent changes are only recorded until
+   * <code>preserveRecorded()</code> is called.
+   */
+  public void reset() {
+    widgets.clear();
+    path.clear();
+    untrackedChanges.clear();
+    preserveOnChange = false;
+    checkOnChange = false;
+  }
+
+  /**
+   * Stops recording accesses, e.g. while traversing the widget tree, until <code>resume()</code>
+   * is called.
+   */
+  public void suspend() {
+    suspended++;
+  }
+
+  public void resume() {
+    suspended--;
+  }
+
+  private Widget add( Widget widget ) {
+    widgets.add( widget );
+    Widget parent = getParent( widget );
+    addToPath( widget, parent );
+    if( preserveOnChange ) {
+      preserve( widget );
+    } else if( checkOnChange ) {
+      check( widget );
+    }
+    return parent;
+  }
+
+  private void addToPath( Widget widget, Widget parent ) {
+    if( path.add( widget ) ) {
+      Widget ancestor = parent;
+      while( ancestor != null && path.add( ancestor ) ) {
+        ancestor = getParent( ancestor );
+      }
+    }
+  }
+
+  private void preserve( Widget widget ) {
+    if( !widget.isDisposed() && getAdapter( widget ).isInitialized() ) {
+      suspend();
+      try {
+        getLCA( widget ).preserveValues( widget );
+      } finally {
+        resume();
+      }
+    }
+  }
+
+  private void check( Widget widget ) {
+    if( !widget.isDisposed() && getAdapter( widget ).isInitialized() ) {
+      ServiceContext context = ContextProvider.getContext();
+      ProtocolMessageWriter writer = context.getProtocolWriter();
+      ProtocolMessageWriter checkWriter = new ProtocolMessageWriter();
+      context.setProtocolWriter( checkWriter );
+      suspend();
+      try {
+        getLCA( widget ).renderChanges( widget );
+      } catch( IOException exception ) {
+        throw new RuntimeException( "Failed to check widget", exception );
+      } finally {
+        resume();
+        context.setProtocolWriter( writer );
+      }
+      if( !checkWriter.createMessage().getOperations().isEmpty() ) {
+        untrackedChanges.add( widget );
+      }
+    }
+  }
+
+  private static Widget getParent( Widget widget ) {
+    return widget.getAdapter( RemoteAdapter.class ).getParent();
+  }
+
+}
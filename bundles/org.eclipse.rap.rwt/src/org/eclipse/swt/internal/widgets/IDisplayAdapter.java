@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2013 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -39,4 +39,6 @@ public interface IDisplayAdapter {
   void notifyListeners( int eventType, Event event );
   boolean isListening( int eventType );
 
+  DirtyWidgets getDirtyWidgets();
+
 }
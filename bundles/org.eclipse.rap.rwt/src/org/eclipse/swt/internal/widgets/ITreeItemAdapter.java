@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2008, 2016 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,5 +24,6 @@ public interface ITreeItemAdapter {
   Color[] getCellForegrounds();
   Font[] getCellFonts();
   boolean isParentDisposed();
+  boolean isEvicted();
 
 }
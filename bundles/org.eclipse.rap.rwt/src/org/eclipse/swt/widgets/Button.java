@@ -147,6 +147,7 @@ public class Button extends Control {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -219,6 +220,7 @@ public class Button extends Control {
    */
   public void setSelection( boolean selected ) {
     checkWidget();
+    markChanged();
     if( ( style & ( SWT.CHECK | SWT.RADIO | SWT.TOGGLE ) ) != 0 ) {
       this.selected = selected;
     }
@@ -263,6 +265,7 @@ public class Button extends Control {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.CHECK ) != 0 ) {
       this.grayed = grayed;
     }
@@ -300,6 +303,7 @@ public class Button extends Control {
    */
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       SWT.error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -375,6 +379,7 @@ public class Button extends Control {
    // TODO [rst] Remove comments from javadoc when fully implemented
   public void setAlignment( int alignment ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.ARROW ) != 0 ) {
       if( ( style & ( SWT.UP | SWT.DOWN | SWT.LEFT | SWT.RIGHT ) ) != 0 ) {
         style &= ~( SWT.UP | SWT.DOWN | SWT.LEFT | SWT.RIGHT );
@@ -472,6 +477,7 @@ public class Button extends Control {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -499,6 +505,7 @@ public class Button extends Control {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
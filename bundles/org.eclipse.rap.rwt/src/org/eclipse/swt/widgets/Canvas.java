@@ -121,6 +121,7 @@ public class Canvas extends Composite {
    */
   public void addPaintListener( PaintListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -148,6 +149,7 @@ public class Canvas extends Composite {
    */
   public void removePaintListener( PaintListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -163,6 +163,7 @@ public class Combo extends Composite {
    */
   public void select( int selectionIndex ) {
     checkWidget();
+    markChanged();
     if( 0 <= selectionIndex && selectionIndex < getItemCount() ) {
       model.setSelection( selectionIndex );
       updateText();
@@ -183,6 +184,7 @@ public class Combo extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    markChanged();
     if( index == model.getSelectionIndex() ) {
       model.setSelection( -1 );
     }
@@ -205,6 +207,7 @@ public class Combo extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    markChanged();
     model.deselectAll();
     text = "";
     notifyListeners( SWT.Modify, new Event() );
@@ -230,6 +233,7 @@ public class Combo extends Composite {
    */
   public void setSelection( Point selection ) {
     checkWidget();
+    markChanged();
     if( selection == null ) {
       SWT.error ( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -295,6 +299,7 @@ public class Combo extends Composite {
    */
   public void clearSelection() {
     checkWidget();
+    markChanged();
     resetSelection();
   }
 
@@ -315,6 +320,7 @@ public class Combo extends Composite {
    */
   public void add( String string ) {
     checkWidget();
+    markChanged();
     model.add( string );
   }
 
@@ -343,6 +349,7 @@ public class Combo extends Composite {
    */
   public void add( String string, int index ) {
     checkWidget();
+    markChanged();
     model.add( string, index );
   }
 
@@ -362,6 +369,7 @@ public class Combo extends Composite {
    */
   public void remove( int index ) {
     checkWidget();
+    markChanged();
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == index ) {
       deselect( index );
@@ -387,6 +395,7 @@ public class Combo extends Composite {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    markChanged();
     String[] items = model.getItems();
     int lastIndex = items.length - 1;
     if(    start < 0
@@ -425,6 +434,7 @@ public class Combo extends Composite {
    */
   public void remove( String string ) {
     checkWidget();
+    markChanged();
     int indexOfThisString = indexOf( string );
     int selectionIndex = getSelectionIndex();
     if( selectionIndex == indexOfThisString ) {
@@ -444,6 +454,7 @@ public class Combo extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     deselectAll();
     model.removeAll();
   }
@@ -468,6 +479,7 @@ public class Combo extends Composite {
    */
   public void setItem( int index, String string ) {
     checkWidget();
+    markChanged();
     model.setItem( index, string );
   }
 
@@ -487,6 +499,7 @@ public class Combo extends Composite {
    */
   public void setItems( String... items ) {
     checkWidget();
+    markChanged();
     model.setItems( items );
   }
 
@@ -584,6 +597,7 @@ public class Combo extends Composite {
    */
   public void setVisibleItemCount( int count ) {
     checkWidget();
+    markChanged();
     if( count >= 0 ) {
       visibleCount = count;
     }
@@ -629,6 +643,7 @@ public class Combo extends Composite {
    */
   public void setListVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     dropped = visible;
   }
 
@@ -754,6 +769,7 @@ public class Combo extends Composite {
    */
   public void setText( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -814,6 +830,7 @@ public class Combo extends Composite {
    */
   public void setTextLimit( int limit ) {
     checkWidget();
+    markChanged();
     if( limit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
@@ -914,6 +931,7 @@ public class Combo extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -941,6 +959,7 @@ public class Combo extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -969,6 +988,7 @@ public class Combo extends Composite {
    */
   public void addModifyListener( ModifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -995,6 +1015,7 @@ public class Combo extends Composite {
    */
   public void removeModifyListener( ModifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1022,6 +1043,7 @@ public class Combo extends Composite {
    */
   public void addVerifyListener( VerifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1048,6 +1070,7 @@ public class Combo extends Composite {
    */
   public void removeVerifyListener( VerifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -14,6 +14,11 @@ package org.eclipse.swt.widgets;
 import static org.eclipse.swt.internal.widgets.MarkupUtil.isToolTipMarkupEnabledFor;
 import static org.eclipse.swt.internal.widgets.MarkupValidator.isValidationDisabledFor;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.ReparentedControls;
@@ -85,6 +90,7 @@ public abstract class Control extends Widget implements Drawable {
     @Override
     public void setTabIndex( int index ) {
       if( takesFocus() ) {
+        markChanged();
         getRemoteAdapter().preserveTabIndex( tabIndex );
         tabIndex = index;
       }
@@ -140,10 +146,12 @@ public abstract class Control extends Widget implements Drawable {
 
   }
 
+  private static final int SERIAL_FORM = 1;
+
   private transient IControlAdapter controlAdapter;
   private Composite parent;
   private int tabIndex;
-  private Rectangle bounds;
+  private transient Rectangle bounds;
   private Object layoutData;
   private String toolTipText;
   private Menu menu;
@@ -295,6 +303,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     if( hasState( HIDDEN ) != !visible ) {
       if( visible ) {
         notifyListeners( SWT.Show, null );
@@ -378,6 +387,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     /*
      * Feature in Windows.  If the receiver has focus, disabling
      * the receiver causes no window to have focus.  The fix is
@@ -462,6 +472,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBackground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -528,6 +539,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBackgroundImage( Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -575,6 +587,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setForeground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -694,6 +707,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setFont( Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -746,6 +760,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setCursor( Cursor cursor ) {
     checkWidget();
+    markChanged();
     if( cursor != null && cursor.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -793,6 +808,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean setFocus() {
     checkWidget();
+    markChanged();
     boolean result = false;
     if( ( style & SWT.NO_FOCUS ) == 0 ) {
       result = forceFocus();
@@ -815,6 +831,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean forceFocus() {
     checkWidget();
+    markChanged();
     // if (display.focusEvent == SWT.FocusOut) return false;
     Shell shell = getShell(); // was: Decorations shell = menuShell();
     shell.setSavedFocus( this );
@@ -894,6 +911,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setBounds( Rectangle bounds ) {
     checkWidget();
+    markChanged();
     if( bounds == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1147,6 +1165,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void pack() {
     checkWidget();
+    markChanged();
     pack( true );
   }
 
@@ -1173,6 +1192,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void pack( boolean changed ) {
     checkWidget();
+    markChanged();
     setSize( computeSize( SWT.DEFAULT, SWT.DEFAULT, changed ) );
     packed = true;
   }
@@ -1328,6 +1348,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setLayoutData( Object layoutData ) {
     checkWidget();
+    markChanged();
     this.layoutData = layoutData;
   }
 
@@ -1357,6 +1378,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -1413,6 +1435,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setMenu( Menu menu ) {
     checkWidget();
+    markChanged();
     if( this.menu != menu ) {
       if( menu != null ) {
         if( menu.isDisposed() ) {
@@ -1476,6 +1499,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void moveAbove( Control control ) {
     checkWidget();
+    markChanged();
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1508,6 +1532,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void moveBelow( Control control ) {
     checkWidget();
+    markChanged();
     if( control != null && control.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1566,6 +1591,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addControlListener( ControlListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1593,6 +1619,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeControlListener( ControlListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1623,6 +1650,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addMouseListener( MouseListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1653,6 +1681,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeMouseListener( MouseListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1703,6 +1732,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addKeyListener( KeyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1732,6 +1762,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeKeyListener( KeyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1762,6 +1793,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addTraverseListener( TraverseListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1790,6 +1822,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeTraverseListener( TraverseListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1817,6 +1850,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addFocusListener( FocusListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1844,6 +1878,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeFocusListener( FocusListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1873,6 +1908,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addHelpListener( HelpListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1900,6 +1936,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeHelpListener( HelpListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1929,6 +1966,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addDragDetectListener( DragDetectListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1957,6 +1995,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeDragDetectListener( DragDetectListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1987,6 +2026,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addMenuDetectListener( MenuDetectListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -2016,6 +2056,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeMenuDetectListener( MenuDetectListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -2072,6 +2113,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setRedraw( boolean redraw ) {
     checkWidget();
+    markChanged();
     internalSetRedraw( redraw );
   }
 
@@ -2092,6 +2134,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void redraw() {
     checkWidget();
+    markChanged();
     internalSetRedraw( true );
   }
 
@@ -2128,6 +2171,7 @@ public abstract class Control extends Widget implements Drawable {
 //  * @see SWT#Paint
   public void redraw( int x, int y, int width, int height, boolean all ) {
     checkWidget();
+    markChanged();
     if( width > 0 && height > 0 ) {
       internalSetRedraw( true, x, y, width, height );
     }
@@ -2161,6 +2205,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void update() {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -2184,6 +2229,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public boolean setParent( Composite parent ) {
     checkWidget();
+    markChanged();
     if( parent == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -2243,6 +2289,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setOrientation( int orientation ) {
     checkWidget();
+    markChanged();
     int flags = SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT;
     if( ( orientation & flags ) == 0 || ( orientation & flags ) == flags ) {
       return;
@@ -2334,6 +2381,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addGestureListener( GestureListener listener ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -2357,6 +2405,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeGestureListener( GestureListener listener ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -2386,6 +2435,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void addTouchListener( TouchListener listener ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -2409,6 +2459,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void removeTouchListener( TouchListener listener ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -2426,6 +2477,7 @@ public abstract class Control extends Widget implements Drawable {
    */
   public void setTouchEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -2715,7 +2767,30 @@ public abstract class Control extends Widget implements Drawable {
   }
 
   private ControlRemoteAdapter getRemoteAdapter() {
+    markChanged();
     return ( ControlRemoteAdapter )getAdapter( RemoteAdapter.class );
   }
 
+  /*
+   * The bounds are written as plain values, every control has its own rectangle. The values are
+   * preceded by the version of this form, which has to be increased when the form changes.
+   */
+  private void writeObject( ObjectOutputStream stream ) throws IOException {
+    stream.defaultWriteObject();
+    stream.writeByte( SERIAL_FORM );
+    stream.writeInt( bounds.x );
+    stream.writeInt( bounds.y );
+    stream.writeInt( bounds.width );
+    stream.writeInt( bounds.height );
+  }
+
+  private void readObject( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    int serialForm = stream.readByte();
+    if( serialForm != SERIAL_FORM ) {
+      throw new InvalidObjectException( "Unsupported serial form: " + serialForm );
+    }
+    bounds = new Rectangle( stream.readInt(), stream.readInt(), stream.readInt(), stream.readInt() );
+  }
+
 }
@@ -53,6 +53,7 @@ public class CoolBar extends Composite {
   private class CoolBarAdapter implements ICoolBarAdapter {
     @Override
     public void setItemOrder( int[] itemOrder ) {
+      markChanged();
       CoolBar.this.setItemOrder( itemOrder );
     }
   }
@@ -1225,6 +1226,7 @@ public class CoolBar extends Composite {
    */
   public void setLocked( boolean locked ) {
     checkWidget();
+    markChanged();
     if( isLocked != locked ) {
       redraw();
     }
@@ -1250,6 +1252,7 @@ public class CoolBar extends Composite {
    */
   public void setWrapIndices( int[] indices ) {
     checkWidget();
+    markChanged();
     int[] newIndices = indices;
     if ( newIndices == null )
       newIndices = new int[0];
@@ -1325,6 +1328,7 @@ public class CoolBar extends Composite {
    */
   public void setItemLayout( int[] itemOrder, int[] wrapIndices, Point[] sizes ) {
     checkWidget();
+    markChanged();
     setItemOrder( itemOrder );
     setWrapIndices( wrapIndices );
     setItemSizes( sizes );
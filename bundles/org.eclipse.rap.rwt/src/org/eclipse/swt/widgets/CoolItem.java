@@ -205,6 +205,7 @@ public class CoolItem extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -533,6 +534,7 @@ public class CoolItem extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -578,6 +580,7 @@ public class CoolItem extends Item {
    */
   public void setControl( Control control ) {
     checkWidget();
+    markChanged();
     if ( control != null ) {
       if ( control.isDisposed() ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
@@ -616,6 +619,7 @@ public class CoolItem extends Item {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    markChanged();
     Point point = parent.fixPoint( width, height );
     minimumWidth = point.x;
     minimumHeight = point.y;
@@ -642,6 +646,7 @@ public class CoolItem extends Item {
    */
   public void setMinimumSize( Point size ) {
     checkWidget();
+    markChanged();
     if ( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -665,6 +670,7 @@ public class CoolItem extends Item {
    */
   public void setPreferredSize( int width, int height ) {
     checkWidget();
+    markChanged();
     ideal = true;
     Point point = parent.fixPoint( width, height );
     preferredWidth = Math.max( point.x, MINIMUM_WIDTH );
@@ -690,6 +696,7 @@ public class CoolItem extends Item {
    */
   public void setPreferredSize( Point size ) {
     checkWidget();
+    markChanged();
     if ( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -717,6 +724,7 @@ public class CoolItem extends Item {
    */
   public void setSize( int width, int height ) {
     checkWidget();
+    markChanged();
     int newHeight = height;
     int newWidth = width;
     Point point = parent.fixPoint( newWidth, newHeight );
@@ -763,6 +771,7 @@ public class CoolItem extends Item {
    */
   public void setSize( Point size ) {
     checkWidget();
+    markChanged();
     if ( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
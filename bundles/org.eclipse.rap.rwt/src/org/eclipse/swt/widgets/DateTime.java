@@ -252,6 +252,7 @@ public class DateTime extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -280,6 +281,7 @@ public class DateTime extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -418,6 +420,7 @@ public class DateTime extends Composite {
    */
   public void setHours( int hours ) {
     checkWidget();
+    markChanged();
     if( checkTime( hours, getMinutes(), getSeconds() ) ) {
       rightNow.set( Calendar.HOUR_OF_DAY, hours );
     }
@@ -439,6 +442,7 @@ public class DateTime extends Composite {
    */
   public void setMinutes( int minutes ) {
     checkWidget();
+    markChanged();
     if( checkTime( getHours(), minutes, getSeconds() ) ) {
       rightNow.set( Calendar.MINUTE, minutes );
     }
@@ -460,6 +464,7 @@ public class DateTime extends Composite {
    */
   public void setSeconds( int seconds ) {
     checkWidget();
+    markChanged();
     if( checkTime( getHours(), getMinutes(), seconds ) ) {
       rightNow.set( Calendar.SECOND, seconds );
     }
@@ -482,6 +487,7 @@ public class DateTime extends Composite {
    */
   public void setDay( int day ) {
     checkWidget();
+    markChanged();
     int month = rightNow.get( Calendar.MONTH );
     int year = rightNow.get( Calendar.YEAR );
     if( checkDate( year, month, day ) ) {
@@ -505,6 +511,7 @@ public class DateTime extends Composite {
    */
   public void setMonth( int month ) {
     checkWidget();
+    markChanged();
     int day = rightNow.get( Calendar.DATE );
     int year = rightNow.get( Calendar.YEAR );
     if( checkDate( year, month, day ) ) {
@@ -528,6 +535,7 @@ public class DateTime extends Composite {
    */
   public void setYear( int year ) {
     checkWidget();
+    markChanged();
     int day = rightNow.get( Calendar.DATE );
     int month = rightNow.get( Calendar.MONTH );
     if( checkDate( year, month, day ) ) {
@@ -556,6 +564,7 @@ public class DateTime extends Composite {
    */
   public void setDate( int year, int month, int day ) {
     checkWidget();
+    markChanged();
     if( checkDate( year, month, day ) ) {
       // reset
       setYear( 9996 );
@@ -585,6 +594,7 @@ public class DateTime extends Composite {
    */
   public void setTime( int hours, int minutes, int seconds ) {
     checkWidget();
+    markChanged();
     if( checkTime( hours, minutes, seconds ) ) {
       setHours( hours );
       setMinutes( minutes );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -31,6 +31,7 @@ import java.util.Set;
 import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.Adaptable;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.CurrentPhase;
 import org.eclipse.rap.rwt.internal.lifecycle.IUIThreadHolder;
@@ -43,6 +44,7 @@ import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServletLog;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
 import org.eclipse.rap.rwt.internal.theme.CssColor;
 import org.eclipse.rap.rwt.internal.theme.CssImage;
 import org.eclipse.rap.rwt.internal.theme.CssValue;
@@ -62,6 +64,7 @@ import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.events.EventList;
 import org.eclipse.swt.internal.events.EventUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
@@ -249,6 +252,7 @@ public class Display extends Device implements Adaptable {
 
   private Synchronizer synchronizer;
   private TimerExecScheduler scheduler;
+  private DirtyWidgets dirtyWidgets;
 
   /**
    * Constructs a new instance of this class.
@@ -283,6 +287,9 @@ public class Display extends Device implements Adaptable {
     dpi = readDPI();
     depth = readDepth();
     synchronizer = new Synchronizer( this );
+    if( RWTProperties.isIncrementalRender() ) {
+      dirtyWidgets = new DirtyWidgets();
+    }
     register();
   }
 
@@ -876,6 +883,9 @@ public class Display extends Device implements Adaptable {
 
   final void addShell( Shell shell ) {
     shells.add( shell );
+    if( dirtyWidgets != null ) {
+      dirtyWidgets.markCreated( shell, null );
+    }
   }
 
   final void removeShell( Shell shell ) {
@@ -1063,6 +1073,46 @@ public class Display extends Device implements Adaptable {
     }
   }
 
+  /**
+   * Causes the <code>run()</code> method of the runnable to
+   * be invoked by the user-interface thread at the next
+   * reasonable opportunity, like <code>asyncExec(Runnable)</code>.
+   * If a runnable that was passed with an equal key has not been
+   * run yet, it is replaced by the given runnable. Hence, frequent
+   * updates of the same kind, e.g. from a background thread that
+   * reports progress, are run only once per round trip with the most
+   * recent runnable.
+   * <p>
+   * The key is compared with <code>equals()</code> and should be
+   * serializable if the session is replicated.
+   * </p>
+   *
+   * @param key the key that identifies runnables that replace each other, must not be
+   *          <code>null</code>
+   * @param runnable code to run on the user-interface thread, must not be <code>null</code>
+   *
+   * @exception IllegalArgumentException <ul>
+   *    <li>ERROR_NULL_ARGUMENT - if the key or the runnable is null</li>
+   * </ul>
+   * @exception SWTException <ul>
+   *    <li>ERROR_DEVICE_DISPOSED - if the receiver has been disposed</li>
+   * </ul>
+   *
+   * @see #asyncExec(Runnable)
+   * @since 3.1
+   */
+  public void asyncExec( Object key, Runnable runnable ) {
+    if( key == null || runnable == null ) {
+      error( SWT.ERROR_NULL_ARGUMENT );
+    }
+    synchronized( deviceLock ) {
+      if( isDisposed() ) {
+        error( SWT.ERROR_DEVICE_DISPOSED );
+      }
+      synchronizer.asyncExec( key, runnable );
+    }
+  }
+
   /**
    * Causes the <code>run()</code> method of the runnable to
    * be invoked by the user-interface thread at the next
@@ -1203,10 +1253,22 @@ public class Display extends Device implements Adaptable {
       if( !result ) {
         result = executeNextRedraw();
       }
+      if( result ) {
+        markUISessionChanged();
+      }
     }
     return result;
   }
 
+  /*
+   * Runnables and events may change the application state without rendering anything
+   */
+  private void markUISessionChanged() {
+    if( uiSession instanceof UISessionImpl ) {
+      ( ( UISessionImpl )uiSession ).markChanged();
+    }
+  }
+
   private static boolean executeNextEvent() {
     boolean result = false;
     Event[] events = EventList.getInstance().getAll();
@@ -1301,6 +1363,10 @@ public class Display extends Device implements Adaptable {
     return deviceLock;
   }
 
+  DirtyWidgets getDirtyWidgets() {
+    return dirtyWidgets;
+  }
+
   //////////
   // Redraw
 
@@ -2477,6 +2543,11 @@ public class Display extends Device implements Adaptable {
       return Display.this.isListening( eventType );
     }
 
+    @Override
+    public DirtyWidgets getDirtyWidgets() {
+      return dirtyWidgets;
+    }
+
   }
 
 }
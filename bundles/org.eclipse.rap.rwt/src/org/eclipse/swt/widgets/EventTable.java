@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2015 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,6 +10,11 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.eclipse.rap.rwt.scripting.ClientListener;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.SWTEventListener;
@@ -27,9 +32,10 @@ class EventTable implements SerializableCompatibility {
 
   private static final Listener[] EMPTY_LISTENERS = new Listener[ 0 ];
   private static final int GROW_SIZE = 4;
-  private int[] types;
-  private Listener[] listeners;
-  private int level;
+  private static final int SERIAL_FORM = 1;
+  private transient int[] types;
+  private transient Listener[] listeners;
+  private transient int level;
 
   public Listener[] getListeners( int eventType ) {
     if( types == null ) {
@@ -201,4 +207,38 @@ class EventTable implements SerializableCompatibility {
     return result;
   }
 
+  /*
+   * Only the hooked listeners are written, without the unused slots of the arrays. They are
+   * preceded by the version of this form, which has to be increased when the form changes.
+   */
+  private void writeObject( ObjectOutputStream stream ) throws IOException {
+    stream.defaultWriteObject();
+    stream.writeByte( SERIAL_FORM );
+    int size = size();
+    stream.writeInt( size );
+    for( int i = 0; size > 0 && i < types.length; i++ ) {
+      if( types[ i ] != 0 ) {
+        stream.writeInt( types[ i ] );
+        stream.writeObject( listeners[ i ] );
+      }
+    }
+  }
+
+  private void readObject( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    int serialForm = stream.readByte();
+    if( serialForm != SERIAL_FORM ) {
+      throw new InvalidObjectException( "Unsupported serial form: " + serialForm );
+    }
+    int size = stream.readInt();
+    if( size > 0 ) {
+      types = new int[ size ];
+      listeners = new Listener[ size ];
+      for( int i = 0; i < size; i++ ) {
+        types[ i ] = stream.readInt();
+        listeners[ i ] = ( Listener )stream.readObject();
+      }
+    }
+  }
+
 }
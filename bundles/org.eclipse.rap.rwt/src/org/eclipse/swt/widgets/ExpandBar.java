@@ -143,6 +143,7 @@ public class ExpandBar extends Composite {
    */
   public void addExpandListener( ExpandListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -171,6 +172,7 @@ public class ExpandBar extends Composite {
    */
   public void removeExpandListener( ExpandListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -457,6 +459,7 @@ public class ExpandBar extends Composite {
    */
   public void setSpacing( int spacing ) {
     checkWidget();
+    markChanged();
     if( spacing >= 0 ) {
       if( spacing != this.spacing ) {
         this.spacing = spacing;
@@ -117,6 +117,7 @@ public class Group extends Composite {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
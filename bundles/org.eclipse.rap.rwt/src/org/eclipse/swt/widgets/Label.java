@@ -147,6 +147,7 @@ public class Label extends Control {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -194,6 +195,7 @@ public class Label extends Control {
   // TODO: The LCA does not yet handle images. So, setting an image currently
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       this.image = image;
       text = "";
@@ -231,6 +233,7 @@ public class Label extends Control {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markChanged();
     if(    ( style & SWT.SEPARATOR ) == 0
         && ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) != 0 )
     {
@@ -115,6 +115,7 @@ public class Link extends Control {
    */
   public void setText( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -169,6 +170,7 @@ public class Link extends Control {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -196,6 +198,7 @@ public class Link extends Control {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
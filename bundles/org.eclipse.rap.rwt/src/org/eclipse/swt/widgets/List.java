@@ -237,6 +237,7 @@ public class List extends Scrollable {
   // TODO [rh] selection is not scrolled into view (see List.js)
   public void setSelection( int selection ) {
     checkWidget();
+    markChanged();
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -264,6 +265,7 @@ public class List extends Scrollable {
    */
   public void setSelection( int[] selection ) {
     checkWidget();
+    markChanged();
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -291,6 +293,7 @@ public class List extends Scrollable {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markChanged();
     model.setSelection( start, end );
     updateFocusIndexAfterSelectionChange();
   }
@@ -319,6 +322,7 @@ public class List extends Scrollable {
    */
   public void setSelection( String[] selection ) {
     checkWidget();
+    markChanged();
     model.setSelection( selection );
     updateFocusIndexAfterSelectionChange();
   }
@@ -337,6 +341,7 @@ public class List extends Scrollable {
    */
   public void select( int index ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SINGLE ) != 0 ) {
       if( index >= 0 && index < model.getItemCount() ) {
         model.setSelection( index );
@@ -370,6 +375,7 @@ public class List extends Scrollable {
    */
   public void select( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -408,6 +414,7 @@ public class List extends Scrollable {
    */
   public void select( int start, int end ) {
     checkWidget();
+    markChanged();
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
       int count = model.getItemCount();
       if( count != 0 && start < count ) {
@@ -436,6 +443,7 @@ public class List extends Scrollable {
    */
   public void selectAll() {
     checkWidget();
+    markChanged();
     model.selectAll();
     updateFocusIndexAfterSelectionChange();
   }
@@ -450,6 +458,7 @@ public class List extends Scrollable {
    */
   public void deselectAll() {
     checkWidget();
+    markChanged();
     model.deselectAll();
     updateFocusIndexAfterSelectionChange();
   }
@@ -470,6 +479,7 @@ public class List extends Scrollable {
    */
   public void deselect( int index ) {
     checkWidget();
+    markChanged();
     removeFromSelection( index );
   }
 
@@ -492,6 +502,7 @@ public class List extends Scrollable {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    markChanged();
     if( start == 0 && end == model.getItemCount() - 1 ) {
       deselectAll();
     } else {
@@ -523,6 +534,7 @@ public class List extends Scrollable {
    */
   public void deselect( int [] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -597,6 +609,7 @@ public class List extends Scrollable {
    */
   public void setTopIndex( int topIndex ) {
     checkWidget();
+    markChanged();
     int count = model.getItemCount();
     if( this.topIndex != topIndex && topIndex >= 0 && topIndex < count ) {
       this.topIndex = topIndex;
@@ -636,6 +649,7 @@ public class List extends Scrollable {
    */
   public void showSelection() {
     checkWidget();
+    markChanged();
     int index = getSelectionIndex();
     if( index != -1 ) {
       int itemCount = getVisibleItemCount();
@@ -685,6 +699,7 @@ public class List extends Scrollable {
    */
   public void add( String string ) {
     checkWidget();
+    markChanged();
     model.add( string );
     updateFocusIndexAfterItemChange();
     updateScrollBars();
@@ -715,6 +730,7 @@ public class List extends Scrollable {
    */
   public void add( String string, int index ) {
     checkWidget();
+    markChanged();
     model.add( string, index );
     updateFocusIndexAfterItemChange();
     updateScrollBars();
@@ -736,6 +752,7 @@ public class List extends Scrollable {
    */
   public void remove( int index ) {
     checkWidget();
+    markChanged();
     model.remove( index );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -760,6 +777,7 @@ public class List extends Scrollable {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    markChanged();
     model.remove( start, end );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -783,6 +801,7 @@ public class List extends Scrollable {
    */
   public void remove( int[] indices ) {
     checkWidget();
+    markChanged();
     model.remove( indices );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -807,6 +826,7 @@ public class List extends Scrollable {
    */
   public void remove( String string ) {
     checkWidget();
+    markChanged();
     model.remove( string );
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -823,6 +843,7 @@ public class List extends Scrollable {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     model.removeAll();
     updateFocusIndexAfterItemChange();
     adjustTopIndex();
@@ -849,6 +870,7 @@ public class List extends Scrollable {
    */
   public void setItem( int index, String string ) {
     checkWidget();
+    markChanged();
     validateMarkup( new String[] { string } );
     model.setItem( index, string );
     updateScrollBars();
@@ -870,6 +892,7 @@ public class List extends Scrollable {
    */
   public void setItems( String[] items ) {
     checkWidget();
+    markChanged();
     validateMarkup( items );
     model.setItems( items );
     updateScrollBars();
@@ -1032,6 +1055,7 @@ public class List extends Scrollable {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1059,6 +1083,7 @@ public class List extends Scrollable {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
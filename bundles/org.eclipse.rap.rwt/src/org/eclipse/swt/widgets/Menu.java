@@ -261,6 +261,7 @@ public class Menu extends Widget {
    */
   public void setLocation( int x, int y ) {
     checkWidget();
+    markChanged();
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       this.x = x;
       this.y = y;
@@ -293,6 +294,7 @@ public class Menu extends Widget {
    */
   public void setLocation( Point location ) {
     checkWidget();
+    markChanged();
     if( location == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -334,6 +336,7 @@ public class Menu extends Widget {
    */
   public void setOrientation( int orientation ) {
     checkWidget();
+    markChanged();
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       int flags = SWT.RIGHT_TO_LEFT | SWT.LEFT_TO_RIGHT;
       if( ( orientation & flags ) == 0 || ( orientation & flags ) == flags ) {
@@ -383,6 +386,7 @@ public class Menu extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     if( ( style & ( SWT.BAR | SWT.DROP_DOWN ) ) == 0 ) {
       if( this.visible != visible ) {
         this.visible = visible;
@@ -461,6 +465,7 @@ public class Menu extends Widget {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     removeState( DISABLED );
     if( !enabled ) {
       addState( DISABLED );
@@ -616,6 +621,7 @@ public class Menu extends Widget {
    */
   public void setDefaultItem( MenuItem item ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -694,6 +700,7 @@ public class Menu extends Widget {
    */
   public void addMenuListener( MenuListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -721,6 +728,7 @@ public class Menu extends Widget {
    */
   public void removeMenuListener( MenuListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -750,6 +758,7 @@ public class Menu extends Widget {
    */
   public void addHelpListener( HelpListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -777,6 +786,7 @@ public class Menu extends Widget {
    */
   public void removeHelpListener( HelpListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
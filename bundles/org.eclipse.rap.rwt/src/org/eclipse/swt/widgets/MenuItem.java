@@ -174,6 +174,7 @@ public class MenuItem extends Item {
    */
   public void setMenu( Menu menu ) {
     checkWidget();
+    markChanged();
     if( this.menu != menu ) {
       if( ( style & SWT.CASCADE ) == 0 ) {
         SWT.error( SWT.ERROR_MENUITEM_NOT_CASCADE );
@@ -236,6 +237,7 @@ public class MenuItem extends Item {
    */
   public void setID( int id ) {
     checkWidget();
+    markChanged();
     if( id < 0 ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -274,6 +276,7 @@ public class MenuItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setImage( image );
     }
@@ -299,6 +302,7 @@ public class MenuItem extends Item {
    */
   public void setAccelerator( int accelerator ) {
     checkWidget();
+    markChanged();
     if( accelerator != 0 ) {
       if( acceleratorBinding == null ) {
         acceleratorBinding = new AcceleratorBinding( this );
@@ -350,6 +354,7 @@ public class MenuItem extends Item {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     removeState( DISABLED );
     if( !enabled ) {
       addState( DISABLED );
@@ -432,6 +437,7 @@ public class MenuItem extends Item {
    */
   public void setSelection( boolean selection ) {
     checkWidget();
+    markChanged();
     if( ( style & ( SWT.CHECK | SWT.RADIO ) ) != 0 ) {
       this.selection = selection;
     }
@@ -466,6 +472,7 @@ public class MenuItem extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -493,6 +500,7 @@ public class MenuItem extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -522,6 +530,7 @@ public class MenuItem extends Item {
    */
   public void addHelpListener( HelpListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -549,6 +558,7 @@ public class MenuItem extends Item {
    */
   public void removeHelpListener( HelpListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -577,6 +587,7 @@ public class MenuItem extends Item {
    */
   public void addArmListener( ArmListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -604,6 +615,7 @@ public class MenuItem extends Item {
    */
   public void removeArmListener( ArmListener listener ) {
     checkWidget();
+    markChanged();
     removeListener( SWT.Arm, listener );
   }
 
@@ -180,6 +180,7 @@ public class ProgressBar extends Control {
    */
   public void setMaximum( int value ) {
     checkWidget();
+    markChanged();
     if( value > getMinimum() ) {
       maximum = value;
       if( selection > maximum ) {
@@ -206,6 +207,7 @@ public class ProgressBar extends Control {
    */
   public void setMinimum( int value ) {
     checkWidget();
+    markChanged();
     if( value > 0 && value < getMaximum() ) {
       minimum = value;
       if( minimum > selection ) {
@@ -229,6 +231,7 @@ public class ProgressBar extends Control {
    */
   public void setSelection( int value ) {
     checkWidget();
+    markChanged();
     if( value < minimum ) {
       selection = minimum;
     } else if( value > maximum ) {
@@ -256,6 +259,7 @@ public class ProgressBar extends Control {
    */
   public void setState( int state ) {
     checkWidget();
+    markChanged();
     if( state == SWT.NORMAL || state == SWT.PAUSED || state == SWT.ERROR ) {
       this.state = state;
     }
@@ -109,6 +109,7 @@ public class Scale extends Control {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -135,6 +136,7 @@ public class Scale extends Control {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -255,6 +257,7 @@ public class Scale extends Control {
    */
   public void setIncrement( int increment ) {
     checkWidget();
+    markChanged();
     if( increment >= 1 && increment <= maximum - minimum ) {
       this.increment = increment;
     }
@@ -276,6 +279,7 @@ public class Scale extends Control {
    */
   public void setMaximum( int maximum ) {
     checkWidget();
+    markChanged();
     if( 0 <= minimum && minimum < maximum ) {
       this.maximum = maximum;
       if( selection > this.maximum ) {
@@ -300,6 +304,7 @@ public class Scale extends Control {
    */
   public void setMinimum( int minimum ) {
     checkWidget();
+    markChanged();
     if( 0 <= minimum && minimum < maximum ) {
       this.minimum = minimum;
       if( selection < this.minimum ) {
@@ -322,6 +327,7 @@ public class Scale extends Control {
    */
   public void setPageIncrement( int pageIncrement ) {
     checkWidget();
+    markChanged();
     if( pageIncrement >= 1 && pageIncrement <= maximum - minimum ) {
       this.pageIncrement = pageIncrement;
     }
@@ -340,6 +346,7 @@ public class Scale extends Control {
    */
   public void setSelection( int selection ) {
     checkWidget();
+    markChanged();
     if( selection >= minimum && selection <= maximum ) {
       this.selection = selection;
     }
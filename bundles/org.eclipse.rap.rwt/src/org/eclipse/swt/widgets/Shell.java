@@ -158,6 +158,7 @@ public class Shell extends Decorations {
 
     @Override
     public void setBounds( Rectangle bounds ) {
+      markChanged();
       Shell.this.setBounds( bounds, false );
     }
 
@@ -474,6 +475,7 @@ public class Shell extends Decorations {
    */
   public void setActive() {
     checkWidget();
+    markChanged();
     if( isVisible() ) {
       display.setActiveShell( this );
     }
@@ -501,6 +503,7 @@ public class Shell extends Decorations {
    */
   public void forceActive() {
     checkWidget();
+    markChanged();
     setActive();
   }
 
@@ -653,6 +656,7 @@ public class Shell extends Decorations {
   @Override
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     if( getEnabled() != enabled ) {
       super.setEnabled( enabled );
       if( enabled ) {
@@ -681,6 +685,7 @@ public class Shell extends Decorations {
   @Override
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     boolean wasVisible = getVisible();
     super.setVisible( visible );
     // Emulate OS behavior: in SWT, a layout is triggered during
@@ -714,6 +719,7 @@ public class Shell extends Decorations {
    */
   public void open() {
     checkWidget();
+    markChanged();
     // Order of setActiveShell/bringToTop/setVisible is crucial
     display.setActiveShell( this );
     bringToTop();
@@ -740,6 +746,7 @@ public class Shell extends Decorations {
    */
   public void close() {
     checkWidget();
+    markChanged();
     ProcessActionRunner.add( new Runnable() {
       @Override
       public void run() {
@@ -770,6 +777,7 @@ public class Shell extends Decorations {
    */
   public void setAlpha( int alpha ) {
     checkWidget();
+    markChanged();
     this.alpha = alpha & 0xFF;
   }
 
@@ -805,6 +813,7 @@ public class Shell extends Decorations {
    */
   public void setModified ( boolean modified ) {
     checkWidget();
+    markChanged();
     this.modified = modified;
   }
 
@@ -841,6 +850,7 @@ public class Shell extends Decorations {
    */
   public void setMinimumSize( int width, int height ) {
     checkWidget();
+    markChanged();
     minWidth = Math.max( MIN_WIDTH_LIMIT, width );
     minHeight = Math.max( getMinHeightLimit(), height );
     Point size = getSize();
@@ -870,6 +880,7 @@ public class Shell extends Decorations {
    */
   public void setMinimumSize( Point size ) {
     checkWidget();
+    markChanged();
     if( size == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -948,6 +959,7 @@ public class Shell extends Decorations {
    */
   public void addShellListener( ShellListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -976,6 +988,7 @@ public class Shell extends Decorations {
    */
   public void removeShellListener( ShellListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1027,6 +1040,7 @@ public class Shell extends Decorations {
       lastActive = null;
     }
     if( lastActive != control ) {
+      markChanged();
       // Compute the list of controls to be activated and deactivated by finding
       // the first common parent control.
       Control[] activate = ( control == null ) ? new Control[ 0 ] : control.getPath();
@@ -1110,6 +1124,7 @@ public class Shell extends Decorations {
    */
   public void setMinimized( boolean minimized ) {
     checkWidget();
+    markChanged();
     if( minimized ) {
       mode |= MODE_MINIMIZED;
     } else {
@@ -1145,6 +1160,7 @@ public class Shell extends Decorations {
    */
   public void setMaximized( boolean maximized ) {
     checkWidget();
+    markChanged();
     if( ( mode & MODE_FULLSCREEN ) == 0 ) {
       if( maximized ) {
         if( ( mode & MODE_MAXIMIZED ) == 0 ) {
@@ -1228,6 +1244,7 @@ public class Shell extends Decorations {
    */
   public void setFullScreen( boolean fullScreen ) {
     checkWidget();
+    markChanged();
     if( ( ( mode & MODE_FULLSCREEN ) != 0 ) != fullScreen ) {
       if( fullScreen ) {
         setActive();
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import org.eclipse.swt.internal.SerializableCompatibility;
+
+
+/**
+ * A list of items that may contain <code>null</code> slots, e.g. the items of a virtual
+ * <code>Table</code> that have not been created yet. The slots are stored in fixed-size pages
+ * which are only allocated while they contain at least one item. Hence, a large number of empty
+ * slots takes almost no memory, and iterating the existing items skips empty pages.
+ */
+final class SparseItemArray<T extends Item> implements SerializableCompatibility {
+
+  private static final int PAGE_BITS = 8;
+  private static final int PAGE_SIZE = 1 << PAGE_BITS;
+  private static final int PAGE_MASK = PAGE_SIZE - 1;
+  private static final Item[][] EMPTY_PAGES = new Item[ 0 ][];
+  private static final int[] EMPTY_COUNTS = new int[ 0 ];
+
+  private Item[][] pages;
+  private int[] pageCounts;
+  private int size;
+  private int count;
+
+  SparseItemArray() {
+    pages = EMPTY_PAGES;
+    pageCounts = EMPTY_COUNTS;
+  }
+
+  /**
+   * Returns the number of slots, including empty ones.
+   */
+  int size() {
+    return size;
+  }
+
+  /**
+   * Returns the number of slots that contain an item.
+   */
+  int getCount() {
+    return count;
+  }
+
+  @SuppressWarnings( "unchecked" )
+  T get( int index ) {
+    int pageIndex = index >> PAGE_BITS;
+    Item[] page = pageIndex < pages.length ? pages[ pageIndex ] : null;
+    return page == null ? null : ( T )page[ index & PAGE_MASK ];
+  }
+
+  void set( int index, T item ) {
+    int pageIndex = index >> PAGE_BITS;
+    Item[] page = pages[ pageIndex ];
+    if( page == null && item != null ) {
+      page = createPage( pageIndex );
+    }
+    if( page != null ) {
+      int offset = index & PAGE_MASK;
+      Item oldItem = page[ offset ];
+      page[ offset ] = item;
+      updateCount( pageIndex, oldItem, item );
+    }
+  }
+
+  /**
+   * Inserts the given item, which may be <code>null</code>, at the given index and moves all
+   * subsequent items by one.
+   */
+  void insert( int index, T item ) {
+    ensureCapacity( size + 1 );
+    int firstPage = index >> PAGE_BITS;
+    for( int pageIndex = size >> PAGE_BITS; pageIndex > firstPage; pageIndex-- ) {
+      shiftRight( pageIndex, 0, getLast( pageIndex - 1 ) );
+    }
+    shiftRight( firstPage, index & PAGE_MASK, item );
+    size++;
+  }
+
+  /**
+   * Removes the slot at the given index and moves all subsequent items by one.
+   */
+  void remove( int index ) {
+    int firstPage = index >> PAGE_BITS;
+    int lastPage = ( size - 1 ) >> PAGE_BITS;
+    shiftLeft( firstPage, index & PAGE_MASK, getFirst( firstPage + 1 ) );
+    for( int pageIndex = firstPage + 1; pageIndex <= lastPage; pageIndex++ ) {
+      shiftLeft( pageIndex, 0, getFirst( pageIndex + 1 ) );
+    }
+    size--;
+  }
+
+  /**
+   * Changes the number of slots. New slots are empty, slots beyond the new size are discarded.
+   */
+  void setSize( int newSize ) {
+    if( newSize > size ) {
+      ensureCapacity( newSize );
+    } else {
+      for( int index = nextIndex( newSize ); index != -1; index = nextIndex( index + 1 ) ) {
+        set( index, null );
+      }
+    }
+    size = newSize;
+  }
+
+  /**
+   * Returns the index of the first item at or after the given index, or -1 if there is none.
+   */
+  int nextIndex( int start ) {
+    int result = -1;
+    int lastPage = ( size - 1 ) >> PAGE_BITS;
+    int offset = start & PAGE_MASK;
+    for( int pageIndex = start >> PAGE_BITS; result == -1 && pageIndex <= lastPage; pageIndex++ ) {
+      Item[] page = pages[ pageIndex ];
+      for( int i = offset; page != null && result == -1 && i < PAGE_SIZE; i++ ) {
+        if( page[ i ] != null ) {
+          result = ( pageIndex << PAGE_BITS ) + i;
+        }
+      }
+      offset = 0;
+    }
+    return result < size ? result : -1;
+  }
+
+  /**
+   * Copies all items in index order into the given array, which must have a length of at least
+   * <code>getCount()</code>.
+   */
+  T[] toArray( T[] result ) {
+    int position = 0;
+    for( int index = nextIndex( 0 ); index != -1; index = nextIndex( index + 1 ) ) {
+      result[ position++ ] = get( index );
+    }
+    return result;
+  }
+
+  private void shiftRight( int pageIndex, int offset, Item item ) {
+    Item[] page = pages[ pageIndex ];
+    if( page == null && item != null ) {
+      page = createPage( pageIndex );
+    }
+    if( page != null ) {
+      // the last item has already been moved to the next page
+      Item dropped = page[ PAGE_MASK ];
+      System.arraycopy( page, offset, page, offset + 1, PAGE_MASK - offset );
+      page[ offset ] = item;
+      updateCount( pageIndex, dropped, item );
+    }
+  }
+
+  private void shiftLeft( int pageIndex, int offset, Item item ) {
+    Item[] page = pages[ pageIndex ];
+    if( page == null && item != null ) {
+      page = createPage( pageIndex );
+    }
+    if( page != null ) {
+      Item removed = page[ offset ];
+      System.arraycopy( page, offset + 1, page, offset, PAGE_MASK - offset );
+      page[ PAGE_MASK ] = item;
+      updateCount( pageIndex, removed, item );
+    }
+  }
+
+  private Item getFirst( int pageIndex ) {
+    Item[] page = pageIndex < pages.length ? pages[ pageIndex ] : null;
+    return page == null ? null : page[ 0 ];
+  }
+
+  private Item getLast( int pageIndex ) {
+    Item[] page = pages[ pageIndex ];
+    return page == null ? null : page[ PAGE_MASK ];
+  }
+
+  private Item[] createPage( int pageIndex ) {
+    Item[] result = new Item[ PAGE_SIZE ];
+    pages[ pageIndex ] = result;
+    return result;
+  }
+
+  private void updateCount( int pageIndex, Item oldItem, Item newItem ) {
+    int delta = ( newItem == null ? 0 : 1 ) - ( oldItem == null ? 0 : 1 );
+    if( delta != 0 ) {
+      count += delta;
+      pageCounts[ pageIndex ] += delta;
+      if( pageCounts[ pageIndex ] == 0 ) {
+        pages[ pageIndex ] = null;
+      }
+    }
+  }
+
+  private void ensureCapacity( int newSize ) {
+    int pageCount = ( newSize + PAGE_MASK ) >> PAGE_BITS;
+    if( pageCount > pages.length ) {
+      int length = Math.max( pageCount, pages.length * 3 / 2 );
+      Item[][] newPages = new Item[ length ][];
+      System.arraycopy( pages, 0, newPages, 0, pages.length );
+      int[] newPageCounts = new int[ length ];
+      System.arraycopy( pageCounts, 0, newPageCounts, 0, pageCounts.length );
+      pages = newPages;
+      pageCounts = newPageCounts;
+    }
+  }
+
+}
@@ -149,6 +149,7 @@ public class Spinner extends Composite {
    */
   public void setDigits( int value ) {
     checkWidget();
+    markChanged();
     if( value < 0 ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -188,6 +189,7 @@ public class Spinner extends Composite {
    */
   public void setIncrement( int value ) {
     checkWidget();
+    markChanged();
     if( value >= 1 ) {
       increment = value;
     }
@@ -223,6 +225,7 @@ public class Spinner extends Composite {
    */
   public void setMinimum( int value ) {
     checkWidget();
+    markChanged();
     if( value <= maximum ) {
       minimum = value;
       if( selection < minimum ) {
@@ -261,6 +264,7 @@ public class Spinner extends Composite {
    */
   public void setMaximum( int value ) {
     checkWidget();
+    markChanged();
     if( value >= minimum ) {
       maximum = value;
       if( selection > maximum ) {
@@ -299,6 +303,7 @@ public class Spinner extends Composite {
    */
   public void setPageIncrement( int value ) {
     checkWidget();
+    markChanged();
     if( value >= 1 ) {
       pageIncrement = value;
     }
@@ -334,6 +339,7 @@ public class Spinner extends Composite {
    */
   public void setSelection( int value ) {
     checkWidget();
+    markChanged();
     selection = Math.min( Math.max( minimum, value ), maximum );
     notifyListeners( SWT.Modify, new Event() );
   }
@@ -367,6 +373,7 @@ public class Spinner extends Composite {
                          int pageIncrement )
   {
     checkWidget();
+    markChanged();
     if( maximum >= minimum && digits >= 0 && increment >= 1 && pageIncrement >= 1 ) {
       this.minimum = minimum;
       this.maximum = maximum;
@@ -430,6 +437,7 @@ public class Spinner extends Composite {
    */
   public void setTextLimit( int textLimit ) {
     checkWidget();
+    markChanged();
     if( textLimit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
@@ -553,6 +561,7 @@ public class Spinner extends Composite {
    */
   public void addModifyListener( ModifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -579,6 +588,7 @@ public class Spinner extends Composite {
    */
   public void removeModifyListener( ModifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -613,6 +623,7 @@ public class Spinner extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -642,6 +653,7 @@ public class Spinner extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
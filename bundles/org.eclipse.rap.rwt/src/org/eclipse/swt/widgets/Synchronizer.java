@@ -11,6 +11,13 @@
  *******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.util.SerializableLock;
@@ -44,14 +51,18 @@ import org.eclipse.swt.internal.SerializableCompatibility;
 public class Synchronizer implements SerializableCompatibility {
 
   Display display;
-  int messageCount;
-  RunnableLock [] messages;
+// Lock-free queue, producers and the UI thread do not block each other
+//  int messageCount;
+//  RunnableLock [] messages;
+  final AtomicInteger messageCount = new AtomicInteger ();
+  final Queue<RunnableLock> messages = new ConcurrentLinkedQueue<> ();
+  final ConcurrentMap<Object, CoalescedRunnable> coalescedRunnables
+    = new ConcurrentHashMap<> ();
 // RAP [rh] mesageLock must be serializable	(bug 345842)
 //	Object messageLock = new Object ();
+// Only guards the server push notification
   Object messageLock = new SerializableLock();
   Thread syncThread;
-  static final int GROW_SIZE = 4;
-  static final int MESSAGE_LIMIT = 64;
 
   //TEMPORARY CODE
   static final boolean IS_CARBON = "carbon".equals (SWT.getPlatform ());
@@ -68,35 +79,34 @@ public Synchronizer (Display display) {
 }
 
 void addLast (RunnableLock lock) {
-  boolean wake = false;
-  synchronized (messageLock) {
-    if (messages == null) {
-      messages = new RunnableLock [GROW_SIZE];
-    }
-    if (messageCount == messages.length) {
-      RunnableLock[] newMessages = new RunnableLock [messageCount + GROW_SIZE];
-      System.arraycopy (messages, 0, newMessages, 0, messageCount);
-      messages = newMessages;
-    }
-    messages [messageCount++] = lock;
+  // count before offering, so that a concurrent removeFirst never decrements below zero
+  boolean wake = messageCount.incrementAndGet () == 1;
+  messages.offer (lock);
 // RAP [rst] Notify server push mechanism when runnable was added to empty queue
-    if( messageCount == 1 ) {
-      RWT.getUISession( display ).exec( new Runnable() {
-        @Override
-        public void run() {
-          ServerPushManager.getInstance().setHasRunnables( true );
-        }
-      } );
-    }
-    runnableAdded( lock.runnable );
-// END RAP
-    wake = messageCount == 1;
+  if (wake) {
+    updateHasRunnables ();
   }
+  runnableAdded( lock.runnable );
+// END RAP
   if (wake) {
     display.wakeThread ();
   }
 }
 
+// Transitions may be reported out of order by concurrent threads, hence the current
+// state is read again while holding the lock
+private void updateHasRunnables () {
+  synchronized (messageLock) {
+    final boolean hasRunnables = messageCount.get () > 0;
+    RWT.getUISession( display ).exec( new Runnable() {
+      @Override
+      public void run() {
+        ServerPushManager.getInstance().setHasRunnables( hasRunnables );
+      }
+    } );
+  }
+}
+
 @SuppressWarnings( "unused" )
 protected void runnableAdded( Runnable runnable ) {
 }
@@ -123,12 +133,34 @@ protected void asyncExec (Runnable runnable) {
   addLast (new RunnableLock (runnable));
 }
 
-int getMessageCount () {
-  synchronized (messageLock) {
-    return messageCount;
+/**
+ * Causes the <code>run()</code> method of the runnable to
+ * be invoked by the user-interface thread at the next
+ * reasonable opportunity. If a runnable with an equal key is
+ * still pending, it is replaced by the given runnable, which
+ * then runs in place of the pending one. The caller of this
+ * method continues to run in parallel, and is not notified
+ * when the runnable has completed.
+ *
+ * @param key the key that identifies runnables that supersede each other
+ * @param runnable code to run on the user-interface thread.
+ *
+ * @see #asyncExec(Runnable)
+ * @since 3.1
+ */
+protected void asyncExec (Object key, Runnable runnable) {
+  CoalescedRunnable pending = coalescedRunnables.get (key);
+  if (pending == null || !pending.replace (runnable)) {
+    CoalescedRunnable coalesced = new CoalescedRunnable (key, runnable);
+    coalescedRunnables.put (key, coalesced);
+    asyncExec (coalesced);
   }
 }
 
+int getMessageCount () {
+  return messageCount.get ();
+}
+
 void releaseSynchronizer () {
   // RAP [rh] release all threads that are waiting in syncExec(), see bug 352437
   RunnableLock runnableLock = removeFirst();
@@ -143,36 +175,18 @@ void releaseSynchronizer () {
   }
   // END RAP
 //	display = null;
-  messages = null;
-  messageLock = null;
+  coalescedRunnables.clear ();
   syncThread = null;
 }
 
 RunnableLock removeFirst () {
-  synchronized (messageLock) {
-    if (messageCount == 0) {
-      return null;
-    }
-    RunnableLock lock = messages [0];
-    System.arraycopy (messages, 1, messages, 0, --messageCount);
-    messages [messageCount] = null;
-    if (messageCount == 0) {
-      if (messages.length > MESSAGE_LIMIT) {
-        messages = null;
-      }
-    }
+  RunnableLock lock = messages.poll ();
 // RAP [rst] Notify server push mechanism when last runnable has been removed
-    if( messageCount == 0 ) {
-      RWT.getUISession( display ).exec( new Runnable() {
-        @Override
-        public void run() {
-          ServerPushManager.getInstance().setHasRunnables( false );
-        }
-      } );
-    }
-// END RAP
-    return lock;
+  if (lock != null && messageCount.decrementAndGet () == 0) {
+    updateHasRunnables ();
   }
+// END RAP
+  return lock;
 }
 
 boolean runAsyncMessages () {
@@ -266,4 +280,33 @@ protected void syncExec (Runnable runnable) {
   }
 }
 
+/*
+ * Runs the latest runnable that was passed for its key. Once it has been taken off the
+ * queue, the runnable can no longer be replaced and a subsequent runnable is queued anew.
+ */
+final class CoalescedRunnable implements Runnable, SerializableCompatibility {
+
+  private final Object key;
+  private final AtomicReference<Runnable> runnable;
+
+  CoalescedRunnable (Object key, Runnable runnable) {
+    this.key = key;
+    this.runnable = new AtomicReference<> (runnable);
+  }
+
+  boolean replace (Runnable newRunnable) {
+    return runnable.getAndSet (newRunnable) != null;
+  }
+
+  @Override
+  public void run () {
+    coalescedRunnables.remove (key, this);
+    Runnable current = runnable.getAndSet (null);
+    if (current != null) {
+      current.run ();
+    }
+  }
+
+}
+
 }
@@ -281,6 +281,7 @@ public class TabFolder extends Composite {
    */
   public void setSelection( TabItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -304,6 +305,7 @@ public class TabFolder extends Composite {
    */
   public void setSelection( TabItem[] items ) {
     checkWidget();
+    markChanged();
     if( items == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -364,6 +366,7 @@ public class TabFolder extends Composite {
   @Override
   public void layout() {
     checkWidget();
+    markChanged();
     Control[] children = getChildren();
     for( int i = 0; i < children.length; i++ ) {
       children[ i ].setBounds( getClientArea() );
@@ -472,6 +475,7 @@ public class TabFolder extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -499,6 +503,7 @@ public class TabFolder extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -174,6 +174,7 @@ public class TabItem extends Item {
    */
   public void setControl( Control control ) {
     checkWidget();
+    markChanged();
     if( control != null ) {
       if( control.isDisposed() ) {
         error( SWT.ERROR_INVALID_ARGUMENT );
@@ -267,6 +268,7 @@ public class TabItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     int index = parent.indexOf( this );
     if( index > -1 ) {
       super.setImage( image );
@@ -288,6 +290,7 @@ public class TabItem extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
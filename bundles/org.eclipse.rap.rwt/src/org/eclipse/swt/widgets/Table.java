@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -230,7 +230,7 @@ public class Table extends Composite {
     public boolean isItemVirtual( int index ) {
       boolean result = false;
       if( ( style & SWT.VIRTUAL ) != 0 ) {
-        TableItem item = items[ index ];
+        TableItem item = items.get( index );
         result = item == null || !item.cached;
       }
       return result;
@@ -303,7 +303,9 @@ public class Table extends Composite {
   private final ITableAdapter tableAdapter;
   private int customItemHeight;
   private int itemCount;
-  private TableItem[] items;
+  private SparseItemArray<TableItem> items;
+  private int cachedItemCount;
+  private boolean evictItems;
   private final ItemHolder<TableColumn> columnHolder;
   private int[] columnImageCount;
   private int[] columnOrder;
@@ -396,6 +398,8 @@ public class Table extends Composite {
       setCustomItemHeight( value );
     } else if( RWT.PRELOADED_ITEMS.equals( key ) ) {
       setPreloadedItems( value );
+    } else if( RWT.EVICT_VIRTUAL_ITEMS.equals( key ) ) {
+      evictItems = Boolean.TRUE.equals( value );
     }
     if( !RWT.MARKUP_ENABLED.equals( key ) || !isMarkupEnabledFor( this ) ) {
       super.setData( key, value );
@@ -537,6 +541,8 @@ public class Table extends Composite {
    */
   public void setColumnOrder( int[] order ) {
     checkWidget();
+    markChanged();
+    markColumnsAndItemsChanged();
     if( order == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -627,12 +633,13 @@ public class Table extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markChanged();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount && !isInDispose() ) {
       int deleteIndex = oldItemCount - 1;
       while( deleteIndex >= newItemCount ) {
-        TableItem item = items[ deleteIndex ];
+        TableItem item = items.get( deleteIndex );
         if( item != null && !item.isDisposed() ) {
           item.dispose();
         } else {
@@ -640,14 +647,12 @@ public class Table extends Composite {
         }
         deleteIndex--;
       }
-      int length = Math.max( 4, ( newItemCount + 3 ) / 4 * 4 );
-      TableItem[] newItems = new TableItem[ length ];
-      System.arraycopy( items, 0, newItems, 0, Math.min( newItemCount, itemCount ) );
-      items = newItems;
       if( ( style & SWT.VIRTUAL ) == 0 ) {
         for( int i = itemCount; i < newItemCount; i++ ) {
-          items[ i ] = new TableItem( this, SWT.NONE, i, true );
+          new TableItem( this, SWT.NONE, i, true );
         }
+      } else {
+        items.setSize( newItemCount );
       }
       itemCount = newItemCount;
       adjustTopIndex();
@@ -700,7 +705,7 @@ public class Table extends Composite {
         result[ i ] = _getItem( i );
       }
     } else {
-      System.arraycopy( items, 0, result, 0, itemCount );
+      items.toArray( result );
     }
     return result;
   }
@@ -809,6 +814,7 @@ public class Table extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     while( itemCount > 0 ) {
       removeItem( itemCount - 1 );
     }
@@ -835,6 +841,7 @@ public class Table extends Composite {
    */
   public void remove( int start, int end ) {
     checkWidget();
+    markChanged();
     if( start <= end ) {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         error( SWT.ERROR_INVALID_RANGE );
@@ -863,6 +870,7 @@ public class Table extends Composite {
    */
   public void remove( int index ) {
     checkWidget();
+    markChanged();
     if( !( 0 <= index && index < itemCount ) ) {
       SWT.error( SWT.ERROR_ITEM_NOT_REMOVED );
     }
@@ -889,6 +897,7 @@ public class Table extends Composite {
    */
   public void remove( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -935,10 +944,11 @@ public class Table extends Composite {
    */
   public void clear( int index ) {
     checkWidget();
+    markChanged();
     if( index < 0 || index >= itemCount ) {
       SWT.error( SWT.ERROR_INVALID_RANGE );
     }
-    TableItem item = items[ index ];
+    TableItem item = items.get( index );
     if( item != null ) {
       item.clear();
     }
@@ -967,6 +977,7 @@ public class Table extends Composite {
    */
   public void clear( int start, int end ) {
     checkWidget();
+    markChanged();
     if( start <= end ) {
       if( !( 0 <= start && start <= end && end < itemCount ) ) {
         SWT.error( SWT.ERROR_INVALID_RANGE );
@@ -974,11 +985,10 @@ public class Table extends Composite {
       if( start == 0 && end == itemCount - 1 ) {
         clearAll();
       } else {
-        for( int i = start; i <= end; i++ ) {
-          TableItem item = items[ i ];
-          if( item != null ) {
-            item.clear();
-          }
+        int index = items.nextIndex( start );
+        while( index != -1 && index <= end ) {
+          items.get( index ).clear();
+          index = items.nextIndex( index + 1 );
         }
       }
     }
@@ -1000,11 +1010,9 @@ public class Table extends Composite {
    */
   public void clearAll() {
     checkWidget();
-    for( int i = 0; i < itemCount; i++ ) {
-      TableItem item = items[ i ];
-      if( item != null ) {
-        item.clear();
-      }
+    markChanged();
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).clear();
     }
     clearItemImageSize();
   }
@@ -1031,6 +1039,7 @@ public class Table extends Composite {
    */
   public void clear( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1041,7 +1050,7 @@ public class Table extends Composite {
         }
       }
       for( int i = 0; i < indices.length; i++ ) {
-        TableItem item = items[ indices[ i ] ];
+        TableItem item = items.get( indices[ i ] );
         if( item != null ) {
           item.clear();
         }
@@ -1099,6 +1108,7 @@ public class Table extends Composite {
    */
   public void setSelection( int index ) {
     checkWidget();
+    markChanged();
     deselectAll();
     select( index );
     setFocusIndex( index );
@@ -1144,6 +1154,7 @@ public class Table extends Composite {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markChanged();
     deselectAll();
     select( start, end );
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
@@ -1202,6 +1213,7 @@ public class Table extends Composite {
    */
   public void setSelection( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1234,6 +1246,7 @@ public class Table extends Composite {
    */
   public void setSelection( TableItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1266,6 +1279,7 @@ public class Table extends Composite {
    */
   public void setSelection( TableItem[] items ) {
     checkWidget();
+    markChanged();
     if( items == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1341,6 +1355,7 @@ public class Table extends Composite {
    */
   public void select( int index ) {
     checkWidget();
+    markChanged();
     if( index >= 0 && index < itemCount ) {
       if( ( style & SWT.SINGLE ) != 0 ) {
         selection = new int[] { index };
@@ -1381,6 +1396,7 @@ public class Table extends Composite {
    */
   public void select( int start, int end ) {
     checkWidget();
+    markChanged();
     if( end >= 0 && start <= end && ( ( style & SWT.SINGLE ) == 0 || start == end ) ) {
       if( itemCount != 0 && start < itemCount ) {
         int adjustedStart = Math.max( 0, start );
@@ -1421,6 +1437,7 @@ public class Table extends Composite {
    */
   public void select( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1447,6 +1464,7 @@ public class Table extends Composite {
   //      selectAll is called. Compare how SWT handles this.
   public void selectAll() {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SINGLE ) == 0 ) {
       setSelection( getItems() );
     }
@@ -1466,6 +1484,7 @@ public class Table extends Composite {
    */
   public void deselect( int index ) {
     checkWidget();
+    markChanged();
     removeFromSelection( index );
   }
 
@@ -1486,6 +1505,7 @@ public class Table extends Composite {
    */
   public void deselect( int start, int end ) {
     checkWidget();
+    markChanged();
     if( start == 0 && end == itemCount - 1 ) {
       deselectAll();
     } else {
@@ -1515,6 +1535,7 @@ public class Table extends Composite {
    */
   public void deselect( int[] indices ) {
     checkWidget();
+    markChanged();
     if( indices == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1533,6 +1554,7 @@ public class Table extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    markChanged();
     selection = EMPTY_SELECTION;
   }
 
@@ -1553,6 +1575,7 @@ public class Table extends Composite {
    */
   public void setTopIndex( int topIndex ) {
     checkWidget();
+    markChanged();
     if( this.topIndex != topIndex && topIndex >= 0 && topIndex < itemCount ) {
       this.topIndex = topIndex;
       adjustTopIndex();
@@ -1599,6 +1622,7 @@ public class Table extends Composite {
    */
   public void showItem( TableItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1636,6 +1660,7 @@ public class Table extends Composite {
    */
   public void showColumn( TableColumn column ) {
     checkWidget();
+    markChanged();
     if( column == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1687,6 +1712,7 @@ public class Table extends Composite {
    */
   public void showSelection() {
     checkWidget();
+    markChanged();
     int index = getSelectionIndex();
     if( index != -1 ) {
       showItem( _getItem( index ) );
@@ -1714,6 +1740,7 @@ public class Table extends Composite {
    */
   public void setHeaderVisible( boolean headerVisible ) {
     checkWidget();
+    markChanged();
     boolean changed = headerVisible != this.headerVisible;
     this.headerVisible = headerVisible;
     if( changed ) {
@@ -1783,6 +1810,7 @@ public class Table extends Composite {
    */
   public void setLinesVisible( boolean linesVisible ) {
     checkWidget();
+    markChanged();
     this.linesVisible = linesVisible;
   }
 
@@ -1803,6 +1831,7 @@ public class Table extends Composite {
    */
   public void setSortColumn( TableColumn column ) {
     checkWidget();
+    markChanged();
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1841,6 +1870,7 @@ public class Table extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    markChanged();
     if( ( direction & ( SWT.UP | SWT.DOWN ) ) != 0 || direction == SWT.NONE ) {
       sortDirection = direction;
     }
@@ -1979,6 +2009,7 @@ public class Table extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -2006,6 +2037,7 @@ public class Table extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -2117,6 +2149,7 @@ public class Table extends Composite {
   // Create and destroy columns
 
   final void createColumn( TableColumn column, int index ) {
+    markColumnsAndItemsChanged();
     columnHolder.insert( column, index );
     if( columnOrder == null ) {
       columnOrder = new int[] { index };
@@ -2140,22 +2173,19 @@ public class Table extends Composite {
       System.arraycopy( columnImageCount, index, newColumnImageCount, index + 1, length - index );
       columnImageCount = newColumnImageCount;
     }
-    for( int i = 0; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].shiftData( index );
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).shiftData( index );
     }
     updateScrollBars();
   }
 
   final void destroyColumn( TableColumn column ) {
     if( !isInDispose() ) {
+      markColumnsAndItemsChanged();
       int index = indexOf( column );
       // Remove data from TableItems
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          items[ i ].removeData( index );
-        }
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        items.get( i ).removeData( index );
       }
       // Reset sort column if necessary
       if( column == sortColumn ) {
@@ -2196,6 +2226,22 @@ public class Table extends Composite {
     }
   }
 
+  /*
+   * Reports a change of all columns and created items before the columns are changed. Their
+   * rendered properties depend on the other columns, like the left position of a column or the
+   * order of the texts of an item.
+   */
+  final void markColumnsAndItemsChanged() {
+    if( display.getDirtyWidgets() != null ) {
+      for( TableColumn column : columnHolder.getItems() ) {
+        column.markChanged();
+      }
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        items.get( i ).markChanged();
+      }
+    }
+  }
+
   ////////////////////////////
   // Create and destroy items
 
@@ -2203,21 +2249,7 @@ public class Table extends Composite {
     if( index < 0 || index > itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
-    if( itemCount == items.length ) {
-      /*
-       * Grow the array faster when redraw is off or the table is not visible.
-       * When the table is painted, the items array is resized to be smaller to
-       * reduce memory usage.
-       */
-      boolean small = /* drawCount == 0 && */isVisible();
-      int length = small ? items.length + 4 : Math.max( 4, items.length * 3 / 2 );
-      TableItem[] newItems = new TableItem[ length ];
-      System.arraycopy( items, 0, newItems, 0, items.length );
-      items = newItems;
-    }
-    /* Insert the item */
-    System.arraycopy( items, index, items, index + 1, itemCount - index );
-    items[ index ] = item;
+    items.insert( index, item );
     itemCount++;
     adjustItemIndices( index );
     // adjust the selection indices
@@ -2238,9 +2270,9 @@ public class Table extends Composite {
       removeFromSelection( index );
       adjustSelectionIdices( index );
       if( item != null ) {
-        int columnCount = Math.max( 1, columnHolder.size() );
-        for( int i = 0; i < columnCount; i++ ) {
-          updateColumnImageCount( i, item.getImageInternal( i ), null );
+        removeColumnImages( item );
+        if( item.cached ) {
+          cachedItemCount--;
         }
       }
       itemCount--;
@@ -2250,8 +2282,7 @@ public class Table extends Composite {
       if( itemCount == 0 ) {
         setTableEmpty();
       } else {
-        System.arraycopy( items, index + 1, items, index, itemCount - index );
-        items[ itemCount ] = null;
+        items.remove( index );
         adjustItemIndices( index );
       }
       adjustTopIndex();
@@ -2270,13 +2301,9 @@ public class Table extends Composite {
 
   @Override
   void releaseChildren() {
-    Item[] tableItems = new TableItem[ items.length ];
-    System.arraycopy( items, 0, tableItems, 0, items.length );
-    for( int i = 0; i < tableItems.length; i++ ) {
-      if( tableItems[ i ] != null ) {
-        tableItems[ i ].dispose();
-        items[ i ] = null;
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).dispose();
+      items.set( i, null );
     }
     TableColumn[] tableColumns = columnHolder.getItems();
     for( int i = 0; i < tableColumns.length; i++ ) {
@@ -2290,58 +2317,38 @@ public class Table extends Composite {
   // Helping methods - item retrieval
 
   private TableItem _getItem( int index ) {
-    if( ( style & SWT.VIRTUAL ) != 0 && items[ index ] == null ) {
-      items[ index ] = new TableItem( this, SWT.NONE, index, false );
+    TableItem result = items.get( index );
+    if( ( style & SWT.VIRTUAL ) != 0 && result == null ) {
+      result = new TableItem( this, SWT.NONE, index, false );
+      items.set( index, result );
     }
-    return items[ index ];
+    return result;
   }
 
   final TableItem[] getCachedItems() {
     TableItem[] result;
     if( ( style & SWT.VIRTUAL ) != 0 ) {
+      result = new TableItem[ cachedItemCount ];
       int count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null && items[ i ].cached ) {
-          count++;
-        }
-      }
-      result = new TableItem[ count ];
-      count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null && items[ i ].cached ) {
-          result[ count ] = items[ i ];
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        TableItem item = items.get( i );
+        if( item.cached ) {
+          result[ count ] = item;
           count++;
         }
       }
     } else {
-      result = new TableItem[ itemCount ];
-      System.arraycopy( items, 0, result, 0, itemCount );
+      result = items.toArray( new TableItem[ items.getCount() ] );
     }
     return result;
   }
 
   final TableItem[] getCreatedItems() {
-    TableItem[] result;
-    if( ( style & SWT.VIRTUAL ) != 0 ) {
-      int count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          count++;
-        }
-      }
-      result = new TableItem[ count ];
-      count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          result[ count ] = items[ i ];
-          count++;
-        }
-      }
-    } else {
-      result = new TableItem[ itemCount ];
-      System.arraycopy( items, 0, result, 0, itemCount );
-    }
-    return result;
+    return items.toArray( new TableItem[ items.getCount() ] );
+  }
+
+  final void updateCachedItemCount( boolean cached ) {
+    cachedItemCount += cached ? 1 : -1;
   }
 
   ///////////////////////////////////////////////
@@ -2354,13 +2361,16 @@ public class Table extends Composite {
     for( int index = startIndex; index < endIndex; index++ ) {
       checkData( _getItem( index ), index );
     }
+    if( evictItems && !isDisposed() ) {
+      evictItems( startIndex, endIndex );
+    }
   }
 
   final boolean checkData( TableItem item, int index ) {
     boolean result = true;
     boolean virtual = ( style & SWT.VIRTUAL ) != 0;
     if( virtual && !item.cached && index >= 0 && index < itemCount ) {
-      item.cached = true;
+      item.setCached( true );
       Event event = new Event();
       event.item = item;
       event.index = index;
@@ -2373,6 +2383,34 @@ public class Table extends Composite {
     return result;
   }
 
+  /*
+   * Releases the items outside the given range that are neither selected nor focused. Unlike
+   * removed items, the released items leave an empty slot and are requested again as needed.
+   */
+  private void evictItems( int startIndex, int endIndex ) {
+    int index = items.nextIndex( 0 );
+    while( index != -1 ) {
+      if( index >= startIndex && index < endIndex ) {
+        index = items.nextIndex( endIndex );
+      } else {
+        if( index != focusIndex && !isSelected( index ) ) {
+          evictItem( index );
+        }
+        index = items.nextIndex( index + 1 );
+      }
+    }
+  }
+
+  private void evictItem( int index ) {
+    TableItem item = items.get( index );
+    items.set( index, null );
+    removeColumnImages( item );
+    if( item.cached ) {
+      cachedItemCount--;
+    }
+    item.evict();
+  }
+
   ////////////////////////////////////
   // Helping methods - item image size
 
@@ -2392,6 +2430,13 @@ public class Table extends Composite {
     }
   }
 
+  private void removeColumnImages( TableItem item ) {
+    int columnCount = Math.max( 1, columnHolder.size() );
+    for( int i = 0; i < columnCount; i++ ) {
+      updateColumnImageCount( i, item.getImageInternal( i ), null );
+    }
+  }
+
   final boolean hasColumnImages( int columnIndex ) {
     return columnImageCount == null ? false : columnImageCount[ columnIndex ] > 0;
   }
@@ -2573,7 +2618,7 @@ public class Table extends Composite {
   }
 
   private void removeItem( int index ) {
-    TableItem item = items[ index ];
+    TableItem item = items.get( index );
     if( item != null && !item.isDisposed() ) {
       item.dispose();
     } else {
@@ -2622,10 +2667,8 @@ public class Table extends Composite {
   }
 
   private void adjustItemIndices( int start ) {
-    for( int i = start; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].index = i;
-      }
+    for( int i = items.nextIndex( start ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).index = i;
     }
   }
 
@@ -2655,7 +2698,8 @@ public class Table extends Composite {
   }
 
   private void setTableEmpty() {
-    items = new TableItem[ 4 ];
+    items = new SparseItemArray<>();
+    cachedItemCount = 0;
     clearItemImageSize();
   }
 
@@ -2752,11 +2796,8 @@ public class Table extends Composite {
   @Override
   void reskinChildren( int flags ) {
     if( items != null ) {
-      for( int i = 0; i < items.length; i++ ) {
-        TableItem item = items[ i ];
-        if( item != null ) {
-          item.reskin( flags );
-        }
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        items.get( i ).reskin( flags );
       }
     }
     TableColumn[] columns = getColumns();
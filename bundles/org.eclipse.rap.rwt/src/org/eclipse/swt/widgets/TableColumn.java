@@ -183,6 +183,7 @@ public class TableColumn extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -222,6 +223,7 @@ public class TableColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markChanged();
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) != 0 ) {
       style &= ~( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
       style |= alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER );
@@ -264,6 +266,8 @@ public class TableColumn extends Item {
    */
   public void setWidth( int width ) {
     checkWidget();
+    markChanged();
+    parent.markColumnsAndItemsChanged();
     if( width >= 0 ) {
       this.width = width;
       parent.updateScrollBars();
@@ -285,6 +289,7 @@ public class TableColumn extends Item {
    */
   public void pack() {
     checkWidget();
+    markChanged();
     int width = getPreferredWidth();
     if( width != getWidth() ) {
       setWidth( width );
@@ -313,6 +318,7 @@ public class TableColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    markChanged();
     this.moveable = moveable;
   }
 
@@ -355,6 +361,7 @@ public class TableColumn extends Item {
    */
   public void setResizable( boolean resizable ) {
     checkWidget();
+    markChanged();
     this.resizable = resizable;
   }
 
@@ -399,6 +406,7 @@ public class TableColumn extends Item {
    */
   public void addControlListener( ControlListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -426,6 +434,7 @@ public class TableColumn extends Item {
    */
   public void removeControlListener( ControlListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -459,6 +468,7 @@ public class TableColumn extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -486,6 +496,7 @@ public class TableColumn extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
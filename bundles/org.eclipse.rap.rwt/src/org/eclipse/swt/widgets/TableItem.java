@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,10 @@ package org.eclipse.swt.widgets;
 import static org.eclipse.swt.internal.widgets.MarkupUtil.isMarkupEnabledFor;
 import static org.eclipse.swt.internal.widgets.MarkupValidator.isValidationDisabledFor;
 
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.util.Arrays;
 
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
@@ -49,11 +53,14 @@ import org.eclipse.swt.internal.widgets.tableitemkit.TableItemLCA;
  */
 public class TableItem extends Item {
 
+  private static final int SERIAL_FORM = 1;
+
   private transient TableItemAdapter tableItemAdapter;
   final Table parent;
   boolean cached;
+  private boolean evicted;
   int index;
-  private Data[] data;
+  private transient Data[] data;
   private boolean checked;
   private boolean grayed;
   private Color background;
@@ -178,6 +185,7 @@ public class TableItem extends Item {
   @Override
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     setText( 0, text );
   }
 
@@ -197,6 +205,7 @@ public class TableItem extends Item {
    */
   public void setText( int index, String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -235,6 +244,7 @@ public class TableItem extends Item {
    */
   public void setText( String[] strings ) {
     checkWidget();
+    markChanged();
     if( strings == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -282,6 +292,7 @@ public class TableItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     setImage( 0, image );
   }
 
@@ -301,6 +312,7 @@ public class TableItem extends Item {
    */
   public void setImage( int index, Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -336,6 +348,7 @@ public class TableItem extends Item {
    */
   public void setImage( Image[] images ) {
     checkWidget();
+    markChanged();
     if( images == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -403,6 +416,7 @@ public class TableItem extends Item {
    */
   public void setBackground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -456,6 +470,7 @@ public class TableItem extends Item {
    */
   public void setBackground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -513,6 +528,7 @@ public class TableItem extends Item {
    */
   public void setForeground( Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -565,6 +581,7 @@ public class TableItem extends Item {
    */
   public void setForeground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -620,6 +637,7 @@ public class TableItem extends Item {
    */
   public void setFont( Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -677,6 +695,7 @@ public class TableItem extends Item {
    */
   public void setFont( int index, Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -734,6 +753,7 @@ public class TableItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    markChanged();
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -779,6 +799,7 @@ public class TableItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markChanged();
     if( ( parent.style & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -1086,17 +1107,36 @@ public class TableItem extends Item {
     grayed = false;
     parent.updateScrollBars();
     if( ( parent.style & SWT.VIRTUAL ) != 0 ) {
-      cached = false;
+      setCached( false );
       parent.redraw();
     }
   }
 
+  final void setCached( boolean cached ) {
+    if( this.cached != cached ) {
+      this.cached = cached;
+      parent.updateCachedItemCount( cached );
+    }
+  }
+
+  /*
+   * Disposes of an item that has already been removed from its parent by eviction. The slot
+   * in the parent remains, hence the client item is released instead of destroyed.
+   */
+  final void evict() {
+    evicted = true;
+    dispose();
+    index = -1;
+  }
+
   /////////////////////////////
   // Widget and Item overrides
 
   @Override
   void releaseParent() {
-    parent.destroyItem( this, parent.indexOf( this ) );
+    if( !evicted ) {
+      parent.destroyItem( this, parent.indexOf( this ) );
+    }
   }
 
   @Override
@@ -1114,7 +1154,7 @@ public class TableItem extends Item {
 
   private void markCached() {
     if( ( parent.style & SWT.VIRTUAL ) != 0 ) {
-      cached = true;
+      setCached( true );
     }
   }
 
@@ -1264,16 +1304,118 @@ public class TableItem extends Item {
       return result;
     }
 
+    @Override
+    public boolean isEvicted() {
+      return evicted;
+    }
+
+  }
+
+  /*
+   * The cell data is written without a Data instance per cell and without unset attributes. It is
+   * preceded by the version of this form, which has to be increased when the form changes.
+   */
+  private void writeObject( ObjectOutputStream stream ) throws IOException {
+    stream.defaultWriteObject();
+    stream.writeByte( SERIAL_FORM );
+    stream.writeInt( data == null ? -1 : data.length );
+    if( data != null ) {
+      for( Data cell : data ) {
+        Data.write( stream, cell );
+      }
+    }
+  }
+
+  private void readObject( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
+    stream.defaultReadObject();
+    int serialForm = stream.readByte();
+    if( serialForm != SERIAL_FORM ) {
+      throw new InvalidObjectException( "Unsupported serial form: " + serialForm );
+    }
+    int length = stream.readInt();
+    if( length >= 0 ) {
+      data = new Data[ length ];
+      for( int i = 0; i < length; i++ ) {
+        data[ i ] = Data.read( stream );
+      }
+    }
   }
 
   private static final class Data implements SerializableCompatibility {
     static final int UNKNOWN_WIDTH = -1;
+    private static final int PRESENT = 1;
+    private static final int TEXT = 1 << 1;
+    private static final int TEXT_WIDTH = 1 << 2;
+    private static final int IMAGE = 1 << 3;
+    private static final int FONT = 1 << 4;
+    private static final int BACKGROUND = 1 << 5;
+    private static final int FOREGROUND = 1 << 6;
     String text = "";
     int textWidth = UNKNOWN_WIDTH;
     Image image;
     Font font;
     Color background;
     Color foreground;
+
+    static void write( ObjectOutputStream stream, Data data ) throws IOException {
+      if( data == null ) {
+        stream.writeByte( 0 );
+      } else {
+        int flags = PRESENT;
+        flags |= data.text.length() > 0 ? TEXT : 0;
+        flags |= data.textWidth != UNKNOWN_WIDTH ? TEXT_WIDTH : 0;
+        flags |= data.image != null ? IMAGE : 0;
+        flags |= data.font != null ? FONT : 0;
+        flags |= data.background != null ? BACKGROUND : 0;
+        flags |= data.foreground != null ? FOREGROUND : 0;
+        stream.writeByte( flags );
+        if( ( flags & TEXT ) != 0 ) {
+          stream.writeObject( data.text );
+        }
+        if( ( flags & TEXT_WIDTH ) != 0 ) {
+          stream.writeInt( data.textWidth );
+        }
+        if( ( flags & IMAGE ) != 0 ) {
+          stream.writeObject( data.image );
+        }
+        if( ( flags & FONT ) != 0 ) {
+          stream.writeObject( data.font );
+        }
+        if( ( flags & BACKGROUND ) != 0 ) {
+          stream.writeObject( data.background );
+        }
+        if( ( flags & FOREGROUND ) != 0 ) {
+          stream.writeObject( data.foreground );
+        }
+      }
+    }
+
+    static Data read( ObjectInputStream stream ) throws IOException, ClassNotFoundException {
+      int flags = stream.readByte();
+      if( ( flags & PRESENT ) == 0 ) {
+        return null;
+      }
+      Data result = new Data();
+      if( ( flags & TEXT ) != 0 ) {
+        result.text = ( String )stream.readObject();
+      }
+      if( ( flags & TEXT_WIDTH ) != 0 ) {
+        result.textWidth = stream.readInt();
+      }
+      if( ( flags & IMAGE ) != 0 ) {
+        result.image = ( Image )stream.readObject();
+      }
+      if( ( flags & FONT ) != 0 ) {
+        result.font = ( Font )stream.readObject();
+      }
+      if( ( flags & BACKGROUND ) != 0 ) {
+        result.background = ( Color )stream.readObject();
+      }
+      if( ( flags & FOREGROUND ) != 0 ) {
+        result.foreground = ( Color )stream.readObject();
+      }
+      return result;
+    }
   }
 
 }
\ No newline at end of file
@@ -197,6 +197,7 @@ public class TaskItem extends Item {
    */
   public void setMenu( Menu menu ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -228,6 +229,7 @@ public class TaskItem extends Item {
    */
   public void setOverlayImage( Image overlayImage ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -258,6 +260,7 @@ public class TaskItem extends Item {
    */
   public void setOverlayText( String overlayText ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -287,6 +290,7 @@ public class TaskItem extends Item {
    */
   public void setProgress( int progress ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -326,6 +330,7 @@ public class TaskItem extends Item {
    */
   public void setProgressState( int progressState ) {
     checkWidget();
+    markChanged();
   }
 
 }
@@ -176,6 +176,7 @@ public class Text extends Scrollable {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -223,6 +224,7 @@ public class Text extends Scrollable {
    */
   public void setTextChars( char[] text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -314,6 +316,7 @@ public class Text extends Scrollable {
   // TODO [rh] fire VerifyEvent missing
   public void append( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -374,6 +377,7 @@ public class Text extends Scrollable {
    */
   public void setMessage( String message ) {
     checkWidget();
+    markChanged();
     if( message == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -425,6 +429,7 @@ public class Text extends Scrollable {
    */
   public void setEchoChar( char echo ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.MULTI ) == 0 ) {
       echoChar = echo;
     }
@@ -479,6 +484,7 @@ public class Text extends Scrollable {
    */
   public void setTextLimit( int textLimit ) {
     checkWidget();
+    markChanged();
     if( textLimit == 0 ) {
       error( SWT.ERROR_CANNOT_BE_ZERO );
     }
@@ -551,6 +557,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( int start ) {
     checkWidget();
+    markChanged();
     setSelection( start, start );
  }
 
@@ -581,6 +588,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( int start, int end ) {
     checkWidget();
+    markChanged();
     int validatedStart = selection.x;
     int validatedEnd = selection.y;
     if( start >= 0 && end >= start ) {
@@ -625,6 +633,7 @@ public class Text extends Scrollable {
    */
   public void setSelection( Point selection ) {
     checkWidget();
+    markChanged();
     if( selection == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -694,6 +703,7 @@ public class Text extends Scrollable {
    */
   public void clearSelection() {
     checkWidget();
+    markChanged();
     selection.x = selection.y;
   }
 
@@ -707,6 +717,7 @@ public class Text extends Scrollable {
    */
   public void selectAll() {
     checkWidget();
+    markChanged();
     selection.x = 0;
     selection.y = text.length();
   }
@@ -742,6 +753,7 @@ public class Text extends Scrollable {
    */
   public void setEditable( boolean editable ) {
     checkWidget();
+    markChanged();
     style &= ~SWT.READ_ONLY;
     if( !editable ) {
       style |= SWT.READ_ONLY;
@@ -781,6 +793,7 @@ public class Text extends Scrollable {
    */
   public void insert( String string ) {
     checkWidget();
+    markChanged();
     if( string == null ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -884,6 +897,7 @@ public class Text extends Scrollable {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -911,6 +925,7 @@ public class Text extends Scrollable {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -939,6 +954,7 @@ public class Text extends Scrollable {
    */
   public void addModifyListener( ModifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -965,6 +981,7 @@ public class Text extends Scrollable {
    */
   public void removeModifyListener( ModifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -992,6 +1009,7 @@ public class Text extends Scrollable {
    */
   public void addVerifyListener( VerifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1018,6 +1036,7 @@ public class Text extends Scrollable {
    */
   public void removeVerifyListener( VerifyListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
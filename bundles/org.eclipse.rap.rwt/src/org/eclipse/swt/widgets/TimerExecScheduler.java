@@ -16,13 +16,12 @@ import java.io.ObjectInputStream;
 import java.io.ObjectInputValidation;
 import java.io.ObjectOutputStream;
 import java.util.Collection;
-import java.util.Date;
 import java.util.LinkedList;
-import java.util.Timer;
-import java.util.TimerTask;
 
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.engine.PostDeserialization;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
+import org.eclipse.rap.rwt.internal.util.TimerWheel;
 import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
@@ -33,7 +32,7 @@ class TimerExecScheduler implements SerializableCompatibility {
   final Display display;
   final ServerPushManager serverPushManager;
   private final Collection<TimerExecTask> tasks;
-  private transient Timer timer;
+  private transient TimerWheel timerWheel;
 
   TimerExecScheduler( Display display ) {
     this.display = display;
@@ -43,9 +42,8 @@ class TimerExecScheduler implements SerializableCompatibility {
 
   void schedule( int milliseconds, Runnable runnable ) {
     synchronized( display.getDeviceLock() ) {
-      initializeTimer();
       TimerExecTask task = findOrAddTask( runnable );
-      timer.schedule( task, milliseconds );
+      getTimerWheel().schedule( task, milliseconds );
     }
   }
 
@@ -58,21 +56,23 @@ class TimerExecScheduler implements SerializableCompatibility {
 
   void dispose() {
     synchronized( display.getDeviceLock() ) {
-      if( timer != null ) {
-        timer.cancel();
+      for( TimerExecTask task : tasks ) {
+        task.cancel();
       }
       tasks.clear();
     }
   }
 
-  private void initializeTimer() {
-    if( timer == null ) {
-      timer = createTimer();
+  private TimerWheel getTimerWheel() {
+    if( timerWheel == null ) {
+      timerWheel = createTimerWheel();
     }
+    return timerWheel;
   }
 
-  Timer createTimer() {
-    return new Timer( "RWT timerExec scheduler", true );
+  TimerWheel createTimerWheel() {
+    UISession uiSession = display.getAdapter( IDisplayAdapter.class ).getUISession();
+    return ( ( ApplicationContextImpl )uiSession.getApplicationContext() ).getTimerWheel();
   }
 
   private TimerExecTask findOrAddTask( Runnable runnable ) {
@@ -104,7 +104,7 @@ class TimerExecScheduler implements SerializableCompatibility {
     return null;
   }
 
-  void removeTask( TimerTask task ) {
+  void removeTask( TimerExecTask task ) {
     synchronized( display.getDeviceLock() ) {
       tasks.remove( task );
     }
@@ -112,11 +112,9 @@ class TimerExecScheduler implements SerializableCompatibility {
 
   private void rescheduleTasks() {
     synchronized( display.getDeviceLock() ) {
-      if( tasks.size() > 0 ) {
-        initializeTimer();
-        for( TimerExecTask task : tasks ) {
-          timer.schedule( task, new Date( task.scheduledExecutionTime() ) );
-        }
+      long now = System.currentTimeMillis();
+      for( TimerExecTask task : tasks ) {
+        getTimerWheel().schedule( task, Math.max( 0, task.scheduledExecutionTime() - now ) );
       }
     }
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2012 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,10 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
-import java.util.TimerTask;
+import org.eclipse.rap.rwt.internal.util.TimerWheel;
 
-import org.eclipse.swt.internal.SerializableCompatibility;
 
-
-class TimerExecTask extends TimerTask implements SerializableCompatibility {
+class TimerExecTask extends TimerWheel.Task {
 
   private final TimerExecScheduler scheduler;
   private final Runnable runnable;
@@ -194,6 +194,7 @@ public class ToolItem extends Item {
   @Override
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -206,6 +207,7 @@ public class ToolItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       super.setImage( image );
       parent.layoutItems();
@@ -233,6 +235,7 @@ public class ToolItem extends Item {
    */
   public void setDisabledImage( Image image ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       disabledImage = image;
       parent.layoutItems();
@@ -279,6 +282,7 @@ public class ToolItem extends Item {
    */
   public void setHotImage( Image image ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SEPARATOR ) == 0 ) {
       hotImage = image;
       parent.layoutItems();
@@ -322,6 +326,7 @@ public class ToolItem extends Item {
    */
   public void setControl( Control control ) {
     checkWidget();
+    markChanged();
     if( control != null ) {
       if( control.isDisposed() ) {
         SWT.error( SWT.ERROR_INVALID_ARGUMENT );
@@ -371,6 +376,7 @@ public class ToolItem extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -426,6 +432,7 @@ public class ToolItem extends Item {
    */
   public void setEnabled( boolean enabled ) {
     checkWidget();
+    markChanged();
     if( enabled ) {
       removeState( DISABLED );
     } else {
@@ -674,6 +681,7 @@ public class ToolItem extends Item {
    */
   public void setWidth( int width ) {
     checkWidget();
+    markChanged();
     if( ( style & SWT.SEPARATOR ) != 0 && width >= 0 ) {
       computedWidth = false;
       this.width = width;
@@ -727,6 +735,7 @@ public class ToolItem extends Item {
    */
   public void setSelection( boolean selected ) {
     checkWidget();
+    markChanged();
     if( ( style & ( SWT.CHECK | SWT.RADIO ) ) != 0 ) {
       this.selected = selected;
     }
@@ -762,6 +771,7 @@ public class ToolItem extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -789,6 +799,7 @@ public class ToolItem extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
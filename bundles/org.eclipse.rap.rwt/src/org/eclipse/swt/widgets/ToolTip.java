@@ -171,6 +171,7 @@ public class ToolTip extends Widget {
    */
   public void setAutoHide( boolean autoHide ) {
     checkWidget();
+    markChanged();
     this.autoHide = autoHide;
   }
 
@@ -236,6 +237,7 @@ public class ToolTip extends Widget {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
     this.visible = visible;
   }
 
@@ -270,6 +272,7 @@ public class ToolTip extends Widget {
    */
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -310,6 +313,7 @@ public class ToolTip extends Widget {
    */
   public void setMessage( String message ) {
     checkWidget();
+    markChanged();
     if( message == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -338,6 +342,7 @@ public class ToolTip extends Widget {
    */
   public void setLocation( int x, int y ) {
     checkWidget();
+    markChanged();
     this.x = x;
     this.y = y;
   }
@@ -366,6 +371,7 @@ public class ToolTip extends Widget {
    */
   public void setLocation( Point location ) {
     checkWidget();
+    markChanged();
     if( location == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -398,6 +404,7 @@ public class ToolTip extends Widget {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -425,6 +432,7 @@ public class ToolTip extends Widget {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -76,6 +76,7 @@ public class TrayItem extends Item {
     }
     this.parent = parent;
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -122,6 +123,7 @@ public class TrayItem extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -179,6 +181,7 @@ public class TrayItem extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -198,6 +201,7 @@ public class TrayItem extends Item {
    */
   public void setToolTipText( String value ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -214,6 +218,7 @@ public class TrayItem extends Item {
    */
   public void setVisible( boolean visible ) {
     checkWidget();
+    markChanged();
   }
 
   /**
@@ -239,6 +244,7 @@ public class TrayItem extends Item {
    */
   public void addMenuDetectListener( MenuDetectListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -266,6 +272,7 @@ public class TrayItem extends Item {
    */
   public void removeMenuDetectListener( MenuDetectListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -286,6 +293,7 @@ public class TrayItem extends Item {
    */
   public void setToolTip( ToolTip toolTip ) {
     checkWidget();
+    markChanged();
   }
 
   /**
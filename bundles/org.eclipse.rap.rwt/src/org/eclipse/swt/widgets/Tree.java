@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -122,7 +122,7 @@ public class Tree extends Composite {
 
   private int itemCount;
   private int customItemHeight;
-  private TreeItem[] items;
+  private SparseItemArray<TreeItem> items;
   final ItemHolder<TreeColumn> columnHolder;
   private TreeItem[] selection;
   private boolean linesVisible;
@@ -141,6 +141,7 @@ public class Tree extends Composite {
   boolean isFlatIndexValid;
   private int visibleItemsCount;
   private int preloadedItems;
+  private boolean evictItems;
 
   /**
    * Constructs a new instance of this class given its parent and a style value
@@ -186,31 +187,11 @@ public class Tree extends Composite {
   }
 
   TreeItem[] getCreatedItems() {
-    TreeItem[] result;
-    if( isVirtual() ) {
-      int count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          count++;
-        }
-      }
-      result = new TreeItem[ count ];
-      count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          result[ count ] = items[ i ];
-          count++;
-        }
-      }
-    } else {
-      result = new TreeItem[ itemCount ];
-      System.arraycopy( items, 0, result, 0, itemCount );
-    }
-    return result;
+    return items.toArray( new TreeItem[ items.getCount() ] );
   }
 
   private void setTreeEmpty() {
-    items = new TreeItem[ 4 ];
+    items = new SparseItemArray<>();
     // TODO: Not sure if we have to clear the image size???!!!
 //    clearItemImageSize();
   }
@@ -238,10 +219,8 @@ public class Tree extends Composite {
   @Override
   public void setFont( Font font ) {
     super.setFont( font );
-    for( int i = 0; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].clearPreferredWidthBuffers( true );
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).clearPreferredWidthBuffers( true );
     }
     clearCachedHeights();
     updateScrollBars();
@@ -261,12 +240,13 @@ public class Tree extends Composite {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markChanged();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
       int deleteIndex = oldItemCount - 1;
       while( deleteIndex >= newItemCount ) {
-        TreeItem item = items[ deleteIndex ];
+        TreeItem item = items.get( deleteIndex );
         if( item != null && !item.isDisposed() ) {
           item.dispose();
         } else {
@@ -274,14 +254,12 @@ public class Tree extends Composite {
         }
         deleteIndex--;
       }
-      int length = Math.max( 4, ( newItemCount + 3 ) / 4 * 4 );
-      TreeItem[] newItems = new TreeItem[ length ];
-      System.arraycopy( items, 0, newItems, 0, Math.min( newItemCount, itemCount ) );
-      items = newItems;
       if( !isVirtual() ) {
         for( int i = itemCount; i < newItemCount; i++ ) {
-          items[ i ] = new TreeItem( this, SWT.NONE, i );
+          new TreeItem( this, SWT.NONE, i );
         }
+      } else {
+        items.setSize( newItemCount );
       }
       itemCount = newItemCount;
       invalidateFlatIndex();
@@ -330,16 +308,18 @@ public class Tree extends Composite {
         result[ i ] = _getItem( i );
       }
     } else {
-      System.arraycopy( items, 0, result, 0, itemCount );
+      items.toArray( result );
     }
     return result;
   }
 
   private TreeItem _getItem( int index ) {
-    if( isVirtual() && items[ index ] == null ) {
-      items[ index ] = new TreeItem( this, null, SWT.NONE, index, false );
+    TreeItem result = items.get( index );
+    if( isVirtual() && result == null ) {
+      result = new TreeItem( this, null, SWT.NONE, index, false );
+      items.set( index, result );
     }
-    return items[ index ];
+    return result;
   }
 
   /**
@@ -422,9 +402,11 @@ public class Tree extends Composite {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     for( int i = itemCount - 1; i >= 0; i-- ) {
-      if( items[ i ] != null ) {
-        items[ i ].dispose();
+      TreeItem item = items.get( i );
+      if( item != null ) {
+        item.dispose();
       } else {
         itemCount--;
       }
@@ -452,6 +434,7 @@ public class Tree extends Composite {
    */
   public void showItem( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -499,6 +482,7 @@ public class Tree extends Composite {
    */
   public void setTopItem( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -574,6 +558,7 @@ public class Tree extends Composite {
    */
   public void showColumn( TreeColumn column ) {
     checkWidget();
+    markChanged();
     if( column == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -625,6 +610,7 @@ public class Tree extends Composite {
    */
   public void showSelection() {
     checkWidget();
+    markChanged();
     if( selection.length == 0 ) {
       return;
     }
@@ -691,6 +677,7 @@ public class Tree extends Composite {
    */
   public void setSelection( TreeItem selection ) {
     checkWidget();
+    markChanged();
     if( selection == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -722,6 +709,7 @@ public class Tree extends Composite {
    */
   public void setSelection( TreeItem[] selection ) {
     checkWidget();
+    markChanged();
     if( selection == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -782,6 +770,7 @@ public class Tree extends Composite {
    */
   public void select( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -814,6 +803,7 @@ public class Tree extends Composite {
    */
   public void selectAll() {
     checkWidget();
+    markChanged();
     if( ( style & SWT.MULTI ) != 0 ) {
       final java.util.List<TreeItem> allItems = new ArrayList<>();
       WidgetTreeUtil.accept( this, new WidgetTreeVisitor() {
@@ -849,6 +839,7 @@ public class Tree extends Composite {
    */
   public void deselect( TreeItem item ) {
     checkWidget();
+    markChanged();
     if( item == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -874,6 +865,7 @@ public class Tree extends Composite {
    */
   public void deselectAll() {
     checkWidget();
+    markChanged();
     selection = EMPTY_SELECTION;
   }
 
@@ -895,6 +887,7 @@ public class Tree extends Composite {
    */
   public void setLinesVisible( boolean value ) {
     checkWidget();
+    markChanged();
     if( linesVisible == value ) {
       return; /* no change */
     }
@@ -962,10 +955,11 @@ public class Tree extends Composite {
    */
   public void clear( int index, boolean recursive ) {
     checkWidget();
+    markChanged();
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
-    TreeItem item = items[ index ];
+    TreeItem item = items.get( index );
     if( item != null ) {
       item.clear();
       if( recursive ) {
@@ -1057,13 +1051,12 @@ public class Tree extends Composite {
    */
   public void clearAll( boolean recursive ) {
     checkWidget();
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null ) {
-        item.clear();
-        if( recursive ) {
-          item.clearAll( true, false );
-        }
+    markChanged();
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      item.clear();
+      if( recursive ) {
+        item.clearAll( true, false );
       }
     }
     if( isVirtual() ) {
@@ -1078,11 +1071,8 @@ public class Tree extends Composite {
   }
 
   private void clearItemsPreferredWidthBuffer() {
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null ) {
-        item.clearPreferredWidthBuffers( true );
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).clearPreferredWidthBuffers( true );
     }
   }
 
@@ -1106,6 +1096,7 @@ public class Tree extends Composite {
   }
 
   void createColumn( TreeColumn column, int index ) {
+    markColumnsAndItemsChanged();
     columnHolder.insert( column, index );
     if( columnOrder == null ) {
       columnOrder = new int[]{
@@ -1122,22 +1113,19 @@ public class Tree extends Composite {
       columnOrder = newColumnOrder;
       columnOrder[ index ] = index;
     }
-    for( int i = 0; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].shiftData( index );
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).shiftData( index );
     }
     updateScrollBars();
   }
 
   final void destroyColumn( TreeColumn column ) {
     if( !isInDispose() ) {
+      markColumnsAndItemsChanged();
       int index = indexOf( column );
       // Remove data from TreeItems
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          items[ i ].removeData( index );
-        }
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        items.get( i ).removeData( index );
       }
       // Reset sort column if necessary
       if( column == sortColumn ) {
@@ -1164,6 +1152,28 @@ public class Tree extends Composite {
     }
   }
 
+  /*
+   * Reports a change of all columns and created items before the columns are changed. Their
+   * rendered properties depend on the other columns, like the left position of a column or the
+   * order of the texts of an item.
+   */
+  final void markColumnsAndItemsChanged() {
+    if( display.getDirtyWidgets() != null ) {
+      for( TreeColumn column : columnHolder.getItems() ) {
+        column.markChanged();
+      }
+      markItemsChanged( items );
+    }
+  }
+
+  private static void markItemsChanged( SparseItemArray<TreeItem> items ) {
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      item.markChanged();
+      markItemsChanged( item.items );
+    }
+  }
+
   /**
    * Returns the height of the receiver's header
    *
@@ -1200,6 +1210,7 @@ public class Tree extends Composite {
    */
   public void setHeaderVisible( boolean value ) {
     checkWidget();
+    markChanged();
     if( headerVisible != value ) {
       headerVisible = value;
       layoutCache.invalidateHeaderHeight();
@@ -1341,6 +1352,8 @@ public class Tree extends Composite {
    */
   public void setColumnOrder( int[] order ) {
     checkWidget();
+    markChanged();
+    markColumnsAndItemsChanged();
     if( order == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1395,6 +1408,7 @@ public class Tree extends Composite {
    */
   public void setSortColumn( TreeColumn column ) {
     checkWidget();
+    markChanged();
     if( column != null && column.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1423,6 +1437,7 @@ public class Tree extends Composite {
    */
   public void setSortDirection( int direction ) {
     checkWidget();
+    markChanged();
     if( direction != SWT.UP && direction != SWT.DOWN && direction != SWT.NONE )
     {
       return;
@@ -1537,6 +1552,7 @@ public class Tree extends Composite {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1563,6 +1579,7 @@ public class Tree extends Composite {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1589,6 +1606,7 @@ public class Tree extends Composite {
    */
   public void addTreeListener( TreeListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1615,6 +1633,7 @@ public class Tree extends Composite {
    */
   public void removeTreeListener( TreeListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1630,6 +1649,8 @@ public class Tree extends Composite {
       setCustomItemHeight( value );
     } else if( RWT.PRELOADED_ITEMS.equals( key ) ) {
       setPreloadedItems( value );
+    } else if( RWT.EVICT_VIRTUAL_ITEMS.equals( key ) ) {
+      evictItems = Boolean.TRUE.equals( value );
     }
     if( !RWT.MARKUP_ENABLED.equals( key ) || !isMarkupEnabledFor( this ) ) {
       super.setData( key, value );
@@ -1641,10 +1662,9 @@ public class Tree extends Composite {
 
   @Override
   void releaseChildren() {
-    for( int i = items.length - 1; i >= 0; i-- ) {
-      if( items[ i ] != null ) {
-        items[ i ].dispose();
-      }
+    TreeItem[] createdItems = getCreatedItems();
+    for( int i = createdItems.length - 1; i >= 0; i-- ) {
+      createdItems[ i ].dispose();
     }
     TreeColumn[] cols = columnHolder.getItems();
     for( int c = 0; c < cols.length; c++ ) {
@@ -1685,9 +1705,9 @@ public class Tree extends Composite {
         width += getColumn( i ).getWidth();
       }
     } else {
-      for( int i = 0; i < itemCount; i++ ) {
-        TreeItem item = items[ i ];
-        if( item != null && item.isCached() ) {
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        TreeItem item = items.get( i );
+        if( item.isCached() ) {
           int itemWidth = getPreferredCellWidth( item, 0 );
           width = Math.max( width, itemWidth );
           if( item.getExpanded() ) {
@@ -1699,9 +1719,9 @@ public class Tree extends Composite {
     }
     height += getHeaderHeight();
     height += itemCount * getItemHeight();
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null && !item.isInDispose() && item.getExpanded() ) {
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      if( !item.isInDispose() && item.getExpanded() ) {
         height += item.getInnerHeight();
       }
     }
@@ -1765,12 +1785,15 @@ public class Tree extends Composite {
     return getMaxInnerWidth( items, indexOf( column ), 1, true );
   }
 
-  private int getMaxInnerWidth( TreeItem[] items, int columnIndex, int level, boolean clearBuffer )
+  private int getMaxInnerWidth( SparseItemArray<TreeItem> items,
+                                int columnIndex,
+                                int level,
+                                boolean clearBuffer )
   {
     int maxInnerWidth = 0;
-    for( int i = 0; i < items.length; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null && item.isCached() ) {
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      if( item.isCached() ) {
         int indention = columnIndex == 0 ? level * getIndentionWidth() : 0; // TODO [tb] : test
         if( clearBuffer ) {
           item.clearPreferredWidthBuffers( false );
@@ -2131,10 +2154,10 @@ public class Tree extends Composite {
 
   private List<TreeItem> collectVisibleItems( TreeItem parentItem ) {
     List<TreeItem> result = new ArrayList<>();
-    TreeItem[] items = parentItem == null ? this.items : parentItem.items;
+    SparseItemArray<TreeItem> items = parentItem == null ? this.items : parentItem.items;
     int itemCount = parentItem == null ? this.itemCount : parentItem.itemCount;
     for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
+      TreeItem item = items.get( i );
       result.add( item );
       if( item != null && item.getExpanded() ) {
         result.addAll( collectVisibleItems( item ) );
@@ -2154,12 +2177,17 @@ public class Tree extends Composite {
 
   private int updateAllItemsRecursively( TreeItem parent, int index, int flatIndex ) {
     int newFlatIndex = flatIndex;
-    TreeItem item = parent == null ? items[ index ] : parent.items[ index ];
+    SparseItemArray<TreeItem> items = parent == null ? this.items : parent.items;
+    TreeItem item = items.get( index );
     if( shouldResolveItem( flatIndex ) ) {
       if( item == null ) {
         item = parent == null ? _getItem( index ) : parent._getItem( index );
       }
       checkData( item, index );
+    } else if( item != null && evictItems && isEvictable( item ) ) {
+      items.set( index, null );
+      item.evict();
+      item = null;
     }
     if( item != null ) {
       item.setFlatIndex( newFlatIndex );
@@ -2181,6 +2209,19 @@ public class Tree extends Composite {
     return isVirtual() ? flatIndex >= startIndex && flatIndex < endIndex : false;
   }
 
+  /*
+   * Items can be released when they are neither selected nor expanded and have no created child
+   * items. Unlike removed items, the released items leave an empty slot and are requested again
+   * as needed.
+   */
+  private boolean isEvictable( TreeItem item ) {
+    boolean result = isVirtual() && !item.getExpanded() && item.items.getCount() == 0;
+    for( int i = 0; result && i < selection.length; i++ ) {
+      result = selection[ i ] != item;
+    }
+    return result;
+  }
+
   final boolean checkData( TreeItem item, int index ) {
     boolean result = true;
     if( isVirtual() && !item.isCached() ) {
@@ -2257,9 +2298,9 @@ public class Tree extends Composite {
     int availableHeight = getClientArea().height;
     int height = getHeaderHeight();
     height += itemCount * getItemHeight();
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null && item.getExpanded() ) {
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      if( item.getExpanded() ) {
         height += item.getInnerHeight();
       }
     }
@@ -2279,9 +2320,9 @@ public class Tree extends Composite {
       result = totalWidth > availableWidth;
     } else {
       int maxWidth = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        TreeItem item = items[ i ];
-        if( item != null && !item.isInDispose() && item.isCached() ) {
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        TreeItem item = items.get( i );
+        if( !item.isInDispose() && item.isCached() ) {
           int itemWidth = getPreferredCellWidth( item, 0 );
           maxWidth = Math.max( maxWidth, itemWidth );
           if( item.getExpanded() ) {
@@ -2313,20 +2354,7 @@ public class Tree extends Composite {
   }
 
   void createItem( TreeItem item, int index ) {
-    if( itemCount == items.length ) {
-      /*
-       * Grow the array faster when redraw is off or the table is not visible.
-       * When the table is painted, the items array is resized to be smaller to
-       * reduce memory usage.
-       */
-      boolean small = /* drawCount == 0 && */isVisible();
-      int length = small ? items.length + 4 : Math.max( 4, items.length * 3 / 2 );
-      TreeItem[] newItems = new TreeItem[ length ];
-      System.arraycopy( items, 0, newItems, 0, items.length );
-      items = newItems;
-    }
-    System.arraycopy( items, index, items, index + 1, itemCount - index );
-    items[ index ] = item;
+    items.insert( index, item );
     itemCount++;
     adjustItemIndices( index );
   }
@@ -2336,17 +2364,14 @@ public class Tree extends Composite {
     if( itemCount == 0 ) {
       setTreeEmpty();
     } else {
-      System.arraycopy( items, index + 1, items, index, itemCount - index );
-      items[ itemCount ] = null;
+      items.remove( index );
     }
     adjustItemIndices( index );
   }
 
   private void adjustItemIndices( int start ) {
-    for( int i = start; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].index = i;
-      }
+    for( int i = items.nextIndex( start ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).index = i;
     }
   }
 
@@ -2355,10 +2380,8 @@ public class Tree extends Composite {
 
   @Override
   void reskinChildren( int flags ) {
-    for( int i = 0; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].reskinChildren( flags );
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).reskinChildren( flags );
     }
     TreeColumn[] columns = getColumns();
     if( columns != null ) {
@@ -166,6 +166,7 @@ public class TreeColumn extends Item {
    */
   public void addControlListener( ControlListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -192,6 +193,7 @@ public class TreeColumn extends Item {
    */
   public void removeControlListener( ControlListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -224,6 +226,7 @@ public class TreeColumn extends Item {
    */
   public void addSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -250,6 +253,7 @@ public class TreeColumn extends Item {
    */
   public void removeSelectionListener( SelectionListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       SWT.error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -413,6 +417,7 @@ public class TreeColumn extends Item {
    */
   public void pack() {
     checkWidget();
+    markChanged();
     int newWidth = getPreferredWidth();
     int contentWidth = parent.getMaxContentWidth( this );
     newWidth = Math.max( newWidth, contentWidth );
@@ -438,6 +443,7 @@ public class TreeColumn extends Item {
    */
   public void setAlignment( int alignment ) {
     checkWidget();
+    markChanged();
     if( ( alignment & ( SWT.LEFT | SWT.RIGHT | SWT.CENTER ) ) == 0 ) {
       return;
     }
@@ -469,6 +475,7 @@ public class TreeColumn extends Item {
    */
   public void setMoveable( boolean moveable ) {
     checkWidget();
+    markChanged();
     this.moveable = moveable;
   }
 
@@ -485,6 +492,7 @@ public class TreeColumn extends Item {
    */
   public void setResizable( boolean value ) {
     checkWidget();
+    markChanged();
     resizable = value;
   }
 
@@ -497,6 +505,7 @@ public class TreeColumn extends Item {
   @Override
   public void setText( String value ) {
     checkWidget();
+    markChanged();
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -519,6 +528,7 @@ public class TreeColumn extends Item {
    */
   public void setToolTipText( String toolTipText ) {
     checkWidget();
+    markChanged();
     if(    toolTipText != null
         && isToolTipMarkupEnabledFor( this )
         && !isValidationDisabledFor( this ) )
@@ -540,6 +550,8 @@ public class TreeColumn extends Item {
    */
   public void setWidth( int value ) {
     checkWidget();
+    markChanged();
+    parent.markColumnsAndItemsChanged();
     if( value >= 0 && width != value ) {
       width = value;
       parent.updateScrollBars();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -54,7 +54,7 @@ public class TreeItem extends Item {
 
   private final TreeItem parentItem;
   final Tree parent;
-  TreeItem[] items;
+  SparseItemArray<TreeItem> items;
   int itemCount;
   private transient ITreeItemAdapter treeItemAdapter;
   int index;
@@ -67,6 +67,7 @@ public class TreeItem extends Item {
   private boolean grayed;
   int depth;
   private boolean cached;
+  private boolean evicted;
   private int flatIndex;
 
   /**
@@ -246,24 +247,11 @@ public class TreeItem extends Item {
   }
 
   private void setEmpty() {
-    items = new TreeItem[ 4 ];
+    items = new SparseItemArray<>();
   }
 
   private void createItem( TreeItem item, int index ) {
-    if( itemCount == items.length ) {
-      /*
-       * Grow the array faster when redraw is off or the table is not visible.
-       * When the table is painted, the items array is resized to be smaller to
-       * reduce memory usage.
-       */
-      boolean small = /* drawCount == 0 && */isVisible();
-      int length = small ? items.length + 4 : Math.max( 4, items.length * 3 / 2 );
-      TreeItem[] newItems = new TreeItem[ length ];
-      System.arraycopy( items, 0, newItems, 0, items.length );
-      items = newItems;
-    }
-    System.arraycopy( items, index, items, index + 1, itemCount - index );
-    items[ index ] = item;
+    items.insert( index, item );
     itemCount++;
     adjustItemIndices( index );
   }
@@ -273,17 +261,14 @@ public class TreeItem extends Item {
     if( itemCount == 0 ) {
       setEmpty();
     } else {
-      System.arraycopy( items, index + 1, items, index, itemCount - index );
-      items[ itemCount ] = null;
+      items.remove( index );
     }
     adjustItemIndices( index );
   }
 
   private void adjustItemIndices( int start ) {
-    for( int i = start; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].index = i;
-      }
+    for( int i = items.nextIndex( start ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).index = i;
     }
   }
 
@@ -358,6 +343,7 @@ public class TreeItem extends Item {
    */
   public void setExpanded( boolean expanded ) {
     checkWidget();
+    markChanged();
     if( this.expanded != expanded && ( !expanded || itemCount > 0 ) ) {
       this.expanded = expanded;
       if( !expanded ) {
@@ -528,6 +514,7 @@ public class TreeItem extends Item {
    */
   public void setBackground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -561,6 +548,7 @@ public class TreeItem extends Item {
    */
   public void setFont( int index, Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -595,6 +583,7 @@ public class TreeItem extends Item {
    */
   public void setForeground( int index, Color color ) {
     checkWidget();
+    markChanged();
     if( color != null && color.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -627,6 +616,7 @@ public class TreeItem extends Item {
    */
   public void setFont( Font font ) {
     checkWidget();
+    markChanged();
     if( font != null && font.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -683,6 +673,7 @@ public class TreeItem extends Item {
    */
   public void setBackground( Color value ) {
     checkWidget();
+    markChanged();
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -758,6 +749,7 @@ public class TreeItem extends Item {
    */
   public void setForeground( Color value ) {
     checkWidget();
+    markChanged();
     if( value != null && value.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -780,6 +772,7 @@ public class TreeItem extends Item {
    */
   public void setChecked( boolean checked ) {
     checkWidget();
+    markChanged();
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.checked != checked ) {
         this.checked = checked;
@@ -819,6 +812,7 @@ public class TreeItem extends Item {
    */
   public void setGrayed( boolean grayed ) {
     checkWidget();
+    markChanged();
     if( ( parent.getStyle() & SWT.CHECK ) != 0 ) {
       if( this.grayed != grayed ) {
         this.grayed = grayed;
@@ -933,6 +927,7 @@ public class TreeItem extends Item {
    */
   public void setText( String[] value ) {
     checkWidget();
+    markChanged();
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -957,6 +952,7 @@ public class TreeItem extends Item {
   @Override
   public void setText( String text ) {
     checkWidget();
+    markChanged();
     setText( 0, text );
   }
 
@@ -974,6 +970,7 @@ public class TreeItem extends Item {
    */
   public void setText( int index, String text ) {
     checkWidget();
+    markChanged();
     if( text == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1108,10 +1105,11 @@ public class TreeItem extends Item {
    */
   public void clear( int index, boolean recursive ) {
     checkWidget();
+    markChanged();
     if( index < 0 || index >= itemCount ) {
       error( SWT.ERROR_INVALID_RANGE );
     }
-    TreeItem item = items[ index ];
+    TreeItem item = items.get( index );
     if( item != null ) {
       item.clear();
       if( recursive ) {
@@ -1126,6 +1124,7 @@ public class TreeItem extends Item {
   @Override
   public void setImage( Image image ) {
     checkWidget();
+    markChanged();
     setImage( 0, image );
   }
 
@@ -1146,6 +1145,7 @@ public class TreeItem extends Item {
    */
   public void setImage( int index, Image image ) {
     checkWidget();
+    markChanged();
     if( image != null && image.isDisposed() ) {
       error( SWT.ERROR_INVALID_ARGUMENT );
     }
@@ -1183,6 +1183,7 @@ public class TreeItem extends Item {
    */
   public void setImage( Image[] value ) {
     checkWidget();
+    markChanged();
     if( value == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -1220,13 +1221,12 @@ public class TreeItem extends Item {
 
   void clearAll( boolean recursive, boolean doVisualUpdate ) {
     checkWidget();
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null ) {
-        item.clear();
-        if( recursive ) {
-          item.clearAll( true, false );
-        }
+    markChanged();
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      item.clear();
+      if( recursive ) {
+        item.clearAll( true, false );
       }
     }
     if( parent.isVirtual() && doVisualUpdate ) {
@@ -1260,40 +1260,22 @@ public class TreeItem extends Item {
         result[ i ] = _getItem( i );
       }
     } else {
-      System.arraycopy( items, 0, result, 0, itemCount );
+      items.toArray( result );
     }
     return result;
   }
 
   TreeItem _getItem( int index ) {
-    if( parent.isVirtual() && items[ index ] == null ) {
-      items[ index ] = new TreeItem( parent, this, SWT.NONE, index, false );
+    TreeItem result = items.get( index );
+    if( parent.isVirtual() && result == null ) {
+      result = new TreeItem( parent, this, SWT.NONE, index, false );
+      items.set( index, result );
     }
-    return items[ index ];
+    return result;
   }
 
   TreeItem[] getCreatedItems() {
-    TreeItem[] result;
-    if( parent.isVirtual() ) {
-      int count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          count++;
-        }
-      }
-      result = new TreeItem[ count ];
-      count = 0;
-      for( int i = 0; i < itemCount; i++ ) {
-        if( items[ i ] != null ) {
-          result[ count ] = items[ i ];
-          count++;
-        }
-      }
-    } else {
-      result = new TreeItem[ itemCount ];
-      System.arraycopy( items, 0, result, 0, itemCount );
-    }
-    return result;
+    return items.toArray( new TreeItem[ items.getCount() ] );
   }
 
   /**
@@ -1380,9 +1362,11 @@ public class TreeItem extends Item {
    */
   public void removeAll() {
     checkWidget();
+    markChanged();
     for( int i = itemCount - 1; i >= 0; i-- ) {
-      if( items[ i ] != null ) {
-        items[ i ].dispose();
+      TreeItem item = items.get( i );
+      if( item != null ) {
+        item.dispose();
       } else {
         itemCount--;
       }
@@ -1402,21 +1386,19 @@ public class TreeItem extends Item {
    */
   public void setItemCount( int count ) {
     checkWidget();
+    markChanged();
     int oldItemCount = itemCount;
     int newItemCount = Math.max( 0, count );
     if( newItemCount != oldItemCount ) {
       int index = oldItemCount - 1;
       while( index >= newItemCount ) {
-        TreeItem item = items[ index ];
+        TreeItem item = items.get( index );
         if( item != null && !item.isDisposed() ) {
           item.dispose();
         }
         index--;
       }
-      int length = Math.max( 4, ( newItemCount + 3 ) / 4 * 4 );
-      TreeItem[] newItems = new TreeItem[ length ];
-      System.arraycopy( items, 0, newItems, 0, Math.min( newItemCount, itemCount ) );
-      items = newItems;
+      items.setSize( newItemCount );
       if( !parent.isVirtual() ) {
         for( int i = oldItemCount; i < newItemCount; i++ ) {
           new TreeItem( this, SWT.NONE, i );
@@ -1434,28 +1416,39 @@ public class TreeItem extends Item {
 
   @Override
   final void releaseChildren() {
-    for( int i = items.length - 1; i >= 0; i-- ) {
-      if( items[ i ] != null ) {
-        items[ i ].dispose();
-      }
+    TreeItem[] createdItems = getCreatedItems();
+    for( int i = createdItems.length - 1; i >= 0; i-- ) {
+      createdItems[ i ].dispose();
     }
   }
 
   @Override
   final void releaseParent() {
-    if( parentItem != null ) {
-      parentItem.destroyItem( index );
-    } else {
-      parent.destroyItem( index );
-    }
-    if( !parent.isInDispose() ) {
-      parent.invalidateFlatIndex();
-      parent.removeFromSelection( this );
-      parent.updateScrollBars();
+    if( !evicted ) {
+      if( parentItem != null ) {
+        parentItem.destroyItem( index );
+      } else {
+        parent.destroyItem( index );
+      }
+      if( !parent.isInDispose() ) {
+        parent.invalidateFlatIndex();
+        parent.removeFromSelection( this );
+        parent.updateScrollBars();
+      }
     }
     super.releaseParent();
   }
 
+  /*
+   * Disposes of an item that has already been removed from its parent by eviction. The slot
+   * in the parent remains, hence the client item is released instead of destroyed.
+   */
+  final void evict() {
+    evicted = true;
+    dispose();
+    index = -1;
+  }
+
   //////////////////
   // helping methods
 
@@ -1511,20 +1504,17 @@ public class TreeItem extends Item {
       }
     }
     if( recursive && expanded ) {
-      for( int i = 0; i < itemCount; i++ ) {
-        TreeItem item = items[ i ];
-        if( item != null ) {
-          item.clearPreferredWidthBuffers( recursive );
-        }
+      for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+        items.get( i ).clearPreferredWidthBuffers( recursive );
       }
     }
   }
 
   int getInnerHeight() {
     int innerHeight = itemCount * parent.getItemHeight();
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null && item.getExpanded() ) {
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      if( item.getExpanded() ) {
         innerHeight += item.getInnerHeight();
       }
     }
@@ -1587,10 +1577,8 @@ public class TreeItem extends Item {
       System.arraycopy( data, index, newData, index + 1, offSet );
       data = newData;
     }
-    for( int i = 0; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].shiftData( index );
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).shiftData( index );
     }
   }
 
@@ -1602,10 +1590,8 @@ public class TreeItem extends Item {
       System.arraycopy( data, index + 1, newData, index, offSet );
       data = newData;
     }
-    for( int i = 0; i < itemCount; i++ ) {
-      if( items[ i ] != null ) {
-        items[ i ].removeData( index );
-      }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      items.get( i ).removeData( index );
     }
   }
 
@@ -1625,16 +1611,14 @@ public class TreeItem extends Item {
 
   boolean deselectChildren( List<TreeItem> selectedItems ) {
     boolean result = false;
-    for( int i = 0; i < itemCount; i++ ) {
-      TreeItem item = items[ i ];
-      if( item != null ) {
-        if( selectedItems.contains( item ) ) {
-          selectedItems.remove( item );
-          result = true;
-        }
-        if( item.deselectChildren( selectedItems ) ) {
-          result = true;
-        }
+    for( int i = items.nextIndex( 0 ); i != -1; i = items.nextIndex( i + 1 ) ) {
+      TreeItem item = items.get( i );
+      if( selectedItems.contains( item ) ) {
+        selectedItems.remove( item );
+        result = true;
+      }
+      if( item.deselectChildren( selectedItems ) ) {
+        result = true;
       }
     }
     return result;
@@ -1653,6 +1637,11 @@ public class TreeItem extends Item {
       return itemParent.isDisposed();
     }
 
+    @Override
+    public boolean isEvicted() {
+      return evicted;
+    }
+
     @Override
     public Color getUserBackground() {
       return background;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -32,6 +32,7 @@ import org.eclipse.swt.internal.SWTEventListener;
 import org.eclipse.swt.internal.SerializableCompatibility;
 import org.eclipse.swt.internal.events.EventList;
 import org.eclipse.swt.internal.events.EventUtil;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.IWidgetGraphicsAdapter;
 import org.eclipse.swt.internal.widgets.IdGenerator;
@@ -105,6 +106,9 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
   static final int RELEASED = 1 << 11;
   static final int DISPOSE_SENT = 1 << 12;
 
+  /* The methods of this widget class report changes to the dirty widget tracker */
+  static final int REPORTS_CHANGES = 1 << 13;
+
   /* Notify of the opportunity to skin this widget */
   static final int SKIN_NEEDED = 1 << 21;
 
@@ -118,6 +122,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
 
   Widget() {
     // prevent instantiation from outside this package
+    initReportsChanges();
   }
 
   /**
@@ -156,8 +161,13 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     }
     this.style = style;
     display = parent.display;
+    initReportsChanges();
     reskinWidget();
     remoteAdapter = new ParentHolderRemoteAdapter( parent );
+    DirtyWidgets dirtyWidgets = display.getDirtyWidgets();
+    if( dirtyWidgets != null ) {
+      dirtyWidgets.markCreated( this, parent );
+    }
   }
 
   /**
@@ -241,6 +251,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void setData( Object data ) {
     checkWidget();
+    markChanged();
     if( hasState( KEYED_DATA ) ) {
       ( ( Object[] )this.data )[ 0 ] = data;
     } else {
@@ -315,6 +326,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void setData( String key, Object value ) {
     checkWidget();
+    markChanged();
     if( key == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -449,6 +461,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void addDisposeListener( DisposeListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -475,6 +488,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void removeDisposeListener( DisposeListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -513,6 +527,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void addListener( int eventType, Listener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -549,6 +564,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void removeListener( int eventType, Listener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -584,6 +600,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void notifyListeners( int eventType, Event event ) {
     checkWidget();
+    markChanged();
     Event newEvent = event == null ? new Event() : event;
     newEvent.widget = this;
     newEvent.type = eventType;
@@ -671,6 +688,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   protected void removeListener( int eventType, SWTEventListener listener ) {
     checkWidget();
+    markChanged();
     if( listener == null ) {
       error( SWT.ERROR_NULL_ARGUMENT );
     }
@@ -736,6 +754,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
    */
   public void reskin( int flags ) {
     checkWidget();
+    markChanged();
     reskinWidget();
     if( ( flags & SWT.ALL ) != 0 ) {
       reskinChildren( flags );
@@ -836,6 +855,7 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
       if( !isValidThread() ) {
         error( SWT.ERROR_THREAD_INVALID_ACCESS );
       }
+      markChanged();
       if( !hasState( DISPOSE_SENT ) ) {
         addState( DISPOSE_SENT );
         notifyListeners( SWT.Dispose, new Event() );
@@ -958,6 +978,28 @@ public abstract class Widget implements Adaptable, SerializableCompatibility {
     if( hasState( DISPOSED ) ) {
       error( SWT.ERROR_WIDGET_DISPOSED );
     }
+    if( !hasState( REPORTS_CHANGES ) ) {
+      // methods of subclasses from other packages may change the receiver without reporting it
+      markChanged();
+    }
+  }
+
+  /*
+   * Reports a change of the receiver to the dirty widget tracker of the display, if any. Every
+   * public method of this package that may change a widget calls markChanged() right after
+   * checkWidget(), before the change is made. Methods that only query the state of a widget don't.
+   */
+  final void markChanged() {
+    DirtyWidgets dirtyWidgets = display == null ? null : display.getDirtyWidgets();
+    if( dirtyWidgets != null ) {
+      dirtyWidgets.markChanged( this );
+    }
+  }
+
+  private void initReportsChanges() {
+    if( getClass().getPackage() == Widget.class.getPackage() ) {
+      addState( REPORTS_CHANGES );
+    }
   }
 
   /*
@@ -23,12 +23,16 @@ import static org.eclipse.rap.rwt.internal.service.ContextProvider.getRequest;
 
 import java.io.IOException;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.client.WebClient;
 import org.eclipse.rap.rwt.client.service.ExitConfirmation;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.DisposedWidgets;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
@@ -38,15 +42,21 @@ import org.eclipse.rap.rwt.internal.lifecycle.ReparentedControls;
 import org.eclipse.rap.rwt.internal.lifecycle.UITestUtil;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessage;
 import org.eclipse.rap.rwt.internal.protocol.Operation;
+import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolUtil;
 import org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory;
+import org.eclipse.rap.rwt.internal.protocol.WidgetOperationHandler;
+import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectLifeCycleAdapter;
+import org.eclipse.rap.rwt.internal.remote.RemoteObjectRegistry;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
 import org.eclipse.rap.rwt.internal.textsize.MeasurementUtil;
 import org.eclipse.rap.rwt.internal.util.ActiveKeysUtil;
 import org.eclipse.rap.rwt.remote.OperationHandler;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.internal.widgets.ControlRemoteAdapter;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.internal.widgets.WidgetTreeUtil;
@@ -66,7 +76,11 @@ public class DisplayLCA {
 
   public void readData( Display display ) {
     handleOperations( display );
-    visitWidgets( display );
+    if( isIncremental( display ) ) {
+      visitTargetWidgets( display );
+    } else {
+      visitWidgets( display );
+    }
     DNDSupport.handleOperations();
     RemoteObjectLifeCycleAdapter.readData( ProtocolUtil.getClientMessage() );
   }
@@ -79,16 +93,21 @@ public class DisplayLCA {
     ActiveKeysUtil.preserveActiveKeys( display );
     ActiveKeysUtil.preserveCancelKeys( display );
     ActiveKeysUtil.preserveMnemonicActivator( display );
-    if( adapter.isInitialized() ) {
-      for( Shell shell : getShells( display ) ) {
-        WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
-          @Override
-          public boolean visit( Widget widget ) {
-            getLCA( widget ).preserveValues( widget );
-            return true;
-          }
-        } );
+    if( isIncremental( display ) ) {
+      DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+      if( RWTProperties.isIncrementalRenderCheck() ) {
+        dirtyWidgets.suspend();
+        try {
+          preserveWidgets( display );
+        } finally {
+          dirtyWidgets.resume();
+        }
+        dirtyWidgets.checkRecorded();
+      } else {
+        dirtyWidgets.preserveRecorded();
       }
+    } else if( adapter.isInitialized() ) {
+      preserveWidgets( display );
     }
   }
 
@@ -113,6 +132,32 @@ public class DisplayLCA {
   }
 
   public void clearPreserved( Display display ) {
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    if( dirtyWidgets != null ) {
+      dirtyWidgets.suspend();
+      try {
+        clearPreserved( display, dirtyWidgets );
+      } finally {
+        dirtyWidgets.resume();
+      }
+      dirtyWidgets.reset();
+    } else {
+      clearAllPreserved( display );
+    }
+  }
+
+  private static void clearPreserved( Display display, DirtyWidgets dirtyWidgets ) {
+    if( isIncremental( display ) && !RWTProperties.isIncrementalRenderCheck() ) {
+      ( ( WidgetRemoteAdapter )getAdapter( display ) ).clearPreserved();
+      for( Widget widget : dirtyWidgets.getAll() ) {
+        ( ( WidgetRemoteAdapter )getAdapter( widget ) ).clearPreserved();
+      }
+    } else {
+      clearAllPreserved( display );
+    }
+  }
+
+  private static void clearAllPreserved( Display display ) {
     ( ( WidgetRemoteAdapter )getAdapter( display ) ).clearPreserved();
     for( Shell shell : getShells( display ) ) {
       WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
@@ -125,6 +170,18 @@ public class DisplayLCA {
     }
   }
 
+  private static void preserveWidgets( Display display ) {
+    for( Shell shell : getShells( display ) ) {
+      WidgetTreeUtil.accept( shell, new WidgetTreeVisitor() {
+        @Override
+        public boolean visit( Widget widget ) {
+          getLCA( widget ).preserveValues( widget );
+          return true;
+        }
+      } );
+    }
+  }
+
   private static void handleOperations( Display display ) {
     ClientMessage clientMessage = ProtocolUtil.getClientMessage();
     List<Operation> operations = clientMessage .getAllOperationsFor( getId( display ) );
@@ -149,6 +206,41 @@ public class DisplayLCA {
     }
   }
 
+  /*
+   * Reads the data of the shells and of all widgets that are targeted by an operation of the
+   * client message. The data of any other widget is left untouched by readData.
+   */
+  private static void visitTargetWidgets( Display display ) {
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    Set<Widget> widgets = new LinkedHashSet<>();
+    for( Shell shell : getShells( display ) ) {
+      widgets.add( shell );
+    }
+    for( Operation operation : ProtocolUtil.getClientMessage().getOperations() ) {
+      Widget widget = findWidget( operation.getTarget() );
+      if( widget != null ) {
+        widgets.add( widget );
+        dirtyWidgets.markChanged( widget );
+        if( widget instanceof Shell && ( ( Shell )widget ).getMenuBar() != null ) {
+          dirtyWidgets.markChanged( ( ( Shell )widget ).getMenuBar() );
+        }
+      }
+    }
+    for( Widget widget : widgets ) {
+      if( !widget.isDisposed() ) {
+        getLCA( widget ).readData( widget );
+      }
+    }
+  }
+
+  private static Widget findWidget( String id ) {
+    RemoteObjectImpl remoteObject = RemoteObjectRegistry.getInstance().get( id );
+    if( remoteObject != null && remoteObject.getHandler() instanceof WidgetOperationHandler ) {
+      return ( ( WidgetOperationHandler<?> )remoteObject.getHandler() ).getWidget();
+    }
+    return null;
+  }
+
   private static void renderOverflow( Display display ) {
     if( !getAdapter( display ).isInitialized() ) {
       String overflow = getEntryPointProperties().get( WebClient.PAGE_OVERFLOW );
@@ -170,13 +262,67 @@ public class DisplayLCA {
   }
 
   private static void renderShells( Display display ) throws IOException {
-    RenderVisitor visitor = new RenderVisitor();
+    DirtyWidgets dirtyWidgets = getDirtyWidgets( display );
+    if( isIncremental( display ) ) {
+      dirtyWidgets.suspend();
+      try {
+        DirtyRenderVisitor visitor = new DirtyRenderVisitor( dirtyWidgets );
+        renderShells( display, visitor );
+        if( RWTProperties.isIncrementalRenderCheck() ) {
+          checkRenderedWidgets( display, dirtyWidgets, visitor.getRenderedWidgets() );
+        }
+      } finally {
+        dirtyWidgets.resume();
+      }
+    } else {
+      renderShells( display, new RenderVisitor() );
+    }
+  }
+
+  private static void renderShells( Display display, RenderVisitor visitor ) throws IOException {
     for( Shell shell : getShells( display ) ) {
       WidgetTreeUtil.accept( shell, visitor );
       visitor.reThrowProblem();
     }
   }
 
+  /*
+   * Renders all widgets that have been skipped by the incremental render into a separate message.
+   * Any operation in this message is a change that has not been tracked. The rendered widgets have
+   * been checked when they were recorded, since a widget that was changed before it was recorded
+   * renders with wrong preserved values.
+   */
+  private static void checkRenderedWidgets( Display display,
+                                            DirtyWidgets dirtyWidgets,
+                                            final Set<Widget> renderedWidgets )
+    throws IOException
+  {
+    ServiceContext context = ContextProvider.getContext();
+    ProtocolMessageWriter writer = context.getProtocolWriter();
+    ProtocolMessageWriter checkWriter = new ProtocolMessageWriter();
+    context.setProtocolWriter( checkWriter );
+    try {
+      renderShells( display, new RenderVisitor() {
+        @Override
+        public boolean visit( Widget widget ) {
+          return renderedWidgets.contains( widget ) || super.visit( widget );
+        }
+      } );
+    } finally {
+      context.setProtocolWriter( writer );
+    }
+    Set<String> missedIds = new LinkedHashSet<>();
+    for( Widget widget : dirtyWidgets.getUntrackedChanges() ) {
+      missedIds.add( getId( widget ) );
+    }
+    for( Operation operation : checkWriter.createMessage().getOperations() ) {
+      missedIds.add( operation.getTarget() );
+    }
+    if( !missedIds.isEmpty() ) {
+      throw new IllegalStateException( "Incremental render missed changes of: " + missedIds );
+    }
+  }
+
   private static void renderExitConfirmation( Display display ) {
     String exitConfirmation = getExitConfirmation();
     RemoteAdapter adapter = getAdapter( display );
@@ -286,7 +432,15 @@ public class DisplayLCA {
     return getDisplayAdapter( display ).getShells();
   }
 
-  private static final class RenderVisitor implements WidgetTreeVisitor {
+  private static DirtyWidgets getDirtyWidgets( Display display ) {
+    return getDisplayAdapter( display ).getDirtyWidgets();
+  }
+
+  private static boolean isIncremental( Display display ) {
+    return getDirtyWidgets( display ) != null && getAdapter( display ).isInitialized();
+  }
+
+  private static class RenderVisitor implements WidgetTreeVisitor {
 
     private IOException ioProblem;
 
@@ -322,4 +476,32 @@ public class DisplayLCA {
     }
   }
 
+  /*
+   * Renders only dirty widgets and descends only into subtrees that contain dirty widgets.
+   */
+  private static final class DirtyRenderVisitor extends RenderVisitor {
+
+    private final DirtyWidgets dirtyWidgets;
+    private final Set<Widget> renderedWidgets;
+
+    DirtyRenderVisitor( DirtyWidgets dirtyWidgets ) {
+      this.dirtyWidgets = dirtyWidgets;
+      renderedWidgets = new HashSet<>();
+    }
+
+    @Override
+    public boolean visit( Widget widget ) {
+      if( dirtyWidgets.isDirty( widget ) && renderedWidgets.add( widget ) ) {
+        if( !super.visit( widget ) ) {
+          return false;
+        }
+      }
+      return dirtyWidgets.isOnDirtyPath( widget );
+    }
+
+    Set<Widget> getRenderedWidgets() {
+      return renderedWidgets;
+    }
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -22,6 +22,7 @@ import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCAUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
+import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.remote.RemoteObject;
 import org.eclipse.swt.graphics.Color;
 import org.eclipse.swt.graphics.Font;
@@ -33,6 +34,7 @@ import org.eclipse.swt.internal.widgets.IWidgetFontAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.widgets.Table;
 import org.eclipse.swt.widgets.TableItem;
+import org.eclipse.swt.widgets.Widget;
 
 
 public final class TableItemLCA extends WidgetLCA<TableItem> {
@@ -103,6 +105,21 @@ public final class TableItemLCA extends WidgetLCA<TableItem> {
     }
   }
 
+  @Override
+  public void renderDispose( TableItem item ) throws IOException {
+    if( getTableItemAdapter( item ).isEvicted() ) {
+      // The client item is released from its id, but keeps its slot as a placeholder
+      RemoteObject remoteObject = getRemoteObject( item );
+      Widget parent = WidgetUtil.getAdapter( item ).getParent();
+      if( parent == null || !parent.isDisposed() ) {
+        remoteObject.call( "release", null );
+      }
+      ( ( RemoteObjectImpl )remoteObject ).markDestroyed();
+    } else {
+      super.renderDispose( item );
+    }
+  }
+
   private static void renderProperties( TableItem item ) {
     renderProperty( item, PROP_TEXTS, getTexts( item ), null );
     renderProperty( item, PROP_IMAGES, getImages( item ), null );
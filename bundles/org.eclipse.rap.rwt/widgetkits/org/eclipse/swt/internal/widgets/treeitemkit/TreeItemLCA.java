@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -129,7 +129,14 @@ public final class TreeItemLCA extends WidgetLCA<TreeItem> {
   public void renderDispose( TreeItem item ) throws IOException {
     RemoteObject remoteObject = getRemoteObject( item );
     // The parent by the clients logic is the parent-item, not the tree (except for root layer)
-    if( !getTreeItemAdapter( item ).isParentDisposed() ) {
+    ITreeItemAdapter adapter = getTreeItemAdapter( item );
+    if( adapter.isEvicted() ) {
+      // The client item is released from its id, but keeps its slot as a placeholder
+      if( !adapter.isParentDisposed() ) {
+        remoteObject.call( "release", null );
+      }
+      ( ( RemoteObjectImpl )remoteObject ).markDestroyed();
+    } else if( !adapter.isParentDisposed() ) {
       remoteObject.destroy();
     } else {
       ( ( RemoteObjectImpl )remoteObject ).markDestroyed();
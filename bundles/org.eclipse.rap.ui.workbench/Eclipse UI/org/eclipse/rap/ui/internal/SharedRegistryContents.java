@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.ui.internal;
+
+import org.eclipse.core.runtime.IRegistryChangeEvent;
+import org.eclipse.core.runtime.IRegistryChangeListener;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.service.ApplicationContext;
+import org.eclipse.rap.rwt.service.ApplicationContextEvent;
+import org.eclipse.rap.rwt.service.ApplicationContextListener;
+
+
+/**
+ * Holds contents that are read from extension points once per application and shared by all UI
+ * sessions. The contents are read on first access and read again on the next access after one of
+ * the extension points has changed. Callers that hold the previous contents are not affected.
+ * <p>
+ * The contents must not be changed after they have been read. Instances must be held by
+ * application singletons.
+ * </p>
+ */
+public abstract class SharedRegistryContents<T> implements IRegistryChangeListener {
+
+  private final String namespace;
+  private final String[] extensionPoints;
+  private volatile T contents;
+  private ApplicationContext applicationContext;
+  private ApplicationContextListener applicationContextListener;
+
+  protected SharedRegistryContents( String namespace, String... extensionPoints ) {
+    this.namespace = namespace;
+    this.extensionPoints = extensionPoints;
+  }
+
+  /**
+   * Returns the current contents, reads them if necessary.
+   */
+  public T get() {
+    T result = contents;
+    if( result == null ) {
+      synchronized( this ) {
+        result = contents;
+        if( result == null ) {
+          attach();
+          result = read();
+          contents = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  @Override
+  public void registryChanged( IRegistryChangeEvent event ) {
+    for( String extensionPoint : extensionPoints ) {
+      if( event.getExtensionDeltas( namespace, extensionPoint ).length > 0 ) {
+        // wait for a read in progress, its contents may already be outdated
+        synchronized( this ) {
+          contents = null;
+        }
+        return;
+      }
+    }
+  }
+
+  /**
+   * Reads the contents from the extension registry. Called with the lock of this instance held.
+   */
+  protected abstract T read();
+
+  private void attach() {
+    if( applicationContext == null ) {
+      Platform.getExtensionRegistry().addRegistryChangeListener( this, namespace );
+      applicationContext = RWT.getApplicationContext();
+      applicationContextListener = new ApplicationContextListener() {
+        @Override
+        public void beforeDestroy( ApplicationContextEvent event ) {
+          detach();
+        }
+      };
+      applicationContext.addApplicationContextListener( applicationContextListener );
+    }
+  }
+
+  private synchronized void detach() {
+    Platform.getExtensionRegistry().removeRegistryChangeListener( this );
+    if( applicationContext != null ) {
+      applicationContext.removeApplicationContextListener( applicationContextListener );
+      applicationContext = null;
+      applicationContextListener = null;
+    }
+    contents = null;
+  }
+
+}
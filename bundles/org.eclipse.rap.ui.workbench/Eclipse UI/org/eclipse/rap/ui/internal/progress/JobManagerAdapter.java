@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2012 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,9 +12,11 @@
 package org.eclipse.rap.ui.internal.progress;
 
 import java.lang.reflect.Field;
-import java.util.HashMap;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -25,6 +27,7 @@ import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.core.runtime.jobs.JobChangeAdapter;
 import org.eclipse.core.runtime.jobs.ProgressProvider;
 import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.SingletonUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
@@ -39,7 +42,9 @@ import org.eclipse.ui.progress.UIJob;
 public class JobManagerAdapter extends ProgressProvider implements IJobChangeListener {
 
   private static JobManagerAdapter _instance;
-  private final Map jobs;
+  // Jobs are tracked in a concurrent map, state changes of jobs from different
+  // sessions neither block each other nor the job manager
+  private final Map<Job, SessionJob> jobs;
   private final ProgressManager defaultProgressManager;
   final Object lock;
 
@@ -51,8 +56,8 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
   }
 
   private JobManagerAdapter() {
-    // To avoid deadlocks we have to use the same synchronization lock.
-    // If anyone has a better idea - you're welcome.
+    // The lock of the job manager guards its set of running jobs, which is
+    // modified when a session is destroyed while its jobs are still running.
     IJobManager jobManager = Job.getJobManager();
     Class clazz = jobManager.getClass();
     try {
@@ -63,7 +68,7 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
       String msg = "Could not initialize synchronization lock.";
       throw new IllegalStateException( msg );
     }
-    jobs = new HashMap();
+    jobs = new ConcurrentHashMap<Job, SessionJob>();
     defaultProgressManager = new ProgressManager();
     Job.getJobManager().setProgressProvider( this );
     Job.getJobManager().addJobChangeListener( this );
@@ -114,27 +119,16 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
   }
 
   public void done( final IJobChangeEvent event ) {
-    final ProgressManager[] manager = new ProgressManager[ 1 ];
-    Display display = null;
-    synchronized( lock ) {
-      try {
-        manager[ 0 ] = findProgressManager( event.getJob() );
-        display = ( Display )jobs.get( event.getJob() );
-      } finally {
-        jobs.remove( event.getJob() );
-      }
-    }
-    if( display != null && !display.isDisposed() ) {
-      display.asyncExec( new Runnable() {
-        public void run() {
-          ServerPushManager.getInstance().deactivateServerPushFor( event.getJob() );
-          manager[ 0 ].changeListener.done( event );
-        }
-      } );
+    SessionJob sessionJob = jobs.remove( event.getJob() );
+    if( sessionJob != null && !sessionJob.display.isDisposed() ) {
+      notifyDone( sessionJob.display, event );
     } else {
       // RAP [rh] fixes bug 283595
       event.getJob().cancel();
-      manager[ 0 ].changeListener.done( event );
+      ProgressManager manager = sessionJob != null
+                              ? sessionJob.progressManager
+                              : defaultProgressManager;
+      manager.changeListener.done( event );
     }
   }
 
@@ -144,21 +138,25 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
   }
 
   public void scheduled( final IJobChangeEvent event ) {
-    ProgressManager manager;
+    ProgressManager manager = defaultProgressManager;
     Display display = findDisplay( event.getJob() );
-    synchronized( lock ) {
-      if( display != null ) {
-        jobs.put( event.getJob(), display );
-        Runnable runnable = new Runnable() {
-
-          public void run() {
-            bindToSession( event.getJob() );
-            ServerPushManager.getInstance().activateServerPushFor( event.getJob() );
-          }
-        };
-        RWT.getUISession( display ).exec( runnable );
+    if( display != null ) {
+      final ProgressManager[] sessionManager = new ProgressManager[ 1 ];
+      Runnable runnable = new Runnable() {
+
+        public void run() {
+          sessionManager[ 0 ] = ProgressManager.getInstance();
+          bindToSession( event.getJob() );
+          ServerPushManager.getInstance().activateServerPushFor( event.getJob() );
+        }
+      };
+      RWT.getUISession( display ).exec( runnable );
+      if( sessionManager[ 0 ] == null ) {
+        String msg = "ProgressManager must not be null.";
+        throw new IllegalStateException( msg );
       }
-      manager = findProgressManager( event.getJob() );
+      manager = sessionManager[ 0 ];
+      jobs.put( event.getJob(), new SessionJob( display, manager ) );
     }
     manager.changeListener.scheduled( event );
   }
@@ -180,24 +178,18 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
   }
 
   private ProgressManager findSessionProgressManager( final Job job ) {
-    synchronized( lock ) {
-      final ProgressManager result[] = new ProgressManager[ 1 ];
-      Display display = ( Display )jobs.get( job );
-      if( display != null ) {
-        RWT.getUISession( display ).exec( new Runnable() {
-          public void run() {
-            result[ 0 ] = ProgressManager.getInstance();
-          }
-        } );
-        if( result[ 0 ] == null ) {
-          String msg = "ProgressManager must not be null.";
-          throw new IllegalStateException( msg );
-        }
-      } else {
-        result[ 0 ] = null;
-      }
-      return result[ 0 ];
-    }
+    SessionJob sessionJob = jobs.get( job );
+    return sessionJob != null ? sessionJob.progressManager : null;
+  }
+
+  private static void notifyDone( Display display, IJobChangeEvent event ) {
+    UISession uiSession = RWT.getUISession( display );
+    DoneNotifications notifications
+      = SingletonUtil.getUniqueInstance( DoneNotifications.class, uiSession );
+    notifications.add( event );
+    // a pending notification runnable of the session is replaced by itself and delivers
+    // this event together with all others that finish before the next round trip
+    display.asyncExec( notifications, notifications );
   }
 
   private static Display findDisplay( final Job job ) {
@@ -229,9 +221,7 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
           try {
             cleanup( job );
           } finally {
-            synchronized( lock ) {
-              jobs.remove( job );
-            }
+            jobs.remove( job );
           }
         }
       }
@@ -244,9 +234,9 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
         // can be catched in the set on session timeouts.
         // Don't know a proper solution yet.
         // Note that this is still under investigation.
-        Display display = ( Display )jobs.get( jobToRemove );
-        if( display != null ) {
-          RWT.getUISession( display ).exec( new Runnable() {
+        SessionJob sessionJob = jobs.get( jobToRemove );
+        if( sessionJob != null ) {
+          RWT.getUISession( sessionJob.display ).exec( new Runnable() {
             public void run() {
               jobToRemove.cancel();
               jobToRemove.addJobChangeListener( new JobCanceler() );
@@ -287,4 +277,44 @@ public class JobManagerAdapter extends ProgressProvider implements IJobChangeLis
       }
     } );
   }
+
+  private static final class SessionJob {
+
+    final Display display;
+    final ProgressManager progressManager;
+
+    SessionJob( Display display, ProgressManager progressManager ) {
+      this.display = display;
+      this.progressManager = progressManager;
+    }
+  }
+
+  /*
+   * Collects the done events of the jobs of one UI session. They are delivered in batches on the
+   * UI thread.
+   */
+  private static final class DoneNotifications implements Runnable {
+
+    private final Queue<IJobChangeEvent> events;
+
+    private DoneNotifications() {
+      events = new ConcurrentLinkedQueue<IJobChangeEvent>();
+    }
+
+    void add( IJobChangeEvent event ) {
+      events.add( event );
+    }
+
+    public void run() {
+      ServerPushManager serverPushManager = ServerPushManager.getInstance();
+      ProgressManager progressManager = ProgressManager.getInstance();
+      IJobChangeEvent event = events.poll();
+      while( event != null ) {
+        serverPushManager.deactivateServerPushFor( event.getJob() );
+        progressManager.changeListener.done( event );
+        event = events.poll();
+      }
+    }
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal;
 
@@ -21,18 +22,47 @@ import org.eclipse.jface.action.IMenuManager;
 import org.eclipse.jface.viewers.ISelection;
 import org.eclipse.jface.viewers.ISelectionProvider;
 import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.ui.internal.SharedRegistryContents;
 import org.eclipse.ui.IWorkbenchPart;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 
 /**
  * This manager is used to populate a popup menu manager with actions
  * for a given type.
+ * <p>
+ * RAP: The manager is session scoped. The object contributions are read once
+ * per application, the contributors are created per session because they
+ * hold the actions of the session.
+ * </p>
  */
 public class ObjectActionContributorManager extends ObjectContributorManager {
 // RAP [rst]
 //    private static ObjectActionContributorManager sharedInstance;
 
+    /**
+     * The object contribution elements of all sessions.
+     */
+    // Application scoped contents
+    private static final class SharedObjectContributions extends SharedRegistryContents {
+
+    	private SharedObjectContributions() {
+    		super(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+    				IWorkbenchRegistryConstants.PL_POPUP_MENU);
+    	}
+
+    	static SharedObjectContributions getInstance() {
+    		return SingletonUtil.getUniqueInstance(
+    				SharedObjectContributions.class, RWT.getApplicationContext());
+    	}
+
+		protected Object read() {
+			return new ObjectActionContributorReader().readPopupContributors();
+		}
+    }
+
     /**
      * PopupMenuManager constructor.
      */
@@ -121,20 +151,32 @@ public class ObjectActionContributorManager extends ObjectContributorManager {
      * Loads the contributors from the workbench's registry.
      */
     private void loadContributors() {
-        ObjectActionContributorReader reader = new ObjectActionContributorReader();
-        reader.readPopupContributors(this);
+    	// The object contributions are read once per application
+        registerObjectContributions((List) SharedObjectContributions
+				.getInstance().get());
+    }
+
+    /**
+     * Creates and registers a contributor for each of the given object
+     * contribution elements.
+     */
+    private void registerObjectContributions(List elements) {
+    	for (int i = 0; i < elements.size(); i++) {
+    		IConfigurationElement element = (IConfigurationElement) elements.get(i);
+    		if (element.isValid()) {
+    			IObjectContributor contributor = new ObjectActionContributor(element);
+    			registerContributor(contributor, element
+    					.getAttribute(IWorkbenchRegistryConstants.ATT_OBJECTCLASS));
+    		}
+    	}
     }
     
 	/* (non-Javadoc)
 	 * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#addExtension(org.eclipse.core.runtime.dynamicHelpers.IExtensionTracker, org.eclipse.core.runtime.IExtension)
 	 */
 	public void addExtension(IExtensionTracker tracker, IExtension addedExtension) {
-        IConfigurationElement[] addedElements = addedExtension.getConfigurationElements();
-        for (int i = 0; i < addedElements.length; i++) {
-            ObjectActionContributorReader reader = new ObjectActionContributorReader();
-            reader.setManager(this);
-            reader.readElement(addedElements[i]);
-        }
+        ObjectActionContributorReader reader = new ObjectActionContributorReader();
+        registerObjectContributions(reader.readPopupContributors(addedExtension));
     }
 
 	/* (non-Javadoc)
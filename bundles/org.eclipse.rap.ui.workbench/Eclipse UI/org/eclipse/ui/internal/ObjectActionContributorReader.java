@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,10 +7,16 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.ui.PlatformUI;
@@ -20,13 +26,18 @@ import org.eclipse.ui.internal.registry.RegistryReader;
 /**
  * This reader loads the popup menu manager with all the
  * popup menu contributors found in the workbench registry.
+ * <p>
+ * RAP: The reader returns the object contribution elements instead of
+ * contributors. Contributors hold the actions of a session, the elements are
+ * shared by the managers of all UI sessions.
+ * </p>
  */
 public class ObjectActionContributorReader extends RegistryReader {
 
-    private ObjectActionContributorManager manager;
+    private List contributions = new ArrayList();
 
     /**
-     * Creates popup menu contributor from this element.
+     * Collects the object contribution element.
      */
     protected void processObjectContribution(IConfigurationElement element) {
         String objectClassName = element.getAttribute(IWorkbenchRegistryConstants.ATT_OBJECTCLASS);
@@ -35,8 +46,7 @@ public class ObjectActionContributorReader extends RegistryReader {
             return;
         }
 
-        IObjectContributor contributor = new ObjectActionContributor(element);
-        manager.registerContributor(contributor, objectClassName);
+        contributions.add(element);
     }
 
     /**
@@ -56,13 +66,12 @@ public class ObjectActionContributorReader extends RegistryReader {
     }
 
     /**
-     * Reads the registry and registers popup menu contributors
+     * Reads the registry and returns the object contributions
      * found there.
      * 
-     * @param mng the manager to read into
+     * @return an unmodifiable list of object contribution elements
      */
-    public void readPopupContributors(ObjectActionContributorManager mng) {
-        setManager(mng);
+    public List readPopupContributors() {
         IExtensionRegistry registry = Platform.getExtensionRegistry();
         // RAP [bm]: 
 //        readRegistry(registry, PlatformUI.PLUGIN_ID,
@@ -70,14 +79,17 @@ public class ObjectActionContributorReader extends RegistryReader {
         readRegistry(registry, PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
               IWorkbenchRegistryConstants.PL_POPUP_MENU);
         // RAPEND: [bm] 
+        return Collections.unmodifiableList(contributions);
     }
 
     /**
-     * Set the manager to read into. 
+     * Reads the object contributions of an extension that has been added.
      * 
-     * @param mng the manager
+     * @param extension the extension
+     * @return an unmodifiable list of object contribution elements
      */
-    public void setManager(ObjectActionContributorManager mng) {
-        manager = mng;
+    public List readPopupContributors(IExtension extension) {
+        readExtension(extension);
+        return Collections.unmodifiableList(contributions);
     }
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal;
 
@@ -59,7 +60,9 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 	/** 
 	 * @since 3.1
 	 */
-	private class ContributorRecord {
+	// Public, as the records are read once per application and registered
+	// with the managers of all sessions, see registerContributors(List)
+	public static final class ContributorRecord {
 		/**
 		 * @param contributor
 		 * @param targetType
@@ -69,8 +72,8 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
 			this.objectClassName = targetType;
 		}
 		
-		String objectClassName;
-		IObjectContributor contributor;
+		final String objectClassName;
+		final IObjectContributor contributor;
 	}
 
     /** Table of contributors. */
@@ -337,6 +340,23 @@ public abstract class ObjectContributorManager implements IExtensionChangeHandle
         }
     }
 
+    /**
+     * Registers the contributors of the given records. Contributors whose
+     * extension has been removed in the meantime are skipped.
+     * 
+     * @param records a list of <code>ContributorRecord</code>s
+     */
+    protected void registerContributors(List records) {
+    	for (int i = 0; i < records.size(); i++) {
+    		ContributorRecord record = (ContributorRecord) records.get(i);
+            IConfigurationElement element = (IConfigurationElement) Util.getAdapter(
+            		record.contributor, IConfigurationElement.class);
+            if (element == null || element.isValid()) {
+            	registerContributor(record.contributor, record.objectClassName);
+            }
+    	}
+    }
+
     /**
      * Unregister all contributors.
      */
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Oakland Software (Francis Upton) <francisu@ieee.org> - bug 219273 
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.dialogs;
 
@@ -19,12 +20,14 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 
-import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
 import org.eclipse.jface.preference.PreferenceNode;
+import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.ui.internal.SharedRegistryContents;
+import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.ObjectContributorManager;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 import org.eclipse.ui.internal.registry.PropertyPagesRegistryReader;
@@ -32,12 +35,39 @@ import org.eclipse.ui.internal.registry.PropertyPagesRegistryReader;
 /**
  * Extends generic object contributor manager by loading property page
  * contributors from the registry.
+ * <p>
+ * RAP: The manager is session scoped. The property page contributors are
+ * read once per application and registered with the managers of all
+ * sessions.
+ * </p>
  */
 
 public class PropertyPageContributorManager extends ObjectContributorManager {
 // RAP [rst]
 //    private static PropertyPageContributorManager sharedInstance = null;
 
+	/**
+	 * The property page contributors of all sessions.
+	 */
+	// Application scoped contents
+	private static final class SharedPropertyPages extends SharedRegistryContents {
+
+		private SharedPropertyPages() {
+			super(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+					IWorkbenchRegistryConstants.PL_PROPERTY_PAGES);
+		}
+
+		static SharedPropertyPages getInstance() {
+			return SingletonUtil.getUniqueInstance(SharedPropertyPages.class,
+					RWT.getApplicationContext());
+		}
+
+		protected Object read() {
+			return new PropertyPagesRegistryReader().readPropertyPages(Platform
+					.getExtensionRegistry());
+		}
+	}
+
 	private class CategorizedPageNode {
 		RegistryPageContributor contributor;
 
@@ -174,20 +204,16 @@ public class PropertyPageContributorManager extends ObjectContributorManager {
 	 * Loads property page contributors from the registry.
 	 */
 	private void loadContributors() {
-		PropertyPagesRegistryReader reader = new PropertyPagesRegistryReader(
-				this);
-		reader.registerPropertyPages(Platform.getExtensionRegistry());
+		// The contributors are read once per application
+		registerContributors((List) SharedPropertyPages.getInstance().get());
 	}
 	
     /* (non-Javadoc)
      * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#addExtension(org.eclipse.core.runtime.dynamicHelpers.IExtensionTracker, org.eclipse.core.runtime.IExtension)
      */
     public void addExtension(IExtensionTracker tracker, IExtension extension) {
-        IConfigurationElement[] addedElements = extension.getConfigurationElements();
-        for (int i = 0; i < addedElements.length; i++) {
-            PropertyPagesRegistryReader reader = new PropertyPagesRegistryReader(this);
-            reader.readElement(addedElements[i]);
-        }
+        PropertyPagesRegistryReader reader = new PropertyPagesRegistryReader();
+        registerContributors(reader.readPropertyPages(extension));
     }
 
 	/**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     IBM Corporation - initial API and implementation
  *     Jan-Hendrik Diederich, Bredex GmbH - bug 201052
  *     Oakland Software (Francis Upton) <francisu@ieee.org> - bug 223808 
+ *     EclipseSource - thread-safe filter properties for shared contributors
  *******************************************************************************/
 package org.eclipse.ui.internal.dialogs;
 
@@ -68,7 +69,7 @@ public class RegistryPageContributor implements IPropertyPageContributor,
 
 	private IConfigurationElement pageElement;
 
-	private SoftReference filterProperties;
+	private volatile SoftReference filterProperties;
 
 	private Expression enablementExpression;
 
@@ -343,15 +344,19 @@ public class RegistryPageContributor implements IPropertyPageContributor,
 	}
 
 	private Map getFilterProperties() {
-		if (filterProperties == null || filterProperties.get() == null) {
-			Map map = new HashMap();
-			filterProperties = new SoftReference(map);
+		// Contributors are shared by all sessions, publish the map
+		// only after it has been filled
+		SoftReference reference = filterProperties;
+		Map map = reference == null ? null : (Map) reference.get();
+		if (map == null) {
+			map = new HashMap();
 			IConfigurationElement[] children = pageElement.getChildren();
 			for (int i = 0; i < children.length; i++) {
 				processChildElement(map, children[i]);
 			}
+			filterProperties = new SoftReference(map);
 		}
-		return (Map) filterProperties.get();
+		return map;
 	}
 
 	/**
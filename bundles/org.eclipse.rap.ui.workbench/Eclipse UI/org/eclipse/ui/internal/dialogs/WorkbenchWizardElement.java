@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - thread-safe and locale neutral caches for shared elements
  *******************************************************************************/
 package org.eclipse.ui.internal.dialogs;
 
@@ -35,18 +36,23 @@ import org.eclipse.ui.wizards.IWizardDescriptor;
 
 /**
  * Instances represent registered wizards.
+ * <p>
+ * RAP: Instances are shared by all UI sessions of an application. They only
+ * cache values that do not depend on the session. The caches are filled
+ * without a lock, a value is published only after it has been computed.
+ * </p>
  */
 public class WorkbenchWizardElement extends WorkbenchAdapter implements
         IAdaptable, IPluginContribution, IWizardDescriptor {
     private String id;
     
-    private ImageDescriptor imageDescriptor;
+    private volatile ImageDescriptor imageDescriptor;
 
-    private SelectionEnabler selectionEnabler;
+    private volatile SelectionEnabler selectionEnabler;
 
     private IConfigurationElement configurationElement;
 
-    private ImageDescriptor descriptionImage;
+    private volatile ImageDescriptor descriptionImage;
     
     private WizardCollectionElement parentCategory;
     
@@ -59,7 +65,8 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
 
 	private static final String [] PROJECT_TAGS = new String[] {TAG_PROJECT};
 
-	private String[] keywordLabels;
+	// The labels depend on the locale of the session, only the ids are cached
+	private volatile String[] keywordIds;
 
     
     /**
@@ -159,16 +166,18 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
      * Answer the icon of this element.
      */
     public ImageDescriptor getImageDescriptor() {
-    	if (imageDescriptor == null) {
+    	ImageDescriptor result = imageDescriptor;
+    	if (result == null) {
     		String iconName = configurationElement
                     .getAttribute(IWorkbenchRegistryConstants.ATT_ICON);
 	        if (iconName == null) {
 				return null;
 			}
-            imageDescriptor = AbstractUIPlugin.imageDescriptorFromPlugin(
+            result = AbstractUIPlugin.imageDescriptorFromPlugin(
                     configurationElement.getNamespaceIdentifier(), iconName);    
+            imageDescriptor = result;
     	}
-        return imageDescriptor;
+        return result;
     }
 
     /**
@@ -189,11 +198,13 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
      * Answer self's action enabler, creating it first iff necessary
      */
     protected SelectionEnabler getSelectionEnabler() {
-        if (selectionEnabler == null) {
-			selectionEnabler = new SelectionEnabler(configurationElement);
+        SelectionEnabler result = selectionEnabler;
+        if (result == null) {
+			result = new SelectionEnabler(configurationElement);
+			selectionEnabler = result;
 		}
 
-        return selectionEnabler;
+        return result;
     }
 
     /**
@@ -238,15 +249,17 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
      * @see org.eclipse.ui.wizards.INewWizardDescriptor#getDescriptionImage()
      */
     public ImageDescriptor getDescriptionImage() {
-    	if (descriptionImage == null) {
+    	ImageDescriptor result = descriptionImage;
+    	if (result == null) {
     		String descImage = configurationElement.getAttribute(IWorkbenchRegistryConstants.ATT_DESCRIPTION_IMAGE);
     		if (descImage == null) {
 				return null;
 			}
-            descriptionImage = AbstractUIPlugin.imageDescriptorFromPlugin(
+            result = AbstractUIPlugin.imageDescriptorFromPlugin(
                     configurationElement.getNamespaceIdentifier(), descImage);
+            descriptionImage = result;
     	}
-        return descriptionImage;
+        return result;
     }
 
     /* (non-Javadoc)
@@ -342,17 +355,22 @@ public class WorkbenchWizardElement extends WorkbenchAdapter implements
 	}
 
 	public String[] getKeywordLabels() {
-		if (keywordLabels == null) {
+		String[] ids = keywordIds;
+		if (ids == null) {
 
 			IConfigurationElement[] children = configurationElement
 					.getChildren(IWorkbenchRegistryConstants.TAG_KEYWORD_REFERENCE);
-			keywordLabels = new String[children.length];
-			KeywordRegistry registry = KeywordRegistry.getInstance();
+			ids = new String[children.length];
 			for (int i = 0; i < children.length; i++) {
-				String id = children[i]
+				ids[i] = children[i]
 						.getAttribute(IWorkbenchRegistryConstants.ATT_ID);
-				keywordLabels[i] = registry.getKeywordLabel(id);
 			}
+			keywordIds = ids;
+		}
+		String[] keywordLabels = new String[ids.length];
+		KeywordRegistry registry = KeywordRegistry.getInstance();
+		for (int i = 0; i < ids.length; i++) {
+			keywordLabels[i] = registry.getKeywordLabel(ids[i]);
 		}
 		return keywordLabels;
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - locale neutral descriptors shared between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -36,12 +37,10 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
 
     private String pluginId;
 
-    private String label;
-
+    // Label and description are read in the locale of the calling
+    // session, the descriptor is shared by all sessions
     private boolean visible;
 
-    private String description;
-
     private IConfigurationElement configElement;
 
     /**
@@ -56,15 +55,13 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
         this.configElement = configElement;
         id = configElement.getAttribute(IWorkbenchRegistryConstants.ATT_ID);
         pluginId = configElement.getNamespace();
-        label = configElement.getAttribute(IWorkbenchRegistryConstants.ATT_LABEL);
-        description = configElement.getAttribute(IWorkbenchRegistryConstants.TAG_DESCRIPTION);
         String str = configElement.getAttribute(IWorkbenchRegistryConstants.ATT_VISIBLE);
         if (str != null && str.equals("true")) { //$NON-NLS-1$
 			visible = true;
 		}
 
         // Sanity check.
-        if (label == null) {
+        if (getLabel() == null) {
             throw new CoreException(new Status(IStatus.ERROR,
                     WorkbenchPlugin.PI_WORKBENCH, 0,
                     "Invalid extension (missing label): " + id,//$NON-NLS-1$
@@ -119,7 +116,7 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
      * @return the description
      */
     public String getDescription() {
-        return description;
+        return configElement.getAttribute(IWorkbenchRegistryConstants.TAG_DESCRIPTION);
     }
 
     /**
@@ -140,7 +137,7 @@ public class ActionSetDescriptor implements IActionSetDescriptor, IAdaptable,
      * @return the label
      */
     public String getLabel() {
-        return label;
+        return configElement.getAttribute(IWorkbenchRegistryConstants.ATT_LABEL);
     }
 
     /**
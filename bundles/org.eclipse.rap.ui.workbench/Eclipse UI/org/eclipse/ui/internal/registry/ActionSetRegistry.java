@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,12 +7,15 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 
 import org.eclipse.core.commands.contexts.Context;
@@ -24,16 +27,80 @@ import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.dynamichelpers.ExtensionTracker;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionChangeHandler;
 import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
+import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.ui.internal.SharedRegistryContents;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.contexts.IContextService;
 import org.eclipse.ui.internal.WorkbenchPlugin;
 
 /**
  * The registry of action set extensions.
+ * <p>
+ * RAP: The registry is session scoped, it defines the contexts of the action
+ * sets and tracks extension changes for its session. The action set
+ * descriptors are created once per application and shared by all sessions.
+ * </p>
  */
 public class ActionSetRegistry implements IExtensionChangeHandler {
     
+    /**
+     * The action set descriptors of all sessions, by extension.
+     */
+    // Application scoped contents
+    private static final class SharedActionSets extends SharedRegistryContents {
+
+    	private SharedActionSets() {
+    		super(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+    				IWorkbenchRegistryConstants.PL_ACTION_SETS);
+    	}
+
+    	static SharedActionSets getInstance() {
+    		return SingletonUtil.getUniqueInstance(SharedActionSets.class,
+    				RWT.getApplicationContext());
+    	}
+
+		protected Object read() {
+			Map result = new HashMap();
+			IExtension[] extensions = Platform.getExtensionRegistry()
+					.getExtensionPoint(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+							IWorkbenchRegistryConstants.PL_ACTION_SETS)
+					.getExtensions();
+			for (int i = 0; i < extensions.length; i++) {
+				result.put(extensions[i], createActionSets(extensions[i]));
+			}
+			return result;
+		}
+
+		/**
+		 * Returns the descriptors of the given extension. Extensions that
+		 * have been added after the contents were read are read directly.
+		 */
+		List getActionSets(IExtension extension) {
+			List result = (List) ((Map) get()).get(extension);
+			return result != null ? result : createActionSets(extension);
+		}
+
+		private static List createActionSets(IExtension extension) {
+			List result = new ArrayList();
+	        IConfigurationElement [] elements = extension.getConfigurationElements();
+	        for (int i = 0; i < elements.length; i++) {
+	            IConfigurationElement element = elements[i];
+	            if (element.getName().equals(IWorkbenchRegistryConstants.TAG_ACTION_SET)) {
+	                try {
+	                    result.add(new ActionSetDescriptor(element));
+	                } catch (CoreException e) {
+	                    // log an error since its not safe to open a dialog here
+	                    WorkbenchPlugin
+	                            .log(
+	                                    "Unable to create action set descriptor.", e.getStatus());//$NON-NLS-1$
+	                }
+	            } 
+	        }
+	        return Collections.unmodifiableList(result);
+		}
+    }
+
     /** 
      */
     private class ActionSetPartAssociation {
@@ -293,22 +360,12 @@ public class ActionSetRegistry implements IExtensionChangeHandler {
      * @param extension
      */
     private void addActionSets(IExtensionTracker tracker, IExtension extension) {
-        IConfigurationElement [] elements = extension.getConfigurationElements();
-        for (int i = 0; i < elements.length; i++) {
-            IConfigurationElement element = elements[i];
-            if (element.getName().equals(IWorkbenchRegistryConstants.TAG_ACTION_SET)) {
-                try {
-                    ActionSetDescriptor desc = new ActionSetDescriptor(element);
-                    addActionSet(desc);
-                    tracker.registerObject(extension, desc, IExtensionTracker.REF_WEAK);
-
-                } catch (CoreException e) {
-                    // log an error since its not safe to open a dialog here
-                    WorkbenchPlugin
-                            .log(
-                                    "Unable to create action set descriptor.", e.getStatus());//$NON-NLS-1$
-                }
-            } 
+    	// The descriptors are shared by all sessions
+        List descs = SharedActionSets.getInstance().getActionSets(extension);
+        for (int i = 0; i < descs.size(); i++) {
+            ActionSetDescriptor desc = (ActionSetDescriptor) descs.get(i);
+            addActionSet(desc);
+            tracker.registerObject(extension, desc, IExtensionTracker.REF_WEAK);
         }   
 
         // TODO: optimize
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2006 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - locale neutral and thread-safe categories
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -33,11 +34,6 @@ import org.eclipse.ui.model.IWorkbenchAdapter;
  * </p>
  */
 public class Category implements IWorkbenchAdapter, IPluginContribution, IAdaptable {
-    /**
-     * Name of the miscellaneous category
-     */
-    public final static String MISC_NAME = WorkbenchMessages.get().ICategory_other;
-
     /**
      * Identifier of the miscellaneous category
      */
@@ -47,7 +43,7 @@ public class Category implements IWorkbenchAdapter, IPluginContribution, IAdapta
 
     private String name;
 
-    private String[] parentPath;
+    private volatile String[] parentPath;
 
     private ArrayList elements;
 
@@ -61,7 +57,8 @@ public class Category implements IWorkbenchAdapter, IPluginContribution, IAdapta
      */
     public Category() {
         this.id = MISC_ID;
-        this.name = MISC_NAME;
+        // The name of the miscellaneous category is resolved in
+        // the locale of the calling session, see getLabel()
         this.pluginId = MISC_ID; // TODO: remove hack for bug 55172
     }
 
@@ -156,6 +153,10 @@ public class Category implements IWorkbenchAdapter, IPluginContribution, IAdapta
      * @return the label
      */
     public String getLabel() {
+    	// Categories may be shared by sessions with different locales
+    	if (configurationElement == null && MISC_ID.equals(id) && name == null) {
+    		return WorkbenchMessages.get().ICategory_other;
+    	}
         return configurationElement == null ? name : configurationElement
 				.getAttribute(IWorkbenchRegistryConstants.ATT_NAME);
     }
@@ -166,20 +167,23 @@ public class Category implements IWorkbenchAdapter, IPluginContribution, IAdapta
      * @return the parent path
      */
     public String[] getParentPath() {
-    	if (parentPath != null) {
-			return parentPath;
+    	String[] result = parentPath;
+    	if (result != null) {
+			return result;
 		}
     	
     	String unparsedPath = getRawParentPath();
         if (unparsedPath != null) {
             StringTokenizer stok = new StringTokenizer(unparsedPath, "/"); //$NON-NLS-1$
-            parentPath = new String[stok.countTokens()];
+            // Publish the path only after it has been filled
+            result = new String[stok.countTokens()];
             for (int i = 0; stok.hasMoreTokens(); i++) {
-                parentPath[i] = stok.nextToken();
+                result[i] = stok.nextToken();
             }
+            parentPath = result;
         }
 
-        return parentPath;
+        return result;
     }
     
     /**
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     James Blackburn - Bug 256316 getImageDescriptor() is not thread safe 
+ *     EclipseSource - thread-safe matching strategy for shared descriptors
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -630,7 +631,8 @@ public final class EditorDescriptor implements IEditorDescriptor, Serializable,
     /* (non-Javadoc)
      * @see org.eclipse.ui.IEditorDescriptor#getEditorManagementPolicy()
      */
-    public IEditorMatchingStrategy getEditorMatchingStrategy() {
+    // Synchronized, descriptors are shared by all UI sessions
+    public synchronized IEditorMatchingStrategy getEditorMatchingStrategy() {
         if (matchingStrategy == null && !matchingStrategyChecked) {
             matchingStrategyChecked = true;
             // RAP [bm]: Program
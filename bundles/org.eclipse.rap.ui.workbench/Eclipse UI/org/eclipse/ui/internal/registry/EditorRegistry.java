@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2010 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -9,6 +9,7 @@
  *     IBM Corporation - initial API and implementation
  *     Jan-Hendrik Diederich, Bredex GmbH - bug 201052
  *     Carsten Pfeiffer, Gebit Solutions GmbH - bug 259536
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -33,7 +34,6 @@ import java.util.Map.Entry;
 import java.util.StringTokenizer;
 
 import org.eclipse.core.commands.common.EventManager;
-import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IPath;
@@ -47,7 +47,9 @@ import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.jface.preference.IPreferenceStore;
 import org.eclipse.jface.resource.ImageDescriptor;
 import org.eclipse.jface.util.SafeRunnable;
+import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.ui.internal.SharedRegistryContents;
 import org.eclipse.swt.widgets.Shell;
 import org.eclipse.ui.IEditorDescriptor;
 import org.eclipse.ui.IEditorRegistry;
@@ -72,9 +74,53 @@ import com.ibm.icu.text.Collator;
 
 /**
  * Provides access to the collection of defined editors for resource types.
+ * <p>
+ * RAP: The registry is session scoped, it holds the file associations of its
+ * session and tracks extension changes for it. The editor descriptors are
+ * read once per application and shared by all sessions.
+ * </p>
  */
 public class EditorRegistry extends EventManager implements IEditorRegistry, IExtensionChangeHandler {
 
+    /**
+     * The editors of all sessions, by extension.
+     */
+    // Application scoped contents
+    private static final class SharedEditors extends SharedRegistryContents {
+
+    	private SharedEditors() {
+    		super(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+    				IWorkbenchRegistryConstants.PL_EDITOR);
+    	}
+
+    	static SharedEditors getInstance() {
+    		return SingletonUtil.getUniqueInstance(SharedEditors.class,
+    				RWT.getApplicationContext());
+    	}
+
+		protected Object read() {
+			Map result = new HashMap();
+			EditorRegistryReader reader = new EditorRegistryReader();
+			IExtension[] extensions = Platform.getExtensionRegistry()
+					.getExtensionPoint(PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+							IWorkbenchRegistryConstants.PL_EDITOR)
+					.getExtensions();
+			for (int i = 0; i < extensions.length; i++) {
+				result.put(extensions[i], reader.readEditors(extensions[i]));
+			}
+			return result;
+		}
+
+		/**
+		 * Returns the editors of the given extension. Extensions that have
+		 * been added after the contents were read are read directly.
+		 */
+		List getEditors(IExtension extension) {
+			List result = (List) ((Map) get()).get(extension);
+			return result != null ? result : new EditorRegistryReader()
+					.readEditors(extension);
+		}
+    }
 	
 	private final static IEditorDescriptor [] EMPTY = new IEditorDescriptor[0];
 	
@@ -572,8 +618,15 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
         extensionImages = new HashMap();
 
         //Get editors from the registry
-        EditorRegistryReader registryReader = new EditorRegistryReader();
-        registryReader.addEditors(this);
+        // The editors are read once per application
+        IExtension[] extensions = RegistryReader
+				.orderExtensions(getExtensionPointFilter().getExtensions());
+        for (int i = 0; i < extensions.length; i++) {
+        	List editors = SharedEditors.getInstance().getEditors(extensions[i]);
+        	for (int j = 0; j < editors.size(); j++) {
+        		((EditorRegistryReader.Editor) editors.get(j)).addTo(this);
+        	}
+        }
         sortInternalEditors();
         rebuildInternalEditorMap();
 
@@ -1379,14 +1432,14 @@ public class EditorRegistry extends EventManager implements IEditorRegistry, IEx
 	 * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#addExtension(org.eclipse.core.runtime.dynamicHelpers.IExtensionTracker, org.eclipse.core.runtime.IExtension)
 	 */
 	public void addExtension(IExtensionTracker tracker, IExtension extension) {
-        EditorRegistryReader eReader = new EditorRegistryReader();
-        IConfigurationElement[] elements = extension.getConfigurationElements();
-        for (int i = 0; i < elements.length; i++) {
-            String id = elements[i].getAttribute(IWorkbenchConstants.TAG_ID);
-            if (id != null && findEditor(id) != null) {
+		// The editors are shared by all sessions
+        List editors = SharedEditors.getInstance().getEditors(extension);
+        for (int i = 0; i < editors.size(); i++) {
+        	EditorRegistryReader.Editor editor = (EditorRegistryReader.Editor) editors.get(i);
+            if (findEditor(editor.descriptor.getId()) != null) {
 				continue;
 			}
-            eReader.readElement(this, elements[i]);
+            editor.addTo(this);
         }
 	}
 
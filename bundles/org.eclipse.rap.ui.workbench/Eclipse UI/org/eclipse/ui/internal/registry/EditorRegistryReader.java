@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2007 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,40 +7,72 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.StringTokenizer;
 
 import org.eclipse.core.runtime.IConfigurationElement;
-import org.eclipse.core.runtime.IExtensionRegistry;
-import org.eclipse.core.runtime.Platform;
-import org.eclipse.ui.PlatformUI;
+import org.eclipse.core.runtime.IExtension;
 
 /**
  * This class is used to read resource editor registry descriptors from
  * the platform registry.
+ * <p>
+ * RAP: The reader does not add the editors to a registry. It returns them,
+ * so that they can be shared by the editor registries of all UI sessions.
+ * </p>
  */
 public class EditorRegistryReader extends RegistryReader {
 
-    private EditorRegistry editorRegistry;
+    /**
+     * An editor declared in the registry, together with the file extensions,
+     * file names and content types it is bound to. Instances are not changed
+     * after they have been read.
+     */
+    static final class Editor {
+    	final EditorDescriptor descriptor;
+    	final List extensions;
+    	final List filenames;
+    	final List contentTypes;
+    	final boolean isDefault;
+
+    	Editor(EditorDescriptor descriptor, List extensions, List filenames,
+    			List contentTypes, boolean isDefault) {
+    		this.descriptor = descriptor;
+    		this.extensions = Collections.unmodifiableList(extensions);
+    		this.filenames = Collections.unmodifiableList(filenames);
+    		this.contentTypes = Collections.unmodifiableList(contentTypes);
+    		this.isDefault = isDefault;
+    	}
+
+    	/**
+    	 * Add the editor to the given registry.
+    	 */
+    	void addTo(EditorRegistry registry) {
+    		registry.addEditorFromPlugin(descriptor, extensions, filenames,
+    				contentTypes, isDefault);
+    	}
+    }
+
+    private List editors;
 
     /**
-     * Get the editors that are defined in the registry
-     * and add them to the ResourceEditorRegistry
+     * Read the editors that are defined in the given extension.
      *
-     * Warning:
-     * The registry must be passed in because this method is called during the
-     * process of setting up the registry and at this time it has not been
-     * safely setup with the plugin.
+     * @param extension the extension to read
+     * @return an unmodifiable list of <code>Editor</code>s
      */
-    protected void addEditors(EditorRegistry registry) {
-        IExtensionRegistry extensionRegistry = Platform.getExtensionRegistry();
-        this.editorRegistry = registry;
-        readRegistry(extensionRegistry, PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
-                IWorkbenchRegistryConstants.PL_EDITOR);
+    List readEditors(IExtension extension) {
+        editors = new ArrayList();
+        readExtension(extension);
+        List result = Collections.unmodifiableList(editors);
+        editors = null;
+        return result;
     }
 
     /**
@@ -105,19 +137,8 @@ public class EditorRegistryReader extends RegistryReader {
 		}
 
         // Add the editor to the manager.	
-        editorRegistry.addEditorFromPlugin(editor, extensionsVector,
-                filenamesVector, contentTypeVector, defaultEditor);
+        editors.add(new Editor(editor, extensionsVector, filenamesVector,
+				contentTypeVector, defaultEditor));
         return true;
     }
-
-
-    /**
-     * @param editorRegistry
-     * @param element
-     */
-    public void readElement(EditorRegistry editorRegistry,
-            IConfigurationElement element) {
-        this.editorRegistry = editorRegistry;
-        readElement(element);
-    }
 }
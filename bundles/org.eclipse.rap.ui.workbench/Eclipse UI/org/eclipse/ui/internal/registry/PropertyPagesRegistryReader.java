@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,22 +7,29 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
 import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtension;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.ui.PlatformUI;
-import org.eclipse.ui.internal.dialogs.PropertyPageContributorManager;
+import org.eclipse.ui.internal.ObjectContributorManager.ContributorRecord;
 import org.eclipse.ui.internal.dialogs.RegistryPageContributor;
 
 /**
  * This class loads property pages from the registry.
+ * <p>
+ * RAP: The reader does not register the contributors with a manager. It
+ * returns them, so that they can be shared by the managers of all UI sessions.
+ * </p>
  */
 public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 
@@ -67,7 +74,7 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 
 	private Collection pages = new ArrayList();
 
-	private PropertyPageContributorManager manager;
+	private List contributors = new ArrayList();
 
 	class PropertyCategoryNode extends CategoryNode {
 
@@ -115,12 +122,9 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 
 	/**
 	 * The constructor.
-	 * 
-	 * @param manager
-	 *            the manager
 	 */
-	public PropertyPagesRegistryReader(PropertyPageContributorManager manager) {
-		this.manager = manager;
+	public PropertyPagesRegistryReader() {
+		super();
 	}
 
 	/**
@@ -146,7 +150,7 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 		}
 		if (element.getAttribute(ATT_OBJECTCLASS) == null) {
 			pages.add(contributor);
-			manager.registerContributor(contributor, Object.class.getName());
+			contributors.add(new ContributorRecord(contributor, Object.class.getName()));
 		} else {
 			List objectClassNames = new ArrayList();
 			objectClassNames.add(element.getAttribute(ATT_OBJECTCLASS));
@@ -165,7 +169,7 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 
 		pages.add(contributor);
 		for (Iterator iter = objectClassNames.iterator(); iter.hasNext();) {
-			manager.registerContributor(contributor, (String) iter.next());
+			contributors.add(new ContributorRecord(contributor, (String) iter.next()));
 		}
 
 	}
@@ -202,12 +206,26 @@ public class PropertyPagesRegistryReader extends CategorizedPageRegistryReader {
 	 * 
 	 * @param registry
 	 *            the registry
+	 * @return an unmodifiable list of <code>ContributorRecord</code>s
 	 */
-	public void registerPropertyPages(IExtensionRegistry registry) {
+	public List readPropertyPages(IExtensionRegistry registry) {
 		// RAP [bm]: namespace
 		readRegistry(registry, PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
 				IWorkbenchRegistryConstants.PL_PROPERTY_PAGES);
 		processNodes();
+		return Collections.unmodifiableList(contributors);
+	}
+
+	/**
+	 * Reads the property pages of an extension that has been added.
+	 * 
+	 * @param extension
+	 *            the extension
+	 * @return an unmodifiable list of <code>ContributorRecord</code>s
+	 */
+	public List readPropertyPages(IExtension extension) {
+		readExtension(extension);
+		return Collections.unmodifiableList(contributors);
 	}
 
 	/*
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Markus Alexander Kuppe, Versant Corporation - bug #215797
+ *     EclipseSource - thread-safe caches for shared descriptors
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -36,7 +37,7 @@ import org.eclipse.ui.views.IViewDescriptor;
 public class ViewDescriptor implements IViewDescriptor, IPluginContribution {
     private String id;
 
-    private ImageDescriptor imageDescriptor;
+    private volatile ImageDescriptor imageDescriptor;
 
     private IConfigurationElement configElement;
 
@@ -101,8 +102,9 @@ public class ViewDescriptor implements IViewDescriptor, IPluginContribution {
      * @see org.eclipse.ui.IWorkbenchPartDescriptor#getImageDescriptor()
      */
     public ImageDescriptor getImageDescriptor() {
-        if (imageDescriptor != null) {
-			return imageDescriptor;
+    	ImageDescriptor result = imageDescriptor;
+        if (result != null) {
+			return result;
 		}
         String iconName = configElement.getAttribute(IWorkbenchRegistryConstants.ATT_ICON);
         // If the icon attribute was omitted, use the default one
@@ -112,14 +114,16 @@ public class ViewDescriptor implements IViewDescriptor, IPluginContribution {
 		}
         IExtension extension = configElement.getDeclaringExtension();
         String extendingPluginId = extension.getNamespace();
-        imageDescriptor = AbstractUIPlugin.imageDescriptorFromPlugin(
+        // Descriptors are shared, publish the image only when complete
+        result = AbstractUIPlugin.imageDescriptorFromPlugin(
                 extendingPluginId, iconName);
         // If the icon attribute was invalid, use the error icon
-        if (imageDescriptor == null) {
-            imageDescriptor = ImageDescriptor.getMissingImageDescriptor();
+        if (result == null) {
+            result = ImageDescriptor.getMissingImageDescriptor();
         }
+        imageDescriptor = result;
         
-        return imageDescriptor;
+        return result;
     }
 
     /* (non-Javadoc)
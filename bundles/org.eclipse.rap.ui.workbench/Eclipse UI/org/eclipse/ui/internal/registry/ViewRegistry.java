@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Jan-Hendrik Diederich, Bredex GmbH - bug 201052
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -19,21 +20,16 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.SortedSet;
 import java.util.TreeSet;
-import org.eclipse.core.runtime.IConfigurationElement;
-import org.eclipse.core.runtime.IExtension;
-import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Platform;
-import org.eclipse.core.runtime.dynamichelpers.ExtensionTracker;
-import org.eclipse.core.runtime.dynamichelpers.IExtensionChangeHandler;
-import org.eclipse.core.runtime.dynamichelpers.IExtensionTracker;
+import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.ui.internal.SharedRegistryContents;
 import org.eclipse.ui.IPluginContribution;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.activities.WorkbenchActivityHelper;
 import org.eclipse.ui.internal.WorkbenchPlugin;
-import org.eclipse.ui.internal.util.Util;
 import org.eclipse.ui.views.IStickyViewDescriptor;
 import org.eclipse.ui.views.IViewCategory;
 import org.eclipse.ui.views.IViewDescriptor;
@@ -41,11 +37,17 @@ import org.eclipse.ui.views.IViewRegistry;
 
 /**
  * The central manager for view descriptors.
+ * <p>
+ * RAP: The registry is shared by all UI sessions of an application. The
+ * views, categories and sticky views are read once into an immutable snapshot
+ * that is read again after the views extension point has changed. Activity
+ * filtering is applied per session on every query.
+ * </p>
  */
-// RAP [bm]: session scoped registry
+// Application scoped registry
 //public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
-public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
-// RAPEND: [bm] 
+public class ViewRegistry implements IViewRegistry {
+// RAPEND: [rst] 
 
 	
     /**
@@ -149,91 +151,136 @@ public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
 		}
     }
     
-    // RAP [bm]: 
-//	private static String EXTENSIONPOINT_UNIQUE_ID = WorkbenchPlugin.PI_WORKBENCH + "." + IWorkbenchRegistryConstants.PL_VIEWS; //$NON-NLS-1$
-	private static String EXTENSIONPOINT_UNIQUE_ID = PlatformUI.PLUGIN_EXTENSION_NAME_SPACE + "." + IWorkbenchRegistryConstants.PL_VIEWS; //$NON-NLS-1$
-	// RAPEND: [bm] 
+    /**
+     * The views, categories and sticky views of one read of the views
+     * extension point. Filled by the <code>ViewRegistryReader</code> and not
+     * changed after the views have been mapped to their categories.
+     */
+    static final class Contents {
 
-	
-	/**
-	 * A set that will only ever contain ViewDescriptors.
-	 */
-    private SortedSet views = new TreeSet(new ViewDescriptorComparator());
+    	/**
+    	 * A set that will only ever contain ViewDescriptors.
+    	 */
+    	private final SortedSet views = new TreeSet(new ViewDescriptorComparator());
+
+    	private final List categories = new ArrayList();
 
-    private List categories;
+    	private final List sticky = new ArrayList();
 
-    private List sticky;
+    	private Category miscCategory;
 
-    private Category miscCategory;
+	    /**
+	     * Add a category to the registry.
+	     * 
+	     * @param desc the descriptor to add
+	     */
+	    void add(Category desc) {
+	        /* fix for 1877 */
+			if (internalFindCategory(desc.getId()) == null) {
+				categories.add(desc);
+			}
+	    }
+
+	    /**
+	     * Add a descriptor to the registry.
+	     * 
+	     * @param desc the descriptor to add
+	     */
+	    void add(ViewDescriptor desc) {
+	    	views.add(desc);
+	    }
+
+	    /**
+	     * Add a sticky descriptor to the registry.
+	     * 
+	     * @param desc the descriptor to add
+	     */
+	    void add(StickyViewDescriptor desc) {
+	    	if (!sticky.contains(desc)) {
+		        sticky.add(desc);
+	    	}
+	    }
+
+	    /**
+	     * Returns the category with no updating of the view/category mappings.
+	     *
+		 * @param id the category id
+		 * @return the Category
+		 */
+		private Category internalFindCategory(String id) {
+			Iterator itr = categories.iterator();
+	        while (itr.hasNext()) {
+	            Category cat = (Category) itr.next();
+	            if (id.equals(cat.getRootPath())) {
+	                return cat;
+	            }
+	        }
+	        return null;
+	    }
+
+	    /**
+	     * Adds each view in the registry to a particular category.
+	     * The view category may be defined in xml.  If not, the view is
+	     * added to the "misc" category.
+	     */
+	    void mapViewsToCategories() {
+	    	for (Iterator i = views.iterator(); i.hasNext(); ) {
+	            IViewDescriptor desc = (IViewDescriptor) i.next();
+	            Category cat = null;
+	            String[] catPath = desc.getCategoryPath();
+	            if (catPath != null) {
+	                String rootCat = catPath[0];
+	                cat = internalFindCategory(rootCat);
+	            }
+	            if (cat != null) {
+	                if (!cat.hasElement(desc)) {
+	                    cat.addElement(desc);
+	                }
+	            } else {
+	                if (miscCategory == null) {
+	                    miscCategory = new Category();
+	                    add(miscCategory);                    
+	                }
+	                if (catPath != null) {
+	                    // If we get here, this view specified a category which
+	                    // does not exist. Add this view to the 'Other' category
+	                    // but give out a message (to the log only) indicating 
+	                    // this has been done.
+	                    String fmt = "Category {0} not found for view {1}.  This view added to ''{2}'' category."; //$NON-NLS-1$
+	                    WorkbenchPlugin.log(MessageFormat
+	                            .format(fmt, new Object[] { catPath[0],
+	                                    desc.getId(), miscCategory.getLabel() }));
+	                }
+	                miscCategory.addElement(desc);
+	            }
+	        }
+	    }
+    }
 
     protected static final String TAG_DESCRIPTION = "description"; //$NON-NLS-1$
-    
-    private ViewRegistryReader reader = new ViewRegistryReader();
 
-	private boolean dirtyViewCategoryMappings = true;
+    // The contents are read once per application
+    private final SharedRegistryContents contents = new SharedRegistryContents(
+			PlatformUI.PLUGIN_EXTENSION_NAME_SPACE,
+			IWorkbenchRegistryConstants.PL_VIEWS) {
+		protected Object read() {
+			Contents result = new Contents();
+			new ViewRegistryReader().readViews(Platform.getExtensionRegistry(),
+					result);
+			result.mapViewsToCategories();
+			return result;
+		}
+	};
 
     /**
      * Create a new ViewRegistry.
      */
-    public ViewRegistry() {
+    private ViewRegistry() {
         super();    
-        categories = new ArrayList();       
-        sticky = new ArrayList();        
-        PlatformUI.getWorkbench().getExtensionTracker().registerHandler(this, ExtensionTracker.createExtensionPointFilter(getExtensionPointFilter()));
-        reader.readViews(Platform.getExtensionRegistry(), this);
-    }
-
-    /**
-     * Add a category to the registry.
-     * 
-     * @param desc the descriptor to add
-     */
-    public void add(Category desc) {
-        /* fix for 1877 */
-		if (internalFindCategory(desc.getId()) == null) {
-			dirtyViewCategoryMappings = true;
-			// Mark categories list as dirty
-			categories.add(desc);
-			IConfigurationElement element = (IConfigurationElement) Util.getAdapter(desc, IConfigurationElement.class);
-			if (element == null) {
-				return;
-			}
-			PlatformUI.getWorkbench().getExtensionTracker()
-					.registerObject(
-							element.getDeclaringExtension(),
-							desc,
-							IExtensionTracker.REF_WEAK);
-		}
     }
 
-    /**
-     * Add a descriptor to the registry.
-     * 
-     * @param desc the descriptor to add
-     */
-    public void add(ViewDescriptor desc) {
-    	if (views.add(desc)) {
-            dirtyViewCategoryMappings = true;
-            PlatformUI.getWorkbench().getExtensionTracker().registerObject(
-                    desc.getConfigurationElement().getDeclaringExtension(),
-                    desc, IExtensionTracker.REF_WEAK);
-        }
-    }
-    
-    /**
-     * Add a sticky descriptor to the registry.
-     * 
-     * @param desc the descriptor to add
-     */
-    public void add(StickyViewDescriptor desc) {
-    	if (!sticky.contains(desc)) {
-	        sticky.add(desc);
-	        PlatformUI.getWorkbench().getExtensionTracker()
-			.registerObject(
-					desc.getConfigurationElement().getDeclaringExtension(),
-					desc, 
-					IExtensionTracker.REF_WEAK);
-    	}
+    private Contents getContents() {
+    	return (Contents) contents.get();
     }
 
 //    /**
@@ -275,7 +322,7 @@ public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
 	 * @noreference This method is not intended to be referenced by clients.
 	 */
 	public IViewDescriptor findInternal(String id) {
-		Iterator itr = views.iterator();
+		Iterator itr = getContents().views.iterator();
         while (itr.hasNext()) {
             IViewDescriptor desc = (IViewDescriptor) itr.next();
             if (id.equals(desc.getId())) {
@@ -292,36 +339,18 @@ public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
      * @return the category or <code>null</code>
      */
     public IViewCategory findCategory(String id) {
-    	mapViewsToCategories();
-        Category category = internalFindCategory(id);
+        Category category = getContents().internalFindCategory(id);
         if (category == null) {
 			return null;
 		}
         return new ViewCategoryProxy(category);
     }
 
-    /**
-     * Returns the category with no updating of the view/category mappings.
-     *
-	 * @param id the category id
-	 * @return the Category
-	 */
-	private Category internalFindCategory(String id) {
-		Iterator itr = categories.iterator();
-        while (itr.hasNext()) {
-            Category cat = (Category) itr.next();
-            if (id.equals(cat.getRootPath())) {
-                return cat;
-            }
-        }
-        return null;
-    }
-
     /**
      * Get the list of view categories.
      */
     public IViewCategory[] getCategories() {
-    	mapViewsToCategories();
+    	List categories = getContents().categories;
         int nSize = categories.size();
         IViewCategory[] retArray = new IViewCategory[nSize];
         int i = 0;
@@ -336,7 +365,7 @@ public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
      * Expressions check.
      */
     public IStickyViewDescriptor[] getStickyViews() {
-    	Collection descs = WorkbenchActivityHelper.restrictCollection(sticky, new ArrayList());
+    	Collection descs = WorkbenchActivityHelper.restrictCollection(getContents().sticky, new ArrayList());
     	return (IStickyViewDescriptor[]) descs.toArray(new IStickyViewDescriptor[descs.size()]);
     }
 
@@ -347,7 +376,7 @@ public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
      * @return the misc category or <code>null</code>
      */
     public Category getMiscCategory() {
-        return miscCategory;
+        return getContents().miscCategory;
     }
 
     /**
@@ -357,116 +386,17 @@ public class ViewRegistry implements IViewRegistry, IExtensionChangeHandler {
      * descriptors which failed the test. 
      */
     public IViewDescriptor[] getViews() {
-    	Collection descs = WorkbenchActivityHelper.restrictCollection(views, new TreeSet(new ViewDescriptorComparator()));
+    	Collection descs = WorkbenchActivityHelper.restrictCollection(getContents().views, new TreeSet(new ViewDescriptorComparator()));
     	return (IViewDescriptor[]) descs.toArray(new IViewDescriptor[descs.size()]);
     }
 
-    /**
-     * Adds each view in the registry to a particular category.
-     * The view category may be defined in xml.  If not, the view is
-     * added to the "misc" category.
-     */
-    public void mapViewsToCategories() {
-    	if (dirtyViewCategoryMappings) {
-    		dirtyViewCategoryMappings = false;
-	    	// clear all category mappings
-	    	for (Iterator i = categories.iterator(); i.hasNext(); ) {
-	    		Category category = (Category) i.next();
-	    		category.clear(); // this is bad    		
-	    	}
-	    	
-	    	if (miscCategory != null) {
-	    		miscCategory.clear();
-	    	}
-	    	
-	    	for (Iterator i = views.iterator(); i.hasNext(); ) {
-	            IViewDescriptor desc = (IViewDescriptor) i.next();
-	            Category cat = null;
-	            String[] catPath = desc.getCategoryPath();
-	            if (catPath != null) {
-	                String rootCat = catPath[0];
-	                cat = internalFindCategory(rootCat);
-	            }
-	            if (cat != null) {
-	                if (!cat.hasElement(desc)) {
-	                    cat.addElement(desc);
-	                }
-	            } else {
-	                if (miscCategory == null) {
-	                    miscCategory = new Category();
-	                    add(miscCategory);                    
-	                }
-	                if (catPath != null) {
-	                    // If we get here, this view specified a category which
-	                    // does not exist. Add this view to the 'Other' category
-	                    // but give out a message (to the log only) indicating 
-	                    // this has been done.
-	                    String fmt = "Category {0} not found for view {1}.  This view added to ''{2}'' category."; //$NON-NLS-1$
-	                    WorkbenchPlugin.log(MessageFormat
-	                            .format(fmt, new Object[] { catPath[0],
-	                                    desc.getId(), miscCategory.getLabel() }));
-	                }
-	                miscCategory.addElement(desc);
-	            }
-	        }	        
-    	}
-    }
-
-    /**
-     * Dispose of this registry.
-     */
-    public void dispose() {
-    	PlatformUI.getWorkbench().getExtensionTracker().unregisterHandler(this);
-    }
-
-    /* (non-Javadoc)
-     * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#removeExtension(org.eclipse.core.runtime.IExtension, java.lang.Object[])
-     */
-    public void removeExtension(IExtension extension,Object[] objects) {
-        for (int i = 0; i < objects.length; i++) {
-            if (objects[i] instanceof StickyViewDescriptor) {           
-                sticky.remove(objects[i]);
-            }
-            else if (objects[i] instanceof ViewDescriptor) {
-                views.remove(objects[i]);
-                dirtyViewCategoryMappings = true;
-            }
-            else if (objects[i] instanceof Category) {
-                categories.remove(objects[i]);
-                dirtyViewCategoryMappings = true;
-            }
-        }
-
-	}
-
-    private IExtensionPoint getExtensionPointFilter() {
-      return Platform.getExtensionRegistry().getExtensionPoint(EXTENSIONPOINT_UNIQUE_ID);
-    }
-
-    /* (non-Javadoc)
-     * @see org.eclipse.core.runtime.dynamicHelpers.IExtensionChangeHandler#addExtension(org.eclipse.core.runtime.dynamicHelpers.IExtensionTracker, org.eclipse.core.runtime.IExtension)
-     */
-    public void addExtension(IExtensionTracker tracker,IExtension addedExtension){
-        IConfigurationElement[] addedElements = addedExtension.getConfigurationElements();
-        for (int i = 0; i < addedElements.length; i++) {
-            IConfigurationElement element = addedElements[i];
-    		if (element.getName().equals(IWorkbenchRegistryConstants.TAG_VIEW)) {
-    			reader.readView(element);
-    		} else if (element.getName().equals(IWorkbenchRegistryConstants.TAG_CATEGORY)) {
-    			reader.readCategory(element);
-    		} else if (element.getName().equals(IWorkbenchRegistryConstants.TAG_STICKYVIEW)) {
-    			reader.readSticky(element);
-    		}			
-        }
-	}
-
     // RAP [bm]:
     /**
-     * Returns a session scoped instance of the ViewRegistry
-     * @return the session singleton instance
+     * Returns the application scoped instance of the ViewRegistry
+     * @return the application singleton instance
      */
     public static ViewRegistry getInstance() {
-	     return SingletonUtil.getSessionInstance( ViewRegistry.class );
+	     return SingletonUtil.getUniqueInstance( ViewRegistry.class, RWT.getApplicationContext() );
 	}
     // RAPEND: [bm]
 
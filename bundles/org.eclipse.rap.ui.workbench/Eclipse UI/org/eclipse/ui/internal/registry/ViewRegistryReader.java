@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Jan-Hendrik Diederich, Bredex GmbH - bug 201052
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -26,7 +27,7 @@ public class ViewRegistryReader extends RegistryReader {
 	 */
 	public static String GENERAL_VIEW_ID = "org.eclipse.ui";	//$NON-NLS-1$
 	
-	private ViewRegistry viewRegistry;
+	private ViewRegistry.Contents viewRegistry;
 
     /**
      * RegistryViewReader constructor comment.
@@ -100,9 +101,9 @@ public class ViewRegistryReader extends RegistryReader {
     /**
      * Read the view extensions within a registry.
      * @param in the extension registry
-     * @param out the view registry
+     * @param out the contents of the view registry
      */
-    public void readViews(IExtensionRegistry in, ViewRegistry out) {
+    public void readViews(IExtensionRegistry in, ViewRegistry.Contents out) {
         // this does not seem to really ever be throwing an the exception
         viewRegistry = out;
         // RAP [bm]: namespace
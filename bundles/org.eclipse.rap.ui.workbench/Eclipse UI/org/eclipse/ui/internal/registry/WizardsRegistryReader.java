@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2008 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -8,6 +8,7 @@
  * Contributors:
  *     IBM Corporation - initial API and implementation
  *     Jan-Hendrik Diederich, Bredex GmbH - bug 201052
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.registry;
 
@@ -25,7 +26,6 @@ import org.eclipse.core.runtime.IConfigurationElement;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.ui.activities.WorkbenchActivityHelper;
-import org.eclipse.ui.internal.WorkbenchMessages;
 import org.eclipse.ui.internal.WorkbenchPlugin;
 import org.eclipse.ui.internal.dialogs.WizardCollectionElement;
 import org.eclipse.ui.internal.dialogs.WorkbenchWizardElement;
@@ -395,9 +395,9 @@ public class WizardsRegistryReader extends RegistryReader {
         if (otherCategory == null) {
 			otherCategory = createCollectionElement(root,
                     UNCATEGORIZED_WIZARD_CATEGORY, null,
-// RAP [rst] multi-user i18n
+// Multi-user i18n, the label is resolved per session
 //                    UNCATEGORIZED_WIZARD_CATEGORY_LABEL);
-                    WorkbenchMessages.get().NewWizardsRegistryReader_otherCategory);
+                    null);
 		}
 
         otherCategory.add(element);
@@ -477,13 +477,16 @@ public class WizardsRegistryReader extends RegistryReader {
      * The return value for this method is cached since computing its value
      * requires non-trivial work.  
      * 
+     * RAP: The result is not filtered by activities, the wizard registries
+     * that share it between sessions filter it whenever it is queried.
+     * 
      * @return the primary wizards
      */
     public WorkbenchWizardElement [] getPrimaryWizards() {
         if (!areWizardsRead()) {
             readWizards();
         }
-        return (WorkbenchWizardElement[]) WorkbenchActivityHelper.restrictArray(primaryWizards);
+        return primaryWizards;
     }
 
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2006 IBM Corporation and others.
+ * Copyright (c) 2004, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,9 +7,11 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.wizards;
 
+import org.eclipse.ui.activities.WorkbenchActivityHelper;
 import org.eclipse.ui.internal.dialogs.WizardCollectionElement;
 import org.eclipse.ui.internal.dialogs.WorkbenchWizardElement;
 import org.eclipse.ui.wizards.IWizardCategory;
@@ -18,15 +20,16 @@ import org.eclipse.ui.wizards.IWizardRegistry;
 
 /**
  * Abstract base class for various workbench wizards.
- * 
+ * <p>
+ * The contents of the registry are published as a snapshot that is never
+ * modified once it has been set. A snapshot can therefore be shared between
+ * UI sessions and read without locking. Activity filtering depends on the
+ * session and is applied whenever the contents are queried.
+ * </p>
  */
 public abstract class AbstractWizardRegistry implements IWizardRegistry {
 
-	private boolean initialized = false;
-
-	private WorkbenchWizardElement[] primaryWizards;
-
-	private WizardCollectionElement wizardElements;
+	private volatile Snapshot snapshot;
 
 	/**
 	 * Create a new instance of this class.
@@ -39,14 +42,13 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * Dispose of this registry.
 	 */
 	public void dispose() {
-		primaryWizards = null;
-		wizardElements = null;
-		initialized = false;
+		snapshot = null;
 	}
 
 	/**
-	 * Perform initialization of this registry. Should never be called by
-	 * implementations. 
+	 * Perform initialization of this registry. Implementations must call
+	 * {@link #setContents(WizardCollectionElement, WorkbenchWizardElement[])}.
+	 * Should never be called by implementations.
 	 */
 	protected abstract void doInitialize();
 
@@ -56,8 +58,7 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @see org.eclipse.ui.wizards.IWizardRegistry#findCategory(java.lang.String)
 	 */
 	public IWizardCategory findCategory(String id) {
-		initialize();
-		return wizardElements.findCategory(id);
+		return getWizardElements().findCategory(id);
 	}
 
 	/*
@@ -66,8 +67,7 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @see org.eclipse.ui.wizards.IWizardRegistry#findWizard(java.lang.String)
 	 */
 	public IWizardDescriptor findWizard(String id) {
-		initialize();
-		return wizardElements.findWizard(id, true);
+		return getWizardElements().findWizard(id, true);
 	}
 
 	/*
@@ -76,8 +76,8 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @see org.eclipse.ui.wizards.IWizardRegistry#getPrimaryWizards()
 	 */
 	public IWizardDescriptor[] getPrimaryWizards() {
-		initialize();
-		return primaryWizards;
+		return (IWizardDescriptor[]) WorkbenchActivityHelper
+				.restrictArray(getSnapshot().primaryWizards);
 	}
 
 	/*
@@ -86,8 +86,7 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @see org.eclipse.ui.wizards.IWizardRegistry#getRootCategory()
 	 */
 	public IWizardCategory getRootCategory() {
-		initialize();
-		return wizardElements;
+		return getWizardElements();
 	}
 
 	/**
@@ -96,48 +95,62 @@ public abstract class AbstractWizardRegistry implements IWizardRegistry {
 	 * @return the wizard elements
 	 */
 	protected WizardCollectionElement getWizardElements() {
-		initialize();
-		return wizardElements;
+		return getSnapshot().wizardElements;
 	}
 
 	/**
 	 * Read the contents of the registry if necessary.
 	 */
-	protected final synchronized void initialize() {
-		if (isInitialized()) {
-			return;
-		}
-
-		initialized = true;
-		doInitialize();
+	protected final void initialize() {
+		getSnapshot();
 	}
 
 	/**
-	 * Return whether the registry has been read.
-	 * 
-	 * @return whether the registry has been read
+	 * Discard the contents of the registry. They are read again on the next
+	 * access. Readers that still hold the previous contents are not affected.
 	 */
-	private boolean isInitialized() {
-		return initialized;
+	protected void invalidate() {
+		snapshot = null;
 	}
 
 	/**
-	 * Set the primary wizards.
+	 * Publish new contents of the registry. The given elements must not be
+	 * modified afterwards.
 	 * 
+	 * @param wizardElements
+	 *            the wizard elements
 	 * @param primaryWizards
-	 *            the primary wizards
+	 *            the primary wizards, not filtered by activities
 	 */
-	protected void setPrimaryWizards(WorkbenchWizardElement[] primaryWizards) {
-		this.primaryWizards = primaryWizards;
+	protected void setContents(WizardCollectionElement wizardElements,
+			WorkbenchWizardElement[] primaryWizards) {
+		snapshot = new Snapshot(wizardElements, primaryWizards);
 	}
 
-	/**
-	 * Set the wizard elements.
-	 * 
-	 * @param wizardElements
-	 *            the wizard elements
-	 */
-	protected void setWizardElements(WizardCollectionElement wizardElements) {
-		this.wizardElements = wizardElements;
+	private Snapshot getSnapshot() {
+		Snapshot result = snapshot;
+		if (result == null) {
+			synchronized (this) {
+				result = snapshot;
+				if (result == null) {
+					doInitialize();
+					result = snapshot;
+				}
+			}
+		}
+		return result;
+	}
+
+	private static final class Snapshot {
+
+		final WizardCollectionElement wizardElements;
+
+		final WorkbenchWizardElement[] primaryWizards;
+
+		Snapshot(WizardCollectionElement wizardElements,
+				WorkbenchWizardElement[] primaryWizards) {
+			this.wizardElements = wizardElements;
+			this.primaryWizards = primaryWizards;
+		}
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2006 IBM Corporation and others.
+ * Copyright (c) 2004, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,9 +7,11 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - share registry contents between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.internal.wizards;
 
+import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.SingletonUtil;
 import org.eclipse.ui.PlatformUI;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
@@ -30,8 +32,9 @@ public class ExportWizardRegistry extends AbstractExtensionWizardRegistry {
 	 * @return the singleton instance of this class
 	 */
 	public static synchronized ExportWizardRegistry getInstance() {		
-      // RAP [rst] session singleton
-	  return SingletonUtil.getSessionInstance( ExportWizardRegistry.class );
+      // Application singleton, the contents are shared between sessions
+	  return SingletonUtil.getUniqueInstance( ExportWizardRegistry.class,
+	                                          RWT.getApplicationContext() );
 //		if (singleton == null) {
 //			singleton = new ExportWizardRegistry();
 //		}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,6 +23,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.nebula.widgets.grid.internal.griditemkit.GridItemLCA;
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
@@ -1473,7 +1474,7 @@ public class GridItem_Test {
 
     GridItem item = new GridItem( grid, SWT.NONE, 1 );
 
-    assertEquals( 1, item.index );
+    assertEquals( 1, getItemIndex( item ) );
   }
 
   @Test
@@ -1482,8 +1483,8 @@ public class GridItem_Test {
 
     new GridItem( grid, SWT.NONE, 1 );
 
-    assertEquals( 0, grid.getItem( 0 ).index );
-    assertEquals( 3, grid.getItem( 3 ).index );
+    assertEquals( 0, getItemIndex( grid.getItem( 0 ) ) );
+    assertEquals( 3, getItemIndex( grid.getItem( 3 ) ) );
   }
 
   @Test
@@ -1492,8 +1493,8 @@ public class GridItem_Test {
 
     grid.getItem( 1 ).dispose();
 
-    assertEquals( 0, grid.getItem( 0 ).index );
-    assertEquals( 1, grid.getItem( 1 ).index );
+    assertEquals( 0, getItemIndex( grid.getItem( 0 ) ) );
+    assertEquals( 1, getItemIndex( grid.getItem( 1 ) ) );
   }
 
   @Test
@@ -1502,7 +1503,7 @@ public class GridItem_Test {
 
     GridItem item = new GridItem( grid.getItem( 0 ), SWT.NONE, 1 );
 
-    assertEquals( 1, item.index );
+    assertEquals( 1, getItemIndex( item ) );
   }
 
   @Test
@@ -1511,8 +1512,8 @@ public class GridItem_Test {
 
     new GridItem( grid.getItem( 0 ), SWT.NONE, 1 );
 
-    assertEquals( 0, grid.getItem( 1 ).index );
-    assertEquals( 3, grid.getItem( 4 ).index );
+    assertEquals( 0, getItemIndex( grid.getItem( 1 ) ) );
+    assertEquals( 3, getItemIndex( grid.getItem( 4 ) ) );
   }
 
   @Test
@@ -1521,8 +1522,8 @@ public class GridItem_Test {
 
     grid.getItem( 2 ).dispose();
 
-    assertEquals( 0, grid.getItem( 1 ).index );
-    assertEquals( 1, grid.getItem( 2 ).index );
+    assertEquals( 0, getItemIndex( grid.getItem( 1 ) ) );
+    assertEquals( 1, getItemIndex( grid.getItem( 2 ) ) );
   }
 
   @Test
@@ -1532,6 +1533,10 @@ public class GridItem_Test {
     assertSame( gridItem.getAdapter( WidgetLCA.class ), gridItem.getAdapter( WidgetLCA.class ) );
   }
 
+  private int getItemIndex( GridItem item ) {
+    return grid.getAdapter( IGridAdapter.class ).getItemIndex( item );
+  }
+
   private void fakeSpacing( Grid grid, int spacing ) {
     grid.layoutCache.cellSpacing = spacing;
   }
@@ -17,6 +17,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -280,6 +281,35 @@ public class Grid_Test {
     assertEquals( 2, grid.indexOf( items[ 4 ] ) );
   }
 
+  @Test
+  public void testIndexOf_AfterInsert() {
+    GridItem[] items = createGridItems( grid, 3, 1 );
+
+    GridItem item = new GridItem( grid, SWT.NONE, 1 );
+    GridItem subItem = new GridItem( items[ 0 ], SWT.NONE, 0 );
+
+    assertEquals( 0, grid.indexOf( items[ 0 ] ) );
+    assertEquals( 1, grid.indexOf( subItem ) );
+    assertEquals( 2, grid.indexOf( items[ 1 ] ) );
+    assertEquals( 3, grid.indexOf( item ) );
+    assertEquals( 4, grid.indexOf( items[ 2 ] ) );
+    assertEquals( 7, grid.indexOf( items[ 5 ] ) );
+  }
+
+  @Test
+  public void testIndexOf_WithManyItems() {
+    GridItem[] items = createGridItems( grid, 10000, 0 );
+
+    GridItem item = new GridItem( grid, SWT.NONE, 5000 );
+    items[ 0 ].dispose();
+
+    assertEquals( 4999, grid.indexOf( item ) );
+    assertEquals( 9999, grid.indexOf( items[ 9999 ] ) );
+    for( int i = 0; i < grid.getItemCount(); i++ ) {
+      assertEquals( i, grid.indexOf( grid.getItem( i ) ) );
+    }
+  }
+
   @Test
   public void testGetColumnCount() {
     createGridColumns( grid, 5, SWT.NONE );
@@ -599,6 +629,24 @@ public class Grid_Test {
     assertEquals( "bar", items[ 0 ].getText() );
   }
 
+  @Test
+  public void testSendSetDataEvent_withIndexAfterInsert() {
+    grid = new Grid( shell, SWT.VIRTUAL );
+    grid.setItemCount( 3 );
+    new GridItem( grid, SWT.NONE, 0 );
+    final List<Integer> log = new ArrayList<Integer>();
+    grid.addListener( SWT.SetData, new Listener() {
+      @Override
+      public void handleEvent( Event event ) {
+        log.add( Integer.valueOf( event.index ) );
+      }
+    } );
+
+    grid.getItem( 3 ).getText();
+
+    assertEquals( Arrays.asList( Integer.valueOf( 3 ) ), log );
+  }
+
   @Test
   public void testClearWithColumns() {
     grid = new Grid( shell, SWT.VIRTUAL );
@@ -870,6 +918,102 @@ public class Grid_Test {
     assertTrue( Arrays.equals( expected, grid.getSelection() ) );
   }
 
+  @Test
+  public void testSelectAll_WithManyItems() {
+    grid = new Grid( shell, SWT.MULTI );
+    createGridItems( grid, 100000, 0 );
+
+    grid.selectAll();
+
+    assertEquals( 100000, grid.getSelectionCount() );
+    assertEquals( 0, grid.getSelectionIndex() );
+    assertEquals( 99999, grid.getSelectionIndices()[ 99999 ] );
+    assertTrue( grid.isSelected( 99999 ) );
+  }
+
+  @Test
+  public void testSelectAll_onVirtual_doesNotCreateItems() {
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.MULTI );
+    grid.setItemCount( 100000 );
+
+    grid.selectAll();
+
+    assertEquals( 0, countResolvedGridItems() );
+    assertEquals( 100000, grid.getSelectionCount() );
+    assertEquals( 0, grid.getSelectionIndex() );
+    assertEquals( 99999, grid.getSelectionIndices()[ 99999 ] );
+    assertTrue( grid.isSelected( 99999 ) );
+  }
+
+  @Test
+  public void testSelectAll_onVirtual_keepsSelectionOfCreatedItems() {
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.MULTI );
+    grid.setItemCount( 10 );
+
+    grid.selectAll();
+    GridItem item = grid.getItem( 5 );
+
+    assertTrue( grid.isSelected( item ) );
+    assertEquals( 10, grid.getSelectionCount() );
+    assertEquals( 10, grid.getSelection().length );
+  }
+
+  @Test
+  public void testSelectAll_onVirtual_withRemovedAndInsertedItems() {
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.MULTI );
+    grid.setItemCount( 10 );
+
+    grid.selectAll();
+    grid.deselect( 5 );
+    grid.remove( 2 );
+    new GridItem( grid, SWT.NONE, 0 );
+
+    assertArrayEquals( new int[] { 1, 2, 3, 4, 6, 7, 8, 9 }, grid.getSelectionIndices() );
+    assertFalse( grid.isSelected( 0 ) );
+    assertFalse( grid.isSelected( 5 ) );
+  }
+
+  @Test
+  public void testSelectAll_onVirtual_withReducedItemCount() {
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.MULTI );
+    grid.setItemCount( 10 );
+
+    grid.selectAll();
+    grid.setItemCount( 5 );
+
+    assertArrayEquals( new int[] { 0, 1, 2, 3, 4 }, grid.getSelectionIndices() );
+    assertEquals( 5, grid.getSelectionCount() );
+    assertEquals( 5, grid.getSelection().length );
+    assertFalse( grid.isSelected( 5 ) );
+  }
+
+  @Test
+  public void testSelectAll_onVirtual_withRemovedLastItem() {
+    grid = new Grid( shell, SWT.VIRTUAL | SWT.MULTI );
+    grid.setItemCount( 10 );
+
+    grid.selectAll();
+    grid.remove( 9 );
+
+    assertEquals( 9, grid.getSelectionCount() );
+    assertEquals( 8, grid.getSelectionIndices()[ 8 ] );
+  }
+
+  @Test
+  public void testSelectRange_WithManyItems() {
+    grid = new Grid( shell, SWT.MULTI );
+    GridItem[] items = createGridItems( grid, 100000, 0 );
+
+    grid.select( 10, 89999 );
+    grid.deselect( 20, 79999 );
+
+    assertEquals( 10010, grid.getSelectionCount() );
+    assertTrue( grid.isSelected( items[ 19 ] ) );
+    assertFalse( grid.isSelected( items[ 20 ] ) );
+    assertTrue( grid.isSelected( 80000 ) );
+    assertFalse( grid.isSelected( 90000 ) );
+  }
+
   @Test
   public void testSelectAll_AfterSelect() {
     grid = new Grid( shell, SWT.MULTI );
@@ -2816,6 +2960,126 @@ public class Grid_Test {
     assertEquals( 8, countResolvedGridItems() );
   }
 
+  @Test
+  public void testSetItemCount_onVirtual_withManyItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+
+    grid.setItemCount( 1000000 );
+    doFakeRedraw();
+
+    assertEquals( 1000000, grid.getItemCount() );
+    assertEquals( 4, countResolvedGridItems() );
+    assertEquals( 999999, grid.indexOf( grid.getItem( 999999 ) ) );
+  }
+
+  @Test
+  public void testEvictItems_withoutFlag() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    doFakeRedraw();
+    GridItem item = grid.getItem( 0 );
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    assertFalse( item.isDisposed() );
+    assertEquals( 8, countResolvedGridItems() );
+  }
+
+  @Test
+  public void testEvictItems_disposesItemsOutsideVisibleArea() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    doFakeRedraw();
+    GridItem item = grid.getItem( 0 );
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    assertTrue( item.isDisposed() );
+    assertEquals( 100, grid.getItemCount() );
+    assertEquals( 4, countResolvedGridItems() );
+  }
+
+  @Test
+  public void testEvictItems_keepsPreloadedItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    grid.setData( RWT.PRELOADED_ITEMS, Integer.valueOf( 10 ) );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    assertEquals( 24, countResolvedGridItems() );
+    assertFalse( grid.getItem( 40 ).isDisposed() );
+  }
+
+  @Test
+  public void testEvictItems_keepsSelectedItems() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL | SWT.MULTI );
+    grid.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    doFakeRedraw();
+    GridItem item = grid.getItem( 1 );
+    grid.select( 1 );
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    assertFalse( item.isDisposed() );
+    assertSame( item, grid.getSelection()[ 0 ] );
+    assertEquals( 5, countResolvedGridItems() );
+  }
+
+  @Test
+  public void testEvictItems_recreatesItem() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    doFakeRedraw();
+    GridItem item = grid.getItem( 0 );
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+    grid.addListener( SWT.SetData, new LoggingListener() );
+
+    grid.setTopIndex( 0 );
+    doFakeRedraw();
+
+    assertNotSame( item, grid.getItem( 0 ) );
+    assertFalse( grid.getItem( 0 ).isDisposed() );
+    assertEquals( 4, eventLog.size() );
+    assertEquals( 0, eventLog.get( 0 ).index );
+  }
+
+  @Test
+  public void testEvictItems_notifiesDisposeListener() {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    doFakeRedraw();
+    Listener listener = mock( Listener.class );
+    grid.getItem( 0 ).addListener( SWT.Dispose, listener );
+
+    grid.setTopIndex( 50 );
+    doFakeRedraw();
+
+    verify( listener ).handleEvent( any( Event.class ) );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testSetData_preloadedItemsWithInvalidValue() {
+    grid.setData( RWT.PRELOADED_ITEMS, "foo" );
+  }
+
   @Test
   public void testResolvedItems_onVirtual_afterAddingHiddenItemsInSetData() {
     grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import static org.eclipse.nebula.widgets.grid.GridTestUtil.loadImage;
 import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getId;
 import static org.eclipse.rap.rwt.testfixture.internal.TestMessage.getParent;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -24,6 +25,7 @@ import java.io.IOException;
 
 import org.eclipse.nebula.widgets.grid.Grid;
 import org.eclipse.nebula.widgets.grid.GridItem;
+import org.eclipse.nebula.widgets.grid.internal.IGridAdapter;
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
 import org.eclipse.rap.json.JsonValue;
@@ -153,6 +155,50 @@ public class GridItemLCA_Test {
     assertTrue( remoteObject.isDestroyed() );
   }
 
+  @Test
+  public void testRenderDispose_evictedItem() throws IOException {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    grid.getAdapter( IGridAdapter.class ).doRedraw();
+    item = grid.getItem( 0 );
+    Fixture.markInitialized( grid );
+    Fixture.markInitialized( item );
+
+    grid.setTopIndex( 50 );
+    grid.getAdapter( IGridAdapter.class ).doRedraw();
+    lca.renderDispose( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertTrue( item.isDisposed() );
+    assertNull( message.findDestroyOperation( item ) );
+    assertNotNull( message.findCallOperation( item, "release" ) );
+  }
+
+  @Test
+  public void testRenderInitialization_afterEviction_usesNewId() throws IOException {
+    grid = new Grid( shell, SWT.V_SCROLL | SWT.VIRTUAL );
+    grid.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    grid.setSize( 200, 100 );
+    grid.setItemCount( 100 );
+    grid.getAdapter( IGridAdapter.class ).doRedraw();
+    item = grid.getItem( 0 );
+    String evictedId = getId( item );
+    grid.setTopIndex( 50 );
+    grid.getAdapter( IGridAdapter.class ).doRedraw();
+    lca.renderDispose( item );
+    Fixture.fakeResponseWriter();
+
+    grid.setTopIndex( 0 );
+    GridItem newItem = grid.getItem( 0 );
+    lca.renderInitialization( newItem );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertFalse( evictedId.equals( getId( newItem ) ) );
+    assertNotNull( message.findCreateOperation( newItem ) );
+  }
+
   @Test
   public void testRenderInitialIndex() throws IOException {
     GridItem gridItem = new GridItem( grid, SWT.NONE );
@@ -362,7 +408,7 @@ public class GridItemLCA_Test {
 
     TestMessage message = Fixture.getProtocolMessage();
     JsonValue actual = message.findSetProperty( item, "images" );
-    String expected = "[null, [\"rwt-resources/generated/90fb0bfe.gif\",58,12]]";
+    String expected = "[null, [\"rwt-resources/generated/c337807e.gif\",58,12]]";
     assertEquals( JsonArray.readFrom( expected ), actual );
   }
 
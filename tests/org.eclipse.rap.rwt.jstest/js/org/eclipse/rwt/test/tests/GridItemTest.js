@@ -591,6 +591,64 @@ rwt.qx.Class.define( "org.eclipse.rwt.test.tests.GridItemTest", {
       tree.destroy();
     },
 
+    testReleaseByProtocol : function() {
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var tree = this._createTreeByProtocol( "w3", "w2", [] );
+      MessageProcessor.processOperation( {
+        "target" : "w4",
+        "action" : "create",
+        "type" : "rwt.widgets.GridItem",
+        "properties" : {
+          "parent" : "w3",
+          "index": 0,
+          "texts" : [ "foo" ]
+        }
+      } );
+      var item = ObjectRegistry.getObject( "w4" );
+
+      TestUtil.protocolCall( "w4", "release" );
+
+      assertNull( ObjectRegistry.getObject( "w4" ) );
+      assertFalse( item.isDisposed() );
+      assertFalse( item.isCached() );
+      assertIdentical( item, tree.getRootItem().getChild( 0 ) );
+      shell.destroy();
+      tree.destroy();
+    },
+
+    testCreateItemByProtocol_reusesReleasedItem : function() {
+      var shell = TestUtil.createShellByProtocol( "w2" );
+      var tree = this._createTreeByProtocol( "w3", "w2", [] );
+      MessageProcessor.processOperation( {
+        "target" : "w4",
+        "action" : "create",
+        "type" : "rwt.widgets.GridItem",
+        "properties" : {
+          "parent" : "w3",
+          "index": 0
+        }
+      } );
+      var item = ObjectRegistry.getObject( "w4" );
+      TestUtil.protocolCall( "w4", "release" );
+
+      MessageProcessor.processOperation( {
+        "target" : "w5",
+        "action" : "create",
+        "type" : "rwt.widgets.GridItem",
+        "properties" : {
+          "parent" : "w3",
+          "index": 0,
+          "texts" : [ "bar" ]
+        }
+      } );
+
+      assertIdentical( item, ObjectRegistry.getObject( "w5" ) );
+      assertNull( ObjectRegistry.getObject( "w4" ) );
+      assertEquals( "bar", item.getText( 0 ) );
+      shell.destroy();
+      tree.destroy();
+    },
+
     testCreateItem : function() {
       var item = new rwt.widgets.GridItem();
       assertTrue( item instanceof rwt.widgets.GridItem );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource and others.
+ * Copyright (c) 2010, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -15,6 +15,7 @@ import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -35,6 +36,7 @@ import org.eclipse.rap.rwt.client.Client;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.client.ClientSelector;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
+import org.eclipse.rap.rwt.internal.resources.ResourceServiceHandler;
 import org.eclipse.rap.rwt.internal.service.ContextProvider;
 import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
 import org.eclipse.rap.rwt.internal.service.ServiceStore;
@@ -146,6 +148,20 @@ public class RWTServlet_Test {
     assertEquals( SC_NOT_FOUND, response.getErrorStatus() );
   }
 
+  @Test
+  public void testHandleRequest_toResourceServiceHandler_doesNotCreateSession() throws Exception {
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( request.getParameter( ServiceManagerImpl.REQUEST_PARAM ) )
+      .thenReturn( ResourceServiceHandler.HANDLER_ID );
+    when( request.getParameter( "resource" ) ).thenReturn( "foo.js" );
+
+    servlet.doGet( request, response );
+
+    verify( request, never() ).getSession( true );
+    verify( request, never() ).getSession();
+    assertEquals( SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
   @Test
   public void testHandleRequest_toCustomServiceHandler_hasUISession() throws Exception {
     UISessionImpl uiSession = new UISessionImpl( applicationContext, request.getSession(), "cid" );
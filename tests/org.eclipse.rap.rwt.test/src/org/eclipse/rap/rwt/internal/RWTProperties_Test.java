@@ -10,6 +10,8 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal;
 
+import static org.eclipse.rap.rwt.internal.RWTProperties.COMPRESS_RESPONSE_THRESHOLD;
+import static org.eclipse.rap.rwt.internal.RWTProperties.DEFAULT_COMPRESS_RESPONSE_THRESHOLD;
 import static org.eclipse.rap.rwt.internal.RWTProperties.SERVICE_HANDLER_BASE_URL;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
@@ -34,6 +36,7 @@ public class RWTProperties_Test {
   public void tearDown() {
     System.getProperties().remove( TEST_PROPERTY );
     System.getProperties().remove( SERVICE_HANDLER_BASE_URL );
+    System.getProperties().remove( COMPRESS_RESPONSE_THRESHOLD );
   }
 
   @Test
@@ -71,6 +74,46 @@ public class RWTProperties_Test {
     assertFalse( RWTProperties.getBooleanProperty( TEST_PROPERTY, false ) );
   }
 
+  @Test
+  public void testGetIntProperty() {
+    System.setProperty( TEST_PROPERTY, " 23 " );
+
+    assertEquals( 23, RWTProperties.getIntProperty( TEST_PROPERTY, 42 ) );
+  }
+
+  @Test
+  public void testGetIntProperty_usesDefault() {
+    assertEquals( 42, RWTProperties.getIntProperty( TEST_PROPERTY, 42 ) );
+  }
+
+  @Test
+  public void testGetIntProperty_usesDefaultForInvalidValue() {
+    System.setProperty( TEST_PROPERTY, "foo" );
+
+    assertEquals( 42, RWTProperties.getIntProperty( TEST_PROPERTY, 42 ) );
+  }
+
+  @Test
+  public void testGetIntProperty_usesDefaultForValueBelowMinimum() {
+    System.setProperty( TEST_PROPERTY, "-1" );
+
+    assertEquals( 42, RWTProperties.getIntProperty( TEST_PROPERTY, 42, 0 ) );
+  }
+
+  @Test
+  public void testGetIntProperty_acceptsMinimum() {
+    System.setProperty( TEST_PROPERTY, "0" );
+
+    assertEquals( 0, RWTProperties.getIntProperty( TEST_PROPERTY, 42, 0 ) );
+  }
+
+  @Test
+  public void testGetCompressResponseThreshold_withNegativeValue() {
+    System.setProperty( COMPRESS_RESPONSE_THRESHOLD, "-1" );
+
+    assertEquals( DEFAULT_COMPRESS_RESPONSE_THRESHOLD, RWTProperties.getCompressResponseThreshold() );
+  }
+
   @Test
   public void testGetServiceHandlerBaseUrl_returnsNullByDefault() {
     assertNull( RWTProperties.getServiceHandlerBaseUrl() );
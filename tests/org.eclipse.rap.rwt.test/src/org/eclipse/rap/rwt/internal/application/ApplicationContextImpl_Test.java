@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -29,6 +29,7 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
@@ -698,7 +699,7 @@ public class ApplicationContextImpl_Test {
   private static class TestResourceLoader implements ResourceLoader {
     @Override
     public InputStream getResourceAsStream( String resourceName ) throws IOException {
-      return mock( InputStream.class );
+      return new ByteArrayInputStream( new byte[ 0 ] );
     }
   }
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -23,7 +23,9 @@ import org.eclipse.rap.rwt.application.Application.OperationMode;
 import org.eclipse.rap.rwt.application.ApplicationConfiguration;
 import org.eclipse.rap.rwt.application.ExceptionHandler;
 import org.eclipse.rap.rwt.engine.RWTServlet;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.engine.RWTClusterSupport;
+import org.eclipse.rap.rwt.internal.lifecycle.HandoffLifeCycle;
 import org.eclipse.rap.rwt.internal.lifecycle.LifeCycle;
 import org.eclipse.rap.rwt.internal.lifecycle.RWTLifeCycle;
 import org.eclipse.rap.rwt.internal.lifecycle.SimpleLifeCycle;
@@ -74,6 +76,20 @@ public class ApplicationImpl_Test {
     assertSame( RWTLifeCycle.class, lifeCycle.getClass() );
   }
 
+  @Test
+  public void testSetOperationModeToSWTCompatibilityWithLightweightUIThreads() {
+    System.setProperty( RWTProperties.LIGHTWEIGHT_UI_THREADS, "true" );
+    try {
+      application.setOperationMode( OperationMode.SWT_COMPATIBILITY );
+    } finally {
+      System.getProperties().remove( RWTProperties.LIGHTWEIGHT_UI_THREADS );
+    }
+    applicationContext.activate();
+
+    LifeCycle lifeCycle = applicationContext.getLifeCycleFactory().getLifeCycle();
+    assertSame( HandoffLifeCycle.class, lifeCycle.getClass() );
+  }
+
   @Test
   public void testSetOperationModeToJEECompatibility() {
     application.setOperationMode( OperationMode.JEE_COMPATIBILITY );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,26 +10,42 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.engine;
 
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Matchers.endsWith;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Matchers.isNull;
 import static org.mockito.Matchers.same;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
 import javax.servlet.FilterChain;
+import javax.servlet.FilterConfig;
 import javax.servlet.ServletContext;
 import javax.servlet.http.HttpSession;
 
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushServiceHandler;
+import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
 import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.internal.util.ClassInstantiationException;
 import org.eclipse.rap.rwt.service.ApplicationContext;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
 import org.junit.Before;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 
 public class RWTClusterSupport_Test {
@@ -48,6 +64,7 @@ public class RWTClusterSupport_Test {
     response = new TestResponse();
     chain = mock( FilterChain.class );
     rwtClusterSupport = new RWTClusterSupport();
+    TestSessionReplicator.log.clear();
   }
 
   @Test
@@ -128,6 +145,174 @@ public class RWTClusterSupport_Test {
     verify( httpSession ).setAttribute( endsWith( "foo" ), same( deserializedUISession ) );
   }
 
+  @Test
+  public void testDoFilter_withChangedSessionReplication_marksChangedUISession() throws Exception {
+    rwtClusterSupport = new RWTClusterSupport( true );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.markChanged();
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( httpSession ).setAttribute( anyString(), same( uiSession ) );
+  }
+
+  @Test
+  public void testDoFilter_withChangedSessionReplication_skipsUnchangedUISession() throws Exception {
+    rwtClusterSupport = new RWTClusterSupport( true );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.resetChanged();
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( httpSession, never() ).setAttribute( anyString(), any() );
+  }
+
+  @Test
+  public void testDoFilter_withChangedSessionReplication_skipsServerPushRequest() throws Exception {
+    rwtClusterSupport = new RWTClusterSupport( true );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    request.setParameter( ServiceManagerImpl.REQUEST_PARAM, ServerPushServiceHandler.HANDLER_ID );
+    UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.resetChanged();
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( httpSession, never() ).setAttribute( anyString(), any() );
+  }
+
+  @Test
+  public void testDoFilter_withChangedSessionReplication_marksUISessionForCustomServiceHandler()
+    throws Exception
+  {
+    rwtClusterSupport = new RWTClusterSupport( true );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    request.setParameter( ServiceManagerImpl.REQUEST_PARAM, "custom" );
+    UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.resetChanged();
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( httpSession ).setAttribute( anyString(), same( uiSession ) );
+  }
+
+  @Test
+  public void testDoFilter_withChangedSessionReplication_marksUISessionChangedDuringRequest()
+    throws Exception
+  {
+    rwtClusterSupport = new RWTClusterSupport( true );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    final UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.resetChanged();
+    doAnswer( new Answer<Void>() {
+      @Override
+      public Void answer( InvocationOnMock invocation ) {
+        uiSession.setAttribute( "foo", "bar" );
+        return null;
+      }
+    } ).when( chain ).doFilter( same( request ), same( response ) );
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( httpSession ).setAttribute( anyString(), same( uiSession ) );
+  }
+
+  @Test
+  public void testDoFilter_withChangedSessionReplication_passesChangedAttributesToReplicator()
+    throws Exception
+  {
+    SessionReplicator replicator = mock( SessionReplicator.class );
+    rwtClusterSupport = new RWTClusterSupport( true, replicator );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    final UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.resetChanged();
+    doAnswer( new Answer<Void>() {
+      @Override
+      public Void answer( InvocationOnMock invocation ) {
+        uiSession.setAttribute( "foo", "bar" );
+        return null;
+      }
+    } ).when( chain ).doFilter( same( request ), same( response ) );
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( replicator ).replicate( same( uiSession ), eq( singleton( "foo" ) ) );
+    verify( httpSession, never() ).setAttribute( anyString(), any() );
+  }
+
+  @Test
+  public void testDoFilter_withoutChangedSessionReplication_passesUnknownChangesToReplicator()
+    throws Exception
+  {
+    SessionReplicator replicator = mock( SessionReplicator.class );
+    rwtClusterSupport = new RWTClusterSupport( false, replicator );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.resetChanged();
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( replicator ).replicate( same( uiSession ), isNull( Set.class ) );
+  }
+
+  @Test
+  public void testInit_withSessionReplicatorParam_usesConfiguredReplicator() throws Exception {
+    rwtClusterSupport = new RWTClusterSupport( true );
+    rwtClusterSupport.init( mockFilterConfig( TestSessionReplicator.class.getName() ) );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+    uiSession.resetChanged();
+    uiSession.setAttribute( "foo", "bar" );
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    assertEquals( 1, TestSessionReplicator.log.size() );
+    assertEquals( singleton( "foo" ), TestSessionReplicator.log.get( 0 ) );
+    verify( httpSession, never() ).setAttribute( anyString(), any() );
+  }
+
+  @Test
+  public void testInit_withoutSessionReplicatorParam_keepsDefaultReplicator() throws Exception {
+    rwtClusterSupport.init( mockFilterConfig( null ) );
+    HttpSession httpSession = mockHttpSession();
+    request.setSession( httpSession );
+    UISessionImpl uiSession = new UISessionImpl( null, httpSession );
+    setUISession( httpSession, uiSession );
+
+    rwtClusterSupport.doFilter( request, response, chain );
+
+    verify( httpSession ).setAttribute( anyString(), same( uiSession ) );
+  }
+
+  @Test( expected = ClassInstantiationException.class )
+  public void testInit_withUnknownSessionReplicator() {
+    rwtClusterSupport.init( mockFilterConfig( "does.not.Exist" ) );
+  }
+
+  private static FilterConfig mockFilterConfig( String replicatorClassName ) {
+    FilterConfig filterConfig = mock( FilterConfig.class );
+    when( filterConfig.getInitParameter( RWTClusterSupport.SESSION_REPLICATOR_PARAM ) )
+      .thenReturn( replicatorClassName );
+    return filterConfig;
+  }
+
   private static HttpSession mockHttpSession() {
     return mockHttpSession( mock( ServletContext.class ) );
   }
@@ -153,4 +338,15 @@ public class RWTClusterSupport_Test {
     when( httpSession.getAttribute( eq( attributeName ) ) ).thenReturn( uiSession );
   }
 
+  public static class TestSessionReplicator implements SessionReplicator {
+
+    static final List<Set<String>> log = new ArrayList<Set<String>>();
+
+    @Override
+    public void replicate( UISessionImpl uiSession, Set<String> changedAttributes ) {
+      log.add( changedAttributes );
+    }
+
+  }
+
 }
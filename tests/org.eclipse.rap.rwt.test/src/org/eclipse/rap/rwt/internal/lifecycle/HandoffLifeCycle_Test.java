@@ -0,0 +1,259 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import static org.eclipse.rap.rwt.internal.service.ContextProvider.getApplicationContext;
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.runInThread;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.rap.rwt.application.EntryPoint;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Event;
+import org.eclipse.swt.widgets.Listener;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class HandoffLifeCycle_Test {
+
+  private static final String ERR_MSG = "TEST_ERROR";
+
+  private static StringBuffer log = new StringBuffer();
+  private EntryPointManager entryPointManager;
+  private HandoffLifeCycle lifeCycle;
+
+  @Before
+  public void setUp() {
+    log.setLength( 0 );
+    Fixture.setUp();
+    Fixture.fakeNewRequest();
+    Fixture.fakeResponseWriter();
+    entryPointManager = getApplicationContext().getEntryPointManager();
+    lifeCycle = new HandoffLifeCycle( getApplicationContext() );
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testExecute_createsHandoffUIThread() throws IOException {
+    registerEntryPoint( EventLoopEntryPoint.class );
+
+    lifeCycle.execute();
+
+    IUIThreadHolder uiThread = LifeCycleUtil.getUIThread( ContextProvider.getUISession() );
+    assertTrue( uiThread instanceof HandoffUIThread );
+    assertTrue( uiThread.getThread().isAlive() );
+  }
+
+  @Test
+  public void testExecute_namesUIThread() throws IOException {
+    registerEntryPoint( EventLoopEntryPoint.class );
+
+    lifeCycle.execute();
+
+    UISession uiSession = ContextProvider.getUISession();
+    Thread thread = LifeCycleUtil.getUIThread( uiSession ).getThread();
+    assertEquals( "UIThread [" + uiSession.getId() + "]", thread.getName() );
+  }
+
+  @Test
+  public void testExecute_runsEntryPointInUIThread() throws IOException {
+    registerEntryPoint( EventLoopEntryPoint.class );
+
+    lifeCycle.execute();
+
+    Thread uiThread = LifeCycleUtil.getUIThread( ContextProvider.getUISession() ).getThread();
+    assertEquals( "createUI in " + uiThread.getName(), log.toString() );
+  }
+
+  @Test
+  public void testExecute_withoutEventLoop_keepsUIThreadUntilSessionEnds() throws IOException {
+    registerEntryPoint( NoEventLoopEntryPoint.class );
+
+    lifeCycle.execute();
+
+    IUIThreadHolder uiThread = LifeCycleUtil.getUIThread( ContextProvider.getUISession() );
+    assertTrue( uiThread.getThread().isAlive() );
+    assertEquals( "createUI", log.toString() );
+  }
+
+  @Test
+  public void testExecute_dispatchesEventsInSubsequentRequests() throws IOException {
+    registerEntryPoint( EventLoopEntryPoint.class );
+    lifeCycle.execute();
+    log.setLength( 0 );
+    Fixture.fakeNewRequest();
+    final Shell shell = EventLoopEntryPoint.shell;
+    ProcessActionRunner.add( new Runnable() {
+      @Override
+      public void run() {
+        shell.notifyListeners( SWT.Selection, new Event() );
+      }
+    } );
+
+    lifeCycle.execute();
+
+    assertEquals( "selection", log.toString() );
+  }
+
+  @Test
+  public void testExecute_endsEventLoop() throws IOException {
+    registerEntryPoint( EventLoopEntryPoint.class );
+    lifeCycle.execute();
+    IUIThreadHolder uiThread = LifeCycleUtil.getUIThread( ContextProvider.getUISession() );
+    Fixture.fakeNewRequest();
+    final Shell shell = EventLoopEntryPoint.shell;
+    ProcessActionRunner.add( new Runnable() {
+      @Override
+      public void run() {
+        shell.dispose();
+      }
+    } );
+
+    lifeCycle.execute();
+
+    assertTrue( log.toString().endsWith( "end of createUI" ) );
+    assertSame( uiThread, LifeCycleUtil.getUIThread( ContextProvider.getUISession() ) );
+  }
+
+  @Test
+  public void testExecute_rethrowsErrorInCreateUI() throws IOException {
+    registerEntryPoint( ErrorEntryPoint.class );
+
+    try {
+      lifeCycle.execute();
+      fail();
+    } catch( RuntimeException exception ) {
+      assertEquals( ERR_MSG, exception.getMessage() );
+    }
+  }
+
+  @Test
+  public void testRequestThreadExec() throws IOException {
+    registerEntryPoint( RequestThreadExecEntryPoint.class );
+    final Thread requestThread = Thread.currentThread();
+    final AtomicReference<Thread> executingThread = new AtomicReference<>();
+    RequestThreadExecEntryPoint.lifeCycle = lifeCycle;
+    RequestThreadExecEntryPoint.runnable = new Runnable() {
+      @Override
+      public void run() {
+        executingThread.set( Thread.currentThread() );
+      }
+    };
+
+    lifeCycle.execute();
+
+    assertSame( requestThread, executingThread.get() );
+  }
+
+  @Test
+  public void testSessionInvalidateWithRunningEventLoop() throws Throwable {
+    registerEntryPoint( EventLoopEntryPoint.class );
+    lifeCycle.execute();
+    UISession uiSession = ContextProvider.getUISession();
+    IUIThreadHolder uiThread = LifeCycleUtil.getUIThread( uiSession );
+    log.setLength( 0 );
+
+    invalidateSession( uiSession );
+
+    assertFalse( uiThread.getThread().isAlive() );
+    assertFalse( uiSession.isBound() );
+    assertEquals( "display disposed", log.toString() );
+  }
+
+  private void registerEntryPoint( Class<? extends EntryPoint> entryPoint ) {
+    entryPointManager.register( TestRequest.DEFAULT_SERVLET_PATH, entryPoint, null );
+  }
+
+  private static void invalidateSession( final UISession uiSession ) throws Throwable {
+    runInThread( new Runnable() {
+      @Override
+      public void run() {
+        uiSession.getHttpSession().invalidate();
+      }
+    } );
+  }
+
+  public static class EventLoopEntryPoint implements EntryPoint {
+    static Shell shell;
+    @Override
+    public int createUI() {
+      Display display = new Display();
+      display.addListener( SWT.Dispose, new Listener() {
+        @Override
+        public void handleEvent( Event event ) {
+          log.append( "display disposed" );
+        }
+      } );
+      shell = new Shell( display );
+      shell.addListener( SWT.Selection, new Listener() {
+        @Override
+        public void handleEvent( Event event ) {
+          log.append( "selection" );
+        }
+      } );
+      shell.open();
+      log.append( "createUI in " + Thread.currentThread().getName() );
+      while( !shell.isDisposed() ) {
+        if( !display.readAndDispatch() ) {
+          display.sleep();
+        }
+      }
+      log.append( " end of createUI" );
+      return 0;
+    }
+  }
+
+  public static class NoEventLoopEntryPoint implements EntryPoint {
+    @Override
+    public int createUI() {
+      new Display();
+      log.append( "createUI" );
+      return 0;
+    }
+  }
+
+  public static class ErrorEntryPoint implements EntryPoint {
+    @Override
+    public int createUI() {
+      throw new RuntimeException( ERR_MSG );
+    }
+  }
+
+  public static class RequestThreadExecEntryPoint implements EntryPoint {
+    static LifeCycle lifeCycle;
+    static Runnable runnable;
+    @Override
+    public int createUI() {
+      new Display();
+      lifeCycle.requestThreadExec( runnable );
+      return 0;
+    }
+  }
+
+}
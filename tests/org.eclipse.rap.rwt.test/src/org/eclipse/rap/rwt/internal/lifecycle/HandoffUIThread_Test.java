@@ -0,0 +1,204 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.eclipse.rap.rwt.internal.lifecycle.UIThread.UIThreadTerminatedError;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class HandoffUIThread_Test {
+
+  private StringBuffer log;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    log = new StringBuffer();
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testStart_returnsWhenUIThreadSwitches() {
+    final AtomicReference<HandoffUIThread> uiThread = new AtomicReference<>();
+    uiThread.set( new HandoffUIThread( new Runnable() {
+      @Override
+      public void run() {
+        log.append( "ui1 " );
+        uiThread.get().switchThread();
+        log.append( "ui2 " );
+      }
+    } ) );
+
+    uiThread.get().start();
+
+    assertEquals( "ui1 ", log.toString() );
+    assertTrue( uiThread.get().getThread().isAlive() );
+  }
+
+  @Test
+  public void testSwitchThread_alternatesBetweenThreads() {
+    final AtomicReference<HandoffUIThread> uiThread = new AtomicReference<>();
+    uiThread.set( new HandoffUIThread( new Runnable() {
+      @Override
+      public void run() {
+        for( int i = 0; i < 3; i++ ) {
+          log.append( "ui" + i + " " );
+          uiThread.get().switchThread();
+        }
+      }
+    } ) );
+    uiThread.get().start();
+
+    for( int i = 0; i < 3; i++ ) {
+      log.append( "request" + i + " " );
+      uiThread.get().switchThread();
+    }
+
+    assertEquals( "ui0 request0 ui1 request1 ui2 request2 ", log.toString() );
+  }
+
+  @Test
+  public void testSwitchThread_returnsWhenUIThreadEnds() throws InterruptedException {
+    HandoffUIThread uiThread = new HandoffUIThread( new Runnable() {
+      @Override
+      public void run() {
+        log.append( "ui" );
+      }
+    } );
+
+    uiThread.start();
+    uiThread.getThread().join();
+
+    assertEquals( "ui", log.toString() );
+    assertFalse( uiThread.getThread().isAlive() );
+  }
+
+  @Test
+  public void testSwitchThread_cannotBeInterrupted() throws InterruptedException {
+    final AtomicReference<Throwable> errorInUIThread = new AtomicReference<>();
+    final AtomicReference<HandoffUIThread> uiThread = new AtomicReference<>();
+    uiThread.set( new HandoffUIThread( new Runnable() {
+      @Override
+      public void run() {
+        try {
+          uiThread.get().switchThread();
+          log.append( "resumed" );
+        } catch( Throwable throwable ) {
+          errorInUIThread.set( throwable );
+        }
+      }
+    } ) );
+    uiThread.get().start();
+
+    uiThread.get().getThread().interrupt();
+    Thread.sleep( 100 );
+
+    assertNull( errorInUIThread.get() );
+    assertEquals( "", log.toString() );
+    uiThread.get().switchThread();
+    assertEquals( "resumed", log.toString() );
+  }
+
+  @Test
+  public void testUpdateServiceContext() {
+    HandoffUIThread uiThread = new HandoffUIThread( null );
+    ServiceContext serviceContext = ContextProvider.getContext();
+    ContextProvider.releaseContextHolder();
+    uiThread.setServiceContext( serviceContext );
+
+    uiThread.updateServiceContext();
+
+    assertSame( serviceContext, ContextProvider.getContext() );
+  }
+
+  @Test
+  public void testTerminateThread_throwsErrorInUIThread() {
+    final AtomicReference<Throwable> errorInUIThread = new AtomicReference<>();
+    final AtomicReference<PhaseId> phaseInUIThread = new AtomicReference<>();
+    final AtomicReference<HandoffUIThread> uiThread = new AtomicReference<>();
+    uiThread.set( new HandoffUIThread( new Runnable() {
+      @Override
+      public void run() {
+        try {
+          uiThread.get().switchThread();
+        } catch( Throwable throwable ) {
+          errorInUIThread.set( throwable );
+          phaseInUIThread.set( CurrentPhase.get() );
+        }
+      }
+    } ) );
+    uiThread.get().setUISession( ContextProvider.getUISession() );
+    uiThread.get().start();
+
+    uiThread.get().terminateThread();
+
+    assertFalse( uiThread.get().getThread().isAlive() );
+    assertTrue( errorInUIThread.get() instanceof UIThreadTerminatedError );
+    assertSame( PhaseId.PROCESS_ACTION, phaseInUIThread.get() );
+  }
+
+  @Test
+  public void testGetCurrent() {
+    final AtomicReference<HandoffUIThread> current = new AtomicReference<>();
+    HandoffUIThread uiThread = new HandoffUIThread( new Runnable() {
+      @Override
+      public void run() {
+        current.set( HandoffUIThread.getCurrent() );
+      }
+    } );
+
+    uiThread.start();
+
+    assertSame( uiThread, current.get() );
+    assertNull( HandoffUIThread.getCurrent() );
+  }
+
+  @Test
+  public void testCreatesThreadWithThreadFactory() {
+    final Thread thread = new Thread();
+    ThreadFactory threadFactory = new ThreadFactory() {
+      @Override
+      public Thread newThread( Runnable runnable ) {
+        return thread;
+      }
+    };
+
+    HandoffUIThread uiThread = new HandoffUIThread( null, threadFactory );
+
+    assertSame( thread, uiThread.getThread() );
+  }
+
+  @Test
+  public void testCreatesDaemonThread() {
+    HandoffUIThread uiThread = new HandoffUIThread( null );
+
+    assertTrue( uiThread.getThread().isDaemon() );
+  }
+
+}
@@ -0,0 +1,141 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.lifecycle;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+
+/**
+ * Compares the monitor based <code>UIThread</code> with the <code>HandoffUIThread</code>. Measures
+ * the latency of a round trip from the request thread to the UI thread and back, and the memory
+ * that is needed per idle UI session, i.e. per parked UI thread.
+ * <p>
+ * Usage: <code>UIThreadBenchmark [monitor|handoff] [sessions] [round trips]</code>. Run each mode
+ * in a separate JVM, as parked UI threads are not terminated. Platform thread stacks are not part
+ * of the heap, hence the resident set size is reported as well (Linux only).
+ * </p>
+ */
+public class UIThreadBenchmark {
+
+  private static final long GB = 1024L * 1024L * 1024L;
+
+  public static void main( String[] args ) throws Exception {
+    boolean handoff = args.length == 0 || "handoff".equals( args[ 0 ] );
+    int sessions = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 2000;
+    int roundTrips = args.length > 2 ? Integer.parseInt( args[ 2 ] ) : 100000;
+    System.out.println( "mode: " + ( handoff ? "handoff" : "monitor" )
+                        + ", virtual threads supported: "
+                        + HandoffUIThread.isVirtualThreadSupported() );
+    measureLatency( handoff, roundTrips / 10 ); // warm up
+    measureLatency( handoff, roundTrips );
+    measureMemory( handoff, sessions );
+  }
+
+  private static void measureLatency( boolean handoff, int roundTrips ) {
+    IUIThreadHolder uiThread = startUIThread( handoff );
+    long start = System.nanoTime();
+    for( int i = 0; i < roundTrips; i++ ) {
+      uiThread.switchThread();
+    }
+    long duration = System.nanoTime() - start;
+    System.out.println( "round trips: " + roundTrips
+                        + ", latency: " + duration / roundTrips + " ns per round trip" );
+  }
+
+  private static void measureMemory( boolean handoff, int sessions ) {
+    long heapBefore = getUsedHeap();
+    long rssBefore = getResidentSetSize();
+    List<IUIThreadHolder> uiThreads = new ArrayList<>( sessions );
+    for( int i = 0; i < sessions; i++ ) {
+      uiThreads.add( startUIThread( handoff ) );
+    }
+    long heapPerSession = ( getUsedHeap() - heapBefore ) / sessions;
+    long rssPerSession = ( getResidentSetSize() - rssBefore ) / sessions;
+    System.out.println( "sessions: " + uiThreads.size() );
+    System.out.println( "heap: " + heapPerSession + " bytes per session, "
+                        + getSessionsPerGB( heapPerSession ) + " sessions per GB" );
+    if( rssBefore > 0 ) {
+      System.out.println( "rss: " + rssPerSession + " bytes per session, "
+                          + getSessionsPerGB( rssPerSession ) + " sessions per GB" );
+    }
+  }
+
+  private static IUIThreadHolder startUIThread( boolean handoff ) {
+    final AtomicReference<IUIThreadHolder> holder = new AtomicReference<>();
+    Runnable runnable = new Runnable() {
+      @Override
+      public void run() {
+        IUIThreadHolder uiThread = holder.get();
+        if( !( uiThread instanceof HandoffUIThread ) ) {
+          synchronized( uiThread.getLock() ) {
+            simulateEventLoop( uiThread );
+          }
+        } else {
+          simulateEventLoop( uiThread );
+        }
+      }
+    };
+    if( handoff ) {
+      HandoffUIThread uiThread = new HandoffUIThread( runnable );
+      holder.set( uiThread );
+      uiThread.start();
+    } else {
+      UIThread uiThread = new UIThread( runnable );
+      uiThread.setDaemon( true );
+      holder.set( uiThread );
+      synchronized( uiThread.getLock() ) {
+        uiThread.start();
+        uiThread.switchThread();
+      }
+    }
+    return holder.get();
+  }
+
+  private static void simulateEventLoop( IUIThreadHolder uiThread ) {
+    while( true ) {
+      uiThread.switchThread();
+    }
+  }
+
+  private static long getSessionsPerGB( long bytesPerSession ) {
+    return bytesPerSession > 0 ? GB / bytesPerSession : -1;
+  }
+
+  private static long getUsedHeap() {
+    Runtime runtime = Runtime.getRuntime();
+    for( int i = 0; i < 3; i++ ) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private static long getResidentSetSize() {
+    try( BufferedReader reader = new BufferedReader( new FileReader( "/proc/self/status" ) ) ) {
+      String line = reader.readLine();
+      while( line != null ) {
+        if( line.startsWith( "VmRSS:" ) ) {
+          String value = line.substring( "VmRSS:".length() ).replace( "kB", "" ).trim();
+          return Long.parseLong( value ) * 1024;
+        }
+        line = reader.readLine();
+      }
+    } catch( @SuppressWarnings( "unused" ) IOException exception ) {
+      // not available on this platform
+    }
+    return -1;
+  }
+
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.protocol;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonValue;
+import org.eclipse.rap.rwt.internal.protocol.Operation.CallOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.DestroyOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.ListenOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.NotifyOperation;
+import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
+import org.junit.Test;
+
+
+public class ClientMessageReader_Test {
+
+  @Test( expected = NullPointerException.class )
+  public void testRead_failsWithNullInput() throws IOException {
+    ClientMessageReader.read( null );
+  }
+
+  @Test
+  public void testRead_readsHead() throws IOException {
+    ClientMessage message = read( "{ \"head\" : { \"requestCounter\" : 23 }, \"operations\" : [] }" );
+
+    assertEquals( new JsonObject().add( "requestCounter", 23 ), message.getHead() );
+    assertTrue( message.getOperations().isEmpty() );
+  }
+
+  @Test
+  public void testRead_readsAllOperationTypes() throws IOException {
+    ClientMessage message = read( "{ \"head\" : {}, \"operations\" : ["
+                                + "[ \"create\", \"w1\", \"type\", { \"a\" : 1 } ],"
+                                + "[ \"destroy\", \"w1\" ],"
+                                + "[ \"set\", \"w2\", { \"b\" : true } ],"
+                                + "[ \"call\", \"w3\", \"method\", { \"c\" : null } ],"
+                                + "[ \"listen\", \"w4\", { \"d\" : false } ],"
+                                + "[ \"notify\", \"w5\", \"event\", { \"e\" : \"f\" } ]"
+                                + "] }" );
+
+    List<Operation> operations = message.getOperations();
+    assertEquals( 6, operations.size() );
+    CreateOperation create = ( CreateOperation )operations.get( 0 );
+    assertEquals( "type", create.getType() );
+    assertEquals( 1, create.getProperties().get( "a" ).asInt() );
+    assertEquals( "w1", ( ( DestroyOperation )operations.get( 1 ) ).getTarget() );
+    assertSame( JsonValue.TRUE, ( ( SetOperation )operations.get( 2 ) ).getProperties().get( "b" ) );
+    assertEquals( "method", ( ( CallOperation )operations.get( 3 ) ).getMethodName() );
+    assertSame( JsonValue.FALSE, ( ( ListenOperation )operations.get( 4 ) ).getProperties().get( "d" ) );
+    assertEquals( "event", ( ( NotifyOperation )operations.get( 5 ) ).getEventName() );
+  }
+
+  @Test
+  public void testRead_createsIndex() throws IOException {
+    ClientMessage message = read( "{ \"head\" : {}, \"operations\" : ["
+                                + "[ \"set\", \"w3\", { \"foo\" : 23 } ],"
+                                + "[ \"set\", \"w4\", { \"foo\" : 42 } ],"
+                                + "[ \"notify\", \"w3\", \"event\", {} ]"
+                                + "] }" );
+
+    List<Operation> operations = message.getAllOperationsFor( "w3" );
+
+    assertEquals( 2, operations.size() );
+    assertTrue( operations.get( 0 ) instanceof SetOperation );
+    assertTrue( operations.get( 1 ) instanceof NotifyOperation );
+    assertEquals( 42, message.getLastSetOperationFor( "w4", "foo" ).getProperties().get( "foo" ).asInt() );
+  }
+
+  @Test
+  public void testRead_equalsParsedMessage() throws IOException {
+    String json = "{\n  \"operations\" : [\n"
+                + "    [ \"set\", \"w3\", { \"text\" : \"a\\\"b\\\\c\\/\\b\\f\\n\\r\\t\\u00e4\\u20AC\" } ],\n"
+                + "    [ \"set\", \"w3\", { \"bounds\" : [ 0, -1, 1.5, -2.5e3, 1E+2, 3e-1 ] } ],\n"
+                + "    [ \"set\", \"w3\", { \"big\" : 123456789012345678901234567890, \"zero\" : -0 } ],\n"
+                + "    [ \"set\", \"w3\", { \"long\" : -9223372036854775807, \"int\" : 2147483647 } ],\n"
+                + "    [ \"call\", \"w4\", \"m\", { \"nested\" : { \"a\" : [ {}, [], null ] } } ],\n"
+                + "    [ \"set\", \"w5\", { \"text\" : \"\u00e4\u00f6\u00fc \u20ac \ud83d\ude00\" } ]\n"
+                + "  ],\n"
+                + "  \"head\" : { \"requestCounter\" : 1, \"shutdown\" : false },\n"
+                + "  \"ignored\" : [ 1, 2 ]\n"
+                + "}";
+
+    ClientMessage message = read( json );
+
+    assertEquals( parse( json ).toJson(), message.toJson() );
+  }
+
+  @Test
+  public void testRead_withLargeMessage() throws IOException {
+    StringBuilder json = new StringBuilder( "{ \"head\" : {}, \"operations\" : [" );
+    for( int i = 0; i < 5000; i++ ) {
+      if( i > 0 ) {
+        json.append( ',' );
+      }
+      json.append( "[ \"set\", \"w" + i % 100 + "\", { \"text\" : \"\u00e4\u20ac" + i + "\" } ]" );
+    }
+    json.append( "] }" );
+
+    ClientMessage message = read( json.toString() );
+
+    assertEquals( 5000, message.getOperations().size() );
+    assertEquals( 50, message.getAllOperationsFor( "w42" ).size() );
+    assertEquals( parse( json.toString() ).toJson(), message.toJson() );
+  }
+
+  @Test
+  public void testRead_withLongStrings() throws IOException {
+    StringBuilder text = new StringBuilder();
+    for( int i = 0; i < 10000; i++ ) {
+      text.append( i % 10 == 0 ? "\u20ac" : "x" );
+    }
+    String json = "{ \"head\" : {}, \"operations\" : [ [ \"set\", \"w1\", { \"text\" : \""
+                + text
+                + "\" } ] ] }";
+
+    ClientMessage message = read( json );
+
+    SetOperation operation = ( SetOperation )message.getOperations().get( 0 );
+    assertEquals( text.toString(), operation.getProperties().get( "text" ).asString() );
+  }
+
+  @Test
+  public void testRead_replacesMalformedUTF8() throws IOException {
+    byte[] prefix = "{ \"head\" : { \"a\" : \"x".getBytes( StandardCharsets.UTF_8 );
+    byte[] suffix = "y\" }, \"operations\" : [] }".getBytes( StandardCharsets.UTF_8 );
+    byte[] bytes = new byte[ prefix.length + 2 + suffix.length ];
+    System.arraycopy( prefix, 0, bytes, 0, prefix.length );
+    bytes[ prefix.length ] = ( byte )0xc3;
+    bytes[ prefix.length + 1 ] = ( byte )0x28;
+    System.arraycopy( suffix, 0, bytes, prefix.length + 2, suffix.length );
+
+    ClientMessage message = ClientMessageReader.read( new ByteArrayInputStream( bytes ) );
+
+    assertEquals( "x\ufffd(y", message.getHead().get( "a" ).asString() );
+  }
+
+  @Test
+  public void testRead_ignoresAdditionalOperationElements() throws IOException {
+    ClientMessage message = read( "{ \"head\" : {}, \"operations\" : ["
+                                + "[ \"destroy\", \"w1\", { \"foo\" : 23 } ]"
+                                + "] }" );
+
+    assertTrue( message.getOperations().get( 0 ) instanceof DestroyOperation );
+  }
+
+  @Test
+  public void testRead_failsWithInvalidJson() throws IOException {
+    assertReadFails( "{ \"head\" : {}, \"operations\" : [] " );
+    assertReadFails( "{ \"head\" : {}, \"operations\" : [] } x" );
+    assertReadFails( "{ \"head\" : { \"a\" : tru }, \"operations\" : [] }" );
+    assertReadFails( "{ \"head\" : { \"a\" : 1. }, \"operations\" : [] }" );
+    assertReadFails( "{ \"head\" : { \"a\" : \"\\x\" }, \"operations\" : [] }" );
+    assertReadFails( "" );
+  }
+
+  @Test
+  public void testRead_failsWithMissingHead() throws IOException {
+    assertReadFails( "{ \"operations\" : [] }" );
+    assertReadFails( "{ \"head\" : [], \"operations\" : [] }" );
+  }
+
+  @Test
+  public void testRead_failsWithMissingOperations() throws IOException {
+    assertReadFails( "{ \"head\" : {} }" );
+    assertReadFails( "{ \"head\" : {}, \"operations\" : {} }" );
+  }
+
+  @Test
+  public void testRead_failsWithInvalidOperation() throws IOException {
+    assertReadFails( "{ \"head\" : {}, \"operations\" : [ [ \"foo\", \"w1\" ] ] }" );
+    assertReadFails( "{ \"head\" : {}, \"operations\" : [ [ \"set\", \"w1\" ] ] }" );
+    assertReadFails( "{ \"head\" : {}, \"operations\" : [ [ \"set\", \"w1\", null ] ] }" );
+    assertReadFails( "{ \"head\" : {}, \"operations\" : [ [ \"set\", 1, {} ] ] }" );
+    assertReadFails( "{ \"head\" : {}, \"operations\" : [ {} ] }" );
+  }
+
+  private static void assertReadFails( String json ) throws IOException {
+    try {
+      read( json );
+      fail( "Expected IllegalArgumentException for: " + json );
+    } catch( @SuppressWarnings( "unused" ) IllegalArgumentException expected ) {
+    }
+  }
+
+  private static ClientMessage read( String json ) throws IOException {
+    InputStream input = new ByteArrayInputStream( json.getBytes( StandardCharsets.UTF_8 ) );
+    return ClientMessageReader.read( input );
+  }
+
+  private static ClientMessage parse( String json ) {
+    return new ClientMessage( JsonObject.readFrom( json ) );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
-* Copyright (c) 2011, 2014 EclipseSource and others.
+* Copyright (c) 2011, 2016 EclipseSource and others.
 * All rights reserved. This program and the accompanying materials
 * are made available under the terms of the Eclipse Public License v1.0
 * which accompanies this distribution, and is available at
@@ -11,13 +11,17 @@
 package org.eclipse.rap.rwt.internal.protocol;
 
 import static java.util.Arrays.asList;
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
 import static org.eclipse.rap.rwt.testfixture.internal.TestMessage.getParent;
 import static org.eclipse.rap.rwt.testfixture.internal.TestMessage.getStyles;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.io.UnsupportedEncodingException;
 import java.util.List;
 
 import org.eclipse.rap.json.JsonArray;
@@ -407,8 +411,141 @@ public class ProtocolMessageWriter_Test {
     assertEquals( "Hello", property.get( 1 ).asString() );
   }
 
+  @Test
+  public void testStartStreaming_withoutEnable() {
+    writer.startStreaming();
+
+    assertFalse( writer.isStreaming() );
+  }
+
+  @Test
+  public void testStartStreaming() {
+    writer.enableStreaming();
+
+    writer.startStreaming();
+
+    assertTrue( writer.isStreaming() );
+  }
+
+  @Test
+  public void testStreaming_writesOperationsCollectedBeforeStart() throws Exception {
+    writer.enableStreaming();
+    writer.appendDestroy( "w1" );
+    writer.startStreaming();
+    writer.appendDestroy( "w2" );
+
+    JsonObject message = readStreamedMessage();
+
+    JsonArray operations = message.get( "operations" ).asArray();
+    assertEquals( "w1", operations.get( 0 ).asArray().get( 1 ).asString() );
+    assertEquals( "w2", operations.get( 1 ).asArray().get( 1 ).asString() );
+  }
+
+  @Test
+  public void testStreaming_writesValidMessage() throws Exception {
+    writer.enableStreaming();
+    writer.startStreaming();
+    writer.appendCreate( "w1", "type" );
+    writer.appendDestroy( "w2" );
+    writer.appendHead( "requestCounter", 1 );
+
+    JsonObject message = readStreamedMessage();
+
+    assertEquals( 1, message.get( "head" ).asObject().get( "requestCounter" ).asInt() );
+    assertEquals( 2, message.get( "operations" ).asArray().size() );
+  }
+
+  @Test
+  public void testStreaming_mergesSetIntoPendingCreate() throws Exception {
+    writer.enableStreaming();
+    writer.startStreaming();
+    writer.appendCreate( shellId, "type" );
+
+    writer.appendSet( shellId, "key", "value" );
+
+    List<Operation> operations = createMessage().getOperations();
+    assertEquals( 1, operations.size() );
+    CreateOperation operation = ( CreateOperation )operations.get( 0 );
+    assertEquals( "value", operation.getProperties().get( "key" ).asString() );
+  }
+
+  @Test
+  public void testStreaming_returnsStreamedMessage() {
+    writer.enableStreaming();
+    writer.startStreaming();
+    writer.appendDestroy( "w1" );
+
+    Message message = createMessage();
+
+    assertTrue( message instanceof StreamedResponseMessage );
+    assertTrue( message.hasOperations() );
+    assertNotNull( message.toJson().get( "operations" ) );
+  }
+
+  @Test
+  public void testStreaming_parsesContentOnce() {
+    writer.enableStreaming();
+    writer.startStreaming();
+    writer.appendDestroy( "w1" );
+
+    Message message = createMessage();
+
+    assertSame( message.toJson(), message.toJson() );
+    assertSame( message.getOperations(), message.getOperations() );
+  }
+
+  @Test( expected = UnsupportedOperationException.class )
+  public void testStreaming_sharedJsonIsUnmodifiable() {
+    writer.enableStreaming();
+    writer.startStreaming();
+
+    Message message = createMessage();
+
+    message.toJson().add( "foo", "bar" );
+  }
+
+  @Test
+  public void testStreaming_restoresOperationsAfterSerialization() throws Exception {
+    writer.enableStreaming();
+    writer.startStreaming();
+    writer.appendDestroy( "w1" );
+    Message message = createMessage();
+    message.getOperations();
+
+    Message deserialized = serializeAndDeserialize( message );
+
+    assertEquals( 1, deserialized.getOperations().size() );
+  }
+
+  @Test
+  public void testStreaming_withoutOperations() {
+    writer.enableStreaming();
+    writer.startStreaming();
+
+    Message message = createMessage();
+
+    assertFalse( message.hasOperations() );
+  }
+
+  @Test
+  public void testStreaming_encodesUTF8() throws Exception {
+    writer.enableStreaming();
+    writer.startStreaming();
+    writer.appendSet( shellId, "text", "\u00e4\u20ac" );
+
+    JsonObject message = readStreamedMessage();
+
+    JsonArray operation = message.get( "operations" ).asArray().get( 0 ).asArray();
+    assertEquals( "\u00e4\u20ac", operation.get( 2 ).asObject().get( "text" ).asString() );
+  }
+
   private Message createMessage() {
     return writer.createMessage();
   }
 
+  private JsonObject readStreamedMessage() throws UnsupportedEncodingException {
+    byte[] content = ( ( StreamedResponseMessage )writer.createMessage() ).getContent();
+    return JsonObject.readFrom( new String( content, "UTF-8" ) );
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -20,9 +20,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
@@ -70,6 +72,27 @@ public class ResourceManagerImpl_Test {
     assertArrayEquals( bytes, read( jarFile ) );
   }
 
+  @Test
+  public void testRegistration_withZeroByteRead() throws Exception {
+    String resource = "path/to/resource";
+    byte[] bytes = new byte[] { 1, 2, 3 };
+    InputStream inputStream = new ByteArrayInputStream( bytes ) {
+      private boolean stalled;
+      @Override
+      public synchronized int read( byte[] buffer, int offset, int length ) {
+        if( !stalled ) {
+          stalled = true;
+          return 0;
+        }
+        return super.read( buffer, offset, length );
+      }
+    };
+
+    resourceManager.register( resource, inputStream );
+
+    assertArrayEquals( bytes, read( getResourceCopyFile( resource ) ) );
+  }
+
   @Test
   public void testRegisterOverridesPreviousVersion() {
     String resource = "path/to/resource";
@@ -176,7 +199,7 @@ public class ResourceManagerImpl_Test {
    */
   @Test
   public void testRegisterWithInvalidPath() throws Exception {
-    InputStream inputStream = mock( InputStream.class );
+    InputStream inputStream = mockInputStream();
     String path = "http://host:port/path$1";
     resourceManager.register( path, inputStream );
     inputStream.close();
@@ -228,7 +251,7 @@ public class ResourceManagerImpl_Test {
   @SuppressWarnings( "resource" )
   @Test
   public void testRegisterDoesNotCloseStream() throws IOException {
-    InputStream inputStream = mock( InputStream.class );
+    InputStream inputStream = mockInputStream();
 
     resourceManager.register( "resource-name", inputStream );
 
@@ -238,7 +261,7 @@ public class ResourceManagerImpl_Test {
   @SuppressWarnings( "resource" )
   @Test
   public void testRegisterJavascriptDoesNotCloseStream() throws IOException {
-    InputStream inputStream = mock( InputStream.class );
+    InputStream inputStream = mockInputStream();
 
     resourceManager.register( "lib.js", inputStream );
 
@@ -283,7 +306,7 @@ public class ResourceManagerImpl_Test {
   @Test
   public void testRegisterOnceCloseStream() throws IOException {
     String resource = "path/to/resource";
-    final InputStream stream = mock( InputStream.class );
+    final InputStream stream = mockInputStream();
     ResourceLoader loader = new ResourceLoader() {
       public InputStream getResourceAsStream( String resourceName ) throws IOException {
         return stream;
@@ -404,6 +427,15 @@ public class ResourceManagerImpl_Test {
     return new ByteArrayInputStream( new byte[] { 1, 2, 3 } );
   }
 
+  /*
+   * A mocked stream that honors the InputStream contract, a read of zero bytes is no end of stream
+   */
+  private static InputStream mockInputStream() throws IOException {
+    InputStream inputStream = mock( InputStream.class );
+    when( Integer.valueOf( inputStream.read( any( byte[].class ) ) ) ).thenReturn( Integer.valueOf( -1 ) );
+    return inputStream;
+  }
+
   private ResourceLoader createResourceLoader() {
     ResourceLoader loader = new ResourceLoader() {
       public InputStream getResourceAsStream( String resourceName ) throws IOException {
@@ -0,0 +1,285 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.resources;
+
+import static javax.servlet.http.HttpServletResponse.SC_NOT_FOUND;
+import static javax.servlet.http.HttpServletResponse.SC_NOT_MODIFIED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
+import org.eclipse.rap.rwt.internal.service.ServiceManagerImpl;
+import org.eclipse.rap.rwt.internal.util.HTTP;
+import org.eclipse.rap.rwt.testfixture.internal.FileUtil;
+import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ResourceServiceHandler_Test {
+
+  private static final String SCRIPT = createScript();
+
+  private File tempDir;
+  private ResourceManagerImpl resourceManager;
+  private ResourceServiceHandler handler;
+  private TestRequest request;
+  private TestResponse response;
+
+  @Before
+  public void setUp() {
+    tempDir = FileUtil.createTempDir();
+    ResourceDirectory resourceDirectory = new ResourceDirectory();
+    resourceDirectory.configure( tempDir.getAbsolutePath() );
+    resourceManager = new ResourceManagerImpl( resourceDirectory, true );
+    ApplicationContextImpl applicationContext = mock( ApplicationContextImpl.class );
+    when( applicationContext.getResourceManager() ).thenReturn( resourceManager );
+    handler = new ResourceServiceHandler( applicationContext );
+    request = new TestRequest();
+    response = new TestResponse();
+  }
+
+  @After
+  public void tearDown() {
+    FileUtil.delete( tempDir );
+  }
+
+  @Test
+  public void testIsResourceRequest() {
+    request.setParameter( ServiceManagerImpl.REQUEST_PARAM, ResourceServiceHandler.HANDLER_ID );
+
+    assertTrue( ResourceServiceHandler.isResourceRequest( request ) );
+  }
+
+  @Test
+  public void testIsResourceRequest_withOtherServiceHandler() {
+    request.setParameter( ServiceManagerImpl.REQUEST_PARAM, "foo" );
+
+    assertFalse( ResourceServiceHandler.isResourceRequest( request ) );
+  }
+
+  @Test
+  public void testGetLocation_containsHash() {
+    resourceManager.register( "path/to/script.js", createStream( SCRIPT ) );
+
+    String location = resourceManager.getLocation( "path/to/script.js" );
+
+    String hash = resourceManager.getContent( "path/to/script.js" ).getHash();
+    assertEquals( "?servicehandler=org.eclipse.rap.resources"
+                  + "&resource=path%2Fto%2Fscript.js&version=" + hash, location );
+  }
+
+  @Test
+  public void testGetLocation_changesWithContent() {
+    resourceManager.register( "script.js", createStream( SCRIPT ) );
+    String location = resourceManager.getLocation( "script.js" );
+
+    resourceManager.register( "script.js", createStream( SCRIPT + "foo();" ) );
+
+    assertFalse( location.equals( resourceManager.getLocation( "script.js" ) ) );
+  }
+
+  @Test
+  public void testRegister_stillWritesFile() {
+    resourceManager.register( "script.js", createStream( SCRIPT ) );
+
+    assertTrue( new File( tempDir, ResourceDirectory.DIRNAME + "/script.js" ).exists() );
+  }
+
+  @Test
+  public void testService_unknownResource() throws IOException {
+    request.setParameter( "resource", "unknown.js" );
+
+    handler.service( request, response );
+
+    assertEquals( SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testService_withoutResourceParameter() throws IOException {
+    handler.service( request, response );
+
+    assertEquals( SC_NOT_FOUND, response.getErrorStatus() );
+  }
+
+  @Test
+  public void testService_sendsContent() throws IOException {
+    registerScript();
+
+    handler.service( request, response );
+
+    assertEquals( SCRIPT, response.getContent() );
+    assertEquals( HTTP.CONTENT_TYPE_JAVASCRIPT, response.getContentType() );
+    assertNull( response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+  }
+
+  @Test
+  public void testService_withCurrentVersion_isCachedForever() throws IOException {
+    String hash = registerScript();
+    request.setParameter( "version", hash );
+
+    handler.service( request, response );
+
+    assertEquals( ResourceServiceHandler.CACHE_FOREVER,
+                  response.getHeader( HTTP.HEADER_CACHE_CONTROL ) );
+    assertEquals( "\"" + hash + "\"", response.getHeader( HTTP.HEADER_ETAG ) );
+  }
+
+  @Test
+  public void testService_withOutdatedVersion_mustRevalidate() throws IOException {
+    registerScript();
+    request.setParameter( "version", "outdated" );
+
+    handler.service( request, response );
+
+    assertEquals( ResourceServiceHandler.CACHE_REVALIDATE,
+                  response.getHeader( HTTP.HEADER_CACHE_CONTROL ) );
+    assertEquals( SCRIPT, response.getContent() );
+  }
+
+  @Test
+  public void testService_withMatchingETag() throws IOException {
+    String hash = registerScript();
+    request.setHeader( HTTP.HEADER_IF_NONE_MATCH, "\"" + hash + "\"" );
+
+    handler.service( request, response );
+
+    assertEquals( SC_NOT_MODIFIED, response.getStatus() );
+    assertEquals( "", response.getContent() );
+  }
+
+  @Test
+  public void testService_withGzipAccepted() throws IOException {
+    registerScript();
+    request.setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip, deflate" );
+
+    handler.service( request, response );
+
+    assertEquals( HTTP.ENCODING_GZIP, response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertEquals( HTTP.HEADER_ACCEPT_ENCODING, response.getHeader( HTTP.HEADER_VARY ) );
+    assertTrue( response.getContent().length() < SCRIPT.length() );
+  }
+
+  @Test
+  public void testService_withGzipAccepted_hasDistinctETag() throws IOException {
+    String hash = registerScript();
+    request.setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip" );
+
+    handler.service( request, response );
+
+    assertEquals( "\"" + hash + "-gz\"", response.getHeader( HTTP.HEADER_ETAG ) );
+  }
+
+  @Test
+  public void testService_withGzipAccepted_andETagOfUncompressedContent() throws IOException {
+    String hash = registerScript();
+    request.setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip" );
+    request.setHeader( HTTP.HEADER_IF_NONE_MATCH, "\"" + hash + "\"" );
+
+    handler.service( request, response );
+
+    assertEquals( HTTP.ENCODING_GZIP, response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertTrue( response.getContent().length() > 0 );
+  }
+
+  @Test
+  public void testService_withGzipAccepted_andMatchingETag() throws IOException {
+    String hash = registerScript();
+    request.setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip" );
+    request.setHeader( HTTP.HEADER_IF_NONE_MATCH, "\"" + hash + "-gz\"" );
+
+    handler.service( request, response );
+
+    assertEquals( SC_NOT_MODIFIED, response.getStatus() );
+  }
+
+  @Test
+  public void testService_withGzipRejected() throws IOException {
+    String hash = registerScript();
+    request.setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip;q=0, deflate" );
+
+    handler.service( request, response );
+
+    assertNull( response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertEquals( SCRIPT, response.getContent() );
+    assertEquals( "\"" + hash + "\"", response.getHeader( HTTP.HEADER_ETAG ) );
+  }
+
+  @Test
+  public void testService_withIncompressibleContent() throws IOException {
+    byte[] bytes = new byte[ 256 ];
+    for( int i = 0; i < bytes.length; i++ ) {
+      bytes[ i ] = ( byte )( i * 31 + 7 );
+    }
+    resourceManager.register( "image.gif", new ByteArrayInputStream( bytes ) );
+    request.setParameter( "resource", "image.gif" );
+    request.setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip" );
+
+    handler.service( request, response );
+
+    assertNull( response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertNull( response.getHeader( HTTP.HEADER_VARY ) );
+  }
+
+  @Test
+  public void testGetRegisteredContent_readsFromMemory() throws IOException {
+    registerScript();
+    FileUtil.delete( new File( tempDir, ResourceDirectory.DIRNAME ) );
+
+    InputStream content = resourceManager.getRegisteredContent( "script.js" );
+
+    assertNotNull( content );
+    content.close();
+  }
+
+  @Test
+  public void testUnregister_removesContent() {
+    registerScript();
+
+    resourceManager.unregister( "script.js" );
+
+    assertNull( resourceManager.getContent( "script.js" ) );
+  }
+
+  private String registerScript() {
+    resourceManager.register( "script.js", createStream( SCRIPT ) );
+    request.setParameter( "resource", "script.js" );
+    return resourceManager.getContent( "script.js" ).getHash();
+  }
+
+  private static InputStream createStream( String content ) {
+    return new ByteArrayInputStream( content.getBytes() );
+  }
+
+  private static String createScript() {
+    char[] line = new char[ 80 ];
+    Arrays.fill( line, 'x' );
+    StringBuilder builder = new StringBuilder();
+    for( int i = 0; i < 50; i++ ) {
+      builder.append( "var a" ).append( i ).append( " = \"" ).append( line ).append( "\";\n" );
+    }
+    return builder.toString();
+  }
+
+}
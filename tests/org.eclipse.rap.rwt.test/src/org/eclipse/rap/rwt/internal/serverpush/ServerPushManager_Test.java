@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -18,7 +18,11 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.io.IOException;
@@ -28,6 +32,10 @@ import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicReference;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletResponse;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpSession;
 import javax.servlet.http.HttpSessionBindingListener;
 
@@ -552,6 +560,149 @@ public class ServerPushManager_Test {
     assertNotNull( response.getHeader( "Expires" ) );
   }
 
+  @Test
+  public void testAsyncRequest_isSuspended() throws IOException {
+    manager.activateServerPushFor( HANDLE_1 );
+    HttpServletRequest request = mockAsyncRequest( mock( AsyncContext.class ) );
+
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    verify( request ).startAsync( request, ContextProvider.getResponse() );
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testAsyncRequest_isNotSuspendedWithoutServerPush() throws IOException {
+    HttpServletRequest request = mockAsyncRequest( mock( AsyncContext.class ) );
+
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    verify( request, never() ).startAsync( any( ServletRequest.class ),
+                                           any( ServletResponse.class ) );
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testAsyncRequest_isBlockingWhenAsyncNotSupported() throws Exception {
+    pushServiceHandler = new ServerPushServiceHandler( true );
+    CallBackRequestSimulator callBackRequestSimulator = new CallBackRequestSimulator();
+
+    callBackRequestSimulator.sendRequest();
+
+    assertTrue( callBackRequestSimulator.isRequestRunning() );
+    manager.deactivateServerPushFor( HANDLE_1 );
+    callBackRequestSimulator.waitForRequest();
+  }
+
+  @Test
+  public void testAsyncRequest_isReleasedOnWakeClient() throws IOException {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    manager.setHasRunnables( true );
+    manager.wakeClient();
+
+    verify( asyncContext ).complete();
+    assertFalse( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testAsyncRequest_isNotReleasedOnWakeClientWithoutRunnables() throws IOException {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    manager.wakeClient();
+
+    verify( asyncContext, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testAsyncRequest_isReleasedOnDeactivation() throws IOException {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    manager.deactivateServerPushFor( HANDLE_1 );
+
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testAsyncRequest_isReleasedOnSessionInvalidation() throws IOException {
+    manager.activateServerPushFor( HANDLE_1 );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    ContextProvider.getUISession().getHttpSession().invalidate();
+
+    verify( asyncContext ).complete();
+  }
+
+  @Test
+  public void testAsyncRequest_previousRequestIsReleased() throws IOException {
+    manager.activateServerPushFor( HANDLE_1 );
+    ServerPushServiceHandler handler = new ServerPushServiceHandler( true );
+    AsyncContext asyncContext1 = mock( AsyncContext.class );
+    AsyncContext asyncContext2 = mock( AsyncContext.class );
+    handler.service( mockAsyncRequest( asyncContext1 ), ContextProvider.getResponse() );
+
+    handler.service( mockAsyncRequest( asyncContext2 ), ContextProvider.getResponse() );
+
+    verify( asyncContext1 ).complete();
+    verify( asyncContext2, never() ).complete();
+    assertTrue( manager.isCallBackRequestBlocked() );
+  }
+
+  @Test
+  public void testAsyncRequest_isReleasedWhenConnectionBreaks() throws IOException {
+    manager.setRequestCheckInterval( 20 );
+    manager.activateServerPushFor( HANDLE_1 );
+    PrintWriter failingWriter = mock( PrintWriter.class );
+    when( new Boolean( failingWriter.checkError() ) ).thenReturn( Boolean.TRUE );
+    ServletResponse response = mock( ServletResponse.class );
+    when( response.getWriter() ).thenReturn( failingWriter );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    when( asyncContext.getResponse() ).thenReturn( response );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    verify( asyncContext, timeout( REQUEST_WAIT_TIMEOUT ) ).complete();
+  }
+
+  @Test
+  public void testAsyncRequest_keepsConnectionAlive() throws IOException {
+    manager.setRequestCheckInterval( 20 );
+    manager.activateServerPushFor( HANDLE_1 );
+    PrintWriter writer = mock( PrintWriter.class );
+    ServletResponse response = mock( ServletResponse.class );
+    when( response.getWriter() ).thenReturn( writer );
+    AsyncContext asyncContext = mock( AsyncContext.class );
+    when( asyncContext.getResponse() ).thenReturn( response );
+    HttpServletRequest request = mockAsyncRequest( asyncContext );
+
+    new ServerPushServiceHandler( true ).service( request, ContextProvider.getResponse() );
+
+    verify( writer, timeout( REQUEST_WAIT_TIMEOUT ).atLeastOnce() ).write( " " );
+    verify( asyncContext, never() ).complete();
+    manager.deactivateServerPushFor( HANDLE_1 );
+  }
+
+  private static HttpServletRequest mockAsyncRequest( AsyncContext asyncContext ) {
+    HttpServletRequest request = mock( HttpServletRequest.class );
+    when( Boolean.valueOf( request.isAsyncSupported() ) ).thenReturn( Boolean.TRUE );
+    when( request.startAsync( any( ServletRequest.class ), any( ServletResponse.class ) ) )
+      .thenReturn( asyncContext );
+    return request;
+  }
+
   private void simulateBackgroundAddition( final ServiceContext serviceContext ) throws Throwable {
     Runnable runnable = new Runnable() {
       @Override
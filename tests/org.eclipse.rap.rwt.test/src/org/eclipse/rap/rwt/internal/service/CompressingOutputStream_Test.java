@@ -0,0 +1,238 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.service;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.InflaterInputStream;
+
+import org.eclipse.rap.rwt.internal.util.HTTP;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletOutputStream;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class CompressingOutputStream_Test {
+
+  private TestResponse response;
+
+  @Before
+  public void setUp() {
+    response = new TestResponse();
+  }
+
+  @Test
+  public void testSelectEncoding_prefersGzip() {
+    assertEquals( "gzip", CompressingOutputStream.selectEncoding( "deflate, gzip" ) );
+  }
+
+  @Test
+  public void testSelectEncoding_withDeflateOnly() {
+    assertEquals( "deflate", CompressingOutputStream.selectEncoding( "deflate" ) );
+  }
+
+  @Test
+  public void testSelectEncoding_withZeroQuality() {
+    assertEquals( "deflate", CompressingOutputStream.selectEncoding( "gzip;q=0, deflate" ) );
+  }
+
+  @Test
+  public void testSelectEncoding_withUnsupportedEncoding() {
+    assertNull( CompressingOutputStream.selectEncoding( "br, identity" ) );
+  }
+
+  @Test
+  public void testSelectEncoding_withNull() {
+    assertNull( CompressingOutputStream.selectEncoding( null ) );
+  }
+
+  @Test
+  public void testBelowThreshold_isNotCompressed() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100 );
+
+    stream.write( "short".getBytes( HTTP.CHARSET_UTF_8 ) );
+    stream.finish();
+
+    assertFalse( stream.isCompressed() );
+    assertNull( response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertEquals( "short", response.getContent() );
+    assertEquals( 5, stream.getRawByteCount() );
+    assertEquals( 5, stream.getWrittenByteCount() );
+  }
+
+  @Test
+  public void testBelowThreshold_writesNothingBeforeFinish() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100 );
+
+    stream.write( "short".getBytes( HTTP.CHARSET_UTF_8 ) );
+    stream.flush();
+
+    assertEquals( "", response.getContent() );
+  }
+
+  @Test
+  public void testAboveThreshold_isCompressedWithGzip() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100 );
+    byte[] content = createContent();
+
+    stream.write( content, 0, 50 );
+    stream.write( content, 50, content.length - 50 );
+    stream.finish();
+
+    assertTrue( stream.isCompressed() );
+    assertEquals( "gzip", response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertArrayEquals( content, read( new GZIPInputStream( getResponseStream() ) ) );
+    assertEquals( content.length, stream.getRawByteCount() );
+    assertEquals( getResponseBytes().length, stream.getWrittenByteCount() );
+    assertTrue( stream.getWrittenByteCount() < stream.getRawByteCount() / 10 );
+  }
+
+  @Test
+  public void testAboveThreshold_isCompressedWithDeflate() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "deflate", 100 );
+    byte[] content = createContent();
+
+    stream.write( content );
+    stream.finish();
+
+    assertEquals( "deflate", response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertArrayEquals( content, read( new InflaterInputStream( getResponseStream() ) ) );
+  }
+
+  @Test
+  public void testAboveThreshold_streamsBeforeFinish() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100 );
+
+    for( int i = 0; i < 100; i++ ) {
+      stream.write( createContent() );
+    }
+
+    assertTrue( getResponseBytes().length > 0 );
+  }
+
+  @Test
+  public void testBelowThreshold_withLargeThreshold_doesNotAllocateThreshold() throws IOException {
+    CompressingOutputStream stream
+      = new CompressingOutputStream( response, "gzip", Integer.MAX_VALUE );
+    byte[] content = createContent();
+
+    stream.write( content );
+    stream.finish();
+
+    assertArrayEquals( content, getResponseBytes() );
+  }
+
+  @Test
+  public void testBelowThreshold_withManyWrites() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100000 );
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+    for( int i = 0; i < 10; i++ ) {
+      byte[] content = createContent();
+      stream.write( content );
+      expected.write( content );
+    }
+    stream.finish();
+
+    assertNull( response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertArrayEquals( expected.toByteArray(), getResponseBytes() );
+  }
+
+  @Test
+  public void testAboveThreshold_afterGrowingBuffer() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 10000 );
+    ByteArrayOutputStream expected = new ByteArrayOutputStream();
+
+    for( int i = 0; i < 3; i++ ) {
+      byte[] content = createContent();
+      stream.write( content );
+      expected.write( content );
+    }
+    stream.finish();
+
+    assertEquals( "gzip", response.getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertArrayEquals( expected.toByteArray(), read( new GZIPInputStream( getResponseStream() ) ) );
+  }
+
+  @Test
+  public void testFinish_withoutContent() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100 );
+
+    stream.finish();
+
+    assertEquals( 0, getResponseBytes().length );
+    assertEquals( 0, stream.getWrittenByteCount() );
+  }
+
+  @Test
+  public void testFinish_twice() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100 );
+    stream.write( createContent() );
+    stream.finish();
+    long writtenByteCount = stream.getWrittenByteCount();
+
+    stream.finish();
+
+    assertEquals( writtenByteCount, stream.getWrittenByteCount() );
+  }
+
+  @Test
+  public void testWrite_afterFinish() throws IOException {
+    CompressingOutputStream stream = new CompressingOutputStream( response, "gzip", 100 );
+    stream.finish();
+
+    try {
+      stream.write( 1 );
+      fail();
+    } catch( IOException expected ) {
+    }
+  }
+
+  private byte[] getResponseBytes() throws IOException {
+    return ( ( TestServletOutputStream )response.getOutputStream() ).getContent().toByteArray();
+  }
+
+  private InputStream getResponseStream() throws IOException {
+    return new ByteArrayInputStream( getResponseBytes() );
+  }
+
+  private static byte[] read( InputStream inputStream ) throws IOException {
+    ByteArrayOutputStream result = new ByteArrayOutputStream();
+    byte[] buffer = new byte[ 1024 ];
+    int read = inputStream.read( buffer );
+    while( read != -1 ) {
+      result.write( buffer, 0, read );
+      read = inputStream.read( buffer );
+    }
+    return result.toByteArray();
+  }
+
+  private static byte[] createContent() throws IOException {
+    StringBuilder builder = new StringBuilder( "{\"operations\":[" );
+    for( int i = 0; i < 200; i++ ) {
+      builder.append( "[\"set\",\"w" ).append( i ).append( "\",{\"visibility\":true}]," );
+    }
+    builder.append( "]}" );
+    return builder.toString().getBytes( HTTP.CHARSET_UTF_8 );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -26,9 +26,12 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.zip.GZIPInputStream;
 
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
@@ -36,15 +39,19 @@ import javax.servlet.http.HttpSession;
 
 import org.eclipse.rap.json.JsonArray;
 import org.eclipse.rap.json.JsonObject;
+import org.eclipse.rap.json.JsonValue;
 import org.eclipse.rap.rwt.client.WebClient;
 import org.eclipse.rap.rwt.internal.lifecycle.RequestCounter;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessageConst;
+import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
 import org.eclipse.rap.rwt.internal.protocol.RequestMessage;
 import org.eclipse.rap.rwt.internal.protocol.ResponseMessage;
+import org.eclipse.rap.rwt.internal.protocol.StreamedResponseMessage;
 import org.eclipse.rap.rwt.internal.remote.MessageChainElement;
 import org.eclipse.rap.rwt.internal.remote.MessageChainReference;
 import org.eclipse.rap.rwt.internal.remote.MessageFilter;
 import org.eclipse.rap.rwt.internal.remote.MessageFilterChain;
+import org.eclipse.rap.rwt.internal.util.HTTP;
 import org.eclipse.rap.rwt.service.ServiceHandler;
 import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.rap.rwt.service.UISessionEvent;
@@ -54,6 +61,7 @@ import org.eclipse.rap.rwt.testfixture.internal.TestMessage;
 import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
 import org.eclipse.rap.rwt.testfixture.internal.TestResponseMessage;
+import org.eclipse.rap.rwt.testfixture.internal.TestServletOutputStream;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -247,6 +255,45 @@ public class LifeCycleServiceHandler_Test {
     assertTrue( message.get( "operations" ).asArray().isEmpty() );
   }
 
+  @Test
+  public void testService_withoutOperations_marksUISessionChanged() throws IOException {
+    simulateUiRequest();
+    UISessionImpl uiSession = ( UISessionImpl )getUISession();
+    uiSession.resetChanged();
+
+    service( serviceHandler );
+
+    assertTrue( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testService_withDuplicateRequest_doesNotMarkUISessionChanged() throws IOException {
+    simulateUiRequest();
+    int requestCounter = RequestCounter.getInstance().currentRequestId();
+    service( serviceHandler );
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    UISessionImpl uiSession = ( UISessionImpl )getUISession();
+    uiSession.resetChanged();
+
+    service( serviceHandler );
+
+    assertFalse( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testService_withInvalidRequestCounter_doesNotMarkUISessionChanged()
+    throws IOException
+  {
+    simulateUiRequestWithIllegalCounter();
+    UISessionImpl uiSession = ( UISessionImpl )getUISession();
+    uiSession.resetChanged();
+
+    service( serviceHandler );
+
+    assertFalse( uiSession.resetChanged() );
+  }
+
   @Test
   public void testHandlesSessionTimeout() throws IOException {
     simulateUiRequest();
@@ -288,6 +335,157 @@ public class LifeCycleServiceHandler_Test {
     JsonObject.readFrom( getResponse().getContent() );
   }
 
+  @Test
+  public void testWritesValidJson_withStreamingResponse() throws IOException {
+    serviceHandler = createStreamingServiceHandler();
+    simulateUiRequest();
+
+    service( serviceHandler );
+
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertNotNull( message.get( "head" ) );
+    assertNotNull( message.get( "operations" ) );
+  }
+
+  @Test
+  public void testDoesNotStream_withMessageFilter() throws IOException {
+    MessageChainReference reference
+      = new MessageChainReference( new MessageChainElement( createStreamingMessageFilter(), null ) );
+    final List<ResponseMessage> log = new ArrayList<>();
+    reference.add( new MessageFilter() {
+      @Override
+      public ResponseMessage handleMessage( RequestMessage request, MessageFilterChain chain ) {
+        ResponseMessage response = chain.handleMessage( request );
+        log.add( response );
+        return response;
+      }
+    } );
+    serviceHandler = new LifeCycleServiceHandler( reference, true );
+    simulateUiRequest();
+
+    service( serviceHandler );
+
+    assertFalse( log.get( 0 ) instanceof StreamedResponseMessage );
+    assertEquals( 1, log.get( 0 ).getOperations().size() );
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertEquals( 1, message.get( "operations" ).asArray().size() );
+  }
+
+  @Test
+  public void testWritesNothing_withStreamingResponse_whenProcessingFails() throws IOException {
+    MessageFilter filter = new MessageFilter() {
+      @Override
+      public ResponseMessage handleMessage( RequestMessage request, MessageFilterChain chain ) {
+        ProtocolMessageWriter writer = ContextProvider.getProtocolWriter();
+        writer.startStreaming();
+        for( int i = 0; i < 1000; i++ ) {
+          writer.appendCreate( "w" + i, "rwt.widgets.Label" );
+        }
+        throw new IllegalStateException();
+      }
+    };
+    MessageChainReference reference
+      = new MessageChainReference( new MessageChainElement( filter, null ) );
+    serviceHandler = new LifeCycleServiceHandler( reference, true );
+    simulateUiRequest();
+
+    try {
+      service( serviceHandler );
+      fail();
+    } catch( IllegalStateException expected ) {
+    }
+
+    assertEquals( 0, getResponseBytes().length );
+  }
+
+  @Test
+  public void testSendBufferedResponse_withStreamingResponse() throws IOException {
+    serviceHandler = createStreamingServiceHandler();
+    simulateUiRequest();
+    RequestCounter.getInstance().nextRequestId();
+    int requestCounter = RequestCounter.getInstance().nextRequestId();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+
+    service( serviceHandler );
+    JsonObject firstResponse = JsonObject.readFrom( getResponse().getContent() );
+
+    simulateUiRequest();
+    Fixture.fakeHeadParameter( "requestCounter", requestCounter );
+    service( serviceHandler );
+    JsonObject secondResponse = JsonObject.readFrom( getResponse().getContent() );
+
+    assertEquals( firstResponse, secondResponse );
+  }
+
+  @Test
+  public void testCompressesResponse_whenAccepted() throws IOException {
+    serviceHandler = new LifeCycleServiceHandler( messageChainReference, false, 0 );
+    simulateUiRequest();
+    getRequest().setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip, deflate" );
+
+    service( serviceHandler );
+
+    assertEquals( HTTP.ENCODING_GZIP, getResponse().getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertEquals( HTTP.HEADER_ACCEPT_ENCODING, getResponse().getHeader( HTTP.HEADER_VARY ) );
+    JsonObject message = readCompressedResponse();
+    assertEquals( JsonValue.TRUE, message.get( "head" ).asObject().get( "test" ) );
+  }
+
+  @Test
+  public void testCompressesResponse_setsSizeAttributes() throws IOException {
+    serviceHandler = new LifeCycleServiceHandler( messageChainReference, false, 0 );
+    simulateUiRequest();
+    getRequest().setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip" );
+
+    service( serviceHandler );
+
+    TestRequest request = getRequest();
+    Long rawSize = ( Long )request.getAttribute( LifeCycleServiceHandler.ATTR_RAW_RESPONSE_SIZE );
+    Long writtenSize
+      = ( Long )request.getAttribute( LifeCycleServiceHandler.ATTR_WRITTEN_RESPONSE_SIZE );
+    assertEquals( getResponseBytes().length, writtenSize.longValue() );
+    assertEquals( readCompressedResponse().toString().length(), rawSize.longValue() );
+  }
+
+  @Test
+  public void testDoesNotCompressResponse_belowThreshold() throws IOException {
+    serviceHandler = new LifeCycleServiceHandler( messageChainReference, false, 1024 );
+    simulateUiRequest();
+    getRequest().setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip" );
+
+    service( serviceHandler );
+
+    assertNull( getResponse().getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    JsonObject message = JsonObject.readFrom( getResponse().getContent() );
+    assertNotNull( message.get( "head" ) );
+  }
+
+  @Test
+  public void testDoesNotCompressResponse_whenNotAccepted() throws IOException {
+    serviceHandler = new LifeCycleServiceHandler( messageChainReference, false, 0 );
+    simulateUiRequest();
+
+    service( serviceHandler );
+
+    assertNull( getResponse().getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    assertNull( getRequest().getAttribute( LifeCycleServiceHandler.ATTR_RAW_RESPONSE_SIZE ) );
+    JsonObject.readFrom( getResponse().getContent() );
+  }
+
+  @Test
+  public void testCompressesResponse_withStreamingResponse() throws IOException {
+    serviceHandler = createStreamingServiceHandler( 0 );
+    simulateUiRequest();
+    getRequest().setHeader( HTTP.HEADER_ACCEPT_ENCODING, "gzip" );
+
+    service( serviceHandler );
+
+    assertEquals( HTTP.ENCODING_GZIP, getResponse().getHeader( HTTP.HEADER_CONTENT_ENCODING ) );
+    JsonObject message = readCompressedResponse();
+    assertNotNull( message.get( "head" ) );
+    assertEquals( 1, message.get( "operations" ).asArray().size() );
+  }
+
   @Test
   public void testIsRequestCounterValid_trueWithValidParameter() {
     int nextRequestId = RequestCounter.getInstance().nextRequestId();
@@ -395,6 +593,31 @@ public class LifeCycleServiceHandler_Test {
     Fixture.fakeHeadParameter( "requestCounter", 23 );
   }
 
+  private static LifeCycleServiceHandler createStreamingServiceHandler() {
+    return createStreamingServiceHandler( LifeCycleServiceHandler.NO_COMPRESSION );
+  }
+
+  private static LifeCycleServiceHandler createStreamingServiceHandler( int compressionThreshold ) {
+    MessageChainElement chain = new MessageChainElement( createStreamingMessageFilter(), null );
+    return new LifeCycleServiceHandler( new MessageChainReference( chain ),
+                                        true,
+                                        compressionThreshold );
+  }
+
+  private static MessageFilter createStreamingMessageFilter() {
+    return new MessageFilter() {
+      @Override
+      public ResponseMessage handleMessage( RequestMessage request, MessageFilterChain chain ) {
+        ProtocolMessageWriter writer = ContextProvider.getProtocolWriter();
+        writer.appendHead( "test", JsonValue.TRUE );
+        writer.startStreaming();
+        writer.appendCreate( "w1", "rwt.widgets.Label" );
+        writer.appendSet( "w1", "text", "foo" );
+        return writer.createMessage();
+      }
+    };
+  }
+
   private static MessageFilter mockMessageFilter() {
     MessageFilter filter = mock( MessageFilter.class );
     ResponseMessage responseMessage = new TestResponseMessage();
@@ -422,6 +645,16 @@ public class LifeCycleServiceHandler_Test {
     return ( TestResponse )ContextProvider.getResponse();
   }
 
+  private static byte[] getResponseBytes() throws IOException {
+    TestServletOutputStream output = ( TestServletOutputStream )getResponse().getOutputStream();
+    return output.getContent().toByteArray();
+  }
+
+  private static JsonObject readCompressedResponse() throws IOException {
+    GZIPInputStream input = new GZIPInputStream( new ByteArrayInputStream( getResponseBytes() ) );
+    return JsonObject.readFrom( new InputStreamReader( input, HTTP.CHARSET_UTF_8 ) );
+  }
+
   private static String getError( JsonObject message ) {
     return message.get( "head" ).asObject().get( "error" ).asString();
   }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,6 +11,7 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.service;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.synchronizedList;
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinThreads;
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.runInThread;
@@ -38,6 +39,7 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashSet;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Locale;
@@ -114,6 +116,93 @@ public class UISessionImpl_Test {
     assertSame( result, uiSession );
   }
 
+  @Test
+  public void testResetChanged_afterSetAttribute() {
+    uiSession.resetChanged();
+
+    uiSession.setAttribute( "name", "value" );
+
+    assertTrue( uiSession.resetChanged() );
+    assertFalse( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testResetChanged_afterRemoveAttribute() {
+    uiSession.setAttribute( "name", "value" );
+    uiSession.resetChanged();
+
+    uiSession.removeAttribute( "name" );
+
+    assertTrue( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testResetChanged_afterAddUISessionListener() {
+    uiSession.resetChanged();
+
+    uiSession.addUISessionListener( mock( UISessionListener.class ) );
+
+    assertTrue( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testResetChanged_afterMarkChanged() {
+    uiSession.resetChanged();
+
+    uiSession.markChanged();
+
+    assertTrue( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testResetChanged_withoutChange() {
+    uiSession.resetChanged();
+
+    uiSession.getAttribute( "name" );
+
+    assertFalse( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testResetChanges_returnsChangedAttributes() {
+    uiSession.setAttribute( "foo", "value" );
+    uiSession.resetChanged();
+
+    uiSession.setAttribute( "name", "value" );
+    uiSession.removeAttribute( "foo" );
+
+    assertEquals( new HashSet<>( asList( "name", "foo" ) ), uiSession.resetChanges() );
+    assertNull( uiSession.resetChanges() );
+  }
+
+  @Test
+  public void testResetChanges_afterMarkChanged() {
+    uiSession.resetChanged();
+
+    uiSession.markChanged();
+
+    assertTrue( uiSession.resetChanges().isEmpty() );
+  }
+
+  @Test
+  public void testSetUntrackedAttribute() {
+    uiSession.resetChanged();
+
+    uiSession.setUntrackedAttribute( "name", "value" );
+
+    assertEquals( "value", uiSession.getAttribute( "name" ) );
+    assertFalse( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testResetChanged_afterDeserialization() throws Exception {
+    uiSession.markChanged();
+
+    UISessionImpl deserializedUISession = serializeAndDeserialize( uiSession );
+
+    assertFalse( deserializedUISession.resetChanged() );
+  }
+
   @Test
   public void testGetInstanceFromSession() {
     UISessionImpl result = UISessionImpl.getInstanceFromSession( httpSession, null );
@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.junit.Test;
+
+
+public class TextSizeKey_Test {
+
+  private static final FontData FONT_DATA = new FontData( "arial", 10, SWT.NORMAL );
+  private static final Point PROBE_SIZE = new Point( 500, 12 );
+
+  @Test
+  public void testEquals() {
+    TextSizeKey key1 = createKey( FONT_DATA, PROBE_SIZE, "foo", SWT.DEFAULT );
+    TextSizeKey key2 = createKey( new FontData( "arial", 10, SWT.NORMAL ),
+                                  new Point( 500, 12 ),
+                                  "foo",
+                                  SWT.DEFAULT );
+
+    assertEquals( key1, key2 );
+    assertEquals( key1.hashCode(), key2.hashCode() );
+  }
+
+  @Test
+  public void testNotEquals_withCollidingStringHashCode() {
+    // "Aa" and "BB" have the same String hash code
+    TextSizeKey key1 = createKey( FONT_DATA, PROBE_SIZE, "Aa", SWT.DEFAULT );
+    TextSizeKey key2 = createKey( FONT_DATA, PROBE_SIZE, "BB", SWT.DEFAULT );
+
+    assertFalse( key1.equals( key2 ) );
+  }
+
+  @Test
+  public void testNotEquals_withDifferentString() {
+    Set<TextSizeKey> keys = new HashSet<>();
+    for( int i = 0; i < 100000; i++ ) {
+      keys.add( createKey( FONT_DATA, PROBE_SIZE, String.valueOf( i ), SWT.DEFAULT ) );
+    }
+
+    assertEquals( 100000, keys.size() );
+  }
+
+  @Test
+  public void testEquals_withFingerprint() {
+    TextSizeKey key = createKey( FONT_DATA, PROBE_SIZE, "foo", SWT.DEFAULT );
+    TextSizeKey copy = new TextSizeKey( key.getFontKey(),
+                                        key.getFingerprint1(),
+                                        key.getFingerprint2(),
+                                        key.getWrapWidth(),
+                                        key.getMode() );
+
+    assertEquals( key, copy );
+    assertEquals( key.hashCode(), copy.hashCode() );
+  }
+
+  @Test
+  public void testFingerprints_areIndependent() {
+    long fingerprint1 = TextSizeKey.fingerprint1( "foo" );
+    long fingerprint2 = TextSizeKey.fingerprint2( "foo" );
+
+    assertFalse( fingerprint1 == fingerprint2 );
+    assertFalse( TextSizeKey.fingerprint1( "ab" ) == TextSizeKey.fingerprint1( "ba" ) );
+    assertFalse( TextSizeKey.fingerprint2( "ab" ) == TextSizeKey.fingerprint2( "ba" ) );
+  }
+
+  @Test
+  public void testNotEquals_withDifferentProbeSize() {
+    TextSizeKey key1 = createKey( FONT_DATA, PROBE_SIZE, "foo", SWT.DEFAULT );
+    TextSizeKey key2 = createKey( FONT_DATA, new Point( 501, 12 ), "foo", SWT.DEFAULT );
+
+    assertFalse( key1.equals( key2 ) );
+  }
+
+  @Test
+  public void testNotEquals_withDifferentWrapWidth() {
+    TextSizeKey key1 = createKey( FONT_DATA, PROBE_SIZE, "foo", SWT.DEFAULT );
+    TextSizeKey key2 = createKey( FONT_DATA, PROBE_SIZE, "foo", 100 );
+
+    assertFalse( key1.equals( key2 ) );
+  }
+
+  @Test
+  public void testGetProbeSize() {
+    TextSizeKey key = createKey( FONT_DATA, PROBE_SIZE, "foo", SWT.DEFAULT );
+
+    assertEquals( PROBE_SIZE, key.getFontKey().getProbeSize() );
+  }
+
+  private static TextSizeKey createKey( FontData fontData,
+                                        Point probeSize,
+                                        String string,
+                                        int wrapWidth )
+  {
+    FontKey fontKey = new FontKey( fontData, Probe.DEFAULT_PROBE_STRING, probeSize );
+    return new TextSizeKey( fontKey, string, wrapWidth, 0 );
+  }
+
+}
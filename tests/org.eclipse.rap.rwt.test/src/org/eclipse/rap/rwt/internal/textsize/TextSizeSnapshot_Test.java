@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.textsize;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.FontData;
+import org.eclipse.swt.graphics.Point;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class TextSizeSnapshot_Test {
+
+  private static final FontData FONT_DATA_1 = new FontData( "arial", 10, SWT.NORMAL );
+  private static final FontData FONT_DATA_2 = new FontData( "Verdana, sans-serif", 12, SWT.BOLD );
+  private static final Point PROBE_SIZE = new Point( 500, 12 );
+
+  private File file;
+  private TextSizeStorage storage;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile( "rap-", ".textsizes" );
+    file.delete();
+    storage = new TextSizeStorage();
+  }
+
+  @After
+  public void tearDown() {
+    file.delete();
+  }
+
+  @Test
+  public void testLoad_withoutFile() {
+    new TextSizeSnapshot( storage, file ).load();
+
+    assertEquals( 0, storage.getSize() );
+  }
+
+  @Test
+  public void testLoad_withCorruptFile() throws IOException {
+    try( FileOutputStream output = new FileOutputStream( file ) ) {
+      output.write( new byte[] { 1, 2, 3 } );
+    }
+
+    new TextSizeSnapshot( storage, file ).load();
+
+    assertEquals( 0, storage.getSize() );
+  }
+
+  @Test
+  public void testSaveAndLoad_restoresTextSizes() {
+    storage.storeTextSize( createKey( FONT_DATA_1, "foo", SWT.DEFAULT ), new Point( 10, 12 ) );
+    storage.storeTextSize( createKey( FONT_DATA_2, "bar", 100 ), new Point( 20, 14 ) );
+    new TextSizeSnapshot( storage, file ).save();
+
+    TextSizeStorage newStorage = new TextSizeStorage();
+    new TextSizeSnapshot( newStorage, file ).load();
+
+    assertEquals( 2, newStorage.getSize() );
+    Point size1 = newStorage.lookupTextSize( createKey( FONT_DATA_1, "foo", SWT.DEFAULT ) );
+    Point size2 = newStorage.lookupTextSize( createKey( FONT_DATA_2, "bar", 100 ) );
+    assertEquals( new Point( 10, 12 ), size1 );
+    assertEquals( new Point( 20, 14 ), size2 );
+  }
+
+  @Test
+  public void testSaveAndLoad_restoresFonts() {
+    storage.storeFont( FONT_DATA_1 );
+    storage.storeFont( FONT_DATA_2 );
+    new TextSizeSnapshot( storage, file ).save();
+
+    TextSizeStorage newStorage = new TextSizeStorage();
+    new TextSizeSnapshot( newStorage, file ).load();
+
+    FontData[] fontList = newStorage.getFontList();
+    assertEquals( 2, fontList.length );
+    assertTrue( asList( fontList ).containsAll( asList( FONT_DATA_1, FONT_DATA_2 ) ) );
+  }
+
+  @Test
+  public void testSaveAndLoad_restoresLongStrings() {
+    char[] chars = new char[ 30000 ];
+    String longString = new String( chars ).replace( '\0', 'a' );
+    storage.storeTextSize( createKey( FONT_DATA_1, longString, SWT.DEFAULT ), new Point( 1, 1 ) );
+    new TextSizeSnapshot( storage, file ).save();
+
+    TextSizeStorage newStorage = new TextSizeStorage();
+    new TextSizeSnapshot( newStorage, file ).load();
+
+    Point size = newStorage.lookupTextSize( createKey( FONT_DATA_1, longString, SWT.DEFAULT ) );
+    assertEquals( new Point( 1, 1 ), size );
+  }
+
+  @Test
+  public void testLoad_internsFontKeys() {
+    storage.storeTextSize( createKey( FONT_DATA_1, "foo", SWT.DEFAULT ), new Point( 10, 12 ) );
+    storage.storeTextSize( createKey( FONT_DATA_1, "bar", SWT.DEFAULT ), new Point( 20, 12 ) );
+    new TextSizeSnapshot( storage, file ).save();
+
+    TextSizeStorage newStorage = new TextSizeStorage();
+    new TextSizeSnapshot( newStorage, file ).load();
+
+    Iterator<TextSizeKey> keys = newStorage.getTextSizes().keySet().iterator();
+    assertSame( keys.next().getFontKey(), keys.next().getFontKey() );
+  }
+
+  @Test
+  public void testSave_replacesFile() {
+    TextSizeSnapshot snapshot = new TextSizeSnapshot( storage, file );
+    snapshot.save();
+    storage.storeTextSize( createKey( FONT_DATA_1, "foo", SWT.DEFAULT ), new Point( 10, 12 ) );
+
+    snapshot.save();
+
+    TextSizeStorage newStorage = new TextSizeStorage();
+    new TextSizeSnapshot( newStorage, file ).load();
+    assertEquals( 1, newStorage.getSize() );
+    assertFalse( new File( file.getPath() + ".tmp" ).exists() );
+  }
+
+  @Test
+  public void testDeactivate_savesSnapshot() {
+    TextSizeSnapshot snapshot = new TextSizeSnapshot( storage, file );
+    snapshot.activate( TextSizeSnapshot.DEFAULT_FLUSH_INTERVAL );
+    storage.storeTextSize( createKey( FONT_DATA_1, "foo", SWT.DEFAULT ), new Point( 10, 12 ) );
+
+    snapshot.deactivate();
+
+    assertTrue( file.isFile() );
+  }
+
+  @Test
+  public void testActivate_loadsSnapshot() {
+    storage.storeTextSize( createKey( FONT_DATA_1, "foo", SWT.DEFAULT ), new Point( 10, 12 ) );
+    new TextSizeSnapshot( storage, file ).save();
+    TextSizeStorage newStorage = new TextSizeStorage();
+    TextSizeSnapshot snapshot = new TextSizeSnapshot( newStorage, file );
+
+    snapshot.activate( TextSizeSnapshot.DEFAULT_FLUSH_INTERVAL );
+    snapshot.deactivate();
+
+    assertEquals( 1, newStorage.getSize() );
+  }
+
+  private static TextSizeKey createKey( FontData fontData, String string, int wrapWidth ) {
+    FontKey fontKey = new FontKey( fontData, Probe.DEFAULT_PROBE_STRING, PROBE_SIZE );
+    return new TextSizeKey( fontKey, string, wrapWidth, 0 );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,6 +14,7 @@ package org.eclipse.rap.rwt.internal.textsize;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
 import java.util.HashSet;
@@ -106,7 +107,7 @@ public class TextSizeStorageUtil_Test {
 
   @Test
   public void testGetKey() {
-    Set<Integer> takenKeys = new HashSet<Integer>();
+    Set<TextSizeKey> takenKeys = new HashSet<TextSizeKey>();
     StringBuilder generatedText = new StringBuilder();
     for( int i = 0; i < 100; i++ ) {
       generatedText.append( "a" );
@@ -114,10 +115,20 @@ public class TextSizeStorageUtil_Test {
       Probe probe = new Probe( text, FONT_DATA );
       Point size = new Point( 1, 2 );
       ProbeResultStore.getInstance().createProbeResult( probe, size );
-      Integer key = TextSizeStorageUtil.getKey( FONT_DATA, text, SWT.DEFAULT, MODE );
+      TextSizeKey key = TextSizeStorageUtil.getKey( FONT_DATA, text, SWT.DEFAULT, MODE );
       assertFalse( takenKeys.contains( key ) );
       takenKeys.add( key );
     }
   }
 
+  @Test
+  public void testGetKey_sharesFontKey() {
+    ProbeResultStore.getInstance().createProbeResult( new Probe( FONT_DATA ), new Point( 2, 10 ) );
+
+    TextSizeKey key1 = TextSizeStorageUtil.getKey( FONT_DATA, "foo", SWT.DEFAULT, MODE );
+    TextSizeKey key2 = TextSizeStorageUtil.getKey( FONT_DATA, "bar", 100, MODE );
+
+    assertSame( key1.getFontKey(), key2.getFontKey() );
+  }
+
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 Frank Appel and others.
+ * Copyright (c) 2011, 2016 Frank Appel and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,13 +11,17 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.textsize;
 
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.joinThreads;
+import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.startThreads;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.SWT;
@@ -31,8 +35,8 @@ import org.junit.Test;
 public class TextSizeStorage_Test {
   private static final FontData FONT_DATA_1 = new FontData( "arial", 10, SWT.NORMAL );
   private static final FontData FONT_DATA_2 = new FontData( "helvetia", 12, SWT.NORMAL );
-  private static final Integer KEY_FIRST = new Integer( 0 );
-  private static final Integer KEY_OVERFLOW = new Integer( Integer.MAX_VALUE );
+  private static final TextSizeKey KEY_FIRST = createKey( 0 );
+  private static final TextSizeKey KEY_OVERFLOW = createKey( Integer.MAX_VALUE );
   private static final Point SIZE_FIRST = new Point( 0, 0 );
   private static final Point SIZE_OVERFLOW = new Point( -1, -1 );
 
@@ -62,7 +66,7 @@ public class TextSizeStorage_Test {
 
   @Test
   public void testTextSizeStorage() {
-    Integer key = new Integer( 1 );
+    TextSizeKey key = createKey( 1 );
     Point size = new Point( 1, 4 );
     storage.storeTextSize( key, size );
 
@@ -84,6 +88,78 @@ public class TextSizeStorage_Test {
     checkRangeCleanup();
   }
 
+  @Test
+  public void testInternFontKey() {
+    FontKey fontKey = new FontKey( FONT_DATA_1, "probe", new Point( 5, 10 ) );
+    FontKey equalFontKey = new FontKey( FONT_DATA_1, "probe", new Point( 5, 10 ) );
+
+    assertSame( fontKey, storage.internFontKey( fontKey ) );
+    assertSame( fontKey, storage.internFontKey( equalFontKey ) );
+  }
+
+  @Test
+  public void testLookupTextSize_returnsCopy() {
+    storage.storeTextSize( KEY_FIRST, SIZE_FIRST );
+
+    storage.lookupTextSize( KEY_FIRST ).x = 42;
+
+    assertEquals( SIZE_FIRST, storage.lookupTextSize( KEY_FIRST ) );
+  }
+
+  @Test
+  public void testStoreSameKeyTwice() {
+    storage.storeTextSize( KEY_FIRST, new Point( 1, 1 ) );
+
+    storage.storeTextSize( KEY_FIRST, new Point( 2, 2 ) );
+
+    assertEquals( 1, storage.getSize() );
+    assertEquals( new Point( 2, 2 ), storage.lookupTextSize( KEY_FIRST ) );
+  }
+
+  @Test
+  public void testHitAndMissCount() {
+    storage.storeTextSize( KEY_FIRST, SIZE_FIRST );
+
+    storage.lookupTextSize( KEY_FIRST );
+    storage.lookupTextSize( KEY_FIRST );
+    storage.lookupTextSize( KEY_OVERFLOW );
+
+    assertEquals( 2, storage.getHitCount() );
+    assertEquals( 1, storage.getMissCount() );
+  }
+
+  @Test
+  public void testEvictionCount() {
+    populateUntilOverflowThresholdIsReached();
+
+    forceOverflow();
+
+    assertEquals( 100, storage.getEvictionCount() );
+    assertEquals( TextSizeStorage.MIN_STORE_SIZE - 100, storage.getSize() );
+  }
+
+  @Test
+  public void testConcurrentAccess() throws InterruptedException {
+    storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
+    final AtomicInteger counter = new AtomicInteger();
+    Runnable runnable = new Runnable() {
+      @Override
+      public void run() {
+        for( int i = 0; i < 1000; i++ ) {
+          TextSizeKey key = createKey( counter.incrementAndGet() );
+          storage.storeTextSize( key, new Point( i, i ) );
+          storage.lookupTextSize( key );
+        }
+      }
+    };
+
+    joinThreads( startThreads( 8, runnable ) );
+
+    assertTrue( storage.getSize() < 2 * TextSizeStorage.MIN_STORE_SIZE );
+    assertEquals( 8000, storage.getSize() + storage.getEvictionCount() );
+    assertEquals( 8000, storage.getHitCount() + storage.getMissCount() );
+  }
+
   @Test
   public void testMaximumStoreSize() {
     int maximumStoreSize = 2000;
@@ -105,7 +181,7 @@ public class TextSizeStorage_Test {
   private void populateUntilOverflowThresholdIsReached() {
     storage.setMaximumStoreSize( TextSizeStorage.MIN_STORE_SIZE );
     for( int i = 0; i < TextSizeStorage.MIN_STORE_SIZE - 1; i++ ) {
-      Integer key = new Integer( i );
+      TextSizeKey key = createKey( i );
       Point point = new Point( i, i );
       storage.storeTextSize( key, point );
     }
@@ -116,12 +192,12 @@ public class TextSizeStorage_Test {
   }
 
   private void checkRangeCleanup() {
-    assertNull( storage.lookupTextSize( new Integer( 99 ) ) );
+    assertNull( storage.lookupTextSize( createKey( 99 ) ) );
   }
 
   private void checkLatestEntriesExist() {
     assertEquals( SIZE_OVERFLOW, storage.lookupTextSize( KEY_OVERFLOW ) );
-    assertEquals( new Point( 101, 101 ), storage.lookupTextSize( new Integer( 101 ) ) );
+    assertEquals( new Point( 101, 101 ), storage.lookupTextSize( createKey( 101 ) ) );
   }
 
   private void checkTimestampOrdering() {
@@ -131,4 +207,10 @@ public class TextSizeStorage_Test {
   private void forceOverflow() {
     storage.storeTextSize( KEY_OVERFLOW, SIZE_OVERFLOW );
   }
+
+  private static TextSizeKey createKey( int index ) {
+    Point probeSize = new Point( 5, 10 );
+    String string = String.valueOf( index );
+    return new TextSizeKey( new FontKey( FONT_DATA_1, "probe", probeSize ), string, SWT.DEFAULT, 0 );
+  }
 }
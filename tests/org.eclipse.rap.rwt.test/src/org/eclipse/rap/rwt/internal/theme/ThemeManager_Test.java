@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
 package org.eclipse.rap.rwt.internal.theme;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -19,6 +20,7 @@ import static org.junit.Assert.fail;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.internal.theme.css.StyleRule;
@@ -144,6 +146,127 @@ public class ThemeManager_Test {
     assertTrue( joinedAppearances.contains( "\"sash-handle\" : {" ) );
   }
 
+  @Test
+  public void testAddStyleSheet() throws Exception {
+    Theme theme = new Theme( "custom.id", "Custom Theme", null );
+    manager.registerTheme( theme );
+
+    manager.addStyleSheet( theme, createReader( "Button { color: red; }" ) );
+
+    assertEquals( 1, theme.getStyleSheet().getStyleRules().length );
+    assertTrue( theme.getParseTime() > 0 );
+  }
+
+  @Test
+  public void testAddStyleSheet_afterActivate() throws Exception {
+    Theme theme = new Theme( "custom.id", "Custom Theme", null );
+    manager.registerTheme( theme );
+    manager.activate();
+
+    try {
+      manager.addStyleSheet( theme, createReader( "Button { color: red; }" ) );
+      fail();
+    } catch( @SuppressWarnings( "unused" ) IllegalStateException expected ) {
+    }
+  }
+
+  @Test
+  public void testParallelInitialization() throws Exception {
+    manager = new ThemeManager( true, false );
+    Theme theme1 = new Theme( "custom.id1", "Custom Theme 1", null );
+    Theme theme2 = new Theme( "custom.id2", "Custom Theme 2", null );
+    manager.registerTheme( theme1 );
+    manager.registerTheme( theme2 );
+    manager.addStyleSheet( theme1, createReader( "Button { color: red; }" ) );
+    manager.addStyleSheet( theme1, createReader( "Button { color: blue; }" ) );
+    manager.addStyleSheet( theme2, createReader( "Button { color: green; }" ) );
+    manager.initialize();
+
+    manager.activate();
+
+    assertTrue( theme1.isInitialized() );
+    assertTrue( theme2.isInitialized() );
+    assertTrue( manager.getTheme( RWT.DEFAULT_THEME_ID ).isInitialized() );
+    assertEquals( CssColor.valueOf( "blue" ), getButtonColor( theme1 ) );
+    assertEquals( CssColor.valueOf( "green" ), getButtonColor( theme2 ) );
+  }
+
+  @Test
+  public void testParallelInitialization_rethrowsReadError() {
+    manager = new ThemeManager( true, false );
+    Theme theme = new Theme( "custom.id", "Custom Theme", null );
+    manager.registerTheme( theme );
+    manager.addStyleSheet( theme, new Callable<StyleSheet>() {
+      @Override
+      public StyleSheet call() {
+        throw new IllegalArgumentException( "Failed to read stylesheet" );
+      }
+    } );
+
+    try {
+      manager.activate();
+      fail();
+    } catch( IllegalArgumentException expected ) {
+      assertTrue( expected.getMessage().contains( "Failed to read stylesheet" ) );
+    }
+  }
+
+  @Test
+  public void testLazyInitialization() throws Exception {
+    manager = new ThemeManager( false, true );
+    Theme theme = new Theme( "custom.id", "Custom Theme", null );
+    manager.registerTheme( theme );
+    manager.addStyleSheet( theme, createReader( "Button { color: red; }" ) );
+    manager.initialize();
+
+    manager.activate();
+
+    assertFalse( theme.isInitialized() );
+    assertTrue( getFallbackTheme().isInitialized() );
+    assertTrue( manager.getTheme( RWT.DEFAULT_THEME_ID ).isInitialized() );
+    assertEquals( CssColor.valueOf( "red" ), getButtonColor( theme ) );
+    assertTrue( theme.isInitialized() );
+  }
+
+  @Test
+  public void testLazyInitialization_rejectsStyleSheetAfterActivate() throws Exception {
+    manager = new ThemeManager( false, true );
+    Theme theme = new Theme( "custom.id", "Custom Theme", null );
+    manager.registerTheme( theme );
+    manager.activate();
+
+    try {
+      theme.addStyleSheet( ThemeTestUtil.createStyleSheet( "Button { color: red; }" ) );
+      fail();
+    } catch( @SuppressWarnings( "unused" ) IllegalStateException expected ) {
+    }
+  }
+
+  @Test
+  public void testGetTimingReport() throws Exception {
+    manager = new ThemeManager( false, true );
+    manager.registerTheme( new Theme( "custom.id", "Custom Theme", null ) );
+    manager.activate();
+
+    String report = manager.getTimingReport();
+
+    assertTrue( report.contains( ThemeManager.FALLBACK_THEME_ID + ": " ) );
+    assertTrue( report.contains( "custom.id: 0 ms / deferred" ) );
+  }
+
+  private static CssValue getButtonColor( Theme theme ) {
+    return theme.getValuesMap().getValues( "Button", "color" )[ 0 ].value;
+  }
+
+  private static Callable<StyleSheet> createReader( final String css ) {
+    return new Callable<StyleSheet>() {
+      @Override
+      public StyleSheet call() throws Exception {
+        return ThemeTestUtil.createStyleSheet( css );
+      }
+    };
+  }
+
   private Theme getFallbackTheme() {
     return manager.getTheme( ThemeManager.FALLBACK_THEME_ID );
   }
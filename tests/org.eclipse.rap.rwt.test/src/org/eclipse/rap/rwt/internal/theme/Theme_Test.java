@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import static org.eclipse.rap.rwt.internal.theme.ThemeTestUtil.RESOURCE_LOADER;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -145,6 +146,37 @@ public class Theme_Test {
     }
   }
 
+  @Test
+  public void testRegisterResources_whenInitializedLazily() throws Exception {
+    Fixture.setUp();
+    try {
+      String css = "Button { background-image: url( " + Fixture.IMAGE1 + "); }";
+      StyleSheet styleSheet = ThemeTestUtil.createStyleSheet( css, RESOURCE_LOADER );
+      Theme theme = new Theme( "custom.theme.id", "Custom", styleSheet );
+      theme.initializeLazily( new ThemeableWidget[] { createSimpleButtonWidget() } );
+      ApplicationContext applicationContext = getApplicationContext();
+      ResourceManager resourceManager = applicationContext.getResourceManager();
+
+      theme.registerResources( applicationContext );
+
+      assertFalse( theme.isInitialized() );
+      assertFalse( resourceManager.isRegistered( "themes/images/9e78c44e.gif" ) );
+      assertNotNull( theme.getRegisteredLocation() );
+      assertTrue( theme.isInitialized() );
+      assertTrue( resourceManager.isRegistered( "themes/images/9e78c44e.gif" ) );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
+  @Test
+  public void testGetRegisteredLocation_withoutRegistration() throws Exception {
+    Theme theme = new Theme( "custom.theme.id", "Custom", null );
+    theme.initializeLazily( new ThemeableWidget[ 0 ] );
+
+    assertNull( theme.getRegisteredLocation() );
+  }
+
   private static ThemeableWidget createSimpleButtonWidget() {
     ThemeableWidget buttonWidget = new ThemeableWidget( Button.class.getName(), null );
     CssElement buttonElement = new CssElementImpl( "Button" )
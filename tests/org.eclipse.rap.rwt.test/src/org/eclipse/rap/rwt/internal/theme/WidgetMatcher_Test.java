@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.theme;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.internal.theme.WidgetMatcher.Constraint;
+import org.eclipse.rap.rwt.internal.theme.css.ConditionalValue;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Widget;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class WidgetMatcher_Test {
+
+  private static final CssValue DEFAULT = CssDimension.create( 1 );
+  private static final CssValue BORDER = CssDimension.create( 2 );
+  private static final CssValue BORDER_FOCUSED = CssDimension.create( 3 );
+  private static final CssValue VARIANT = CssDimension.create( 4 );
+
+  private Shell shell;
+  private WidgetMatcher matcher;
+  private ConditionalValue[] values;
+
+  @Before
+  public void setUp() {
+    Fixture.setUp();
+    shell = new Shell( new Display() );
+    matcher = new WidgetMatcher();
+    matcher.addStyle( "BORDER", SWT.BORDER );
+    values = new ConditionalValue[] {
+      new ConditionalValue( VARIANT, ".special" ),
+      new ConditionalValue( BORDER_FOCUSED, "[BORDER", ":focused" ),
+      new ConditionalValue( BORDER, "[BORDER" ),
+      new ConditionalValue( DEFAULT )
+    };
+  }
+
+  @After
+  public void tearDown() {
+    Fixture.tearDown();
+  }
+
+  @Test
+  public void testSelect_withoutConstraints() {
+    Button button = new Button( shell, SWT.PUSH );
+
+    assertSame( DEFAULT, matcher.select( button, values ) );
+  }
+
+  @Test
+  public void testSelect_withStyle() {
+    Button button = new Button( shell, SWT.PUSH | SWT.BORDER );
+
+    assertSame( BORDER, matcher.select( button, values ) );
+  }
+
+  @Test
+  public void testSelect_withState() {
+    Button button = new Button( shell, SWT.PUSH | SWT.BORDER );
+    matcher.addState( "focused", createConstraint( true, new AtomicInteger() ) );
+
+    assertSame( BORDER_FOCUSED, matcher.select( button, values ) );
+  }
+
+  @Test
+  public void testSelect_withUnknownState() {
+    Button button = new Button( shell, SWT.PUSH | SWT.BORDER );
+
+    assertSame( BORDER, matcher.select( button, values ) );
+  }
+
+  @Test
+  public void testSelect_withVariant() {
+    Button button = new Button( shell, SWT.PUSH );
+    button.setData( RWT.CUSTOM_VARIANT, "special" );
+
+    assertSame( VARIANT, matcher.select( button, values ) );
+  }
+
+  @Test
+  public void testSelect_reflectsChangedVariant() {
+    Button button = new Button( shell, SWT.PUSH );
+    matcher.select( button, values );
+
+    button.setData( RWT.CUSTOM_VARIANT, "special" );
+
+    assertSame( VARIANT, matcher.select( button, values ) );
+  }
+
+  @Test
+  public void testSelect_reflectsChangedState() {
+    Button button = new Button( shell, SWT.PUSH | SWT.BORDER );
+    matcher.select( button, values );
+
+    matcher.addState( "focused", createConstraint( true, new AtomicInteger() ) );
+
+    assertSame( BORDER_FOCUSED, matcher.select( button, values ) );
+  }
+
+  @Test
+  public void testSelect_evaluatesConstraintOnce() {
+    AtomicInteger count = new AtomicInteger();
+    matcher.addState( "selected", createConstraint( false, count ) );
+    ConditionalValue[] values = new ConditionalValue[] {
+      new ConditionalValue( BORDER_FOCUSED, ":selected", "[BORDER" ),
+      new ConditionalValue( BORDER, ":selected" ),
+      new ConditionalValue( DEFAULT )
+    };
+
+    CssValue result = matcher.select( new Button( shell, SWT.PUSH ), values );
+
+    assertSame( DEFAULT, result );
+    assertEquals( 1, count.get() );
+  }
+
+  @Test
+  public void testSelect_withoutMatch() {
+    ConditionalValue[] values = new ConditionalValue[] {
+      new ConditionalValue( BORDER, "[BORDER" )
+    };
+
+    assertNull( matcher.select( new Button( shell, SWT.PUSH ), values ) );
+  }
+
+  @Test
+  public void testSelect_withManyConstraints() {
+    ConditionalValue[] values = new ConditionalValue[ 70 ];
+    for( int i = 0; i < values.length - 1; i++ ) {
+      values[ i ] = new ConditionalValue( BORDER, ".variant" + i );
+    }
+    values[ values.length - 1 ] = new ConditionalValue( DEFAULT );
+    Button button = new Button( shell, SWT.PUSH );
+    button.setData( RWT.CUSTOM_VARIANT, "variant68" );
+
+    assertSame( BORDER, matcher.select( button, values ) );
+    button.setData( RWT.CUSTOM_VARIANT, "other" );
+    assertSame( DEFAULT, matcher.select( button, values ) );
+  }
+
+  private static Constraint createConstraint( final boolean matches, final AtomicInteger count ) {
+    return new Constraint() {
+      @Override
+      public boolean matches( Widget widget ) {
+        count.incrementAndGet();
+        return matches;
+      }
+    };
+  }
+
+}
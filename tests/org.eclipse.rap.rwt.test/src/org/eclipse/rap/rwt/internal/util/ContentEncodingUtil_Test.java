@@ -0,0 +1,61 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+
+public class ContentEncodingUtil_Test {
+
+  @Test
+  public void testAccepts_withListedEncoding() {
+    assertTrue( ContentEncodingUtil.accepts( "deflate, gzip", "gzip" ) );
+  }
+
+  @Test
+  public void testAccepts_ignoresCase() {
+    assertTrue( ContentEncodingUtil.accepts( "GZIP", "gzip" ) );
+  }
+
+  @Test
+  public void testAccepts_withPositiveQuality() {
+    assertTrue( ContentEncodingUtil.accepts( "gzip;q=0.5", "gzip" ) );
+  }
+
+  @Test
+  public void testAccepts_withZeroQuality() {
+    assertFalse( ContentEncodingUtil.accepts( "gzip;q=0, deflate", "gzip" ) );
+  }
+
+  @Test
+  public void testAccepts_withZeroQualityAndWhitespace() {
+    assertFalse( ContentEncodingUtil.accepts( "gzip ; q=0.0", "gzip" ) );
+  }
+
+  @Test
+  public void testAccepts_withInvalidQuality() {
+    assertTrue( ContentEncodingUtil.accepts( "gzip;q=x", "gzip" ) );
+  }
+
+  @Test
+  public void testAccepts_withEncodingContainingName() {
+    assertFalse( ContentEncodingUtil.accepts( "x-gzip-foo", "gzip" ) );
+  }
+
+  @Test
+  public void testAccepts_withoutHeader() {
+    assertFalse( ContentEncodingUtil.accepts( null, "gzip" ) );
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,15 +10,24 @@
  ******************************************************************************/
 package org.eclipse.rap.rwt.internal.util;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.eclipse.rap.rwt.internal.util.SharedInstanceBuffer.InstanceCreator;
+import org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -106,6 +115,161 @@ public class SharedInstanceBuffer_Test {
     assertSame( value, removed );
   }
 
+  @Test
+  public void testGet_doesNotCacheNull() {
+    InstanceCreator<Object, Object> instanceCreator = mockInstanceCreator( null );
+
+    keyValueStore.get( key, instanceCreator );
+    Object returnedValue = keyValueStore.get( key, instanceCreator );
+
+    verify( instanceCreator, times( 2 ) ).createInstance( key );
+    assertNull( returnedValue );
+    assertEquals( 0, keyValueStore.size() );
+  }
+
+  @Test
+  public void testGet_doesNotCacheException() {
+    InstanceCreator<Object, Object> failingCreator = mockInstanceCreator( value );
+    when( failingCreator.createInstance( any() ) ).thenThrow( new IllegalArgumentException() );
+
+    try {
+      keyValueStore.get( key, failingCreator );
+      fail();
+    } catch( @SuppressWarnings( "unused" ) IllegalArgumentException expected ) {
+    }
+    Object returnedValue = keyValueStore.get( key, mockInstanceCreator( value ) );
+
+    assertSame( value, returnedValue );
+  }
+
+  @Test( expected = IllegalStateException.class )
+  public void testGet_rejectsRecursiveCreationOfSameKey() {
+    keyValueStore.get( key, new InstanceCreator<Object, Object>() {
+      @Override
+      public Object createInstance( Object key ) {
+        return keyValueStore.get( key, this );
+      }
+    } );
+  }
+
+  @Test
+  public void testGet_doesNotBlockOtherKeysDuringCreation() throws Exception {
+    final CountDownLatch creationStarted = new CountDownLatch( 1 );
+    final CountDownLatch releaseCreation = new CountDownLatch( 1 );
+    Thread thread = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        keyValueStore.get( key, new InstanceCreator<Object, Object>() {
+          @Override
+          public Object createInstance( Object key ) {
+            creationStarted.countDown();
+            await( releaseCreation );
+            return value;
+          }
+        } );
+      }
+    } );
+    thread.start();
+    await( creationStarted );
+
+    Object otherValue = new Object();
+    Object returnedValue = keyValueStore.get( new Object(), mockInstanceCreator( otherValue ) );
+    releaseCreation.countDown();
+    thread.join();
+
+    assertSame( otherValue, returnedValue );
+  }
+
+  @Test
+  public void testGet_createsInstanceOnceForConcurrentRequests() throws Exception {
+    final AtomicInteger creationCount = new AtomicInteger();
+    final CountDownLatch creationStarted = new CountDownLatch( 1 );
+    final CountDownLatch releaseCreation = new CountDownLatch( 1 );
+    final InstanceCreator<Object, Object> instanceCreator = new InstanceCreator<Object, Object>() {
+      @Override
+      public Object createInstance( Object key ) {
+        creationCount.incrementAndGet();
+        creationStarted.countDown();
+        await( releaseCreation );
+        return value;
+      }
+    };
+    final AtomicReference<Object> returnedValue = new AtomicReference<>();
+    Thread thread = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        returnedValue.set( keyValueStore.get( key, instanceCreator ) );
+      }
+    } );
+    thread.start();
+    await( creationStarted );
+
+    Thread waitingThread = new Thread( new Runnable() {
+      @Override
+      public void run() {
+        keyValueStore.get( key, instanceCreator );
+      }
+    } );
+    waitingThread.start();
+    releaseCreation.countDown();
+    thread.join();
+    waitingThread.join();
+
+    assertEquals( 1, creationCount.get() );
+    assertSame( value, returnedValue.get() );
+  }
+
+  @Test
+  public void testGetCounts() {
+    InstanceCreator<Object, Object> instanceCreator = mockInstanceCreator( value );
+
+    keyValueStore.get( key, instanceCreator );
+    keyValueStore.get( key, instanceCreator );
+    keyValueStore.get( key, instanceCreator );
+    keyValueStore.get( new Object(), instanceCreator );
+
+    assertEquals( 2, keyValueStore.getMissCount() );
+    assertEquals( 2, keyValueStore.getHitCount() );
+    assertEquals( 0, keyValueStore.getEvictionCount() );
+    assertEquals( 2, keyValueStore.size() );
+  }
+
+  @Test
+  public void testGet_withSoftValues() {
+    keyValueStore = new SharedInstanceBuffer<>( true );
+    InstanceCreator<Object, Object> instanceCreator = mockInstanceCreator( value );
+
+    Object returned1 = keyValueStore.get( key, instanceCreator );
+    Object returned2 = keyValueStore.get( key, instanceCreator );
+
+    verify( instanceCreator, times( 1 ) ).createInstance( key );
+    assertSame( value, returned1 );
+    assertSame( returned1, returned2 );
+  }
+
+  @Test
+  public void testSerialization() throws Exception {
+    String value = "value";
+    keyValueStore.get( "key", mockInstanceCreator( value ) );
+    keyValueStore.get( null, mockInstanceCreator( value ) );
+
+    SharedInstanceBuffer<Object, Object> deserialized
+      = SerializationTestUtil.serializeAndDeserialize( keyValueStore );
+
+    InstanceCreator<Object, Object> instanceCreator = mockInstanceCreator( "other" );
+    assertEquals( value, deserialized.get( "key", instanceCreator ) );
+    assertEquals( value, deserialized.get( null, instanceCreator ) );
+    assertEquals( 2, deserialized.size() );
+  }
+
+  private static void await( CountDownLatch latch ) {
+    try {
+      assertTrue( latch.await( 10, TimeUnit.SECONDS ) );
+    } catch( InterruptedException exception ) {
+      throw new RuntimeException( exception );
+    }
+  }
+
   @SuppressWarnings( "unchecked" )
   private static InstanceCreator<Object, Object> mockInstanceCreator( Object value ) {
     InstanceCreator mock = mock( InstanceCreator.class );
@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.rwt.internal.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class TimerWheel_Test {
+
+  private TimerWheel timerWheel;
+
+  @Before
+  public void setUp() {
+    timerWheel = new TimerWheel( "test timer wheel", 1, 8 );
+  }
+
+  @After
+  public void tearDown() {
+    timerWheel.stop();
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testCreate_failsWithInvalidWheelSize() {
+    new TimerWheel( "test", 1, 7 );
+  }
+
+  @Test( expected = IllegalArgumentException.class )
+  public void testCreate_failsWithInvalidTickDuration() {
+    new TimerWheel( "test", 0, 8 );
+  }
+
+  @Test
+  public void testSchedule_runsTask() throws InterruptedException {
+    TestTask task = new TestTask( 1 );
+
+    timerWheel.schedule( task, 5 );
+
+    assertTrue( task.await() );
+    assertEquals( 0, timerWheel.getQueueDepth() );
+  }
+
+  @Test
+  public void testSchedule_runsTaskAfterDelay() throws InterruptedException {
+    TestTask task = new TestTask( 1 );
+    long start = System.nanoTime();
+
+    timerWheel.schedule( task, 50 );
+
+    assertTrue( task.await() );
+    assertTrue( TimeUnit.NANOSECONDS.toMillis( task.runTime - start ) >= 50 );
+  }
+
+  @Test
+  public void testSchedule_runsTaskBeyondOneRound() throws InterruptedException {
+    // the delay spans several rounds of a wheel with 8 ticks of 1 ms
+    TestTask task = new TestTask( 1 );
+    long start = System.nanoTime();
+
+    timerWheel.schedule( task, 30 );
+
+    assertTrue( task.await() );
+    assertTrue( TimeUnit.NANOSECONDS.toMillis( task.runTime - start ) >= 30 );
+  }
+
+  @Test
+  public void testSchedule_setsScheduledExecutionTime() {
+    TestTask task = new TestTask( 1 );
+    long now = System.currentTimeMillis();
+
+    timerWheel.schedule( task, 10000 );
+
+    assertTrue( task.scheduledExecutionTime() >= now + 10000 );
+  }
+
+  @Test
+  public void testSchedule_reschedulesTask() throws InterruptedException {
+    TestTask task = new TestTask( 1 );
+    timerWheel.schedule( task, 10000 );
+
+    timerWheel.schedule( task, 1 );
+
+    assertTrue( task.await() );
+    assertEquals( 1, task.runCount.get() );
+    assertEquals( 0, timerWheel.getQueueDepth() );
+  }
+
+  @Test
+  public void testGetQueueDepth() {
+    timerWheel.schedule( new TestTask( 1 ), 10000 );
+    timerWheel.schedule( new TestTask( 1 ), 20000 );
+
+    assertEquals( 2, timerWheel.getQueueDepth() );
+  }
+
+  @Test
+  public void testCancel() {
+    TestTask task = new TestTask( 1 );
+    timerWheel.schedule( task, 10000 );
+
+    boolean cancelled = task.cancel();
+
+    assertTrue( cancelled );
+    assertEquals( 0, timerWheel.getQueueDepth() );
+  }
+
+  @Test
+  public void testCancel_preventsRun() throws InterruptedException {
+    TestTask cancelledTask = new TestTask( 1 );
+    TestTask task = new TestTask( 1 );
+    timerWheel.schedule( cancelledTask, 20 );
+    timerWheel.schedule( task, 40 );
+
+    cancelledTask.cancel();
+
+    assertTrue( task.await() );
+    assertEquals( 0, cancelledTask.runCount.get() );
+  }
+
+  @Test
+  public void testCancel_withUnscheduledTask() {
+    assertFalse( new TestTask( 1 ).cancel() );
+  }
+
+  @Test
+  public void testStop_removesTasks() {
+    timerWheel.schedule( new TestTask( 1 ), 10000 );
+
+    timerWheel.stop();
+
+    assertEquals( 0, timerWheel.getQueueDepth() );
+  }
+
+  @Test
+  public void testSchedule_afterStop() throws InterruptedException {
+    timerWheel.stop();
+    TestTask task = new TestTask( 1 );
+
+    timerWheel.schedule( task, 1 );
+
+    assertTrue( task.await() );
+  }
+
+  @Test
+  public void testRun_continuesAfterFailingTask() throws InterruptedException {
+    TestTask task = new TestTask( 1 );
+    timerWheel.schedule( new TimerWheel.Task() {
+      @Override
+      public void run() {
+        throw new RuntimeException( "expected" );
+      }
+    }, 1 );
+
+    timerWheel.schedule( task, 10 );
+
+    assertTrue( task.await() );
+  }
+
+  @Test
+  public void testGetMaxLag() throws InterruptedException {
+    TestTask task = new TestTask( 1 );
+
+    timerWheel.schedule( task, 1 );
+
+    assertTrue( task.await() );
+    assertTrue( timerWheel.getMaxLag() >= timerWheel.getLag() );
+    assertTrue( timerWheel.getLag() >= 0 );
+  }
+
+  private static class TestTask extends TimerWheel.Task {
+
+    final AtomicInteger runCount = new AtomicInteger();
+    private final CountDownLatch latch;
+    volatile long runTime;
+
+    TestTask( int expectedRuns ) {
+      latch = new CountDownLatch( expectedRuns );
+    }
+
+    @Override
+    public void run() {
+      runTime = System.nanoTime();
+      runCount.incrementAndGet();
+      latch.countDown();
+    }
+
+    boolean await() throws InterruptedException {
+      return latch.await( 5, TimeUnit.SECONDS );
+    }
+
+  }
+
+}
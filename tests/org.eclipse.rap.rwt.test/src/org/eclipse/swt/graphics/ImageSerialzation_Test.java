@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2015 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,10 +13,12 @@ package org.eclipse.swt.graphics;
 import static org.eclipse.rap.rwt.internal.protocol.ClientMessageConst.CONNECTION_ID;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Mockito.mock;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.NotSerializableException;
 import java.util.Arrays;
@@ -88,6 +90,34 @@ public class ImageSerialzation_Test {
     assertEquals( imageData, deserializedImageData );
   }
 
+  @Test
+  public void testSerializeSessionImagesWithSharedInternalImage() throws Exception {
+    Image image1 = createSessionImage();
+    Image image2 = createSessionImage();
+    ImageData imageData = image1.getImageData();
+    ContextProvider.disposeContext();
+    int singleSize = serialize( new Image[] { image1 } ).length;
+    int pairSize = serialize( new Image[] { image1, image2 } ).length;
+
+    Image[] deserializedImages = serializeAndDeserialize( new Image[] { image1, image2 } );
+    createServiceContext( deserializedImages[ 0 ].getDevice() );
+    runClusterSupportFilter();
+
+    assertSame( image1.internalImage, image2.internalImage );
+    assertSame( deserializedImages[ 0 ].internalImage, deserializedImages[ 1 ].internalImage );
+    assertTrue( pairSize < 2 * singleSize );
+    assertEquals( imageData, deserializedImages[ 1 ].getImageData() );
+  }
+
+  private Image createSessionImage() throws IOException {
+    InputStream inputStream = getClass().getClassLoader().getResourceAsStream( Fixture.IMAGE1 );
+    try {
+      return new Image( display, inputStream );
+    } finally {
+      inputStream.close();
+    }
+  }
+
   private void createServiceContext( Device device ) {
     Fixture.createServiceContext();
     UISessionImpl uiSession = ( UISessionImpl )getUISession( device );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -14,7 +14,9 @@ package org.eclipse.swt.internal.graphics;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
@@ -88,6 +90,84 @@ public class ImageDataCache_Test {
     assertEqualsImageData( copyData1, copyData2 );
   }
 
+  @Test
+  public void testSharedImageDataIsNotCopied() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage = createInternalImage( "testpath", imageData );
+    cache.putImageData( internalImage, imageData );
+
+    ImageData sharedData1 = cache.getSharedImageData( internalImage );
+    ImageData sharedData2 = cache.getSharedImageData( internalImage );
+
+    assertNotSame( imageData, sharedData1 );
+    assertSame( sharedData1, sharedData2 );
+  }
+
+  @Test
+  public void testEvictsLeastRecentlyUsed() throws IOException {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    int size = imageData.data.length;
+    ImageDataCache cache = new ImageDataCache( size, 2 * size );
+    InternalImage internalImage1 = createInternalImage( "path1", imageData );
+    InternalImage internalImage2 = createInternalImage( "path2", imageData );
+    InternalImage internalImage3 = createInternalImage( "path3", imageData );
+    cache.putImageData( internalImage1, imageData );
+    cache.putImageData( internalImage2, imageData );
+
+    cache.getImageData( internalImage1 );
+    cache.putImageData( internalImage3, imageData );
+
+    assertNotNull( cache.getImageData( internalImage1 ) );
+    assertNull( cache.getImageData( internalImage2 ) );
+    assertNotNull( cache.getImageData( internalImage3 ) );
+    assertEquals( 2 * size, cache.getTotalSize() );
+    assertEquals( 1, cache.getEvictionCount() );
+  }
+
+  @Test
+  public void testReplaceKeepsTotalSize() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage = createInternalImage( "testpath", imageData );
+
+    cache.putImageData( internalImage, imageData );
+    cache.putImageData( internalImage, imageData );
+
+    assertEquals( imageData.data.length, cache.getTotalSize() );
+  }
+
+  @Test
+  public void testImageLargerThanTotalSizeIsNotCached() throws IOException {
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    ImageDataCache cache = new ImageDataCache( 1024, imageData.data.length - 1 );
+    InternalImage internalImage = createInternalImage( "testpath", imageData );
+
+    cache.putImageData( internalImage, imageData );
+
+    assertNull( cache.getImageData( internalImage ) );
+    assertEquals( 0, cache.getTotalSize() );
+  }
+
+  @Test
+  public void testHitAndMissCounts() throws IOException {
+    ImageDataCache cache = new ImageDataCache();
+    ImageData imageData = getImageData( Fixture.IMAGE1 );
+    InternalImage internalImage = createInternalImage( "testpath", imageData );
+
+    cache.getImageData( internalImage );
+    cache.putImageData( internalImage, imageData );
+    cache.getImageData( internalImage );
+    cache.getSharedImageData( internalImage );
+
+    assertEquals( 1, cache.getMissCount() );
+    assertEquals( 2, cache.getHitCount() );
+  }
+
+  private static InternalImage createInternalImage( String path, ImageData imageData ) {
+    return new InternalImage( path, imageData.width, imageData.height, false );
+  }
+
   private ImageData getImageData( String resource ) throws IOException {
     InputStream inputStream = getClass().getClassLoader().getResourceAsStream( resource );
     try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import static org.eclipse.rap.rwt.testfixture.internal.TestUtil.createImage;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
@@ -74,6 +75,18 @@ public class ImageDataFactory_Test {
     assertEquals( imageData1.data.length, imageData2.data.length );
   }
 
+  @Test
+  public void testFindSharedImageData() throws IOException {
+    Image image = createImage( display, Fixture.IMAGE1 );
+    imageDataFactory.findImageData( image.internalImage );
+
+    ImageData imageData1 = imageDataFactory.findSharedImageData( image.internalImage );
+    ImageData imageData2 = imageDataFactory.findSharedImageData( image.internalImage );
+
+    assertSame( imageData1, imageData2 );
+    assertNotSame( imageData1, imageDataFactory.findImageData( image.internalImage ) );
+  }
+
   @Test
   public void testFindImageDataWithBlankImage() throws IOException {
     InputStream stream = CLASS_LOADER.getResourceAsStream( "resources/images/blank.gif" );
@@ -0,0 +1,124 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.graphics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Test;
+
+
+public class ImageHeader_Test {
+
+  @Test
+  public void testRead_png() throws IOException {
+    ImageHeader header = ImageHeader.read( readResource( Fixture.IMAGE_100x50 ) );
+
+    assertEquals( SWT.IMAGE_PNG, header.type );
+    assertEquals( 100, header.width );
+    assertEquals( 50, header.height );
+  }
+
+  @Test
+  public void testRead_gif() throws IOException {
+    byte[] bytes = readResource( Fixture.IMAGE1 );
+    ImageData imageData = new ImageData( new ByteArrayInputStream( bytes ) );
+
+    ImageHeader header = ImageHeader.read( bytes );
+
+    assertEquals( SWT.IMAGE_GIF, header.type );
+    assertEquals( imageData.width, header.width );
+    assertEquals( imageData.height, header.height );
+  }
+
+  @Test
+  public void testRead_encodedFormats() {
+    int[] formats = { SWT.IMAGE_PNG, SWT.IMAGE_JPEG, SWT.IMAGE_GIF, SWT.IMAGE_BMP };
+    for( int format : formats ) {
+      ImageHeader header = ImageHeader.read( encode( createImageData( 37, 21 ), format ) );
+
+      assertEquals( format, header.type );
+      assertEquals( 37, header.width );
+      assertEquals( 21, header.height );
+    }
+  }
+
+  @Test
+  public void testRead_unknownFormat() {
+    assertNull( ImageHeader.read( new byte[] { 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 } ) );
+  }
+
+  @Test
+  public void testRead_empty() {
+    assertNull( ImageHeader.read( new byte[ 0 ] ) );
+  }
+
+  @Test
+  public void testRead_truncatedHeader() throws IOException {
+    byte[] bytes = readResource( Fixture.IMAGE_100x50 );
+    byte[] truncated = new byte[ 18 ];
+    System.arraycopy( bytes, 0, truncated, 0, truncated.length );
+
+    assertNull( ImageHeader.read( truncated ) );
+  }
+
+  @Test
+  public void testRead_truncatedJpeg() {
+    byte[] bytes = encode( createImageData( 10, 10 ), SWT.IMAGE_JPEG );
+    byte[] truncated = new byte[ 4 ];
+    System.arraycopy( bytes, 0, truncated, 0, truncated.length );
+
+    assertNull( ImageHeader.read( truncated ) );
+  }
+
+  private static ImageData createImageData( int width, int height ) {
+    RGB[] colors = new RGB[] { new RGB( 0, 0, 0 ), new RGB( 255, 0, 0 ) };
+    PaletteData palette = new PaletteData( colors );
+    ImageData result = new ImageData( width, height, 8, palette );
+    result.setPixel( 1, 1, 1 );
+    return result;
+  }
+
+  private static byte[] encode( ImageData imageData, int format ) {
+    ImageData data = imageData;
+    if( format == SWT.IMAGE_JPEG ) {
+      PaletteData palette = new PaletteData( 0xff0000, 0xff00, 0xff );
+      data = new ImageData( imageData.width, imageData.height, 24, palette );
+    }
+    ImageLoader imageLoader = new ImageLoader();
+    imageLoader.data = new ImageData[] { data };
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    imageLoader.save( outputStream, format );
+    return outputStream.toByteArray();
+  }
+
+  private static byte[] readResource( String name ) throws IOException {
+    ClassLoader classLoader = ImageHeader_Test.class.getClassLoader();
+    InputStream stream = classLoader.getResourceAsStream( name );
+    try {
+      return InternalImageFactory.readBytes( stream );
+    } finally {
+      stream.close();
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2014 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -13,24 +13,29 @@
 package org.eclipse.swt.internal.graphics;
 
 import static org.eclipse.rap.rwt.testfixture.internal.TestUtil.createImage;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
-import java.io.BufferedInputStream;
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 
 import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.Image;
 import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
 import org.eclipse.swt.graphics.PaletteData;
 import org.eclipse.swt.graphics.RGB;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.widgets.Display;
 import org.junit.After;
 import org.junit.Before;
@@ -72,13 +77,46 @@ public class InternalImageFactory_Test {
   }
 
   @Test
-  public void testReadImageData() throws IOException {
+  public void testFindInternalImage_readsBoundsFromHeader() throws IOException {
     InputStream inputStream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE_100x50 );
-    ImageData data = InternalImageFactory.readImageData( new BufferedInputStream( inputStream ) );
+    InternalImage internalImage = internalImageFactory.findInternalImage( inputStream );
     inputStream.close();
 
-    assertEquals( 100, data.width );
-    assertEquals( 50, data.height );
+    assertEquals( new Rectangle( 0, 0, 100, 50 ), internalImage.getBounds() );
+  }
+
+  @Test
+  public void testFindInternalImage_registersOriginalBytes() throws IOException {
+    InputStream inputStream = CLASS_LOADER.getResourceAsStream( Fixture.IMAGE_100x50 );
+    byte[] bytes = InternalImageFactory.readBytes( inputStream );
+    inputStream.close();
+
+    InternalImage internalImage
+      = internalImageFactory.findInternalImage( new ByteArrayInputStream( bytes ) );
+
+    String name = internalImage.getResourceName();
+    InputStream content = RWT.getResourceManager().getRegisteredContent( name );
+    assertArrayEquals( bytes, InternalImageFactory.readBytes( content ) );
+    content.close();
+  }
+
+  @Test
+  public void testReadImageHeader_decodesUnknownFormats() {
+    ImageLoader imageLoader = new ImageLoader();
+    imageLoader.data = new ImageData[] { createImageDataWithoutType() };
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    imageLoader.save( outputStream, SWT.IMAGE_ICO );
+
+    ImageHeader header = InternalImageFactory.readImageHeader( outputStream.toByteArray() );
+
+    assertEquals( SWT.IMAGE_ICO, header.type );
+    assertEquals( 48, header.width );
+    assertEquals( 48, header.height );
+  }
+
+  @Test( expected = SWTException.class )
+  public void testFindInternalImage_withInvalidImage() {
+    internalImageFactory.findInternalImage( new ByteArrayInputStream( new byte[] { 1, 2, 3 } ) );
   }
 
   @Test
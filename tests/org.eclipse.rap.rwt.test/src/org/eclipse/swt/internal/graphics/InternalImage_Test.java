@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,31 @@
  ******************************************************************************/
 package org.eclipse.swt.internal.graphics;
 
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
-
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+import org.eclipse.rap.rwt.internal.resources.ResourceUtil;
+import org.eclipse.rap.rwt.service.ResourceManager;
 import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
 
 
 public class InternalImage_Test {
@@ -89,4 +108,77 @@ public class InternalImage_Test {
     assertEquals( height, deserializedInternalImage.getBounds().height );
   }
 
+  @Test
+  public void testSerializeWithContent() throws Exception {
+    byte[] content = new byte[] { 1, 2, 3 };
+    ResourceManager originalResourceManager = mockResourceManager( content );
+    InternalImage internalImage = new InternalImage( "res", 1, 2, false, originalResourceManager );
+    ResourceManager resourceManager = mock( ResourceManager.class );
+    final byte[][] registeredContent = new byte[ 1 ][];
+    doAnswer( new Answer<Object>() {
+      public Object answer( InvocationOnMock invocation ) throws Throwable {
+        InputStream inputStream = ( InputStream )invocation.getArguments()[ 1 ];
+        registeredContent[ 0 ] = ResourceUtil.readBinary( inputStream );
+        return null;
+      }
+    } ).when( resourceManager ).register( anyString(), any( InputStream.class ) );
+
+    InternalImage deserializedInternalImage = serializeAndDeserialize( internalImage );
+    deserializedInternalImage.registerDeserializedContent( resourceManager );
+
+    assertArrayEquals( content, registeredContent[ 0 ] );
+  }
+
+  @Test
+  public void testRegisterDeserializedContentOnlyOnce() throws Exception {
+    InternalImage internalImage
+      = new InternalImage( "res", 1, 2, false, mockResourceManager( new byte[] { 1 } ) );
+    ResourceManager resourceManager = mock( ResourceManager.class );
+
+    InternalImage deserializedInternalImage = serializeAndDeserialize( internalImage );
+    deserializedInternalImage.registerDeserializedContent( resourceManager );
+    deserializedInternalImage.registerDeserializedContent( resourceManager );
+
+    verify( resourceManager, times( 1 ) ).register( eq( "res" ), any( InputStream.class ) );
+  }
+
+  @Test
+  public void testSerializeExternalWithoutContent() throws Exception {
+    ResourceManager resourceManager = mockResourceManager( new byte[] { 1 } );
+    InternalImage internalImage = new InternalImage( "res", 1, 2, true, resourceManager );
+    ResourceManager deserializedResourceManager = mock( ResourceManager.class );
+
+    InternalImage deserializedInternalImage = serializeAndDeserialize( internalImage );
+    deserializedInternalImage.registerDeserializedContent( deserializedResourceManager );
+
+    assertTrue( deserializedInternalImage.isExternal() );
+    verify( resourceManager, never() ).getRegisteredContent( anyString() );
+    verify( deserializedResourceManager, never() )
+      .register( anyString(), any( InputStream.class ) );
+  }
+
+  @Test
+  public void testSerializeSharedInstanceOnce() throws Exception {
+    ResourceManager resourceManager = mockResourceManager( new byte[ 1000 ] );
+    InternalImage internalImage = new InternalImage( "res", 1, 2, false, resourceManager );
+
+    int singleSize = serialize( new InternalImage[] { internalImage } ).length;
+    int pairSize = serialize( new InternalImage[] { internalImage, internalImage } ).length;
+    InternalImage[] deserialized
+      = serializeAndDeserialize( new InternalImage[] { internalImage, internalImage } );
+
+    assertTrue( pairSize < singleSize + 10 );
+    assertSame( deserialized[ 0 ], deserialized[ 1 ] );
+  }
+
+  private static ResourceManager mockResourceManager( final byte[] content ) {
+    ResourceManager result = mock( ResourceManager.class );
+    when( result.getRegisteredContent( anyString() ) ).thenAnswer( new Answer<InputStream>() {
+      public InputStream answer( InvocationOnMock invocation ) throws Throwable {
+        return new ByteArrayInputStream( content );
+      }
+    } );
+    return result;
+  }
+
 }
@@ -0,0 +1,207 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.internal.widgets;
+
+import static java.util.Arrays.asList;
+import static org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil.getAdapter;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.rap.rwt.internal.RWTProperties;
+import org.eclipse.rap.rwt.testfixture.TestContext;
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Button;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Shell;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+
+public class DirtyWidgets_Test {
+
+  private Display display;
+  private Shell shell;
+  private Composite composite;
+  private Button button;
+  private DirtyWidgets dirtyWidgets;
+
+  @Rule
+  public TestContext context = new TestContext();
+
+  @Before
+  public void setUp() {
+    System.setProperty( RWTProperties.INCREMENTAL_RENDER, "true" );
+    display = new Display();
+    shell = new Shell( display );
+    composite = new Composite( shell, SWT.NONE );
+    button = new Button( composite, SWT.PUSH );
+    dirtyWidgets = display.getAdapter( IDisplayAdapter.class ).getDirtyWidgets();
+  }
+
+  @After
+  public void tearDown() {
+    System.getProperties().remove( RWTProperties.INCREMENTAL_RENDER );
+  }
+
+  @Test
+  public void testDisabledByDefault() {
+    display.dispose();
+    System.getProperties().remove( RWTProperties.INCREMENTAL_RENDER );
+
+    Display display = new Display();
+
+    assertNull( display.getAdapter( IDisplayAdapter.class ).getDirtyWidgets() );
+  }
+
+  @Test
+  public void testEnabled() {
+    assertNotNull( dirtyWidgets );
+  }
+
+  @Test
+  public void testCreatedWidgetsAreDirty() {
+    assertEquals( asList( shell, composite, button ), dirtyWidgets.getAll() );
+  }
+
+  @Test
+  public void testReset() {
+    dirtyWidgets.reset();
+
+    assertTrue( dirtyWidgets.getAll().isEmpty() );
+    assertFalse( dirtyWidgets.isOnDirtyPath( shell ) );
+  }
+
+  @Test
+  public void testChangeMarksWidgetAndParent() {
+    dirtyWidgets.reset();
+
+    button.setText( "foo" );
+
+    assertEquals( asList( button, composite ), dirtyWidgets.getAll() );
+  }
+
+  @Test
+  public void testQueryDoesNotMarkWidget() {
+    dirtyWidgets.reset();
+
+    button.getText();
+    button.getBounds();
+    button.isVisible();
+    composite.getChildren();
+
+    assertTrue( dirtyWidgets.getAll().isEmpty() );
+  }
+
+  @Test
+  public void testQueryMarksWidgetOfForeignClass() {
+    Composite custom = new Composite( shell, SWT.NONE ) {};
+    dirtyWidgets.reset();
+
+    custom.getChildren();
+
+    assertTrue( dirtyWidgets.isDirty( custom ) );
+  }
+
+  @Test
+  public void testChangeMarksPathToShell() {
+    dirtyWidgets.reset();
+
+    button.setText( "foo" );
+
+    assertTrue( dirtyWidgets.isOnDirtyPath( button ) );
+    assertTrue( dirtyWidgets.isOnDirtyPath( composite ) );
+    assertTrue( dirtyWidgets.isOnDirtyPath( shell ) );
+    assertFalse( dirtyWidgets.isDirty( shell ) );
+  }
+
+  @Test
+  public void testCreateMarksParent() {
+    dirtyWidgets.reset();
+
+    Button newButton = new Button( shell, SWT.PUSH );
+
+    assertTrue( dirtyWidgets.isDirty( newButton ) );
+    assertTrue( dirtyWidgets.isDirty( shell ) );
+    assertFalse( dirtyWidgets.isDirty( composite ) );
+  }
+
+  @Test
+  public void testDisposeMarksParent() {
+    dirtyWidgets.reset();
+
+    button.dispose();
+
+    assertTrue( dirtyWidgets.isDirty( button ) );
+    assertTrue( dirtyWidgets.isDirty( composite ) );
+  }
+
+  @Test
+  public void testSuspend() {
+    dirtyWidgets.reset();
+
+    dirtyWidgets.suspend();
+    button.setText( "foo" );
+    dirtyWidgets.resume();
+
+    assertTrue( dirtyWidgets.getAll().isEmpty() );
+  }
+
+  @Test
+  public void testChangesBeforePreserveAreNotPreserved() {
+    Fixture.markInitialized( button );
+    dirtyWidgets.reset();
+
+    button.setText( "foo" );
+
+    assertNull( getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testPreserveRecorded() {
+    Fixture.markInitialized( button );
+    dirtyWidgets.reset();
+    button.setText( "foo" );
+
+    dirtyWidgets.preserveRecorded();
+
+    assertEquals( "foo", getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testPreservesOnFirstChangeAfterPreserveRecorded() {
+    Fixture.markInitialized( button );
+    button.setText( "foo" );
+    dirtyWidgets.reset();
+    dirtyWidgets.preserveRecorded();
+
+    button.setText( "bar" );
+
+    assertEquals( "foo", getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testDoesNotPreserveUninitializedWidgets() {
+    dirtyWidgets.reset();
+    dirtyWidgets.preserveRecorded();
+
+    button.setText( "bar" );
+
+    assertNull( getAdapter( button ).getPreserved( "text" ) );
+  }
+
+}
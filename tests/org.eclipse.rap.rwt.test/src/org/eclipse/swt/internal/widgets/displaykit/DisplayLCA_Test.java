@@ -29,6 +29,7 @@ import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -45,6 +46,7 @@ import org.eclipse.rap.rwt.RWT;
 import org.eclipse.rap.rwt.application.EntryPoint;
 import org.eclipse.rap.rwt.client.WebClient;
 import org.eclipse.rap.rwt.client.service.ExitConfirmation;
+import org.eclipse.rap.rwt.internal.RWTProperties;
 import org.eclipse.rap.rwt.internal.application.ApplicationContextImpl;
 import org.eclipse.rap.rwt.internal.lifecycle.DisplayUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.EntryPointManager;
@@ -59,6 +61,8 @@ import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.DestroyOperation;
 import org.eclipse.rap.rwt.internal.protocol.Operation.SetOperation;
 import org.eclipse.rap.rwt.internal.protocol.ProtocolMessageWriter;
+import org.eclipse.rap.rwt.internal.protocol.RemoteObjectFactory;
+import org.eclipse.rap.rwt.internal.protocol.WidgetOperationHandler;
 import org.eclipse.rap.rwt.internal.remote.DeferredRemoteObject;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectRegistry;
@@ -73,6 +77,7 @@ import org.eclipse.swt.events.SelectionAdapter;
 import org.eclipse.swt.events.SelectionEvent;
 import org.eclipse.swt.graphics.Point;
 import org.eclipse.swt.graphics.Rectangle;
+import org.eclipse.swt.internal.widgets.DirtyWidgets;
 import org.eclipse.swt.internal.widgets.IDisplayAdapter;
 import org.eclipse.swt.internal.widgets.WidgetRemoteAdapter;
 import org.eclipse.swt.widgets.Button;
@@ -81,6 +86,9 @@ import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.Listener;
 import org.eclipse.swt.widgets.Shell;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableColumn;
+import org.eclipse.swt.widgets.TableItem;
 import org.eclipse.swt.widgets.Widget;
 import org.junit.After;
 import org.junit.Before;
@@ -107,6 +115,8 @@ public class DisplayLCA_Test {
   public void tearDown() {
     Fixture.tearDown();
     setEnableUiTests( false );
+    System.getProperties().remove( RWTProperties.INCREMENTAL_RENDER );
+    System.getProperties().remove( RWTProperties.INCREMENTAL_RENDER_CHECK );
   }
 
   @Test
@@ -620,6 +630,266 @@ public class DisplayLCA_Test {
     assertNull( message.findSetOperation( displayId, "overflow" ) );
   }
 
+  @Test
+  public void testReadData_incremental() {
+    createIncrementalDisplay();
+    WidgetLCA<Widget> lca = mock( TestWidgetLCA.class );
+    Shell shell = new CustomLCAShell( display, lca );
+    Widget button = new CustomLCAWidget( shell, lca );
+    Widget text = new CustomLCAWidget( shell, lca );
+    Fixture.markInitialized( display );
+    displayLCA.clearPreserved( display );
+    registerWidgetHandler( text );
+    Fixture.fakeSetProperty( getId( text ), "foo", "bar" );
+
+    displayLCA.readData( display );
+
+    verify( lca ).readData( shell );
+    verify( lca ).readData( text );
+    verify( lca, never() ).readData( button );
+  }
+
+  @Test
+  public void testReadData_incremental_marksTargetWidgets() {
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Button button = new Button( shell, SWT.PUSH );
+    Fixture.markInitialized( display );
+    displayLCA.clearPreserved( display );
+    registerWidgetHandler( button );
+    Fixture.fakeSetProperty( getId( button ), "foo", "bar" );
+
+    displayLCA.readData( display );
+
+    assertTrue( getDirtyWidgets().isDirty( button ) );
+  }
+
+  @Test
+  public void testPreserveValues_incremental_preservesOnFirstAccess() {
+    createIncrementalDisplay();
+    WidgetLCA<Widget> lca = mock( TestWidgetLCA.class );
+    Shell shell = new CustomLCAShell( display, lca );
+    Control button1 = new CustomLCAWidget( shell, lca );
+    Control button2 = new CustomLCAWidget( shell, lca );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( button1 );
+    Fixture.markInitialized( button2 );
+    displayLCA.clearPreserved( display );
+
+    displayLCA.preserveValues( display );
+    button1.setVisible( false );
+
+    verify( lca ).preserveValues( button1 );
+    verify( lca, never() ).preserveValues( button2 );
+  }
+
+  @Test
+  public void testRender_incremental_rendersOnlyDirtyWidgets() throws IOException {
+    createIncrementalDisplay();
+    WidgetLCA<Widget> lca = mock( TestWidgetLCA.class );
+    Shell shell1 = new CustomLCAShell( display, lca );
+    Widget button1 = new CustomLCAWidget( shell1, lca );
+    Shell shell2 = new CustomLCAShell( display, lca );
+    Control button2 = new CustomLCAWidget( shell2, lca );
+    Fixture.markInitialized( display );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    button2.setVisible( false );
+    displayLCA.render( display );
+
+    verify( lca ).render( shell2 );
+    verify( lca ).render( button2 );
+    verify( lca, never() ).render( shell1 );
+    verify( lca, never() ).render( button1 );
+  }
+
+  @Test
+  public void testRender_incremental_rendersChanges() throws IOException {
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Button button1 = new Button( shell, SWT.PUSH );
+    Button button2 = new Button( shell, SWT.PUSH );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( shell );
+    Fixture.markInitialized( button1 );
+    Fixture.markInitialized( button2 );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    button1.setText( "foo" );
+    displayLCA.render( display );
+
+    TestMessage message = getProtocolMessage();
+    assertEquals( "foo", message.findSetProperty( button1, "text" ).asString() );
+    assertNull( message.findSetOperation( button2, "text" ) );
+  }
+
+  @Test
+  public void testRender_incremental_firstRequestRendersAllWidgets() throws IOException {
+    createIncrementalDisplay();
+    WidgetLCA<Widget> lca = mock( TestWidgetLCA.class );
+    Shell shell = new CustomLCAShell( display, lca );
+    Widget button = new CustomLCAWidget( shell, lca );
+    getDirtyWidgets().reset();
+
+    displayLCA.render( display );
+
+    verify( lca ).render( shell );
+    verify( lca ).render( button );
+  }
+
+  @Test
+  public void testClearPreserved_incremental_resetsDirtyWidgets() {
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Button button = new Button( shell, SWT.PUSH );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( button );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+    button.setText( "foo" );
+
+    displayLCA.clearPreserved( display );
+
+    assertTrue( getDirtyWidgets().getAll().isEmpty() );
+    assertNull( getAdapter( button ).getPreserved( "text" ) );
+  }
+
+  @Test
+  public void testRender_incrementalCheck_passesWithTrackedChanges() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_RENDER_CHECK, "true" );
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Button button = new Button( shell, SWT.PUSH );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( shell );
+    Fixture.markInitialized( button );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    button.setText( "foo" );
+    displayLCA.render( display );
+
+    assertNotNull( getProtocolMessage().findSetOperation( button, "text" ) );
+  }
+
+  @Test
+  public void testRender_incrementalCheck_failsWithUntrackedChanges() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_RENDER_CHECK, "true" );
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Button button = new Button( shell, SWT.PUSH );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( shell );
+    Fixture.markInitialized( button );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    getDirtyWidgets().suspend();
+    button.setText( "foo" );
+    getDirtyWidgets().resume();
+    try {
+      displayLCA.render( display );
+      fail();
+    } catch( IllegalStateException expected ) {
+      assertTrue( expected.getMessage().contains( getId( button ) ) );
+    }
+  }
+
+  @Test
+  public void testRender_incrementalCheck_failsWithChangeBeforeTracking() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_RENDER_CHECK, "true" );
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Button button = new Button( shell, SWT.PUSH );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( shell );
+    Fixture.markInitialized( button );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    getDirtyWidgets().suspend();
+    button.setText( "foo" );
+    getDirtyWidgets().resume();
+    button.setEnabled( false );
+    try {
+      displayLCA.render( display );
+      fail();
+    } catch( IllegalStateException expected ) {
+      assertTrue( expected.getMessage().contains( getId( button ) ) );
+    }
+  }
+
+  @Test
+  public void testRender_incrementalCheck_passesWithResizedColumn() throws IOException {
+    System.setProperty( RWTProperties.INCREMENTAL_RENDER_CHECK, "true" );
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Table table = new Table( shell, SWT.NONE );
+    TableColumn column1 = new TableColumn( table, SWT.NONE );
+    column1.setWidth( 50 );
+    TableColumn column2 = new TableColumn( table, SWT.NONE );
+    column2.setWidth( 50 );
+    TableItem item = new TableItem( table, SWT.NONE );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( shell );
+    Fixture.markInitialized( table );
+    Fixture.markInitialized( column1 );
+    Fixture.markInitialized( column2 );
+    Fixture.markInitialized( item );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    column1.setWidth( 100 );
+    displayLCA.render( display );
+
+    assertEquals( 100, getProtocolMessage().findSetProperty( column2, "left" ).asInt() );
+  }
+
+  @Test
+  public void testRender_incremental_rendersLeftOfFollowingColumns() throws IOException {
+    createIncrementalDisplay();
+    Shell shell = new Shell( display );
+    Table table = new Table( shell, SWT.NONE );
+    TableColumn column1 = new TableColumn( table, SWT.NONE );
+    column1.setWidth( 50 );
+    TableColumn column2 = new TableColumn( table, SWT.NONE );
+    column2.setWidth( 50 );
+    Fixture.markInitialized( display );
+    Fixture.markInitialized( shell );
+    Fixture.markInitialized( table );
+    Fixture.markInitialized( column1 );
+    Fixture.markInitialized( column2 );
+    displayLCA.clearPreserved( display );
+    displayLCA.preserveValues( display );
+
+    column1.setWidth( 100 );
+    displayLCA.render( display );
+
+    assertEquals( 100, getProtocolMessage().findSetProperty( column2, "left" ).asInt() );
+  }
+
+  private void createIncrementalDisplay() {
+    System.setProperty( RWTProperties.INCREMENTAL_RENDER, "true" );
+    display.dispose();
+    display = new Display();
+    displayId = DisplayUtil.getId( display );
+  }
+
+  private DirtyWidgets getDirtyWidgets() {
+    return display.getAdapter( IDisplayAdapter.class ).getDirtyWidgets();
+  }
+
+  private static void registerWidgetHandler( Widget widget ) {
+    RemoteObjectFactory.createRemoteObject( widget, "test" )
+      .setHandler( new WidgetOperationHandler<Widget>( widget ) {
+        @Override
+        public void handleSet( Widget widget, JsonObject properties ) {
+        }
+      } );
+  }
+
   private static void setEnableUiTests( boolean value ) {
     Field field;
     try {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -509,7 +509,7 @@ public class MenuItemLCA_Test {
 
     TestMessage message = Fixture.getProtocolMessage();
     JsonArray expected
-      = new JsonArray().add( "rwt-resources/generated/90fb0bfe.gif" ).add( 58 ).add( 12 );
+      = new JsonArray().add( "rwt-resources/generated/c337807e.gif" ).add( 58 ).add( 12 );
     assertEquals( expected, message.findSetProperty( item, "image" ) );
   }
 
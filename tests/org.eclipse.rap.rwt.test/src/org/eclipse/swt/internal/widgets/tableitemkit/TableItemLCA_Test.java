@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -33,6 +33,7 @@ import org.eclipse.rap.rwt.internal.lifecycle.WidgetLCA;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
 import org.eclipse.rap.rwt.internal.protocol.ClientMessageConst;
 import org.eclipse.rap.rwt.internal.protocol.Operation.CreateOperation;
+import org.eclipse.rap.rwt.internal.remote.RemoteObjectImpl;
 import org.eclipse.rap.rwt.internal.remote.RemoteObjectRegistry;
 import org.eclipse.rap.rwt.remote.OperationHandler;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
@@ -250,6 +251,56 @@ public class TableItemLCA_Test {
     assertTrue( item.isDisposed() );
   }
 
+  @Test
+  public void testRenderDispose_evictedItem() throws IOException {
+    table = new Table( shell, SWT.VIRTUAL );
+    table.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    table.setSize( 100, 100 );
+    table.setItemCount( 100 );
+    table.getAdapter( ITableAdapter.class ).checkData();
+    item = table.getItem( 0 );
+    WidgetLCA<TableItem> itemLCA = WidgetUtil.getLCA( item );
+    Fixture.markInitialized( table );
+    Fixture.markInitialized( item );
+    itemLCA.renderInitialization( item );
+    RemoteObjectImpl remoteObject = RemoteObjectRegistry.getInstance().get( getId( item ) );
+    Fixture.fakeResponseWriter();
+
+    table.setTopIndex( 50 );
+    table.getAdapter( ITableAdapter.class ).checkData();
+    itemLCA.renderDispose( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertTrue( item.isDisposed() );
+    assertNull( message.findDestroyOperation( item ) );
+    assertNotNull( message.findCallOperation( item, "release" ) );
+    assertTrue( remoteObject.isDestroyed() );
+  }
+
+  @Test
+  public void testRenderInitialization_afterEviction_usesNewId() throws IOException {
+    table = new Table( shell, SWT.VIRTUAL );
+    table.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    table.setSize( 100, 100 );
+    table.setItemCount( 100 );
+    table.getAdapter( ITableAdapter.class ).checkData();
+    item = table.getItem( 0 );
+    String evictedId = getId( item );
+    WidgetLCA<TableItem> itemLCA = WidgetUtil.getLCA( item );
+    table.setTopIndex( 50 );
+    table.getAdapter( ITableAdapter.class ).checkData();
+    itemLCA.renderDispose( item );
+    Fixture.fakeResponseWriter();
+
+    table.setTopIndex( 0 );
+    TableItem newItem = table.getItem( 0 );
+    itemLCA.renderInitialization( newItem );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertFalse( evictedId.equals( getId( newItem ) ) );
+    assertNotNull( message.findCreateOperation( newItem ) );
+  }
+
   @Test
   public void testWriteChangesForVirtualItem() throws IOException {
     Table table = new Table( shell, SWT.VIRTUAL );
@@ -445,7 +496,7 @@ public class TableItemLCA_Test {
     TestMessage message = Fixture.getProtocolMessage();
     JsonArray expected = new JsonArray();
     expected.add( JsonValue.NULL );
-    expected.add( new JsonArray().add( "rwt-resources/generated/90fb0bfe.gif" ).add( 58 ).add( 12 ) );
+    expected.add( new JsonArray().add( "rwt-resources/generated/c337807e.gif" ).add( 58 ).add( 12 ) );
     assertEquals( expected, message.findSetProperty( item, "images" ) );
   }
 
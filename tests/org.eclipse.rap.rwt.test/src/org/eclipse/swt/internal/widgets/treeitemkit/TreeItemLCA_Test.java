@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -286,6 +286,50 @@ public class TreeItemLCA_Test {
     assertEquals( 0, message.getOperationCount() );
   }
 
+  @Test
+  public void testRenderDispose_evictedItem() throws IOException {
+    tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 100 );
+    tree.getAdapter( ITreeAdapter.class ).checkData();
+    item = tree.getItem( 0 );
+    Fixture.markInitialized( item );
+    lca.renderInitialization( item );
+    RemoteObjectImpl remoteObject = RemoteObjectRegistry.getInstance().get( getId( item ) );
+
+    tree.getAdapter( ITreeAdapter.class ).setTopItemIndex( 50 );
+    lca.renderDispose( item );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertTrue( item.isDisposed() );
+    assertNull( message.findDestroyOperation( item ) );
+    assertNotNull( message.findCallOperation( item, "release" ) );
+    assertTrue( remoteObject.isDestroyed() );
+  }
+
+  @Test
+  public void testRenderInitialization_afterEviction_usesNewId() throws IOException {
+    tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 100 );
+    tree.getAdapter( ITreeAdapter.class ).checkData();
+    item = tree.getItem( 0 );
+    String evictedId = getId( item );
+    Fixture.markInitialized( item );
+    tree.getAdapter( ITreeAdapter.class ).setTopItemIndex( 50 );
+    lca.renderDispose( item );
+
+    tree.getAdapter( ITreeAdapter.class ).setTopItemIndex( 0 );
+    TreeItem newItem = tree.getItem( 0 );
+    lca.renderInitialization( newItem );
+
+    TestMessage message = Fixture.getProtocolMessage();
+    assertFalse( evictedId.equals( getId( newItem ) ) );
+    assertNotNull( message.findCreateOperation( newItem ) );
+  }
+
   @Test
   public void testRenderDispose_withDisposedParent_destroysRemoteObjects() throws IOException {
     lca.renderInitialization( item );
@@ -480,7 +524,7 @@ public class TreeItemLCA_Test {
     TestMessage message = Fixture.getProtocolMessage();
     JsonArray expected = new JsonArray()
       .add( JsonValue.NULL )
-      .add( new JsonArray().add( "rwt-resources/generated/90fb0bfe.gif" ).add( 58 ).add( 12 ) );
+      .add( new JsonArray().add( "rwt-resources/generated/c337807e.gif" ).add( 58 ).add( 12 ) );
     assertEquals( expected, message.findSetProperty( item, "images" ) );
   }
 
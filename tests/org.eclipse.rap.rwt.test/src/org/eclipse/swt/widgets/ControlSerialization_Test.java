@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -11,9 +11,11 @@
 package org.eclipse.swt.widgets;
 
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.graphics.Rectangle;
 import org.eclipse.swt.internal.widgets.IControlAdapter;
 import org.junit.After;
 import org.junit.Before;
@@ -41,6 +43,15 @@ public class ControlSerialization_Test {
     assertNotNull( deserializedControl.getAdapter( IControlAdapter.class ) );
   }
 
+  @Test
+  public void testBoundsAreSerialized() throws Exception {
+    control.setBounds( 1, 2, 3, 4 );
+
+    Control deserializedControl = serializeAndDeserialize( control );
+
+    assertEquals( new Rectangle( 1, 2, 3, 4 ), deserializedControl.getBounds() );
+  }
+
   private static class TestControl extends Control {
     TestControl( Composite parent ) {
       super( parent );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -12,6 +12,7 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import static java.util.Arrays.asList;
 import static org.eclipse.rap.rwt.internal.protocol.JsonUtil.createJsonArray;
 import static org.eclipse.rap.rwt.testfixture.internal.ConcurrencyTestUtil.runInThread;
 import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
@@ -44,6 +45,8 @@ import org.eclipse.rap.rwt.internal.lifecycle.LifeCycleUtil;
 import org.eclipse.rap.rwt.internal.lifecycle.PhaseId;
 import org.eclipse.rap.rwt.internal.lifecycle.RemoteAdapter;
 import org.eclipse.rap.rwt.internal.lifecycle.WidgetUtil;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTError;
@@ -1594,6 +1597,143 @@ public class Display_Test {
     }
   }
 
+  @Test
+  public void testAsyncExec_runsRunnablesInOrder() {
+    final List<Integer> log = new ArrayList<>();
+    for( int i = 0; i < 1000; i++ ) {
+      final int number = i;
+      display.asyncExec( new Runnable() {
+        @Override
+        public void run() {
+          log.add( Integer.valueOf( number ) );
+        }
+      } );
+    }
+
+    while( display.readAndDispatch() ) {
+    }
+
+    assertEquals( 1000, log.size() );
+    for( int i = 0; i < 1000; i++ ) {
+      assertEquals( Integer.valueOf( i ), log.get( i ) );
+    }
+  }
+
+  @Test
+  public void testReadAndDispatch_marksUISessionChanged() {
+    display.asyncExec( mock( Runnable.class ) );
+    UISessionImpl uiSession = ( UISessionImpl )RWT.getUISession( display );
+    uiSession.resetChanged();
+
+    display.readAndDispatch();
+
+    assertTrue( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testReadAndDispatch_withoutWork_doesNotMarkUISessionChanged() {
+    UISessionImpl uiSession = ( UISessionImpl )RWT.getUISession( display );
+    uiSession.resetChanged();
+
+    display.readAndDispatch();
+
+    assertFalse( uiSession.resetChanged() );
+  }
+
+  @Test
+  public void testAsyncExec_updatesHasRunnables() {
+    display.asyncExec( mock( Runnable.class ) );
+    assertTrue( ServerPushManager.getInstance().hasRunnables() );
+
+    display.readAndDispatch();
+
+    assertFalse( ServerPushManager.getInstance().hasRunnables() );
+  }
+
+  @Test
+  public void testAsyncExecWithKey_delegatesToSynchronizer() {
+    Synchronizer synchronizer = mock( Synchronizer.class );
+    display.setSynchronizer( synchronizer );
+    Runnable runnable = mock( Runnable.class );
+
+    display.asyncExec( "key", runnable );
+
+    verify( synchronizer ).asyncExec( "key", runnable );
+  }
+
+  @Test
+  public void testAsyncExecWithKey_failsWithNullKey() {
+    try {
+      display.asyncExec( null, mock( Runnable.class ) );
+      fail();
+    } catch( IllegalArgumentException expected ) {
+    }
+  }
+
+  @Test
+  public void testAsyncExecWithKey_failsWithNullRunnable() {
+    try {
+      display.asyncExec( "key", null );
+      fail();
+    } catch( IllegalArgumentException expected ) {
+    }
+  }
+
+  @Test
+  public void testAsyncExecWithKey_replacesPendingRunnable() {
+    Runnable runnable1 = mock( Runnable.class );
+    Runnable runnable2 = mock( Runnable.class );
+    display.asyncExec( "key", runnable1 );
+    display.asyncExec( "key", runnable2 );
+
+    while( display.readAndDispatch() ) {
+    }
+
+    verify( runnable1, never() ).run();
+    verify( runnable2 ).run();
+  }
+
+  @Test
+  public void testAsyncExecWithKey_keepsPositionOfPendingRunnable() {
+    final List<String> log = new ArrayList<>();
+    display.asyncExec( "key", createLogRunnable( log, "first" ) );
+    display.asyncExec( createLogRunnable( log, "second" ) );
+    display.asyncExec( "key", createLogRunnable( log, "replaced" ) );
+
+    while( display.readAndDispatch() ) {
+    }
+
+    assertEquals( asList( "replaced", "second" ), log );
+  }
+
+  @Test
+  public void testAsyncExecWithKey_doesNotReplaceRunnableWithDifferentKey() {
+    Runnable runnable1 = mock( Runnable.class );
+    Runnable runnable2 = mock( Runnable.class );
+    display.asyncExec( "key1", runnable1 );
+    display.asyncExec( "key2", runnable2 );
+
+    while( display.readAndDispatch() ) {
+    }
+
+    verify( runnable1 ).run();
+    verify( runnable2 ).run();
+  }
+
+  @Test
+  public void testAsyncExecWithKey_queuesRunnableAfterPendingOneHasRun() {
+    Runnable runnable1 = mock( Runnable.class );
+    Runnable runnable2 = mock( Runnable.class );
+    display.asyncExec( "key", runnable1 );
+    display.readAndDispatch();
+
+    display.asyncExec( "key", runnable2 );
+    display.readAndDispatch();
+
+    verify( runnable1 ).run();
+    verify( runnable2 ).run();
+  }
+
   @Test
   public void testSyncExec_delegatesToSynchronizer() {
     Synchronizer synchronizer = mock( Synchronizer.class );
@@ -1840,6 +1980,15 @@ public class Display_Test {
     adapter.setCursorLocation( x, y );
   }
 
+  private static Runnable createLogRunnable( final List<String> log, final String message ) {
+    return new Runnable() {
+      @Override
+      public void run() {
+        log.add( message );
+      }
+    };
+  }
+
   public static class EnsureIdEntryPoint implements EntryPoint {
     @Override
     public int createUI() {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2015 EclipseSource and others.
+ * Copyright (c) 2012, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -10,12 +10,18 @@
  ******************************************************************************/
 package org.eclipse.swt.widgets;
 
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.deserialize;
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
 import static org.eclipse.swt.internal.events.EventLCAUtil.containsEvent;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
 
+import java.io.InvalidObjectException;
+
 import org.eclipse.rap.rwt.scripting.ClientListener;
 import org.junit.Before;
 import org.junit.Test;
@@ -147,4 +153,68 @@ public class EventTable_Test {
     assertFalse( containsEvent( eventList, EVENT_1 ) );
   }
 
+  @Test
+  public void testSerialization_preservesHookedListeners() throws Exception {
+    Listener listener = new TestListener();
+    eventTable.hook( EVENT_1, new TestListener() );
+    eventTable.hook( EVENT_1, listener );
+    eventTable.hook( EVENT_2, new TestListener() );
+    eventTable.unhook( EVENT_1, listener );
+
+    EventTable deserializedEventTable = serializeAndDeserialize( eventTable );
+
+    assertEquals( 2, deserializedEventTable.size() );
+    assertEquals( 1, deserializedEventTable.getListeners( EVENT_1 ).length );
+    assertEquals( 1, deserializedEventTable.getListeners( EVENT_2 ).length );
+    assertNotNull( deserializedEventTable.getListeners( EVENT_1 )[ 0 ] );
+  }
+
+  @Test
+  public void testSerialization_allowsHookAfterDeserialization() throws Exception {
+    eventTable.hook( EVENT_1, new TestListener() );
+
+    EventTable deserializedEventTable = serializeAndDeserialize( eventTable );
+    deserializedEventTable.hook( EVENT_2, new TestListener() );
+
+    assertEquals( 2, deserializedEventTable.size() );
+    assertTrue( deserializedEventTable.hooks( EVENT_2 ) );
+  }
+
+  @Test
+  public void testSerialization_withoutListeners() throws Exception {
+    EventTable deserializedEventTable = serializeAndDeserialize( eventTable );
+
+    assertEquals( 0, deserializedEventTable.size() );
+    assertFalse( deserializedEventTable.hooks( EVENT_1 ) );
+  }
+
+  @Test( expected = InvalidObjectException.class )
+  public void testSerialization_rejectsUnknownSerialForm() throws Exception {
+    byte[] bytes = serialize( eventTable );
+    // block data of the serial form: version 1, no listeners
+    int index = indexOf( bytes, new byte[] { 0x77, 5, 1, 0, 0, 0, 0, 0x78 } );
+    bytes[ index + 2 ] = 2;
+
+    deserialize( bytes );
+  }
+
+  private static int indexOf( byte[] bytes, byte[] sequence ) {
+    for( int i = 0; i <= bytes.length - sequence.length; i++ ) {
+      int matched = 0;
+      while( matched < sequence.length && bytes[ i + matched ] == sequence[ matched ] ) {
+        matched++;
+      }
+      if( matched == sequence.length ) {
+        return i;
+      }
+    }
+    throw new IllegalArgumentException( "Sequence not found" );
+  }
+
+  private static class TestListener implements Listener {
+    @Override
+    public void handleEvent( Event event ) {
+    }
+  }
+
 }
@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serializeAndDeserialize;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class SparseItemArray_Test {
+
+  private SparseItemArray<TestItem> array;
+
+  @Before
+  public void setUp() {
+    array = new SparseItemArray<>();
+  }
+
+  @Test
+  public void testInitiallyEmpty() {
+    assertEquals( 0, array.size() );
+    assertEquals( 0, array.getCount() );
+    assertEquals( -1, array.nextIndex( 0 ) );
+    assertNull( array.get( 0 ) );
+  }
+
+  @Test
+  public void testSetSize_createsEmptySlots() {
+    array.setSize( 100000 );
+
+    assertEquals( 100000, array.size() );
+    assertEquals( 0, array.getCount() );
+    assertNull( array.get( 99999 ) );
+    assertEquals( -1, array.nextIndex( 0 ) );
+  }
+
+  @Test
+  public void testSet() {
+    TestItem item = mock( TestItem.class );
+    array.setSize( 1000 );
+
+    array.set( 500, item );
+
+    assertSame( item, array.get( 500 ) );
+    assertEquals( 1, array.getCount() );
+    assertEquals( 500, array.nextIndex( 0 ) );
+    assertEquals( -1, array.nextIndex( 501 ) );
+  }
+
+  @Test
+  public void testSet_withNullClearsSlot() {
+    array.setSize( 1000 );
+    array.set( 500, mock( TestItem.class ) );
+
+    array.set( 500, null );
+
+    assertNull( array.get( 500 ) );
+    assertEquals( 0, array.getCount() );
+    assertEquals( 1000, array.size() );
+  }
+
+  @Test
+  public void testSetSize_discardsItemsBeyondSize() {
+    array.setSize( 1000 );
+    TestItem item = mock( TestItem.class );
+    array.set( 10, item );
+    array.set( 900, mock( TestItem.class ) );
+
+    array.setSize( 500 );
+
+    assertEquals( 1, array.getCount() );
+    assertSame( item, array.get( 10 ) );
+    assertEquals( -1, array.nextIndex( 11 ) );
+  }
+
+  @Test
+  public void testInsert_movesSubsequentItemsAcrossPages() {
+    TestItem item1 = mock( TestItem.class );
+    TestItem item2 = mock( TestItem.class );
+    array.setSize( 1000 );
+    array.set( 255, item1 );
+    array.set( 999, item2 );
+
+    array.insert( 0, null );
+
+    assertEquals( 1001, array.size() );
+    assertSame( item1, array.get( 256 ) );
+    assertSame( item2, array.get( 1000 ) );
+    assertNull( array.get( 255 ) );
+    assertEquals( 2, array.getCount() );
+  }
+
+  @Test
+  public void testInsert_atEnd() {
+    TestItem item = mock( TestItem.class );
+    array.setSize( 256 );
+
+    array.insert( 256, item );
+
+    assertEquals( 257, array.size() );
+    assertSame( item, array.get( 256 ) );
+  }
+
+  @Test
+  public void testRemove_movesSubsequentItemsAcrossPages() {
+    TestItem item1 = mock( TestItem.class );
+    TestItem item2 = mock( TestItem.class );
+    array.setSize( 1000 );
+    array.set( 10, mock( TestItem.class ) );
+    array.set( 256, item1 );
+    array.set( 999, item2 );
+
+    array.remove( 10 );
+
+    assertEquals( 999, array.size() );
+    assertSame( item1, array.get( 255 ) );
+    assertSame( item2, array.get( 998 ) );
+    assertEquals( 2, array.getCount() );
+  }
+
+  @Test
+  public void testToArray() {
+    TestItem item1 = mock( TestItem.class );
+    TestItem item2 = mock( TestItem.class );
+    array.setSize( 1000 );
+    array.set( 700, item2 );
+    array.set( 3, item1 );
+
+    TestItem[] items = array.toArray( new TestItem[ array.getCount() ] );
+
+    assertArrayEquals( new TestItem[] { item1, item2 }, items );
+  }
+
+  @Test
+  public void testIsSerializable() throws Exception {
+    array.setSize( 10 );
+
+    SparseItemArray<TestItem> deserializedArray = serializeAndDeserialize( array );
+
+    assertEquals( 10, deserializedArray.size() );
+  }
+
+  private static class TestItem extends Item {
+    public TestItem( Widget parent ) {
+      super( parent, 0 );
+    }
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2007, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -1134,6 +1134,24 @@ public class TableItem_Test {
     assertEquals( itemText, deserializedItem.getText() );
   }
 
+  @Test
+  public void testIsSerializable_withColumns() throws Exception {
+    Table table = new Table( shell, SWT.NONE );
+    new TableColumn( table, SWT.NONE );
+    new TableColumn( table, SWT.NONE );
+    new TableColumn( table, SWT.NONE );
+    TableItem item = new TableItem( table, SWT.NONE );
+    item.setText( 0, "foo" );
+    item.setText( 2, "bar" );
+
+    TableItem deserializedItem = serializeAndDeserialize( item );
+
+    assertEquals( "foo", deserializedItem.getText( 0 ) );
+    assertEquals( "", deserializedItem.getText( 1 ) );
+    assertEquals( "bar", deserializedItem.getText( 2 ) );
+    assertNull( deserializedItem.getImage( 0 ) );
+  }
+
   @Test
   public void testVirtualGetBoundsMaterializeItems() {
     Table table = new Table( shell, SWT.VIRTUAL );
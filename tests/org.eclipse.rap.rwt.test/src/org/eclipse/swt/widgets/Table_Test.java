@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -2874,6 +2875,106 @@ public class Table_Test {
     assertEquals( 200, countResolvedItems( table ) );
   }
 
+  @Test
+  public void testEvictItems_withoutFlag() {
+    table = new Table( shell, SWT.VIRTUAL );
+    table.setSize( 100, 100 );
+    table.setItemCount( 200 );
+    redrawTable( table );
+
+    table.setTopIndex( 100 );
+    redrawTable( table );
+
+    assertEquals( 8, getTableAdapter( table ).getCreatedItems().length );
+  }
+
+  @Test
+  public void testEvictItems_disposesItemsOutsideOfVisibleArea() {
+    table = new Table( shell, SWT.VIRTUAL );
+    table.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    table.setSize( 100, 100 );
+    table.setItemCount( 200 );
+    redrawTable( table );
+    TableItem item = table.getItem( 0 );
+
+    table.setTopIndex( 100 );
+    redrawTable( table );
+
+    assertTrue( item.isDisposed() );
+    assertEquals( 4, getTableAdapter( table ).getCreatedItems().length );
+    assertEquals( 4, getTableAdapter( table ).getCachedItems().length );
+    assertEquals( 200, table.getItemCount() );
+  }
+
+  @Test
+  public void testEvictItems_keepsPreloadedItems() {
+    table = new Table( shell, SWT.VIRTUAL );
+    table.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    table.setData( RWT.PRELOADED_ITEMS, Integer.valueOf( 10 ) );
+    table.setSize( 100, 100 );
+    table.setItemCount( 200 );
+    redrawTable( table );
+
+    table.setTopIndex( 100 );
+    redrawTable( table );
+
+    assertEquals( 24, getTableAdapter( table ).getCreatedItems().length );
+  }
+
+  @Test
+  public void testEvictItems_keepsSelectedAndFocusedItems() {
+    table = new Table( shell, SWT.VIRTUAL | SWT.MULTI );
+    table.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    table.setSize( 100, 100 );
+    table.setItemCount( 200 );
+    redrawTable( table );
+    TableItem selectedItem = table.getItem( 1 );
+    table.setSelection( 1 );
+
+    table.setTopIndex( 100 );
+    redrawTable( table );
+
+    assertFalse( selectedItem.isDisposed() );
+    assertSame( selectedItem, table.getSelection()[ 0 ] );
+    assertEquals( 5, getTableAdapter( table ).getCreatedItems().length );
+  }
+
+  @Test
+  public void testEvictItems_recreatesItem() {
+    table = new Table( shell, SWT.VIRTUAL );
+    table.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    table.setSize( 100, 100 );
+    table.setItemCount( 200 );
+    redrawTable( table );
+    TableItem item = table.getItem( 0 );
+    table.setTopIndex( 100 );
+    redrawTable( table );
+
+    table.setTopIndex( 0 );
+    redrawTable( table );
+
+    TableItem newItem = table.getItem( 0 );
+    assertNotSame( item, newItem );
+    assertFalse( newItem.isDisposed() );
+    assertEquals( 0, table.indexOf( newItem ) );
+  }
+
+  @Test
+  public void testEvictItems_notifiesDisposeListener() {
+    table = new Table( shell, SWT.VIRTUAL );
+    table.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    table.setSize( 100, 100 );
+    table.setItemCount( 200 );
+    redrawTable( table );
+    DisposeListener listener = mock( DisposeListener.class );
+    table.getItem( 0 ).addDisposeListener( listener );
+
+    table.setTopIndex( 100 );
+    redrawTable( table );
+
+    verify( listener ).widgetDisposed( any( DisposeEvent.class ) );
+  }
+
   @Test
   public void testGetAdapter_LCA() {
     assertTrue( table.getAdapter( WidgetLCA.class ) instanceof TableLCA );
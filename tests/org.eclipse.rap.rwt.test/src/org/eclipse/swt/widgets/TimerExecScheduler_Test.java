@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2011, 2014 EclipseSource and others.
+ * Copyright (c) 2011, 2016 EclipseSource and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -24,8 +24,8 @@ import static org.mockito.Mockito.when;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedList;
-import java.util.Timer;
 
+import org.eclipse.rap.rwt.internal.util.TimerWheel;
 import org.eclipse.rap.rwt.testfixture.internal.Fixture;
 import org.eclipse.rap.rwt.testfixture.internal.NoOpRunnable;
 import org.junit.After;
@@ -39,16 +39,16 @@ public class TimerExecScheduler_Test {
   private TimerExecScheduler scheduler;
   private Display display;
   private Collection<Throwable> exceptions;
-  private Timer timer;
+  private TimerWheel timer;
 
   @Before
   public void setUp() {
     Fixture.setUp();
     display = new Display();
-    timer = mock( Timer.class );
+    timer = mock( TimerWheel.class );
     scheduler = new TimerExecScheduler( display ) {
       @Override
-      Timer createTimer() {
+      TimerWheel createTimerWheel() {
         return timer;
       }
       @Override
@@ -121,6 +121,18 @@ public class TimerExecScheduler_Test {
     assertNotSame( taskCaptor.getAllValues().get( 0 ), taskCaptor.getAllValues().get( 1 ) );
   }
 
+  @Test
+  public void testDispose_cancelsTasks() {
+    Runnable runnable = mock( Runnable.class );
+    scheduler.schedule( 23, runnable );
+
+    scheduler.dispose();
+
+    ArgumentCaptor<TimerExecTask> taskCaptor = ArgumentCaptor.forClass( TimerExecTask.class );
+    verify( timer ).schedule( taskCaptor.capture(), eq( 23L ) );
+    verify( taskCaptor.getValue() ).cancel();
+  }
+
   @Test
   public void testSerializationIsThreadSafe() throws Exception {
     scheduler = new TimerExecScheduler( display );
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2002, 2015 Innoopract Informationssysteme GmbH and others.
+ * Copyright (c) 2002, 2016 Innoopract Informationssysteme GmbH and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -16,6 +16,7 @@ import static org.eclipse.rap.rwt.testfixture.internal.TestUtil.createImage;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -2234,6 +2235,73 @@ public class Tree_Test {
     assertEquals( 200, countResolvedItems( tree ) );
   }
 
+  @Test
+  public void testEvictItems_withoutFlag() {
+    tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 200 );
+    redrawTree( tree );
+
+    getTreeAdapter( tree ).setTopItemIndex( 100 );
+
+    assertEquals( 8, tree.getCreatedItems().length );
+  }
+
+  @Test
+  public void testEvictItems_disposesItemsOutsideOfVisibleArea() {
+    tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 200 );
+    redrawTree( tree );
+    TreeItem item = tree.getItem( 0 );
+
+    getTreeAdapter( tree ).setTopItemIndex( 100 );
+
+    assertTrue( item.isDisposed() );
+    assertEquals( 4, tree.getCreatedItems().length );
+    assertEquals( 200, tree.getItemCount() );
+  }
+
+  @Test
+  public void testEvictItems_keepsExpandedAndSelectedItems() {
+    tree = new Tree( shell, SWT.VIRTUAL | SWT.MULTI );
+    tree.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 200 );
+    redrawTree( tree );
+    TreeItem expandedItem = tree.getItem( 0 );
+    expandedItem.setItemCount( 1 );
+    expandedItem.setExpanded( true );
+    TreeItem selectedItem = tree.getItem( 2 );
+    tree.setSelection( selectedItem );
+
+    getTreeAdapter( tree ).setTopItemIndex( 100 );
+
+    assertFalse( expandedItem.isDisposed() );
+    assertFalse( selectedItem.isDisposed() );
+    assertSame( selectedItem, tree.getSelection()[ 0 ] );
+  }
+
+  @Test
+  public void testEvictItems_recreatesItem() {
+    tree = new Tree( shell, SWT.VIRTUAL );
+    tree.setData( RWT.EVICT_VIRTUAL_ITEMS, Boolean.TRUE );
+    tree.setSize( 100, 100 );
+    tree.setItemCount( 200 );
+    redrawTree( tree );
+    TreeItem item = tree.getItem( 0 );
+    getTreeAdapter( tree ).setTopItemIndex( 100 );
+
+    getTreeAdapter( tree ).setTopItemIndex( 0 );
+
+    TreeItem newItem = tree.getItem( 0 );
+    assertNotSame( item, newItem );
+    assertFalse( newItem.isDisposed() );
+    assertEquals( 0, tree.indexOf( newItem ) );
+    assertEquals( 200, tree.getItemCount() );
+  }
+
   @Test
   public void testGetAdapter_LCA() {
     assertTrue( tree.getAdapter( WidgetLCA.class ) instanceof TreeLCA );
@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *    EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.swt.widgets;
+
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.deserialize;
+import static org.eclipse.rap.rwt.testfixture.internal.SerializationTestUtil.serialize;
+
+import org.eclipse.rap.rwt.testfixture.internal.Fixture;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.events.SelectionAdapter;
+import org.eclipse.swt.layout.GridLayout;
+
+
+/**
+ * Measures the size of the serialized form of a widget tree and the time it takes to serialize
+ * and deserialize it, as done when a UI session is replicated in a cluster.
+ * <p>
+ * Usage: <code>WidgetSerializationBenchmark [composites] [iterations]</code>. Each composite
+ * contains 100 widgets, the shell contains a table with 1000 items in addition. The default of
+ * 90 composites results in about 10,000 widgets.
+ * </p>
+ */
+public class WidgetSerializationBenchmark {
+
+  private static final int CHILDREN_PER_COMPOSITE = 100;
+  private static final int TABLE_ITEMS = 1000;
+  private static final int TABLE_COLUMNS = 3;
+
+  public static void main( String[] args ) throws Exception {
+    int composites = args.length > 0 ? Integer.parseInt( args[ 0 ] ) : 90;
+    int iterations = args.length > 1 ? Integer.parseInt( args[ 1 ] ) : 10;
+    Fixture.setUp();
+    try {
+      Display display = new Display();
+      Shell shell = createWidgetTree( display, composites );
+      int widgets = countWidgets( shell );
+      System.out.println( "widgets: " + widgets );
+      measure( shell, widgets, iterations / 2 ); // warm up
+      measure( shell, widgets, iterations );
+    } finally {
+      Fixture.tearDown();
+    }
+  }
+
+  private static Shell createWidgetTree( Display display, int composites ) {
+    Shell shell = new Shell( display );
+    shell.setLayout( new GridLayout() );
+    for( int i = 0; i < composites; i++ ) {
+      Composite composite = new Composite( shell, SWT.NONE );
+      composite.setLayout( new GridLayout( 2, false ) );
+      for( int j = 0; j < CHILDREN_PER_COMPOSITE / 2; j++ ) {
+        Label label = new Label( composite, SWT.NONE );
+        label.setText( "Label " + j );
+        Button button = new Button( composite, SWT.PUSH );
+        button.setText( "Button " + j );
+        button.addSelectionListener( new SelectionAdapter() {} );
+      }
+    }
+    Table table = new Table( shell, SWT.NONE );
+    for( int i = 0; i < TABLE_COLUMNS; i++ ) {
+      new TableColumn( table, SWT.NONE ).setWidth( 100 );
+    }
+    for( int i = 0; i < TABLE_ITEMS; i++ ) {
+      TableItem item = new TableItem( table, SWT.NONE );
+      item.setText( 0, "Item " + i );
+      item.setText( 2, "Value " + i );
+    }
+    shell.layout();
+    return shell;
+  }
+
+  private static void measure( Shell shell, int widgets, int iterations ) throws Exception {
+    byte[] bytes = null;
+    long start = System.nanoTime();
+    for( int i = 0; i < iterations; i++ ) {
+      bytes = serialize( shell );
+    }
+    long serializationTime = ( System.nanoTime() - start ) / iterations;
+    start = System.nanoTime();
+    for( int i = 0; i < iterations; i++ ) {
+      deserialize( bytes );
+    }
+    long deserializationTime = ( System.nanoTime() - start ) / iterations;
+    System.out.println( "serialized: " + bytes.length + " bytes, "
+                        + bytes.length / widgets + " bytes per widget" );
+    System.out.println( "serialization: " + serializationTime / 1000000 + " ms, "
+                        + "deserialization: " + deserializationTime / 1000000 + " ms" );
+  }
+
+  private static int countWidgets( Composite composite ) {
+    int result = 1;
+    for( Control child : composite.getChildren() ) {
+      if( child instanceof Composite ) {
+        result += countWidgets( ( Composite )child );
+      } else {
+        result++;
+      }
+      if( child instanceof Table ) {
+        Table table = ( Table )child;
+        result += table.getColumnCount() + table.getItemCount();
+      }
+    }
+    return result;
+  }
+
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2009 IBM Corporation and others.
+ * Copyright (c) 2000, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,6 +7,7 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - range update tests
  *******************************************************************************/
 package org.eclipse.jface.tests.viewers;
 
@@ -66,5 +67,10 @@ public class AllTests extends TestSuite {
 		addTestSuite(Bug287765Test.class);
 //		addTestSuite(StyledStringBuilderTest.class);
 		addTestSuite(TreeManagerTest.class);
+		addTestSuite(TableViewerRangeTest.class);
+		addTestSuite(TableViewerRangeTest.Virtual.class);
+		addTestSuite(TreeViewerRangeTest.class);
+		addTestSuite(RangeListDiffVisitorTest.class);
+		addTestSuite(ObservableListContentProviderTest.class);
 	}
 }
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.viewers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.core.databinding.observable.list.WritableList;
+import org.eclipse.jface.databinding.swt.SWTObservables;
+import org.eclipse.jface.databinding.viewers.ObservableListContentProvider;
+import org.eclipse.jface.internal.databinding.viewers.ViewerUpdater;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+
+/**
+ * Tests how <code>ObservableListContentProvider</code> and
+ * <code>ViewerUpdater</code> apply list diffs to a table viewer.
+ */
+public class ObservableListContentProviderTest extends ViewerTestCase {
+
+	private static final int SIZE = 500;
+
+	private TableViewer tableViewer;
+
+	private WritableList input;
+
+	private int refreshCount;
+
+	public ObservableListContentProviderTest(String name) {
+		super(name);
+	}
+
+	protected StructuredViewer createViewer(Composite parent) {
+		tableViewer = new TableViewer(parent) {
+			public void refresh() {
+				refreshCount++;
+				super.refresh();
+			}
+		};
+		tableViewer.setContentProvider(new ObservableListContentProvider());
+		tableViewer.setLabelProvider(new LabelProvider());
+		return tableViewer;
+	}
+
+	protected void setInput() {
+		input = new WritableList(SWTObservables.getRealm(fShell.getDisplay()),
+				createElements("e", SIZE), null);
+		fViewer.setInput(input);
+		refreshCount = 0;
+	}
+
+	public void testAddRange() {
+		input.addAll(10, createElements("x", SIZE));
+
+		assertEquals(0, refreshCount);
+		assertTableShowsInput();
+	}
+
+	public void testRemoveRange() {
+		input.removeAll(new ArrayList(input.subList(10, 410)));
+
+		assertEquals(0, refreshCount);
+		assertTableShowsInput();
+	}
+
+	public void testReplaceContents() {
+		input.clear();
+		input.addAll(createElements("x", SIZE));
+
+		assertEquals(0, refreshCount);
+		assertTableShowsInput();
+	}
+
+	public void testReplaceElement() {
+		input.set(3, "x");
+
+		assertEquals(0, refreshCount);
+		assertTableShowsInput();
+	}
+
+	public void testScatteredChangesRefresh() {
+		List removed = new ArrayList();
+		for (int i = 0; i < SIZE; i += 2) {
+			removed.add(input.get(i));
+		}
+
+		input.removeAll(removed);
+
+		assertEquals(1, refreshCount);
+		assertTableShowsInput();
+	}
+
+	public void testUpdaterAppliesRanges() {
+		List log = new ArrayList();
+		ViewerUpdater updater = new RecordingViewerUpdater(log);
+
+		updater.update(Diffs.createListDiff(new ListDiffEntry[] {
+				Diffs.createListDiffEntry(0, false, "e0"),
+				Diffs.createListDiffEntry(0, false, "e1"),
+				Diffs.createListDiffEntry(5, true, "x"),
+				Diffs.createListDiffEntry(6, true, "y") }));
+
+		assertEquals(Arrays.asList(new String[] { "remove e0 0",
+				"remove e1 0", "insert x 5", "insert y 6" }), log);
+		assertEquals(0, refreshCount);
+	}
+
+	public void testUpdaterRefreshesAboveThreshold() {
+		List log = new ArrayList();
+		ViewerUpdater updater = new RecordingViewerUpdater(log);
+		ListDiffEntry[] entries = new ListDiffEntry[SIZE / 2];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = Diffs.createListDiffEntry(i, false, input.get(2 * i));
+		}
+
+		updater.update(Diffs.createListDiff(entries));
+
+		assertEquals(0, log.size());
+		assertEquals(1, refreshCount);
+	}
+
+	public void testUpdaterDoesNotRefreshLargeRange() {
+		List log = new ArrayList();
+		ViewerUpdater updater = new RecordingViewerUpdater(log);
+		ListDiffEntry[] entries = new ListDiffEntry[SIZE];
+		for (int i = 0; i < entries.length; i++) {
+			entries[i] = Diffs.createListDiffEntry(i, true, "x" + i);
+		}
+
+		updater.update(Diffs.createListDiff(entries));
+
+		assertEquals(SIZE, log.size());
+		assertEquals(0, refreshCount);
+	}
+
+	private void assertTableShowsInput() {
+		Table table = tableViewer.getTable();
+		assertEquals(input.size(), table.getItemCount());
+		for (int i = 0; i < input.size(); i++) {
+			assertEquals(input.get(i), table.getItem(i).getData());
+		}
+	}
+
+	private static List createElements(String prefix, int count) {
+		List result = new ArrayList();
+		for (int i = 0; i < count; i++) {
+			result.add(prefix + i);
+		}
+		return result;
+	}
+
+	/**
+	 * Records the single element operations the default range methods of
+	 * <code>ViewerUpdater</code> delegate to.
+	 */
+	private class RecordingViewerUpdater extends ViewerUpdater {
+		private final List log;
+
+		RecordingViewerUpdater(List log) {
+			super(tableViewer);
+			this.log = log;
+		}
+
+		public void insert(Object element, int position) {
+			log.add("insert " + element + " " + position);
+		}
+
+		public void remove(Object element, int position) {
+			log.add("remove " + element + " " + position);
+		}
+
+		public void add(Object[] elements) {
+			log.add("add " + Arrays.asList(elements));
+		}
+
+		public void remove(Object[] elements) {
+			log.add("remove " + Arrays.asList(elements));
+		}
+	}
+}
@@ -0,0 +1,153 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.viewers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.databinding.observable.Diffs;
+import org.eclipse.core.databinding.observable.list.ListDiff;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
+import org.eclipse.jface.internal.databinding.viewers.RangeListDiffVisitor;
+
+public class RangeListDiffVisitorTest extends TestCase {
+
+	private List log;
+
+	private RangeListDiffVisitor visitor;
+
+	public RangeListDiffVisitorTest(String name) {
+		super(name);
+	}
+
+	protected void setUp() throws Exception {
+		log = new ArrayList();
+		visitor = new RangeListDiffVisitor() {
+			protected void handleAddRange(int position, Object[] elements) {
+				log.add("add " + position + " " + Arrays.asList(elements));
+			}
+
+			protected void handleRemoveRange(int position, Object[] elements) {
+				log.add("remove " + position + " " + Arrays.asList(elements));
+			}
+
+			protected void handleElementMove(int oldPosition,
+					int newPosition, Object element) {
+				log.add("move " + oldPosition + " " + newPosition + " "
+						+ element);
+			}
+
+			protected void handleElementReplace(int position,
+					Object oldElement, Object newElement) {
+				log.add("replace " + position + " " + oldElement + " "
+						+ newElement);
+			}
+		};
+	}
+
+	public void testConsecutiveAdditions() {
+		visit(new ListDiffEntry[] { add(2, "a"), add(3, "b"), add(4, "c") });
+
+		assertLog(new String[] { "add 2 [a, b, c]" });
+	}
+
+	public void testSeparateAdditions() {
+		visit(new ListDiffEntry[] { add(0, "a"), add(1, "b"), add(5, "c") });
+
+		assertLog(new String[] { "add 0 [a, b]", "add 5 [c]" });
+	}
+
+	public void testRemovalsAtSamePosition() {
+		visit(new ListDiffEntry[] { remove(2, "a"), remove(2, "b"),
+				remove(2, "c") });
+
+		assertLog(new String[] { "remove 2 [a, b, c]" });
+	}
+
+	public void testRemovalsAtDescendingPositions() {
+		visit(new ListDiffEntry[] { remove(4, "c"), remove(3, "b"),
+				remove(2, "a") });
+
+		assertLog(new String[] { "remove 2 [a, b, c]" });
+	}
+
+	public void testRemovalsAtAscendingPositions() {
+		visit(new ListDiffEntry[] { remove(0, "a"), remove(1, "c") });
+
+		assertLog(new String[] { "remove 0 [a]", "remove 1 [c]" });
+	}
+
+	public void testRemovalsFollowedByAdditions() {
+		visit(new ListDiffEntry[] { remove(0, "a"), remove(0, "b"),
+				add(2, "c"), add(3, "d") });
+
+		assertLog(new String[] { "remove 0 [a, b]", "add 2 [c, d]" });
+	}
+
+	public void testReplace() {
+		visit(new ListDiffEntry[] { add(0, "a"), remove(5, "x"), add(5, "y"),
+				add(6, "z") });
+
+		assertLog(new String[] { "add 0 [a]", "replace 5 x y", "add 6 [z]" });
+	}
+
+	public void testMove() {
+		visit(new ListDiffEntry[] { remove(1, "b"), add(3, "b") });
+
+		assertLog(new String[] { "move 1 3 b" });
+	}
+
+	public void testFlushWithoutPendingRange() {
+		visitor.flush();
+
+		assertLog(new String[0]);
+	}
+
+	public void testRangeIsReportedOnlyOnFlush() {
+		createDiff(new ListDiffEntry[] { add(0, "a") }).accept(visitor);
+
+		assertLog(new String[0]);
+		visitor.flush();
+		assertLog(new String[] { "add 0 [a]" });
+	}
+
+	public void testCountOperations() {
+		ListDiff diff = createDiff(new ListDiffEntry[] { remove(0, "a"),
+				remove(0, "b"), add(3, "c"), add(4, "d"), add(9, "e") });
+
+		assertEquals(3, RangeListDiffVisitor.countOperations(diff));
+	}
+
+	private void visit(ListDiffEntry[] entries) {
+		createDiff(entries).accept(visitor);
+		visitor.flush();
+	}
+
+	private void assertLog(String[] expected) {
+		assertEquals(Arrays.asList(expected), log);
+	}
+
+	private static ListDiff createDiff(ListDiffEntry[] entries) {
+		return Diffs.createListDiff(entries);
+	}
+
+	private static ListDiffEntry add(int position, Object element) {
+		return Diffs.createListDiffEntry(position, true, element);
+	}
+
+	private static ListDiffEntry remove(int position, Object element) {
+		return Diffs.createListDiffEntry(position, false, element);
+	}
+}
@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.viewers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredSelection;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Table;
+import org.eclipse.swt.widgets.TableItem;
+
+/**
+ * Tests the range insertion and removal of <code>AbstractTableViewer</code>.
+ */
+public class TableViewerRangeTest extends ViewerTestCase {
+
+	/**
+	 * Runs the tests against a virtual table.
+	 */
+	public static class Virtual extends TableViewerRangeTest {
+
+		public Virtual(String name) {
+			super(name);
+		}
+
+		protected int getTableStyle() {
+			return SWT.VIRTUAL;
+		}
+	}
+
+	protected TableViewer tableViewer;
+
+	protected List input;
+
+	public TableViewerRangeTest(String name) {
+		super(name);
+	}
+
+	protected int getTableStyle() {
+		return SWT.NONE;
+	}
+
+	protected StructuredViewer createViewer(Composite parent) {
+		tableViewer = new TableViewer(parent, getTableStyle() | SWT.MULTI);
+		tableViewer.setContentProvider(new ArrayContentProvider());
+		tableViewer.setLabelProvider(new LabelProvider());
+		return tableViewer;
+	}
+
+	protected void setInput() {
+		input = new ArrayList(Arrays.asList(new String[] { "a", "b", "c" }));
+		fViewer.setInput(input);
+	}
+
+	public void testInsertRange() {
+		tableViewer.insert(new Object[] { "x", "y" }, 1);
+
+		assertElements(new String[] { "a", "x", "y", "b", "c" });
+	}
+
+	public void testInsertRangeAtEnd() {
+		tableViewer.insert(new Object[] { "x", "y" }, -1);
+
+		assertElements(new String[] { "a", "b", "c", "x", "y" });
+	}
+
+	public void testInsertRangeWithComparator() {
+		tableViewer.setComparator(new ViewerComparator());
+
+		tableViewer.insert(new Object[] { "d", "bb" }, 0);
+
+		assertElements(new String[] { "a", "b", "bb", "c", "d" });
+	}
+
+	public void testRemoveRange() {
+		tableViewer.remove(new Object[] { "b", "c" }, 1);
+
+		assertElements(new String[] { "a" });
+	}
+
+	public void testRemoveAllAsRange() {
+		tableViewer.remove(new Object[] { "a", "b", "c" }, 0);
+
+		assertEquals(0, tableViewer.getTable().getItemCount());
+	}
+
+	public void testRemoveRangeAtWrongPosition() {
+		tableViewer.remove(new Object[] { "b", "c" }, 0);
+
+		assertElements(new String[] { "a" });
+	}
+
+	public void testRemoveRangePreservesSelection() {
+		tableViewer.setSelection(new StructuredSelection("c"));
+
+		tableViewer.remove(new Object[] { "a", "b" }, 0);
+
+		assertElements(new String[] { "c" });
+		assertEquals(new StructuredSelection("c"), tableViewer.getSelection());
+	}
+
+	public void testInsertAndRemoveRange() {
+		tableViewer.insert(new Object[] { "x", "y", "z" }, 3);
+
+		tableViewer.remove(new Object[] { "c", "x" }, 2);
+
+		assertElements(new String[] { "a", "b", "y", "z" });
+	}
+
+	private void assertElements(String[] expected) {
+		Table table = tableViewer.getTable();
+		assertEquals(expected.length, table.getItemCount());
+		for (int i = 0; i < expected.length; i++) {
+			TableItem item = table.getItem(i);
+			// materializes the item of a virtual table
+			assertEquals(expected[i], item.getText());
+			assertEquals(expected[i], item.getData());
+		}
+	}
+}
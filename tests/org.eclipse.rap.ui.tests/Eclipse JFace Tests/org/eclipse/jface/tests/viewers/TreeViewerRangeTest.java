@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.jface.tests.viewers;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.jface.internal.databinding.viewers.TreeViewerUpdater;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.LabelProvider;
+import org.eclipse.jface.viewers.StructuredViewer;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.Viewer;
+import org.eclipse.jface.viewers.ViewerComparator;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.Item;
+import org.eclipse.swt.widgets.TreeItem;
+
+/**
+ * Tests the range insertion of <code>AbstractTreeViewer</code> and the range
+ * methods of <code>TreeViewerUpdater</code>.
+ */
+public class TreeViewerRangeTest extends ViewerTestCase {
+
+	private static final String ROOT = "root";
+
+	private TreeViewer treeViewer;
+
+	private Map children;
+
+	public TreeViewerRangeTest(String name) {
+		super(name);
+	}
+
+	protected StructuredViewer createViewer(Composite parent) {
+		children = new HashMap();
+		children.put(ROOT, new Object[] { "a", "b", "c" });
+		children.put("a", new Object[] { "a1", "a2" });
+		children.put("b", new Object[] { "b1" });
+		treeViewer = new TreeViewer(parent);
+		treeViewer.setContentProvider(new ITreeContentProvider() {
+			public Object[] getElements(Object inputElement) {
+				return getChildren(inputElement);
+			}
+
+			public Object[] getChildren(Object parentElement) {
+				Object[] result = (Object[]) children.get(parentElement);
+				return result == null ? new Object[0] : result;
+			}
+
+			public Object getParent(Object element) {
+				return null;
+			}
+
+			public boolean hasChildren(Object element) {
+				return getChildren(element).length > 0;
+			}
+
+			public void dispose() {
+			}
+
+			public void inputChanged(Viewer viewer, Object oldInput,
+					Object newInput) {
+			}
+		});
+		treeViewer.setLabelProvider(new LabelProvider());
+		return treeViewer;
+	}
+
+	protected void setInput() {
+		fViewer.setInput(ROOT);
+	}
+
+	public void testInsertRangeAtRoot() {
+		treeViewer.insert(ROOT, new Object[] { "x", "y" }, 1);
+
+		assertItems(treeViewer.getTree().getItems(), new String[] { "a", "x",
+				"y", "b", "c" });
+	}
+
+	public void testInsertRangeAtEnd() {
+		treeViewer.insert(ROOT, new Object[] { "x", "y" }, -1);
+
+		assertItems(treeViewer.getTree().getItems(), new String[] { "a", "b",
+				"c", "x", "y" });
+	}
+
+	public void testInsertRangeIntoExpandedItem() {
+		treeViewer.expandToLevel("a", 1);
+
+		treeViewer.insert("a", new Object[] { "x", "y" }, 1);
+
+		assertItems(getItem("a").getItems(), new String[] { "a1", "x", "y",
+				"a2" });
+	}
+
+	public void testInsertRangeIntoCollapsedItem() {
+		treeViewer.insert("b", new Object[] { "x", "y" }, 0);
+
+		// the children are created when the item is expanded
+		assertFalse(treeViewer.getExpandedState("b"));
+		TreeItem[] items = getItem("b").getItems();
+		assertEquals(1, items.length);
+		assertNull(items[0].getData());
+	}
+
+	public void testInsertRangeWithComparator() {
+		treeViewer.setComparator(new ViewerComparator());
+
+		treeViewer.insert(ROOT, new Object[] { "d", "bb" }, 0);
+
+		assertItems(treeViewer.getTree().getItems(), new String[] { "a", "b",
+				"bb", "c", "d" });
+	}
+
+	public void testUpdaterInsertRange() {
+		TreeViewerUpdater updater = new TreeViewerUpdater(treeViewer);
+
+		updater.insert(ROOT, new Object[] { "x", "y" }, 3);
+
+		assertItems(treeViewer.getTree().getItems(), new String[] { "a", "b",
+				"c", "x", "y" });
+	}
+
+	public void testUpdaterRemoveRange() {
+		TreeViewerUpdater updater = new TreeViewerUpdater(treeViewer);
+
+		updater.remove(ROOT, new Object[] { "a", "b" }, 0);
+
+		assertItems(treeViewer.getTree().getItems(), new String[] { "c" });
+	}
+
+	public void testUpdaterRemoveRangeWithComparator() {
+		treeViewer.setComparator(new ViewerComparator() {
+			public int compare(Viewer viewer, Object e1, Object e2) {
+				return -super.compare(viewer, e1, e2);
+			}
+		});
+		TreeViewerUpdater updater = new TreeViewerUpdater(treeViewer);
+
+		// the positions are model positions, the viewer shows c, b, a
+		updater.remove(ROOT, new Object[] { "a", "b" }, 0);
+
+		assertItems(treeViewer.getTree().getItems(), new String[] { "c" });
+	}
+
+	private TreeItem getItem(Object element) {
+		TreeItem[] items = treeViewer.getTree().getItems();
+		for (int i = 0; i < items.length; i++) {
+			if (element.equals(items[i].getData())) {
+				return items[i];
+			}
+		}
+		fail("No item for " + element);
+		return null;
+	}
+
+	private static void assertItems(Item[] items, String[] expected) {
+		assertEquals(expected.length, items.length);
+		for (int i = 0; i < expected.length; i++) {
+			assertEquals(expected[i], items[i].getData());
+		}
+	}
+}
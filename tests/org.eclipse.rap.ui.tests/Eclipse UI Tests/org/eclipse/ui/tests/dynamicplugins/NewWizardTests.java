@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2004, 2006 IBM Corporation and others.
+ * Copyright (c) 2004, 2016 IBM Corporation and others.
  * All rights reserved. This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License v1.0
  * which accompanies this distribution, and is available at
@@ -7,10 +7,16 @@
  *
  * Contributors:
  *     IBM Corporation - initial API and implementation
+ *     EclipseSource - tests for wizards shared between UI sessions
  *******************************************************************************/
 package org.eclipse.ui.tests.dynamicplugins;
 
+import java.util.Arrays;
+
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.service.UISession;
 import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.dialogs.WorkbenchWizardElement;
 import org.eclipse.ui.internal.registry.IWorkbenchRegistryConstants;
 import org.eclipse.ui.wizards.IWizardRegistry;
 import org.eclipse.ui.wizards.IWizardDescriptor;
@@ -22,6 +28,8 @@ public class NewWizardTests extends DynamicTestCase {
 
 	private static final String WIZARD_ID = "org.eclipse.newNewWizard1.newNewWizard1";
 
+	private static final int THREAD_COUNT = 8;
+
 	/**
 	 *
 	 */
@@ -47,6 +55,71 @@ public class NewWizardTests extends DynamicTestCase {
 		}
 	}
 
+	public void testNewWizardPropertiesFromConcurrentThreads() throws InterruptedException {
+		IWizardRegistry registry = WorkbenchPlugin.getDefault().getNewWizardRegistry();
+		getBundle();
+		try {
+			final WorkbenchWizardElement wizard = (WorkbenchWizardElement) registry
+					.findWizard(WIZARD_ID);
+			assertNotNull(wizard);
+			final UISession uiSession = RWT.getUISession();
+			final Object[][] results = new Object[THREAD_COUNT][];
+			final Throwable[] failure = new Throwable[1];
+			Thread[] threads = new Thread[THREAD_COUNT];
+			for (int i = 0; i < threads.length; i++) {
+				final int index = i;
+				threads[i] = new Thread("NewWizardTests" + i) {
+					public void run() {
+						uiSession.exec(new Runnable() {
+							public void run() {
+								try {
+									results[index] = new Object[] {
+											wizard.getDescriptionImage(),
+											wizard.getImageDescriptor(),
+											wizard.getKeywordLabels() };
+								} catch (Throwable e) {
+									failure[0] = e;
+								}
+							}
+						});
+					}
+				};
+			}
+			for (int i = 0; i < threads.length; i++) {
+				threads[i].start();
+			}
+			for (int i = 0; i < threads.length; i++) {
+				threads[i].join();
+			}
+
+			assertNull(failure[0]);
+			for (int i = 0; i < results.length; i++) {
+				assertNotNull(results[i][0]);
+				assertEquals(wizard.getDescriptionImage(), results[i][0]);
+				assertEquals(wizard.getImageDescriptor(), results[i][1]);
+				assertTrue(Arrays.equals(wizard.getKeywordLabels(),
+						(String[]) results[i][2]));
+			}
+		} finally {
+			removeBundle();
+		}
+	}
+
+	public void testKeywordLabelsAreNotShared() {
+		IWizardRegistry registry = WorkbenchPlugin.getDefault().getNewWizardRegistry();
+		getBundle();
+		try {
+			WorkbenchWizardElement wizard = (WorkbenchWizardElement) registry
+					.findWizard(WIZARD_ID);
+			String[] labels = wizard.getKeywordLabels();
+
+			assertNotSame(labels, wizard.getKeywordLabels());
+			assertTrue(Arrays.equals(labels, wizard.getKeywordLabels()));
+		} finally {
+			removeBundle();
+		}
+	}
+
 	/**
 	 * @param wizard
 	 */
@@ -55,6 +55,7 @@ public class InternalTestSuite extends TestSuite {
         addTest(new TestSuite(WorkbenchWindowSubordinateSourcesTests.class));
         addTest(new TestSuite(ReopenMenuTest.class));
         addTest(new TestSuite(UtilTest.class));
+        addTest(new TestSuite(SharedRegistryTest.class));
 //		addTest(new TestSuite(MarkerTesterTest.class));
 //		addTest(new TestSuite(TextHandlerTest.class));
 //        addTest(new TestSuite(PerspectiveSwitcherTest.class));
@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+
+package org.eclipse.ui.tests.internal;
+
+import org.eclipse.rap.rwt.RWT;
+import org.eclipse.rap.rwt.SingletonUtil;
+import org.eclipse.rap.rwt.service.UISession;
+import org.eclipse.ui.internal.WorkbenchMessages;
+import org.eclipse.ui.internal.WorkbenchPlugin;
+import org.eclipse.ui.internal.registry.ActionSetRegistry;
+import org.eclipse.ui.internal.registry.Category;
+import org.eclipse.ui.internal.registry.IActionSetDescriptor;
+import org.eclipse.ui.internal.registry.KeywordRegistry;
+import org.eclipse.ui.internal.registry.ViewRegistry;
+import org.eclipse.ui.tests.harness.util.UITestCase;
+import org.eclipse.ui.views.IViewCategory;
+import org.eclipse.ui.views.IViewDescriptor;
+import org.eclipse.ui.views.IViewRegistry;
+
+/**
+ * Tests the registries whose contents are shared between UI sessions.
+ */
+public class SharedRegistryTest extends UITestCase {
+
+	public SharedRegistryTest(String testName) {
+		super(testName);
+	}
+
+	public void testViewRegistryIsApplicationSingleton() {
+		IViewRegistry registry = WorkbenchPlugin.getDefault().getViewRegistry();
+
+		assertSame(SingletonUtil.getUniqueInstance(ViewRegistry.class, RWT
+				.getApplicationContext()), registry);
+	}
+
+	public void testKeywordRegistryIsApplicationSingleton() {
+		assertSame(SingletonUtil.getUniqueInstance(KeywordRegistry.class, RWT
+				.getApplicationContext()), KeywordRegistry.getInstance());
+	}
+
+	public void testViewCategoriesContainRegisteredViews() {
+		IViewRegistry registry = WorkbenchPlugin.getDefault().getViewRegistry();
+		IViewCategory[] categories = registry.getCategories();
+
+		assertTrue(categories.length > 0);
+		for (int i = 0; i < categories.length; i++) {
+			IViewDescriptor[] views = categories[i].getViews();
+			for (int j = 0; j < views.length; j++) {
+				assertSame(views[j], registry.find(views[j].getId()));
+			}
+		}
+	}
+
+	public void testMiscCategoryLabelIsLocalized() {
+		Category category = new Category();
+
+		assertEquals(WorkbenchMessages.get().ICategory_other, category
+				.getLabel());
+	}
+
+	public void testViewImagesFromConcurrentThreads()
+			throws InterruptedException {
+		IViewRegistry registry = WorkbenchPlugin.getDefault().getViewRegistry();
+		final IViewDescriptor[] views = registry.getViews();
+		final UISession uiSession = RWT.getUISession();
+		final Object[][] results = new Object[8][];
+		Thread[] threads = new Thread[results.length];
+		for (int i = 0; i < threads.length; i++) {
+			final int index = i;
+			threads[i] = new Thread() {
+				public void run() {
+					uiSession.exec(new Runnable() {
+						public void run() {
+							Object[] images = new Object[views.length];
+							for (int j = 0; j < views.length; j++) {
+								images[j] = views[j].getImageDescriptor();
+							}
+							results[index] = images;
+						}
+					});
+				}
+			};
+			threads[i].start();
+		}
+		for (int i = 0; i < threads.length; i++) {
+			threads[i].join();
+		}
+
+		for (int i = 0; i < results.length; i++) {
+			assertNotNull(results[i]);
+			for (int j = 0; j < views.length; j++) {
+				assertEquals(views[j].getImageDescriptor(), results[i][j]);
+			}
+		}
+	}
+
+	public void testActionSetLabelsAreReadFromConfigurationElement() {
+		ActionSetRegistry registry = WorkbenchPlugin.getDefault()
+				.getActionSetRegistry();
+		IActionSetDescriptor[] actionSets = registry.getActionSets();
+
+		assertTrue(actionSets.length > 0);
+		for (int i = 0; i < actionSets.length; i++) {
+			assertEquals(actionSets[i].getConfigurationElement().getAttribute(
+					"label"), actionSets[i].getLabel());
+		}
+	}
+}
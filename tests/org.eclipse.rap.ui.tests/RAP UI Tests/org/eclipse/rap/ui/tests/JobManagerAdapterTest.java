@@ -0,0 +1,282 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource and others.
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ * http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Contributors:
+ *     EclipseSource - initial API and implementation
+ ******************************************************************************/
+package org.eclipse.rap.ui.tests;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.IJobChangeListener;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.rap.rwt.internal.serverpush.ServerPushManager;
+import org.eclipse.rap.rwt.internal.service.ContextProvider;
+import org.eclipse.rap.rwt.internal.service.ServiceContext;
+import org.eclipse.rap.rwt.internal.service.UISessionImpl;
+import org.eclipse.rap.rwt.testfixture.internal.TestHttpSession;
+import org.eclipse.rap.rwt.testfixture.internal.TestRequest;
+import org.eclipse.rap.rwt.testfixture.internal.TestResponse;
+import org.eclipse.rap.ui.internal.progress.JobManagerAdapter;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.swt.widgets.Synchronizer;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.internal.progress.ProgressManager;
+
+
+public class JobManagerAdapterTest extends TestCase {
+
+  private static final long TIMEOUT = 10000;
+
+  private Display display;
+  private Synchronizer originalSynchronizer;
+  private CountingSynchronizer synchronizer;
+  private ProgressManager progressManager;
+  private IJobChangeListener originalChangeListener;
+  private DoneRecorder doneRecorder;
+
+  protected void setUp() {
+    JobManagerAdapter.getInstance();
+    display = PlatformUI.getWorkbench().getDisplay();
+    runEventLoop();
+    originalSynchronizer = display.getSynchronizer();
+    synchronizer = new CountingSynchronizer( display );
+    display.setSynchronizer( synchronizer );
+    progressManager = ProgressManager.getInstance();
+    originalChangeListener = progressManager.changeListener;
+    doneRecorder = new DoneRecorder( originalChangeListener );
+    progressManager.changeListener = doneRecorder;
+  }
+
+  protected void tearDown() {
+    progressManager.changeListener = originalChangeListener;
+    display.setSynchronizer( originalSynchronizer );
+  }
+
+  public void testDone_deliversJobsOfOneRoundTripWithOneRunnable() throws Exception {
+    TestJob job1 = new TestJob( false );
+    TestJob job2 = new TestJob( false );
+
+    scheduleAndWaitForDone( new TestJob[] { job1, job2 } );
+    runEventLoop();
+
+    assertEquals( 1, synchronizer.getCoalescedRunCount() );
+    assertTrue( doneRecorder.hasReceived( job1 ) );
+    assertTrue( doneRecorder.hasReceived( job2 ) );
+  }
+
+  public void testDone_deactivatesServerPushForEachJob() throws Exception {
+    ServerPushManager serverPushManager = ServerPushManager.getInstance();
+    assertFalse( serverPushManager.isServerPushActive() );
+    TestJob job1 = new TestJob( false );
+    TestJob job2 = new TestJob( false );
+
+    scheduleAndWaitForDone( new TestJob[] { job1, job2 } );
+    boolean activeBeforeNotification = serverPushManager.isServerPushActive();
+    runEventLoop();
+
+    assertTrue( activeBeforeNotification );
+    assertFalse( serverPushManager.isServerPushActive() );
+  }
+
+  public void testDone_withDisposedDisplay_notifiesProgressManagerDirectly() throws Exception {
+    final TestJob job = new TestJob( true );
+    final DoneRecorder[] sessionDoneRecorder = new DoneRecorder[ 1 ];
+    // Jobs of another UI session, as the display of the workbench must not be disposed
+    runInNewUISession( new Runnable() {
+      public void run() {
+        Display sessionDisplay = new Display();
+        job.schedule();
+        ProgressManager sessionProgressManager = ProgressManager.getInstance();
+        sessionDoneRecorder[ 0 ] = new DoneRecorder( sessionProgressManager.changeListener );
+        sessionProgressManager.changeListener = sessionDoneRecorder[ 0 ];
+        sessionDisplay.dispose();
+      }
+    } );
+
+    job.release();
+    sessionDoneRecorder[ 0 ].waitFor( job );
+    runEventLoop();
+
+    assertEquals( 0, synchronizer.getCoalescedRunCount() );
+    assertFalse( doneRecorder.hasReceived( job ) );
+  }
+
+  private void scheduleAndWaitForDone( TestJob[] jobs ) throws InterruptedException {
+    final List doneJobs = new ArrayList();
+    IJobChangeListener listener = new JobChangeAdapter() {
+      public void done( IJobChangeEvent event ) {
+        synchronized( doneJobs ) {
+          doneJobs.add( event.getJob() );
+          doneJobs.notifyAll();
+        }
+      }
+    };
+    for( int i = 0; i < jobs.length; i++ ) {
+      // Listeners of a job are notified after the JobManagerAdapter
+      jobs[ i ].addJobChangeListener( listener );
+      jobs[ i ].schedule();
+    }
+    long timeout = System.currentTimeMillis() + TIMEOUT;
+    synchronized( doneJobs ) {
+      while( doneJobs.size() < jobs.length && System.currentTimeMillis() < timeout ) {
+        doneJobs.wait( 100 );
+      }
+    }
+    assertEquals( jobs.length, doneJobs.size() );
+  }
+
+  private void runEventLoop() {
+    while( display.readAndDispatch() ) {
+      // process all pending runnables
+    }
+  }
+
+  private static void runInNewUISession( final Runnable runnable ) throws Exception {
+    final UISessionImpl uiSession = new UISessionImpl( ContextProvider.getApplicationContext(),
+                                                       new TestHttpSession() );
+    final Throwable[] exception = new Throwable[ 1 ];
+    Thread thread = new Thread( new Runnable() {
+      public void run() {
+        TestRequest request = new TestRequest();
+        request.setSession( uiSession.getHttpSession() );
+        ContextProvider.setContext( new ServiceContext( request, new TestResponse(), uiSession ) );
+        try {
+          runnable.run();
+        } catch( Throwable throwable ) {
+          exception[ 0 ] = throwable;
+        } finally {
+          ContextProvider.releaseContextHolder();
+        }
+      }
+    } );
+    thread.start();
+    thread.join( TIMEOUT );
+    if( exception[ 0 ] != null ) {
+      throw new Exception( exception[ 0 ] );
+    }
+  }
+
+  private static final class TestJob extends Job {
+
+    private boolean blocked;
+
+    TestJob( boolean blocked ) {
+      super( "Test Job" );
+      this.blocked = blocked;
+      setSystem( true );
+    }
+
+    protected IStatus run( IProgressMonitor monitor ) {
+      synchronized( this ) {
+        while( blocked ) {
+          try {
+            wait();
+          } catch( InterruptedException ie ) {
+            return Status.CANCEL_STATUS;
+          }
+        }
+      }
+      return Status.OK_STATUS;
+    }
+
+    synchronized void release() {
+      blocked = false;
+      notifyAll();
+    }
+  }
+
+  /*
+   * Counts the executions of runnables that have been posted with a key, which may have been
+   * replaced by later runnables with the same key.
+   */
+  private static final class CountingSynchronizer extends Synchronizer {
+
+    private int coalescedRunCount;
+
+    CountingSynchronizer( Display display ) {
+      super( display );
+    }
+
+    protected void asyncExec( Object key, final Runnable runnable ) {
+      super.asyncExec( key, new Runnable() {
+        public void run() {
+          coalescedRunCount++;
+          runnable.run();
+        }
+      } );
+    }
+
+    int getCoalescedRunCount() {
+      return coalescedRunCount;
+    }
+  }
+
+  private static final class DoneRecorder implements IJobChangeListener {
+
+    private final IJobChangeListener delegate;
+    private final List doneJobs;
+
+    DoneRecorder( IJobChangeListener delegate ) {
+      this.delegate = delegate;
+      doneJobs = new ArrayList();
+    }
+
+    public void aboutToRun( IJobChangeEvent event ) {
+      delegate.aboutToRun( event );
+    }
+
+    public void awake( IJobChangeEvent event ) {
+      delegate.awake( event );
+    }
+
+    public void done( IJobChangeEvent event ) {
+      synchronized( doneJobs ) {
+        doneJobs.add( event.getJob() );
+        doneJobs.notifyAll();
+      }
+      delegate.done( event );
+    }
+
+    public void running( IJobChangeEvent event ) {
+      delegate.running( event );
+    }
+
+    public void scheduled( IJobChangeEvent event ) {
+      delegate.scheduled( event );
+    }
+
+    public void sleeping( IJobChangeEvent event ) {
+      delegate.sleeping( event );
+    }
+
+    boolean hasReceived( Job job ) {
+      synchronized( doneJobs ) {
+        return doneJobs.contains( job );
+      }
+    }
+
+    void waitFor( Job job ) throws InterruptedException {
+      long timeout = System.currentTimeMillis() + TIMEOUT;
+      synchronized( doneJobs ) {
+        while( !doneJobs.contains( job ) && System.currentTimeMillis() < timeout ) {
+          doneJobs.wait( 100 );
+        }
+      }
+      assertTrue( hasReceived( job ) );
+    }
+  }
+
+}